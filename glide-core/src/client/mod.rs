@@ -4,8 +4,9 @@
 mod types;
 
 use crate::cluster_scan_container::insert_cluster_scan_cursor;
+use crate::errors::{error_message, error_type};
 use crate::scripts_container::get_script;
-use futures::FutureExt;
+use futures::{future, FutureExt};
 use logger_core::log_info;
 use redis::aio::ConnectionLike;
 use redis::cluster_async::ClusterConnection;
@@ -380,6 +381,46 @@ impl Client {
         .boxed()
     }
 
+    /// Sends the commands of a non-atomic batch as separate concurrent requests, not as a
+    /// pipeline. Unlike in a transaction, every command is routed by its own keys, so a cluster
+    /// batch may span slots and nodes. The commands are sent by clones of the client, which share
+    /// the multiplexed connections. They're started in order, but each one is a request of its own,
+    /// which the connections may write in separate writes. A packed pipeline isn't used, because it
+    /// fails as a whole on the first error response, and a failed command mustn't fail the others.
+    ///
+    /// Returns an array of two arrays: the values of the commands in their original order, with
+    /// `Nil` for the failed commands, and an `[index, error type, message]` array for every
+    /// failed command.
+    pub async fn send_commands_concurrently(
+        &self,
+        commands: &[Cmd],
+        routing: Option<RoutingInfo>,
+    ) -> Value {
+        let requests = commands.iter().map(|cmd| {
+            let mut client = self.clone();
+            let routing = routing.clone();
+            async move { client.send_command(cmd, routing).await }
+        });
+        let results = future::join_all(requests).await;
+
+        let mut values = Vec::with_capacity(results.len());
+        let mut errors = Vec::new();
+        for (index, result) in results.into_iter().enumerate() {
+            match result {
+                Ok(value) => values.push(value),
+                Err(err) => {
+                    errors.push(Value::Array(vec![
+                        Value::Int(index as i64),
+                        Value::Int(error_type(&err) as i64),
+                        Value::SimpleString(error_message(&err)),
+                    ]));
+                    values.push(Value::Nil);
+                }
+            }
+        }
+        Value::Array(vec![Value::Array(values), Value::Array(errors)])
+    }
+
     pub async fn invoke_script<'a>(
         &'a mut self,
         hash: &'a str,
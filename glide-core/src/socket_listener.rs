@@ -79,6 +79,8 @@ struct Writer {
     lock: Mutex<()>,
     accumulated_outputs: Cell<Vec<u8>>,
     closing_sender: Sender<ClosingReason>,
+    /// Whether the wrapper requested inline scalar responses, see `create_response`.
+    inline_scalars: Cell<bool>,
 }
 
 enum PipeListeningResult<TRequest: Message> {
@@ -196,6 +198,43 @@ async fn write_result(
     callback_index: u32,
     writer: &Rc<Writer>,
 ) -> Result<(), io::Error> {
+    let response = create_response(resp_result, callback_index, writer.inline_scalars.get());
+    write_to_writer(response, writer).await
+}
+
+/// Longest string which is sent inline. Longer strings are passed by a pointer, so the wrapper
+/// can decide how to convert them without another copy.
+const MAX_INLINE_BYTES: usize = 64;
+
+/// Convert a scalar value to an inline response value, or give the value back if it should be
+/// passed by a pointer.
+fn inline_value(value: Value) -> Result<response::response::Value, Value> {
+    match value {
+        Value::Int(num) => Ok(response::response::Value::IntValue(num)),
+        Value::Double(num) => Ok(response::response::Value::DoubleValue(num)),
+        Value::Boolean(value) => Ok(response::response::Value::BoolValue(value)),
+        Value::BulkString(bytes) if bytes.len() <= MAX_INLINE_BYTES => {
+            Ok(response::response::Value::BytesValue(bytes.into()))
+        }
+        Value::SimpleString(text) if text.len() <= MAX_INLINE_BYTES => Ok(
+            response::response::Value::BytesValue(text.into_bytes().into()),
+        ),
+        Value::VerbatimString { text, .. } if text.len() <= MAX_INLINE_BYTES => Ok(
+            response::response::Value::BytesValue(text.into_bytes().into()),
+        ),
+        value => Err(value),
+    }
+}
+
+/// Create a response for the given result of a request.
+///
+/// If `inline_scalars` is set, scalar values and short strings are written to the response itself
+/// instead of being leaked, which saves an allocation and a call to free the value.
+fn create_response(
+    resp_result: ClientUsageResult<Value>,
+    callback_index: u32,
+    inline_scalars: bool,
+) -> Response {
     let mut response = Response::new();
     response.callback_idx = callback_index;
     response.is_push = false;
@@ -204,14 +243,21 @@ async fn write_result(
             response::ConstantResponse::OK.into(),
         )),
         Ok(value) => {
-            if value != Value::Nil {
-                // Since null values don't require any additional data, they can be sent without any extra effort.
-                // Move the value to the heap and leak it. The wrapper should use `Box::from_raw` to recreate the box, use the value, and drop the allocation.
-                let pointer = Box::leak(Box::new(value));
-                let raw_pointer = pointer as *mut redis::Value;
-                Some(response::response::Value::RespPointer(raw_pointer as u64))
+            let inline = if inline_scalars {
+                inline_value(value)
             } else {
-                None
+                Err(value)
+            };
+            match inline {
+                Ok(inline) => Some(inline),
+                // Since null values don't require any additional data, they can be sent without any extra effort.
+                Err(Value::Nil) => None,
+                Err(value) => {
+                    // Move the value to the heap and leak it. The wrapper should use `Box::from_raw` to recreate the box, use the value, and drop the allocation.
+                    let pointer = Box::leak(Box::new(value));
+                    let raw_pointer = pointer as *mut redis::Value;
+                    Some(response::response::Value::RespPointer(raw_pointer as u64))
+                }
             }
         }
         Err(ClientUsageError::Internal(error_message)) => {
@@ -247,7 +293,7 @@ async fn write_result(
             Some(response::response::Value::RequestError(request_error))
         }
     };
-    write_to_writer(response, writer).await
+    response
 }
 
 async fn write_to_writer(response: Response, writer: &Rc<Writer>) -> Result<(), io::Error> {
@@ -405,6 +451,20 @@ async fn send_transaction(
         .map_err(|err| err.into())
 }
 
+async fn send_batch(
+    request: Transaction,
+    client: Client,
+    routing: Option<RoutingInfo>,
+) -> ClientUsageResult<Value> {
+    let commands = request
+        .commands
+        .iter()
+        .map(get_redis_command)
+        .collect::<Result<Vec<_>, _>>()?;
+
+    Ok(client.send_commands_concurrently(&commands, routing).await)
+}
+
 fn get_slot_addr(slot_type: &protobuf::EnumOrUnknown<SlotTypes>) -> ClientUsageResult<SlotAddr> {
     slot_type
         .enum_value()
@@ -476,72 +536,93 @@ fn get_route(
     }
 }
 
+/// Execute a request and create a response for it.
+///
+/// This lets transports which bypass the socket (e.g. a wrapper calling into the core in-process)
+/// reuse the request handling of the socket listener. `inline_scalars` is the value of
+/// `ConnectionRequest.inline_scalar_responses` the client was created with.
+pub async fn process_request(
+    request: CommandRequest,
+    client: Client,
+    inline_scalars: bool,
+) -> Response {
+    let callback_idx = request.callback_idx;
+    create_response(
+        execute_request(request, client).await,
+        callback_idx,
+        inline_scalars,
+    )
+}
+
 fn handle_request(request: CommandRequest, client: Client, writer: Rc<Writer>) {
     task::spawn_local(async move {
-        let result = match request.command {
-            Some(action) => match action {
-                command_request::Command::ClusterScan(cluster_scan_command) => {
-                    cluster_scan(cluster_scan_command, client).await
-                }
-                command_request::Command::SingleCommand(command) => {
-                    match get_redis_command(&command) {
-                        Ok(cmd) => match get_route(request.route.0, Some(&cmd)) {
-                            Ok(routes) => send_command(cmd, client, routes).await,
-                            Err(e) => Err(e),
-                        },
+        let callback_idx = request.callback_idx;
+        let result = execute_request(request, client).await;
+        let _res = write_result(result, callback_idx, &writer).await;
+    });
+}
+
+async fn execute_request(request: CommandRequest, client: Client) -> ClientUsageResult<Value> {
+    match request.command {
+        Some(action) => match action {
+            command_request::Command::ClusterScan(cluster_scan_command) => {
+                cluster_scan(cluster_scan_command, client).await
+            }
+            command_request::Command::SingleCommand(command) => {
+                match get_redis_command(&command) {
+                    Ok(cmd) => match get_route(request.route.0, Some(&cmd)) {
+                        Ok(routes) => send_command(cmd, client, routes).await,
                         Err(e) => Err(e),
-                    }
+                    },
+                    Err(e) => Err(e),
                 }
-                command_request::Command::Transaction(transaction) => {
-                    match get_route(request.route.0, None) {
-                        Ok(routes) => send_transaction(transaction, client, routes).await,
-                        Err(e) => Err(e),
-                    }
+            }
+            command_request::Command::Transaction(transaction) => {
+                match get_route(request.route.0, None) {
+                    Ok(routes) => send_transaction(transaction, client, routes).await,
+                    Err(e) => Err(e),
                 }
-                command_request::Command::ScriptInvocation(script) => {
-                    match get_route(request.route.0, None) {
-                        Ok(routes) => {
-                            invoke_script(
-                                script.hash,
-                                Some(script.keys),
-                                Some(script.args),
-                                client,
-                                routes,
-                            )
-                            .await
-                        }
-                        Err(e) => Err(e),
+            }
+            command_request::Command::Batch(batch) => match get_route(request.route.0, None) {
+                Ok(routes) => send_batch(batch, client, routes).await,
+                Err(e) => Err(e),
+            },
+            command_request::Command::ScriptInvocation(script) => {
+                match get_route(request.route.0, None) {
+                    Ok(routes) => {
+                        invoke_script(
+                            script.hash,
+                            Some(script.keys),
+                            Some(script.args),
+                            client,
+                            routes,
+                        )
+                        .await
                     }
+                    Err(e) => Err(e),
                 }
-                command_request::Command::ScriptInvocationPointers(script) => {
-                    let keys = script
-                        .keys_pointer
-                        .map(|pointer| *unsafe { Box::from_raw(pointer as *mut Vec<Bytes>) });
-                    let args = script
-                        .args_pointer
-                        .map(|pointer| *unsafe { Box::from_raw(pointer as *mut Vec<Bytes>) });
-                    match get_route(request.route.0, None) {
-                        Ok(routes) => invoke_script(script.hash, keys, args, client, routes).await,
-                        Err(e) => Err(e),
-                    }
+            }
+            command_request::Command::ScriptInvocationPointers(script) => {
+                let keys = script
+                    .keys_pointer
+                    .map(|pointer| *unsafe { Box::from_raw(pointer as *mut Vec<Bytes>) });
+                let args = script
+                    .args_pointer
+                    .map(|pointer| *unsafe { Box::from_raw(pointer as *mut Vec<Bytes>) });
+                match get_route(request.route.0, None) {
+                    Ok(routes) => invoke_script(script.hash, keys, args, client, routes).await,
+                    Err(e) => Err(e),
                 }
-            },
-            None => {
-                log_debug(
-                    "received error",
-                    format!(
-                        "Received empty request for callback {}",
-                        request.callback_idx
-                    ),
-                );
-                Err(ClientUsageError::Internal(
-                    "Received empty request".to_string(),
-                ))
             }
-        };
-
-        let _res = write_result(result, request.callback_idx, &writer).await;
-    });
+        },
+        None => {
+            log_debug(
+                "received error",
+                format!("Received empty request for callback {}", request.callback_idx),
+            );
+            Err(ClientUsageError::Internal("Received empty request".to_string()))
+        }
+    }
 }
 
 async fn handle_requests(
@@ -566,6 +647,7 @@ async fn create_client(
     request: ConnectionRequest,
     push_tx: Option<mpsc::UnboundedSender<PushInfo>>,
 ) -> Result<Client, ClientCreationError> {
+    writer.inline_scalars.set(request.inline_scalar_responses);
     let client = match Client::new(request.into(), push_tx).await {
         Ok(client) => client,
         Err(err) => return Err(ClientCreationError::ConnectionError(err)),
@@ -653,6 +735,7 @@ async fn listen_on_client_stream(socket: UnixStream) {
         lock: write_lock,
         accumulated_outputs,
         closing_sender: sender,
+        inline_scalars: Cell::new(false),
     });
     let client_creation = wait_for_connection_configuration_and_create_client(
         &mut client_listener,
@@ -937,3 +1020,83 @@ where
 {
     start_socket_listener_internal(init_callback, None);
 }
+
+#[cfg(test)]
+mod tests {
+    use super::*;
+    use redis::VerbatimFormat;
+    use rstest::rstest;
+
+    // Transports which bypass the socket spawn the request on a multi-threaded runtime.
+    #[allow(dead_code)]
+    fn process_request_is_send(request: CommandRequest, client: Client) -> impl Send {
+        process_request(request, client, true)
+    }
+
+    fn take_pointer(response: Response) -> Value {
+        let Some(response::response::Value::RespPointer(pointer)) = response.value else {
+            panic!("Expected a value pointer, received {response:?}");
+        };
+        *unsafe { Box::from_raw(pointer as *mut Value) }
+    }
+
+    #[rstest]
+    #[case(Value::Int(-42), response::response::Value::IntValue(-42))]
+    #[case(Value::Double(2.5), response::response::Value::DoubleValue(2.5))]
+    #[case(Value::Boolean(true), response::response::Value::BoolValue(true))]
+    #[case(
+        Value::BulkString(b"value".to_vec()),
+        response::response::Value::BytesValue(Bytes::from_static(b"value"))
+    )]
+    #[case(
+        Value::SimpleString("PONG".to_string()),
+        response::response::Value::BytesValue(Bytes::from_static(b"PONG"))
+    )]
+    #[case(
+        Value::VerbatimString { format: VerbatimFormat::Text, text: "text".to_string() },
+        response::response::Value::BytesValue(Bytes::from_static(b"text"))
+    )]
+    fn test_inline_scalar_response(
+        #[case] value: Value,
+        #[case] expected: response::response::Value,
+    ) {
+        let response = create_response(Ok(value.clone()), 7, true);
+        assert_eq!(response.callback_idx, 7);
+        assert_eq!(response.value, Some(expected));
+
+        let response = create_response(Ok(value.clone()), 7, false);
+        assert_eq!(take_pointer(response), value);
+    }
+
+    #[test]
+    fn test_long_string_response_is_not_inlined() {
+        let value = Value::BulkString(vec![b'x'; MAX_INLINE_BYTES + 1]);
+        let response = create_response(Ok(value.clone()), 1, true);
+        assert_eq!(take_pointer(response), value);
+
+        let value = Value::BulkString(vec![b'x'; MAX_INLINE_BYTES]);
+        let response = create_response(Ok(value), 1, true);
+        assert!(matches!(
+            response.value,
+            Some(response::response::Value::BytesValue(bytes)) if bytes.len() == MAX_INLINE_BYTES
+        ));
+    }
+
+    #[rstest]
+    fn test_nil_and_okay_responses(#[values(false, true)] inline_scalars: bool) {
+        assert_eq!(create_response(Ok(Value::Nil), 1, inline_scalars).value, None);
+        assert_eq!(
+            create_response(Ok(Value::Okay), 1, inline_scalars).value,
+            Some(response::response::Value::ConstantResponse(
+                response::ConstantResponse::OK.into()
+            ))
+        );
+    }
+
+    #[test]
+    fn test_aggregate_response_is_passed_by_pointer() {
+        let value = Value::Array(vec![Value::Int(1)]);
+        let response = create_response(Ok(value.clone()), 1, true);
+        assert_eq!(take_pointer(response), value);
+    }
+}
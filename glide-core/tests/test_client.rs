@@ -166,6 +166,66 @@ pub(crate) mod shared_client_tests {
         });
     }
 
+    #[rstest]
+    #[serial_test::serial]
+    #[timeout(SHORT_CLUSTER_TEST_TIMEOUT)]
+    fn test_batch_spans_slots_and_reports_errors_per_command(
+        #[values(false, true)] use_cluster: bool,
+    ) {
+        block_on_all(async {
+            let test_basics = setup_test_basics(
+                use_cluster,
+                TestConfiguration {
+                    shared_server: true,
+                    ..Default::default()
+                },
+            )
+            .await;
+            // hash tags place the keys in different slots
+            let first_key = format!("{{a}}{}", generate_random_string(6));
+            let second_key = format!("{{b}}{}", generate_random_string(6));
+            let mut set = redis::cmd("SET");
+            set.arg(&first_key).arg("value");
+            let mut lpush = redis::cmd("LPUSH");
+            lpush.arg(&first_key).arg("element");
+            let mut incr = redis::cmd("INCR");
+            incr.arg(&second_key);
+            let mut get = redis::cmd("GET");
+            get.arg(&first_key);
+
+            let result = test_basics
+                .client
+                .send_commands_concurrently(&[set, lpush, incr, get], None)
+                .await;
+
+            let Value::Array(mut parts) = result else {
+                panic!("Expected array, got `{result:?}`");
+            };
+            let errors = parts.pop().unwrap();
+            let values = parts.pop().unwrap();
+            assert_eq!(
+                values,
+                Value::Array(vec![
+                    Value::Okay,
+                    Value::Nil,
+                    Value::Int(1),
+                    Value::BulkString(b"value".to_vec()),
+                ])
+            );
+            let Value::Array(errors) = errors else {
+                panic!("Expected array, got `{errors:?}`");
+            };
+            assert_eq!(errors.len(), 1);
+            let Value::Array(error) = &errors[0] else {
+                panic!("Expected array, got `{:?}`", errors[0]);
+            };
+            assert_eq!(error[0], Value::Int(1));
+            assert!(
+                matches!(&error[2], Value::SimpleString(message) if message.contains("WRONGTYPE"))
+            );
+        });
+    }
+
     #[rstest]
     #[serial_test::serial]
     #[timeout(SHORT_CLUSTER_TEST_TIMEOUT)]
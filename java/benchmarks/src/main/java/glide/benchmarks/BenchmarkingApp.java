@@ -120,6 +120,18 @@ public class BenchmarkingApp {
                         .hasArg(false)
                         .desc("Run benchmark in minimal mode")
                         .build());
+        options.addOption(
+                Option.builder()
+                        .longOpt("autoFlush")
+                        .hasArg(false)
+                        .desc("Coalesce request flushes in GLIDE client [false]")
+                        .build());
+        options.addOption(
+                Option.builder()
+                        .longOpt("transport")
+                        .hasArg(true)
+                        .desc("GLIDE client transport, one of: uds|in_process|shared_memory [uds]")
+                        .build());
         options.addOption(
                 Option.builder()
                         .longOpt("debugLogging")
@@ -192,6 +204,10 @@ public class BenchmarkingApp {
         runConfiguration.clusterModeEnabled = line.hasOption("clusterModeEnabled");
         runConfiguration.minimal = line.hasOption("minimal");
         runConfiguration.debugLogging = line.hasOption("debugLogging");
+        runConfiguration.autoFlush = line.hasOption("autoFlush");
+        if (line.hasOption("transport")) {
+            runConfiguration.transport = line.getOptionValue("transport");
+        }
 
         return runConfiguration;
     }
@@ -250,6 +266,8 @@ public class BenchmarkingApp {
         public boolean clusterModeEnabled;
         public boolean debugLogging = false;
         public boolean minimal = false;
+        public boolean autoFlush = false;
+        public String transport = "uds";
 
         public RunConfiguration() {
             configuration = "Release";
@@ -6,9 +6,11 @@ import static java.util.concurrent.TimeUnit.SECONDS;
 import glide.api.BaseClient;
 import glide.api.GlideClient;
 import glide.api.GlideClusterClient;
+import glide.api.models.configuration.AutoFlushConfiguration;
 import glide.api.models.configuration.GlideClientConfiguration;
 import glide.api.models.configuration.GlideClusterClientConfiguration;
 import glide.api.models.configuration.NodeAddress;
+import glide.api.models.configuration.TransportMode;
 import glide.benchmarks.clients.AsyncClient;
 import glide.benchmarks.utils.ConnectionSettings;
 import java.util.concurrent.CompletableFuture;
@@ -31,6 +33,12 @@ public class GlideAsyncClient implements AsyncClient<String> {
                                             .port(connectionSettings.port)
                                             .build())
                             .useTLS(connectionSettings.useSsl)
+                            .autoFlush(
+                                    connectionSettings.autoFlush
+                                            ? AutoFlushConfiguration.builder().build()
+                                            : null)
+                            .transportMode(
+                                    TransportMode.valueOf(connectionSettings.transport.toUpperCase()))
                             .build();
             try {
                 glideClient = GlideClusterClient.createClient(config).get(10, SECONDS);
@@ -47,6 +55,12 @@ public class GlideAsyncClient implements AsyncClient<String> {
                                             .port(connectionSettings.port)
                                             .build())
                             .useTLS(connectionSettings.useSsl)
+                            .autoFlush(
+                                    connectionSettings.autoFlush
+                                            ? AutoFlushConfiguration.builder().build()
+                                            : null)
+                            .transportMode(
+                                    TransportMode.valueOf(connectionSettings.transport.toUpperCase()))
                             .build();
 
             try {
@@ -139,7 +139,12 @@ public class Benchmarking {
                         Client newClient = clientCreator.get();
                         newClient.connectToValkey(
                                 new ConnectionSettings(
-                                        config.host, config.port, config.tls, config.clusterModeEnabled));
+                                        config.host,
+                                        config.port,
+                                        config.tls,
+                                        config.clusterModeEnabled,
+                                        config.autoFlush,
+                                        config.transport));
                         clients.add(newClient);
                     }
 
@@ -7,11 +7,25 @@ public class ConnectionSettings {
     public final int port;
     public final boolean useSsl;
     public final boolean clusterMode;
+    public final boolean autoFlush;
+    public final String transport;
 
     public ConnectionSettings(String host, int port, boolean useSsl, boolean clusterMode) {
+        this(host, port, useSsl, clusterMode, false, "uds");
+    }
+
+    public ConnectionSettings(
+            String host,
+            int port,
+            boolean useSsl,
+            boolean clusterMode,
+            boolean autoFlush,
+            String transport) {
         this.host = host;
         this.port = port;
         this.useSsl = useSsl;
         this.clusterMode = clusterMode;
+        this.autoFlush = autoFlush;
+        this.transport = transport;
     }
 }
@@ -0,0 +1,101 @@
+/** Copyright Valkey GLIDE Project Contributors - SPDX Identifier: Apache-2.0 */
+package glide.api.models;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of the common {@link GlideString} operations for strings of <code>size</code> bytes. <code>
+ * toString_from_bytes</code> and <code>hashCode_from_bytes</code> create a new instance every time,
+ * so they include the UTF-8 check and the hash computation, which are cached afterwards. <code>
+ * map_lookup</code> looks up a key equal to, but not the same as the one stored.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class GlideStringBenchmark {
+
+    @Param({"8", "64", "1024"})
+    private int size;
+
+    @Param({"ascii", "utf8"})
+    private String content;
+
+    private String string;
+
+    private byte[] bytes;
+
+    private GlideString glideString;
+
+    private GlideString other;
+
+    private Map<GlideString, Object> map;
+
+    @Setup
+    public void setup() {
+        // "é" is two bytes in UTF-8, so odd sizes are rounded down for non-ASCII strings
+        String unit = content.equals("ascii") ? "e" : "é";
+        string = unit.repeat(size / unit.getBytes(StandardCharsets.UTF_8).length);
+        bytes = string.getBytes(StandardCharsets.UTF_8);
+        glideString = GlideString.of(bytes.clone());
+        other = GlideString.of(bytes.clone());
+        map = new HashMap<>();
+        map.put(glideString, string);
+    }
+
+    @Benchmark
+    public GlideString of_string() {
+        return GlideString.of(string);
+    }
+
+    @Benchmark
+    public GlideString of_bytes() {
+        return GlideString.of(bytes);
+    }
+
+    @Benchmark
+    public boolean equals() {
+        return glideString.equals(other);
+    }
+
+    @Benchmark
+    public int hashCode_cached() {
+        return glideString.hashCode();
+    }
+
+    @Benchmark
+    public int hashCode_from_bytes() {
+        return GlideString.of(bytes).hashCode();
+    }
+
+    @Benchmark
+    public String toString_cached() {
+        return glideString.toString();
+    }
+
+    @Benchmark
+    public String toString_from_bytes() {
+        return GlideString.of(bytes).toString();
+    }
+
+    @Benchmark
+    public Object map_lookup() {
+        return map.get(other);
+    }
+}
@@ -0,0 +1,94 @@
+/** Copyright Valkey GLIDE Project Contributors - SPDX Identifier: Apache-2.0 */
+package glide.ffi;
+
+import com.google.protobuf.UnsafeByteOperations;
+import command_request.CommandRequestOuterClass.Command;
+import command_request.CommandRequestOuterClass.Command.ArgsArray;
+import command_request.CommandRequestOuterClass.CommandRequest;
+import command_request.CommandRequestOuterClass.RequestType;
+import glide.ffi.resolvers.GlideValueResolver;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of passing the arguments of a <code>SET</code> request with a value of <code>size</code>
+ * bytes to GLIDE core, either copied into the serialized request or written to native memory by
+ * {@link GlideValueResolver#createArgsVec}. The size where <code>native_memory</code> becomes
+ * cheaper than <code>request</code> is a good value for the <code>glide.requestArgsThreshold
+ * </code> system property, see {@link GlideValueResolver#REQUEST_ARGS_THRESHOLD_IN_BYTES}. Parsing
+ * the request in GLIDE core copies the arguments in <code>request</code> once more, which is not
+ * measured here.
+ *
+ * <p>With <code>arena</code>, <code>native_memory</code> writes the arguments into a single native
+ * buffer, with <code>leaked</code> it copies them one by one. The <code>glide.argsArena</code>
+ * system property should be enabled only if <code>arena</code> is faster, see {@link
+ * GlideValueResolver#ARGS_ARENA_ENABLED}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RequestArgsBenchmark {
+
+    @Param({"256", "1024", "2048", "4096", "8192", "16384", "65536", "1048576"})
+    private int size;
+
+    @Param({"leaked", "arena"})
+    private String vector;
+
+    private byte[][] args;
+
+    private long totalLength;
+
+    @Setup
+    public void setup() {
+        // every combination of parameters runs in its own fork, so the property is read once the
+        // resolver is initialized by the first operation
+        System.setProperty(
+                GlideValueResolver.ARGS_ARENA_PROPERTY, String.valueOf(vector.equals("arena")));
+        byte[] value = new byte[size];
+        Arrays.fill(value, (byte) 'v');
+        args = new byte[][] {"key:000000000001".getBytes(StandardCharsets.UTF_8), value};
+        totalLength = args[0].length + args[1].length;
+    }
+
+    @Benchmark
+    public byte[] request() {
+        ArgsArray.Builder commandArgs = ArgsArray.newBuilder();
+        for (byte[] arg : args) {
+            commandArgs.addArgs(UnsafeByteOperations.unsafeWrap(arg));
+        }
+        return serialize(Command.newBuilder().setArgsArray(commandArgs));
+    }
+
+    @Benchmark
+    public byte[] native_memory() {
+        long pointer = GlideValueResolver.createArgsVec(args, totalLength);
+        byte[] request = serialize(Command.newBuilder().setArgsVecPointer(pointer));
+        // GLIDE core frees the vector once the request is sent
+        GlideValueResolver.releaseBytesVec(pointer);
+        return request;
+    }
+
+    private static byte[] serialize(Command.Builder command) {
+        return CommandRequest.newBuilder()
+                .setCallbackIdx(1)
+                .setSingleCommand(command.setRequestType(RequestType.Set))
+                .build()
+                .toByteArray();
+    }
+}
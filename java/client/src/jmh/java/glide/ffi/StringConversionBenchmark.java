@@ -0,0 +1,71 @@
+/** Copyright Valkey GLIDE Project Contributors - SPDX Identifier: Apache-2.0 */
+package glide.ffi;
+
+import glide.ffi.resolvers.GlideValueResolver;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of converting native bulk strings of <code>size</code> bytes to Java <code>String</code>s.
+ * With <code>latin1</code>, ASCII strings are created from a <code>byte[]</code>, with <code>utf
+ * </code> all strings are created by <code>NewStringUTF</code>. The smallest size where <code>
+ * latin1</code> is faster for <code>ascii</code> content is a good value for the <code>
+ * glide.asciiStringThreshold</code> system property, see {@link
+ * GlideValueResolver#ASCII_STRING_THRESHOLD_IN_BYTES}. Every operation also copies the bytes into
+ * a native value. <code>binary</code> is the baseline, which converts the same value to a <code>
+ * byte[]</code> without decoding it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class StringConversionBenchmark {
+
+    @Param({"8", "16", "32", "64", "128", "256", "4096", "65536"})
+    private int size;
+
+    @Param({"ascii", "utf8"})
+    private String content;
+
+    @Param({"latin1", "utf"})
+    private String path;
+
+    private byte[] bytes;
+
+    @Setup
+    public void setup() {
+        // every combination of parameters runs in its own fork, so the property is read once the
+        // resolver is initialized by the first operation
+        System.setProperty(
+                GlideValueResolver.ASCII_STRING_THRESHOLD_PROPERTY,
+                path.equals("latin1") ? "0" : String.valueOf(Integer.MAX_VALUE));
+        // "é" is two bytes in UTF-8, so odd sizes are rounded down for non-ASCII strings
+        byte[] unit = (content.equals("ascii") ? "e" : "é").getBytes(StandardCharsets.UTF_8);
+        bytes = new String(unit, StandardCharsets.UTF_8)
+                .repeat(size / unit.length)
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public Object string() {
+        return GlideValueResolver.valueFromPointer(FfiTest.createLeakedBulkString(bytes));
+    }
+
+    @Benchmark
+    public Object binary() {
+        return GlideValueResolver.valueFromPointerBinary(FfiTest.createLeakedBulkString(bytes));
+    }
+}
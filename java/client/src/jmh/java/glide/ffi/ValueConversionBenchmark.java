@@ -0,0 +1,62 @@
+/** Copyright Valkey GLIDE Project Contributors - SPDX Identifier: Apache-2.0 */
+package glide.ffi;
+
+import glide.ffi.resolvers.GlideValueResolver;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of converting native values to Java objects by {@link GlideValueResolver}. Every operation
+ * creates a native value with <code>size</code> elements and converts it, so the per-element cost
+ * is the score divided by the size. Values with less than 16 elements are converted element by
+ * element over JNI, larger ones are passed in the serialized form.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ValueConversionBenchmark {
+
+    @Param({"1", "8", "15", "1000"})
+    private int size;
+
+    private long[] elements;
+
+    @Setup
+    public void setup() {
+        elements = LongStream.range(0, size).toArray();
+    }
+
+    @Benchmark
+    public Object int_value() {
+        return GlideValueResolver.valueFromPointer(FfiTest.createLeakedInt(size));
+    }
+
+    @Benchmark
+    public Object array() {
+        return GlideValueResolver.valueFromPointer(FfiTest.createLeakedLongArray(elements));
+    }
+
+    @Benchmark
+    public Object map() {
+        return GlideValueResolver.valueFromPointer(FfiTest.createLeakedMap(elements, elements));
+    }
+
+    @Benchmark
+    public Object set() {
+        return GlideValueResolver.valueFromPointer(FfiTest.createLeakedLongSet(elements));
+    }
+}
@@ -15,6 +15,7 @@ import static command_request.CommandRequestOuterClass.RequestType.BitFieldReadO
 import static command_request.CommandRequestOuterClass.RequestType.BitOp;
 import static command_request.CommandRequestOuterClass.RequestType.BitPos;
 import static command_request.CommandRequestOuterClass.RequestType.Copy;
+import static command_request.CommandRequestOuterClass.RequestType.CustomCommand;
 import static command_request.CommandRequestOuterClass.RequestType.Decr;
 import static command_request.CommandRequestOuterClass.RequestType.DecrBy;
 import static command_request.CommandRequestOuterClass.RequestType.Del;
@@ -208,8 +209,12 @@ import glide.api.commands.SortedSetBaseCommands;
 import glide.api.commands.StreamBaseCommands;
 import glide.api.commands.StringBaseCommands;
 import glide.api.commands.TransactionsBaseCommands;
+import glide.api.models.Batch;
+import glide.api.models.ClusterBatch;
 import glide.api.models.ClusterValue;
 import glide.api.models.GlideString;
+import glide.api.models.NativeBuffer;
+import glide.api.models.NativeValueView;
 import glide.api.models.PubSubMessage;
 import glide.api.models.Script;
 import glide.api.models.commands.ExpireOptions;
@@ -263,22 +268,34 @@ import glide.api.models.commands.stream.StreamReadOptions;
 import glide.api.models.commands.stream.StreamTrimOptions;
 import glide.api.models.configuration.BaseClientConfiguration;
 import glide.api.models.configuration.BaseSubscriptionConfiguration;
+import glide.api.models.configuration.ChannelStripingConfiguration;
+import glide.api.models.configuration.InFlightLimitConfiguration;
+import glide.api.models.configuration.ReadFrom;
+import glide.api.models.configuration.TransportMode;
 import glide.api.models.exceptions.ConfigurationError;
 import glide.api.models.exceptions.GlideException;
 import glide.connectors.handlers.CallbackDispatcher;
 import glide.connectors.handlers.ChannelHandler;
 import glide.connectors.handlers.MessageHandler;
+import glide.connectors.handlers.NativeChannelHandler;
+import glide.connectors.handlers.SharedMemoryChannelHandler;
+import glide.connectors.handlers.StripedChannelHandler;
 import glide.connectors.resources.Platform;
 import glide.connectors.resources.ThreadPoolResource;
 import glide.connectors.resources.ThreadPoolResourceAllocator;
 import glide.ffi.resolvers.GlideValueResolver;
+import glide.ffi.resolvers.NativeValueFactory;
 import glide.managers.BaseResponseResolver;
 import glide.managers.CommandManager;
 import glide.managers.ConnectionManager;
+import glide.managers.InFlightRequestLimiter;
+import glide.managers.NearCache;
 import glide.utils.ArgsBuilder;
 import java.util.Arrays;
 import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -286,11 +303,14 @@ import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.ArrayUtils;
 import response.ResponseOuterClass.ConstantResponse;
+import response.ResponseOuterClass.RequestErrorType;
 import response.ResponseOuterClass.Response;
 
 /** Base Client class */
@@ -318,13 +338,23 @@ public abstract class BaseClient
     protected final MessageHandler messageHandler;
     protected final Optional<BaseSubscriptionConfiguration> subscriptionConfiguration;
 
+    /** Near cache of read commands, <code>null</code> if not configured. */
+    protected final NearCache nearCache;
+
     /** Helper which extracts data from received {@link Response}s from GLIDE. */
     private static final BaseResponseResolver responseResolver =
-            new BaseResponseResolver(GlideValueResolver::valueFromPointer);
+            new BaseResponseResolver(GlideValueResolver::resolveValue);
 
     /** Helper which extracts data with binary strings from received {@link Response}s from GLIDE. */
     private static final BaseResponseResolver binaryResponseResolver =
-            new BaseResponseResolver(GlideValueResolver::valueFromPointerBinary);
+            new BaseResponseResolver(GlideValueResolver::resolveValueBinary, 0);
+
+    /**
+     * Helpers which extract data in the shape expected by the response handler, indexed by a hint
+     * of {@link GlideValueResolver#resolveValue(long, int)}.
+     */
+    private static final BaseResponseResolver[] shapedResponseResolvers =
+            createShapedResponseResolvers();
 
     /** A constructor. */
     protected BaseClient(ClientBuilder builder) {
@@ -332,6 +362,8 @@ public abstract class BaseClient
         this.commandManager = builder.commandManager;
         this.messageHandler = builder.messageHandler;
         this.subscriptionConfiguration = builder.subscriptionConfiguration;
+        this.nearCache =
+                messageHandler == null ? null : messageHandler.getNearCache().orElse(null);
     }
 
     /** Auxiliary builder which wraps all fields to be initialized in the constructor. */
@@ -360,9 +392,10 @@ public abstract class BaseClient
                         ThreadPoolResourceAllocator.getOrCreate(Platform.getThreadPoolResourceSupplier());
             }
             MessageHandler messageHandler = buildMessageHandler(config);
-            ChannelHandler channelHandler = buildChannelHandler(threadPoolResource, messageHandler);
+            ChannelHandler channelHandler =
+                    buildChannelHandler(threadPoolResource, messageHandler, config);
             ConnectionManager connectionManager = buildConnectionManager(channelHandler);
-            CommandManager commandManager = buildCommandManager(channelHandler);
+            CommandManager commandManager = buildCommandManager(channelHandler, config);
             // TODO: Support exception throwing, including interrupted exceptions
             return connectionManager
                     .connectToValkey(config)
@@ -373,7 +406,8 @@ public abstract class BaseClient
                                                     connectionManager,
                                                     commandManager,
                                                     messageHandler,
-                                                    Optional.ofNullable(config.getSubscriptionConfiguration()))));
+                                                    Optional.ofNullable(config.getSubscriptionConfiguration()))))
+                    .thenCompose(client -> client.startNearCache().thenApply(ignored -> client));
         } catch (InterruptedException e) {
             // Something bad happened while we were establishing netty connection to UDS
             var future = new CompletableFuture<T>();
@@ -382,6 +416,72 @@ public abstract class BaseClient
         }
     }
 
+    /**
+     * Returns the number of requests submitted by the client and not completed yet. Requests are
+     * counted only if {@link BaseClientConfiguration#getInFlightLimit()} is configured.
+     *
+     * @return The number of requests in flight.
+     */
+    public int getInFlightRequestCount() {
+        return commandManager.getInFlightRequestCount();
+    }
+
+    /**
+     * Returns the number of requests waiting for admission, when the in-flight limit is reached and
+     * {@link InFlightLimitConfiguration.OverloadPolicy#QUEUE} is configured.
+     *
+     * @return The number of queued requests.
+     */
+    public int getQueuedRequestCount() {
+        return commandManager.getQueuedRequestCount();
+    }
+
+    /**
+     * Returns the number of allocations in native memory owned by the client: response values which
+     * are received and kept until they are converted to Java objects, and argument vectors of large
+     * requests in flight. Values of cancelled requests are released once received, and the remaining
+     * values are released when the client is closed, so a value which stays high indicates slow
+     * response handlers.
+     *
+     * @return The number of response values and argument vectors in native memory.
+     */
+    public int getNativeValueCount() {
+        return commandManager.getNativeValueCount();
+    }
+
+    /**
+     * Executes a single command, like {@link GlideClient#customCommand(String[])}, and returns a view
+     * of the response which remains in native memory. Elements of the view are converted to Java
+     * objects on access only, which saves the conversion of large responses when only a part is
+     * read. The view should be closed once it's not needed.
+     *
+     * @param args Arguments for the custom command.
+     * @return A view of the response.
+     * @example
+     *     <pre>{@code
+     * try (NativeValueView view = client.customCommandView(new String[] {"LRANGE", "key", "0", "-1"}).get()) {
+     *     Object last = view.get(view.size() - 1);
+     * }
+     * }</pre>
+     */
+    public CompletableFuture<NativeValueView> customCommandView(@NonNull String[] args) {
+        return commandManager.submitNewCommandUnresolved(
+                CustomCommand, args, response -> handleValueViewResponse(response, true));
+    }
+
+    /**
+     * Executes a single command, like {@link GlideClient#customCommand(GlideString[])}, and returns
+     * a view of the response which remains in native memory. Strings of the view are exposed as
+     * {@link GlideString}. See {@link #customCommandView(String[])}.
+     *
+     * @param args Arguments for the custom command.
+     * @return A view of the response.
+     */
+    public CompletableFuture<NativeValueView> customCommandView(@NonNull GlideString[] args) {
+        return commandManager.submitNewCommandUnresolved(
+                CustomCommand, args, response -> handleValueViewResponse(response, false));
+    }
+
     /**
      * Return a next pubsub message if it is present.
      *
@@ -439,32 +539,178 @@ public abstract class BaseClient
         } catch (InterruptedException e) {
             // suppressing the interrupted exception - it is already suppressed in the future
             throw new RuntimeException(e);
+        } finally {
+            commandManager.failQueuedRequests();
+            commandManager.releaseNativeValues();
         }
     }
 
     protected static MessageHandler buildMessageHandler(BaseClientConfiguration config) {
+        Optional<NearCache> nearCache =
+                Optional.ofNullable(config.getNearCache()).map(NearCache::new);
         if (config.getSubscriptionConfiguration() == null) {
-            return new MessageHandler(Optional.empty(), Optional.empty(), binaryResponseResolver);
+            return new MessageHandler(
+                    Optional.empty(), Optional.empty(), binaryResponseResolver, nearCache);
         }
         return new MessageHandler(
                 config.getSubscriptionConfiguration().getCallback(),
                 config.getSubscriptionConfiguration().getContext(),
-                binaryResponseResolver);
+                binaryResponseResolver,
+                nearCache);
+    }
+
+    /**
+     * Enable invalidations of the near cache, if configured, once the client is connected. The
+     * returned future never fails: if enabling fails, the client is used anyway and values are not
+     * cached until a later attempt succeeds. Not static, so it isn't stubbed by tests which mock the
+     * static factories of this class.
+     */
+    CompletableFuture<Void> startNearCache() {
+        if (nearCache == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        String[] command = nearCache.getTrackingCommand();
+        return nearCache.start(() -> sendTrackingCommand(command)).handle((ignored, exception) -> null);
+    }
+
+    /**
+     * Send a <code>CLIENT TRACKING</code> command, which enables invalidations of the near cache.
+     *
+     * @param command The command arguments
+     * @return A future which completes once the command is executed
+     */
+    protected CompletableFuture<?> sendTrackingCommand(String[] command) {
+        return commandManager.submitNewCommand(
+                CustomCommand, command, this::handleObjectOrNullResponse);
+    }
+
+    /**
+     * Read a value through the near cache, if configured. A cached value is returned without a
+     * request, otherwise the response is cached.
+     *
+     * @param key The key read, a <code>String</code> or a {@link GlideString}
+     * @param slot The read command and its arguments other than the key, see {@link NearCache}
+     * @param request Sends the read command
+     * @param copy Copies a mutable value, so callers can't modify the cached one, or <code>null
+     *     </code> if the value is immutable
+     * @return A result promise
+     */
+    protected <T> CompletableFuture<T> readThroughNearCache(
+            Object key,
+            Object slot,
+            Supplier<CompletableFuture<T>> request,
+            UnaryOperator<T> copy) {
+        if (nearCache == null) {
+            return request.get();
+        }
+        GlideString cacheKey = GlideString.of(key);
+        Object cached = nearCache.get(cacheKey, slot);
+        if (cached != NearCache.MISS) {
+            @SuppressWarnings("unchecked")
+            T value = (T) cached;
+            return CompletableFuture.completedFuture(
+                    value == null || copy == null ? value : copy.apply(value));
+        }
+        NearCache.Entry placeholder = nearCache.reserve(cacheKey, slot);
+        CompletableFuture<T> result;
+        try {
+            result = request.get();
+        } catch (RuntimeException e) {
+            if (placeholder != null) {
+                nearCache.cancel(cacheKey, slot, placeholder);
+            }
+            throw e;
+        }
+        if (placeholder == null) {
+            return result;
+        }
+        result.whenComplete(
+                (value, exception) -> {
+                    if (exception == null) {
+                        nearCache.complete(cacheKey, slot, placeholder, value);
+                    } else {
+                        nearCache.cancel(cacheKey, slot, placeholder);
+                    }
+                });
+        return copy == null ? result : result.thenApply(v -> v == null ? null : copy.apply(v));
     }
 
     protected static ChannelHandler buildChannelHandler(
-            ThreadPoolResource threadPoolResource, MessageHandler messageHandler)
+            ThreadPoolResource threadPoolResource,
+            MessageHandler messageHandler,
+            BaseClientConfiguration config)
             throws InterruptedException {
-        CallbackDispatcher callbackDispatcher = new CallbackDispatcher(messageHandler);
-        return new ChannelHandler(callbackDispatcher, getSocket(), threadPoolResource);
+        if (config.getNearCache() != null && config.getReadFrom() != ReadFrom.PRIMARY) {
+            // invalidations are received only for the keys read from primaries
+            throw new ConfigurationError("Near cache requires reading from primaries");
+        }
+        if (config.getTransportMode() != TransportMode.UDS) {
+            if (config.getSubscriptionConfiguration() != null) {
+                throw new ConfigurationError(
+                        "Pubsub subscriptions are not supported by the in-process transport");
+            }
+            if (config.getNearCache() != null) {
+                throw new ConfigurationError(
+                        "Near cache is not supported by the in-process transport");
+            }
+            if (config.getAutoPipeline() != null) {
+                throw new ConfigurationError(
+                        "Auto-pipelining is not supported by the in-process transport");
+            }
+            CallbackDispatcher callbackDispatcher = new CallbackDispatcher(messageHandler);
+            return config.getTransportMode() == TransportMode.SHARED_MEMORY
+                    ? new SharedMemoryChannelHandler(callbackDispatcher)
+                    : new NativeChannelHandler(callbackDispatcher);
+        }
+        ChannelStripingConfiguration striping = config.getChannelStriping();
+        if (config.getNearCache() != null && striping != null && striping.getChannelCount() > 1) {
+            // tracking is enabled on one connection only, reads through the others miss invalidations
+            throw new ConfigurationError("Near cache is not supported with channel striping");
+        }
+        if (striping == null || striping.getChannelCount() <= 1) {
+            CallbackDispatcher callbackDispatcher = new CallbackDispatcher(messageHandler);
+            return new ChannelHandler(
+                    callbackDispatcher,
+                    getSocket(),
+                    threadPoolResource,
+                    config.getAutoFlush(),
+                    config.getAutoPipeline());
+        }
+        // every channel needs its own dispatcher: GLIDE core responds to a connection request with
+        // callback ID 0, which should be the first ID issued by the dispatcher
+        var channels = new ChannelHandler[striping.getChannelCount()];
+        try {
+            for (int i = 0; i < channels.length; i++) {
+                channels[i] =
+                        new ChannelHandler(
+                                new CallbackDispatcher(messageHandler),
+                                getSocket(),
+                                threadPoolResource,
+                                config.getAutoFlush(),
+                                config.getAutoPipeline());
+            }
+        } catch (Exception e) {
+            for (var channel : channels) {
+                if (channel != null) {
+                    channel.close();
+                }
+            }
+            throw e;
+        }
+        return new StripedChannelHandler(channels, striping.getMode());
     }
 
     protected static ConnectionManager buildConnectionManager(ChannelHandler channelHandler) {
         return new ConnectionManager(channelHandler);
     }
 
-    protected static CommandManager buildCommandManager(ChannelHandler channelHandler) {
-        return new CommandManager(channelHandler);
+    protected static CommandManager buildCommandManager(
+            ChannelHandler channelHandler, BaseClientConfiguration config) {
+        InFlightLimitConfiguration inFlightLimit = config.getInFlightLimit();
+        return new CommandManager(
+                channelHandler,
+                config.getCompletionExecutor(),
+                inFlightLimit == null ? null : new InFlightRequestLimiter(inFlightLimit));
     }
 
     /**
@@ -490,14 +736,17 @@ public abstract class BaseClient
             Class<T> classType, EnumSet<ResponseFlags> flags, Response response) throws GlideException {
         boolean encodingUtf8 = flags.contains(ResponseFlags.ENCODING_UTF8);
         boolean isNullable = flags.contains(ResponseFlags.IS_NULLABLE);
-        Object value =
-                encodingUtf8 ? responseResolver.apply(response) : binaryResponseResolver.apply(response);
+        // strings and arrays are built in their final shape, so they don't need converting after
+        int hint = encodingUtf8 ? GlideValueResolver.ENCODING_UTF8 : GlideValueResolver.GLIDE_STRINGS;
+        if (classType == String[].class || classType == GlideString[].class) {
+            // only the top-level array is typed, nested ones stay Object[]
+            hint |= GlideValueResolver.TYPED_ARRAYS;
+        }
+        Object value = shapedResponseResolvers[hint].apply(response);
         if (isNullable && (value == null)) {
             return null;
         }
 
-        value = convertByteArrayToGlideString(value);
-
         if (classType.isInstance(value)) {
             return (T) value;
         }
@@ -509,6 +758,17 @@ public abstract class BaseClient
                         + classType.getSimpleName());
     }
 
+    private static BaseResponseResolver[] createShapedResponseResolvers() {
+        var resolvers = new BaseResponseResolver[8];
+        for (int i = 0; i < resolvers.length; i++) {
+            int hint = i;
+            resolvers[i] =
+                    new BaseResponseResolver(
+                            pointer -> GlideValueResolver.resolveValue(pointer, hint), hint);
+        }
+        return resolvers;
+    }
+
     protected Object handleObjectOrNullResponse(Response response) throws GlideException {
         return handleValkeyResponse(
                 Object.class, EnumSet.of(ResponseFlags.IS_NULLABLE, ResponseFlags.ENCODING_UTF8), response);
@@ -518,6 +778,37 @@ public abstract class BaseClient
         return handleValkeyResponse(Object.class, EnumSet.of(ResponseFlags.IS_NULLABLE), response);
     }
 
+    /**
+     * Wraps a string response into a {@link NativeBuffer}, which takes ownership of the response
+     * value in native memory. A short string sent inline is wrapped as it is.
+     */
+    protected NativeBuffer handleNativeBufferOrNullResponse(Response response) {
+        if (response.hasRespPointer()) {
+            return NativeValueFactory.newBuffer(response.getRespPointer());
+        }
+        if (response.hasBytesValue()) {
+            return NativeBuffer.of(response.getBytesValue().asReadOnlyByteBuffer());
+        }
+        return null;
+    }
+
+    /**
+     * Wraps a response into a {@link NativeValueView}, which takes ownership of the response value
+     * in native memory.
+     */
+    protected NativeValueView handleValueViewResponse(Response response, boolean encodingUtf8) {
+        if (response.hasRespPointer()) {
+            return NativeValueFactory.newView(
+                    response.getRespPointer(), encodingUtf8, this::convertByteArrayToGlideString);
+        }
+        // OK, nil or a scalar sent inline
+        BaseResponseResolver resolver =
+                encodingUtf8
+                        ? shapedResponseResolvers[GlideValueResolver.ENCODING_UTF8]
+                        : shapedResponseResolvers[GlideValueResolver.GLIDE_STRINGS];
+        return NativeValueFactory.newView(resolver.apply(response));
+    }
+
     protected String handleStringResponse(Response response) throws GlideException {
         return handleValkeyResponse(String.class, EnumSet.of(ResponseFlags.ENCODING_UTF8), response);
     }
@@ -571,6 +862,27 @@ public abstract class BaseClient
         return handleValkeyResponse(Object[].class, EnumSet.noneOf(ResponseFlags.class), response);
     }
 
+    protected String[] handleStringArrayResponse(Response response) throws GlideException {
+        return handleValkeyResponse(String[].class, EnumSet.of(ResponseFlags.ENCODING_UTF8), response);
+    }
+
+    protected String[] handleStringArrayOrNullResponse(Response response) throws GlideException {
+        return handleValkeyResponse(
+                String[].class,
+                EnumSet.of(ResponseFlags.IS_NULLABLE, ResponseFlags.ENCODING_UTF8),
+                response);
+    }
+
+    protected GlideString[] handleGlideStringArrayResponse(Response response) throws GlideException {
+        return handleValkeyResponse(GlideString[].class, EnumSet.noneOf(ResponseFlags.class), response);
+    }
+
+    protected GlideString[] handleGlideStringArrayOrNullResponse(Response response)
+            throws GlideException {
+        return handleValkeyResponse(
+                GlideString[].class, EnumSet.of(ResponseFlags.IS_NULLABLE), response);
+    }
+
     protected Object[] handleArrayOrNullResponse(Response response) throws GlideException {
         return handleValkeyResponse(
                 Object[].class,
@@ -582,6 +894,41 @@ public abstract class BaseClient
         return handleValkeyResponse(Object[].class, EnumSet.of(ResponseFlags.IS_NULLABLE), response);
     }
 
+    /**
+     * Extract the responses of a {@link Batch} or {@link ClusterBatch}. GLIDE core returns the
+     * values of the commands in order and the errors of the failed commands, as <code>[index, type,
+     * message]</code> arrays.
+     *
+     * @param response A Protobuf response
+     * @param binaryOutput Whether the commands return {@link GlideString}s
+     * @param raiseOnError Whether to throw the error of the first failed command, otherwise it's
+     *     returned in place of the command value
+     * @return The responses of the commands, in order
+     */
+    protected Object[] handleBatchResponse(
+            Response response, boolean binaryOutput, boolean raiseOnError) throws GlideException {
+        Object[] batch =
+                binaryOutput ? handleArrayResponseBinary(response) : handleArrayResponse(response);
+        Object[] values = (Object[]) batch[0];
+        Object[] errors = (Object[]) batch[1];
+        if (errors.length > 0 && values.getClass() != Object[].class) {
+            // a typed array, e.g. String[], can't hold the exceptions
+            values = Arrays.copyOf(values, values.length, Object[].class);
+        }
+        for (Object error : errors) {
+            Object[] details = (Object[]) error;
+            GlideException exception =
+                    CallbackDispatcher.toException(
+                            RequestErrorType.forNumber(((Long) details[1]).intValue()),
+                            GlideString.of(details[2]).toString());
+            if (raiseOnError) {
+                throw exception;
+            }
+            values[((Long) details[0]).intValue()] = exception;
+        }
+        return values;
+    }
+
     /**
      * @param response A Protobuf response
      * @return A map of <code>String</code> to <code>V</code>.
@@ -776,14 +1123,32 @@ public abstract class BaseClient
 
     @Override
     public CompletableFuture<String> get(@NonNull String key) {
-        return commandManager.submitNewCommand(
-                Get, new String[] {key}, this::handleStringOrNullResponse);
+        return readThroughNearCache(
+                key,
+                "GET",
+                () ->
+                        commandManager.submitNewCommand(
+                                Get, new String[] {key}, this::handleStringOrNullResponse),
+                null);
     }
 
     @Override
     public CompletableFuture<GlideString> get(@NonNull GlideString key) {
-        return commandManager.submitNewCommand(
-                Get, new GlideString[] {key}, this::handleGlideStringOrNullResponse);
+        return readThroughNearCache(
+                key,
+                "GET_BINARY",
+                () ->
+                        commandManager.submitNewCommand(
+                                Get,
+                                new GlideString[] {key},
+                                this::handleGlideStringOrNullResponse),
+                null);
+    }
+
+    @Override
+    public CompletableFuture<NativeBuffer> getDirect(@NonNull GlideString key) {
+        return commandManager.submitNewCommandUnresolved(
+                Get, new GlideString[] {key}, this::handleNativeBufferOrNullResponse);
     }
 
     @Override
@@ -863,16 +1228,12 @@ public abstract class BaseClient
 
     @Override
     public CompletableFuture<String[]> mget(@NonNull String[] keys) {
-        return commandManager.submitNewCommand(
-                MGet, keys, response -> castArray(handleArrayOrNullResponse(response), String.class));
+        return commandManager.submitNewCommand(MGet, keys, this::handleStringArrayOrNullResponse);
     }
 
     @Override
     public CompletableFuture<GlideString[]> mget(@NonNull GlideString[] keys) {
-        return commandManager.submitNewCommand(
-                MGet,
-                keys,
-                response -> castArray(handleArrayOrNullResponseBinary(response), GlideString.class));
+        return commandManager.submitNewCommand(MGet, keys, this::handleGlideStringArrayOrNullResponse);
     }
 
     @Override
@@ -1057,14 +1418,26 @@ public abstract class BaseClient
 
     @Override
     public CompletableFuture<String> hget(@NonNull String key, @NonNull String field) {
-        return commandManager.submitNewCommand(
-                HGet, new String[] {key, field}, this::handleStringOrNullResponse);
+        return readThroughNearCache(
+                key,
+                List.of("HGET", field),
+                () ->
+                        commandManager.submitNewCommand(
+                                HGet, new String[] {key, field}, this::handleStringOrNullResponse),
+                null);
     }
 
     @Override
     public CompletableFuture<GlideString> hget(@NonNull GlideString key, @NonNull GlideString field) {
-        return commandManager.submitNewCommand(
-                HGet, new GlideString[] {key, field}, this::handleGlideStringOrNullResponse);
+        return readThroughNearCache(
+                key,
+                List.of("HGET_BINARY", field),
+                () ->
+                        commandManager.submitNewCommand(
+                                HGet,
+                                new GlideString[] {key, field},
+                                this::handleGlideStringOrNullResponse),
+                null);
     }
 
     @Override
@@ -1121,24 +1494,19 @@ public abstract class BaseClient
     @Override
     public CompletableFuture<String[]> hvals(@NonNull String key) {
         return commandManager.submitNewCommand(
-                HVals,
-                new String[] {key},
-                response -> castArray(handleArrayResponse(response), String.class));
+                HVals, new String[] {key}, this::handleStringArrayResponse);
     }
 
     @Override
     public CompletableFuture<GlideString[]> hvals(@NonNull GlideString key) {
         return commandManager.submitNewCommand(
-                HVals,
-                new GlideString[] {key},
-                response -> castArray(handleArrayOrNullResponseBinary(response), GlideString.class));
+                HVals, new GlideString[] {key}, this::handleGlideStringArrayOrNullResponse);
     }
 
     @Override
     public CompletableFuture<String[]> hmget(@NonNull String key, @NonNull String[] fields) {
         String[] arguments = ArrayUtils.addFirst(fields, key);
-        return commandManager.submitNewCommand(
-                HMGet, arguments, response -> castArray(handleArrayResponse(response), String.class));
+        return commandManager.submitNewCommand(HMGet, arguments, this::handleStringArrayResponse);
     }
 
     @Override
@@ -1146,9 +1514,7 @@ public abstract class BaseClient
             @NonNull GlideString key, @NonNull GlideString[] fields) {
         GlideString[] arguments = ArrayUtils.addFirst(fields, key);
         return commandManager.submitNewCommand(
-                HMGet,
-                arguments,
-                response -> castArray(handleArrayOrNullResponseBinary(response), GlideString.class));
+                HMGet, arguments, this::handleGlideStringArrayOrNullResponse);
     }
 
     @Override
@@ -1165,13 +1531,26 @@ public abstract class BaseClient
 
     @Override
     public CompletableFuture<Map<String, String>> hgetall(@NonNull String key) {
-        return commandManager.submitNewCommand(HGetAll, new String[] {key}, this::handleMapResponse);
+        return readThroughNearCache(
+                key,
+                "HGETALL",
+                () ->
+                        commandManager.submitNewCommand(
+                                HGetAll, new String[] {key}, this::handleMapResponse),
+                LinkedHashMap::new);
     }
 
     @Override
     public CompletableFuture<Map<GlideString, GlideString>> hgetall(@NonNull GlideString key) {
-        return commandManager.submitNewCommand(
-                HGetAll, new GlideString[] {key}, this::handleBinaryStringMapResponse);
+        return readThroughNearCache(
+                key,
+                "HGETALL_BINARY",
+                () ->
+                        commandManager.submitNewCommand(
+                                HGetAll,
+                                new GlideString[] {key},
+                                this::handleBinaryStringMapResponse),
+                LinkedHashMap::new);
     }
 
     @Override
@@ -1210,17 +1589,13 @@ public abstract class BaseClient
     @Override
     public CompletableFuture<String[]> hkeys(@NonNull String key) {
         return commandManager.submitNewCommand(
-                HKeys,
-                new String[] {key},
-                response -> castArray(handleArrayResponse(response), String.class));
+                HKeys, new String[] {key}, this::handleStringArrayResponse);
     }
 
     @Override
     public CompletableFuture<GlideString[]> hkeys(@NonNull GlideString key) {
         return commandManager.submitNewCommand(
-                HKeys,
-                new GlideString[] {key},
-                response -> castArray(handleArrayOrNullResponseBinary(response), GlideString.class));
+                HKeys, new GlideString[] {key}, this::handleGlideStringArrayOrNullResponse);
     }
 
     @Override
@@ -1250,9 +1625,7 @@ public abstract class BaseClient
     @Override
     public CompletableFuture<String[]> hrandfieldWithCount(@NonNull String key, long count) {
         return commandManager.submitNewCommand(
-                HRandField,
-                new String[] {key, Long.toString(count)},
-                response -> castArray(handleArrayResponse(response), String.class));
+                HRandField, new String[] {key, Long.toString(count)}, this::handleStringArrayResponse);
     }
 
     @Override
@@ -1261,7 +1634,7 @@ public abstract class BaseClient
         return commandManager.submitNewCommand(
                 HRandField,
                 new GlideString[] {key, GlideString.of(count)},
-                response -> castArray(handleArrayResponseBinary(response), GlideString.class));
+                this::handleGlideStringArrayResponse);
     }
 
     @Override
@@ -1309,9 +1682,7 @@ public abstract class BaseClient
     @Override
     public CompletableFuture<String[]> lpopCount(@NonNull String key, long count) {
         return commandManager.submitNewCommand(
-                LPop,
-                new String[] {key, Long.toString(count)},
-                response -> castArray(handleArrayResponse(response), String.class));
+                LPop, new String[] {key, Long.toString(count)}, this::handleStringArrayResponse);
     }
 
     @Override
@@ -1319,7 +1690,7 @@ public abstract class BaseClient
         return commandManager.submitNewCommand(
                 LPop,
                 new GlideString[] {key, gs(Long.toString(count))},
-                response -> castArray(handleArrayResponseBinary(response), GlideString.class));
+                this::handleGlideStringArrayResponse);
     }
 
     @Override
@@ -1402,7 +1773,7 @@ public abstract class BaseClient
         return commandManager.submitNewCommand(
                 LRange,
                 new String[] {key, Long.toString(start), Long.toString(end)},
-                response -> castArray(handleArrayOrNullResponse(response), String.class));
+                this::handleStringArrayOrNullResponse);
     }
 
     @Override
@@ -1410,7 +1781,7 @@ public abstract class BaseClient
         return commandManager.submitNewCommand(
                 LRange,
                 new GlideString[] {key, gs(Long.toString(start)), gs(Long.toString(end))},
-                response -> castArray(handleArrayOrNullResponseBinary(response), GlideString.class));
+                this::handleGlideStringArrayOrNullResponse);
     }
 
     @Override
@@ -1493,9 +1864,7 @@ public abstract class BaseClient
     @Override
     public CompletableFuture<String[]> rpopCount(@NonNull String key, long count) {
         return commandManager.submitNewCommand(
-                RPop,
-                new String[] {key, Long.toString(count)},
-                response -> castArray(handleArrayOrNullResponse(response), String.class));
+                RPop, new String[] {key, Long.toString(count)}, this::handleStringArrayOrNullResponse);
     }
 
     @Override
@@ -1503,7 +1872,7 @@ public abstract class BaseClient
         return commandManager.submitNewCommand(
                 RPop,
                 new GlideString[] {key, gs(Long.toString(count))},
-                response -> castArray(handleArrayOrNullResponseBinary(response), GlideString.class));
+                this::handleGlideStringArrayOrNullResponse);
     }
 
     @Override
@@ -1545,13 +1914,24 @@ public abstract class BaseClient
 
     @Override
     public CompletableFuture<Set<String>> smembers(@NonNull String key) {
-        return commandManager.submitNewCommand(SMembers, new String[] {key}, this::handleSetResponse);
+        return readThroughNearCache(
+                key,
+                "SMEMBERS",
+                () ->
+                        commandManager.submitNewCommand(
+                                SMembers, new String[] {key}, this::handleSetResponse),
+                HashSet::new);
     }
 
     @Override
     public CompletableFuture<Set<GlideString>> smembers(@NonNull GlideString key) {
-        return commandManager.submitNewCommand(
-                SMembers, new GlideString[] {key}, this::handleSetBinaryResponse);
+        return readThroughNearCache(
+                key,
+                "SMEMBERS_BINARY",
+                () ->
+                        commandManager.submitNewCommand(
+                                SMembers, new GlideString[] {key}, this::handleSetBinaryResponse),
+                HashSet::new);
     }
 
     @Override
@@ -2174,17 +2554,13 @@ public abstract class BaseClient
     @Override
     public CompletableFuture<String[]> zdiff(@NonNull String[] keys) {
         String[] arguments = ArrayUtils.addFirst(keys, Long.toString(keys.length));
-        return commandManager.submitNewCommand(
-                ZDiff, arguments, response -> castArray(handleArrayResponse(response), String.class));
+        return commandManager.submitNewCommand(ZDiff, arguments, this::handleStringArrayResponse);
     }
 
     @Override
     public CompletableFuture<GlideString[]> zdiff(@NonNull GlideString[] keys) {
         GlideString[] arguments = new ArgsBuilder().add(keys.length).add(keys).toArray();
-        return commandManager.submitNewCommand(
-                ZDiff,
-                arguments,
-                response -> castArray(handleArrayResponseBinary(response), GlideString.class));
+        return commandManager.submitNewCommand(ZDiff, arguments, this::handleGlideStringArrayResponse);
     }
 
     @Override
@@ -2421,16 +2797,13 @@ public abstract class BaseClient
 
     @Override
     public CompletableFuture<String[]> zunion(@NonNull KeyArray keys) {
-        return commandManager.submitNewCommand(
-                ZUnion, keys.toArgs(), response -> castArray(handleArrayResponse(response), String.class));
+        return commandManager.submitNewCommand(ZUnion, keys.toArgs(), this::handleStringArrayResponse);
     }
 
     @Override
     public CompletableFuture<GlideString[]> zunion(@NonNull KeyArrayBinary keys) {
         return commandManager.submitNewCommand(
-                ZUnion,
-                keys.toArgs(),
-                response -> castArray(handleArrayResponseBinary(response), GlideString.class));
+                ZUnion, keys.toArgs(), this::handleGlideStringArrayResponse);
     }
 
     @Override
@@ -2473,16 +2846,13 @@ public abstract class BaseClient
 
     @Override
     public CompletableFuture<String[]> zinter(@NonNull KeyArray keys) {
-        return commandManager.submitNewCommand(
-                ZInter, keys.toArgs(), response -> castArray(handleArrayResponse(response), String.class));
+        return commandManager.submitNewCommand(ZInter, keys.toArgs(), this::handleStringArrayResponse);
     }
 
     @Override
     public CompletableFuture<GlideString[]> zinter(@NonNull KeyArrayBinary keys) {
         return commandManager.submitNewCommand(
-                ZInter,
-                keys.toArgs(),
-                response -> castArray(handleArrayResponseBinary(response), GlideString.class));
+                ZInter, keys.toArgs(), this::handleGlideStringArrayResponse);
     }
 
     @Override
@@ -2538,9 +2908,7 @@ public abstract class BaseClient
     @Override
     public CompletableFuture<String[]> zrandmemberWithCount(@NonNull String key, long count) {
         return commandManager.submitNewCommand(
-                ZRandMember,
-                new String[] {key, Long.toString(count)},
-                response -> castArray(handleArrayResponse(response), String.class));
+                ZRandMember, new String[] {key, Long.toString(count)}, this::handleStringArrayResponse);
     }
 
     @Override
@@ -2549,7 +2917,7 @@ public abstract class BaseClient
         return commandManager.submitNewCommand(
                 ZRandMember,
                 new GlideString[] {key, gs(Long.toString(count))},
-                response -> castArray(handleArrayResponseBinary(response), GlideString.class));
+                this::handleGlideStringArrayResponse);
     }
 
     @Override
@@ -3143,8 +3511,7 @@ public abstract class BaseClient
                         new String[] {key, group, consumer, Long.toString(minIdleTime)},
                         ids,
                         new String[] {JUST_ID_VALKEY_API});
-        return commandManager.submitNewCommand(
-                XClaim, args, response -> castArray(handleArrayResponse(response), String.class));
+        return commandManager.submitNewCommand(XClaim, args, this::handleStringArrayResponse);
     }
 
     @Override
@@ -3159,10 +3526,7 @@ public abstract class BaseClient
                         new GlideString[] {key, group, consumer, gs(Long.toString(minIdleTime))},
                         ids,
                         new GlideString[] {gs(JUST_ID_VALKEY_API)});
-        return commandManager.submitNewCommand(
-                XClaim,
-                args,
-                response -> castArray(handleArrayResponseBinary(response), GlideString.class));
+        return commandManager.submitNewCommand(XClaim, args, this::handleGlideStringArrayResponse);
     }
 
     @Override
@@ -3179,8 +3543,7 @@ public abstract class BaseClient
                         ids,
                         options.toArgs(),
                         new String[] {JUST_ID_VALKEY_API});
-        return commandManager.submitNewCommand(
-                XClaim, args, response -> castArray(handleArrayResponse(response), String.class));
+        return commandManager.submitNewCommand(XClaim, args, this::handleStringArrayResponse);
     }
 
     @Override
@@ -3200,10 +3563,7 @@ public abstract class BaseClient
                         ids,
                         toArgs,
                         new GlideString[] {gs(JUST_ID_VALKEY_API)});
-        return commandManager.submitNewCommand(
-                XClaim,
-                args,
-                response -> castArray(handleArrayResponseBinary(response), GlideString.class));
+        return commandManager.submitNewCommand(XClaim, args, this::handleGlideStringArrayResponse);
     }
 
     @Override
@@ -3474,33 +3834,27 @@ public abstract class BaseClient
     @Override
     public CompletableFuture<String[]> blpop(@NonNull String[] keys, double timeout) {
         String[] arguments = ArrayUtils.add(keys, Double.toString(timeout));
-        return commandManager.submitNewCommand(
-                BLPop, arguments, response -> castArray(handleArrayOrNullResponse(response), String.class));
+        return commandManager.submitNewCommand(BLPop, arguments, this::handleStringArrayOrNullResponse);
     }
 
     @Override
     public CompletableFuture<GlideString[]> blpop(@NonNull GlideString[] keys, double timeout) {
         GlideString[] arguments = ArrayUtils.add(keys, gs(Double.toString(timeout)));
         return commandManager.submitNewCommand(
-                BLPop,
-                arguments,
-                response -> castArray(handleArrayOrNullResponseBinary(response), GlideString.class));
+                BLPop, arguments, this::handleGlideStringArrayOrNullResponse);
     }
 
     @Override
     public CompletableFuture<String[]> brpop(@NonNull String[] keys, double timeout) {
         String[] arguments = ArrayUtils.add(keys, Double.toString(timeout));
-        return commandManager.submitNewCommand(
-                BRPop, arguments, response -> castArray(handleArrayOrNullResponse(response), String.class));
+        return commandManager.submitNewCommand(BRPop, arguments, this::handleStringArrayOrNullResponse);
     }
 
     @Override
     public CompletableFuture<GlideString[]> brpop(@NonNull GlideString[] keys, double timeout) {
         GlideString[] arguments = ArrayUtils.add(keys, gs(Double.toString(timeout)));
         return commandManager.submitNewCommand(
-                BRPop,
-                arguments,
-                response -> castArray(handleArrayOrNullResponseBinary(response), GlideString.class));
+                BRPop, arguments, this::handleGlideStringArrayOrNullResponse);
     }
 
     @Override
@@ -3533,9 +3887,7 @@ public abstract class BaseClient
         String[] arguments = RangeOptions.createZRangeArgs(key, rangeQuery, reverse, false);
 
         return commandManager.submitNewCommand(
-                ZRange,
-                arguments,
-                response -> castArray(handleArrayOrNullResponse(response), String.class));
+                ZRange, arguments, this::handleStringArrayOrNullResponse);
     }
 
     @Override
@@ -3544,9 +3896,7 @@ public abstract class BaseClient
         GlideString[] arguments = RangeOptions.createZRangeArgsBinary(key, rangeQuery, reverse, false);
 
         return commandManager.submitNewCommand(
-                ZRange,
-                arguments,
-                response -> castArray(handleArrayOrNullResponseBinary(response), GlideString.class));
+                ZRange, arguments, this::handleGlideStringArrayOrNullResponse);
     }
 
     @Override
@@ -3819,8 +4169,7 @@ public abstract class BaseClient
     @Override
     public CompletableFuture<String[]> geohash(@NonNull String key, @NonNull String[] members) {
         String[] arguments = concatenateArrays(new String[] {key}, members);
-        return commandManager.submitNewCommand(
-                GeoHash, arguments, response -> castArray(handleArrayResponse(response), String.class));
+        return commandManager.submitNewCommand(GeoHash, arguments, this::handleStringArrayResponse);
     }
 
     @Override
@@ -3828,9 +4177,7 @@ public abstract class BaseClient
             @NonNull GlideString key, @NonNull GlideString[] members) {
         GlideString[] arguments = concatenateArrays(new GlideString[] {key}, members);
         return commandManager.submitNewCommand(
-                GeoHash,
-                arguments,
-                response -> castArray(handleArrayOrNullResponseBinary(response), GlideString.class));
+                GeoHash, arguments, this::handleGlideStringArrayOrNullResponse);
     }
 
     @Override
@@ -4207,17 +4554,14 @@ public abstract class BaseClient
     @Override
     public CompletableFuture<String[]> srandmember(@NonNull String key, long count) {
         String[] arguments = new String[] {key, Long.toString(count)};
-        return commandManager.submitNewCommand(
-                SRandMember, arguments, response -> castArray(handleArrayResponse(response), String.class));
+        return commandManager.submitNewCommand(SRandMember, arguments, this::handleStringArrayResponse);
     }
 
     @Override
     public CompletableFuture<GlideString[]> srandmember(@NonNull GlideString key, long count) {
         GlideString[] arguments = new GlideString[] {key, gs(Long.toString(count))};
         return commandManager.submitNewCommand(
-                SRandMember,
-                arguments,
-                response -> castArray(handleArrayOrNullResponseBinary(response), GlideString.class));
+                SRandMember, arguments, this::handleGlideStringArrayOrNullResponse);
     }
 
     @Override
@@ -4544,33 +4888,25 @@ public abstract class BaseClient
     @Override
     public CompletableFuture<String[]> pubsubChannels() {
         return commandManager.submitNewCommand(
-                PubSubChannels,
-                new String[0],
-                response -> castArray(handleArrayResponse(response), String.class));
+                PubSubChannels, new String[0], this::handleStringArrayResponse);
     }
 
     @Override
     public CompletableFuture<GlideString[]> pubsubChannelsBinary() {
         return commandManager.submitNewCommand(
-                PubSubChannels,
-                new GlideString[0],
-                response -> castArray(handleArrayResponseBinary(response), GlideString.class));
+                PubSubChannels, new GlideString[0], this::handleGlideStringArrayResponse);
     }
 
     @Override
     public CompletableFuture<String[]> pubsubChannels(@NonNull String pattern) {
         return commandManager.submitNewCommand(
-                PubSubChannels,
-                new String[] {pattern},
-                response -> castArray(handleArrayResponse(response), String.class));
+                PubSubChannels, new String[] {pattern}, this::handleStringArrayResponse);
     }
 
     @Override
     public CompletableFuture<GlideString[]> pubsubChannels(@NonNull GlideString pattern) {
         return commandManager.submitNewCommand(
-                PubSubChannels,
-                new GlideString[] {pattern},
-                response -> castArray(handleArrayResponseBinary(response), GlideString.class));
+                PubSubChannels, new GlideString[] {pattern}, this::handleGlideStringArrayResponse);
     }
 
     @Override
@@ -4665,33 +5001,25 @@ public abstract class BaseClient
     @Override
     public CompletableFuture<String[]> sort(@NonNull String key) {
         return commandManager.submitNewCommand(
-                Sort,
-                new String[] {key},
-                response -> castArray(handleArrayResponse(response), String.class));
+                Sort, new String[] {key}, this::handleStringArrayResponse);
     }
 
     @Override
     public CompletableFuture<GlideString[]> sort(@NonNull GlideString key) {
         return commandManager.submitNewCommand(
-                Sort,
-                new GlideString[] {key},
-                response -> castArray(handleArrayOrNullResponseBinary(response), GlideString.class));
+                Sort, new GlideString[] {key}, this::handleGlideStringArrayOrNullResponse);
     }
 
     @Override
     public CompletableFuture<String[]> sortReadOnly(@NonNull String key) {
         return commandManager.submitNewCommand(
-                SortReadOnly,
-                new String[] {key},
-                response -> castArray(handleArrayResponse(response), String.class));
+                SortReadOnly, new String[] {key}, this::handleStringArrayResponse);
     }
 
     @Override
     public CompletableFuture<GlideString[]> sortReadOnly(@NonNull GlideString key) {
         return commandManager.submitNewCommand(
-                SortReadOnly,
-                new GlideString[] {key},
-                response -> castArray(handleArrayOrNullResponseBinary(response), GlideString.class));
+                SortReadOnly, new GlideString[] {key}, this::handleGlideStringArrayOrNullResponse);
     }
 
     @Override
@@ -4716,8 +5044,7 @@ public abstract class BaseClient
             @NonNull GeoSearchShape searchBy) {
         String[] arguments =
                 concatenateArrays(new String[] {key}, searchFrom.toArgs(), searchBy.toArgs());
-        return commandManager.submitNewCommand(
-                GeoSearch, arguments, response -> castArray(handleArrayResponse(response), String.class));
+        return commandManager.submitNewCommand(GeoSearch, arguments, this::handleStringArrayResponse);
     }
 
     @Override
@@ -4729,9 +5056,7 @@ public abstract class BaseClient
                 new ArgsBuilder().add(key).add(searchFrom.toArgs()).add(searchBy.toArgs()).toArray();
 
         return commandManager.submitNewCommand(
-                GeoSearch,
-                arguments,
-                response -> castArray(handleArrayOrNullResponseBinary(response), GlideString.class));
+                GeoSearch, arguments, this::handleGlideStringArrayOrNullResponse);
     }
 
     @Override
@@ -4743,8 +5068,7 @@ public abstract class BaseClient
         String[] arguments =
                 concatenateArrays(
                         new String[] {key}, searchFrom.toArgs(), searchBy.toArgs(), resultOptions.toArgs());
-        return commandManager.submitNewCommand(
-                GeoSearch, arguments, response -> castArray(handleArrayResponse(response), String.class));
+        return commandManager.submitNewCommand(GeoSearch, arguments, this::handleStringArrayResponse);
     }
 
     @Override
@@ -4762,9 +5086,7 @@ public abstract class BaseClient
                         .toArray();
 
         return commandManager.submitNewCommand(
-                GeoSearch,
-                arguments,
-                response -> castArray(handleArrayOrNullResponseBinary(response), GlideString.class));
+                GeoSearch, arguments, this::handleGlideStringArrayOrNullResponse);
     }
 
     @Override
@@ -38,7 +38,6 @@ import static glide.api.models.commands.SortBaseOptions.STORE_COMMAND_STRING;
 import static glide.api.models.commands.function.FunctionListOptions.LIBRARY_NAME_VALKEY_API;
 import static glide.api.models.commands.function.FunctionListOptions.WITH_CODE_VALKEY_API;
 import static glide.api.models.commands.function.FunctionLoadOptions.REPLACE;
-import static glide.utils.ArrayTransformUtils.castArray;
 import static glide.utils.ArrayTransformUtils.concatenateArrays;
 import static glide.utils.ArrayTransformUtils.convertMapToKeyValueStringArray;
 
@@ -47,7 +46,9 @@ import glide.api.commands.GenericCommands;
 import glide.api.commands.ScriptingAndFunctionsCommands;
 import glide.api.commands.ServerManagementCommands;
 import glide.api.commands.TransactionsCommands;
+import glide.api.models.Batch;
 import glide.api.models.GlideString;
+import glide.api.models.PreparedCommand;
 import glide.api.models.Transaction;
 import glide.api.models.commands.FlushMode;
 import glide.api.models.commands.InfoOptions;
@@ -102,6 +103,18 @@ public class GlideClient extends BaseClient
                 CustomCommand, args, this::handleBinaryObjectOrNullResponse);
     }
 
+    @Override
+    public PreparedCommand prepareCustomCommand(@NonNull GlideString[] args) {
+        return commandManager.prepareCommand(CustomCommand, args, null);
+    }
+
+    @Override
+    public CompletableFuture<Object> customCommand(
+            @NonNull PreparedCommand command, @NonNull GlideString... values) {
+        return commandManager.submitPreparedCommand(
+                command, values, this::handleBinaryObjectOrNullResponse);
+    }
+
     @Override
     public CompletableFuture<Object[]> exec(@NonNull Transaction transaction) {
         if (transaction.isBinaryOutput()) {
@@ -112,6 +125,13 @@ public class GlideClient extends BaseClient
         }
     }
 
+    @Override
+    public CompletableFuture<Object[]> exec(@NonNull Batch batch, boolean raiseOnError) {
+        return commandManager.submitNewBatch(
+                batch,
+                response -> handleBatchResponse(response, batch.isBinaryOutput(), raiseOnError));
+    }
+
     @Override
     public CompletableFuture<String> ping() {
         return commandManager.submitNewCommand(Ping, new String[0], this::handleStringResponse);
@@ -193,8 +213,7 @@ public class GlideClient extends BaseClient
 
     @Override
     public CompletableFuture<String[]> time() {
-        return commandManager.submitNewCommand(
-                Time, new String[0], response -> castArray(handleArrayResponse(response), String.class));
+        return commandManager.submitNewCommand(Time, new String[0], this::handleStringArrayResponse);
     }
 
     @Override
@@ -480,8 +499,7 @@ public class GlideClient extends BaseClient
     @Override
     public CompletableFuture<String[]> sort(@NonNull String key, @NonNull SortOptions sortOptions) {
         String[] arguments = ArrayUtils.addFirst(sortOptions.toArgs(), key);
-        return commandManager.submitNewCommand(
-                Sort, arguments, response -> castArray(handleArrayResponse(response), String.class));
+        return commandManager.submitNewCommand(Sort, arguments, this::handleStringArrayResponse);
     }
 
     @Override
@@ -489,9 +507,7 @@ public class GlideClient extends BaseClient
             @NonNull GlideString key, @NonNull SortOptionsBinary sortOptions) {
         GlideString[] arguments = new ArgsBuilder().add(key).add(sortOptions.toArgs()).toArray();
         return commandManager.submitNewCommand(
-                Sort,
-                arguments,
-                response -> castArray(handleArrayOrNullResponseBinary(response), GlideString.class));
+                Sort, arguments, this::handleGlideStringArrayOrNullResponse);
     }
 
     @Override
@@ -499,9 +515,7 @@ public class GlideClient extends BaseClient
             @NonNull String key, @NonNull SortOptions sortOptions) {
         String[] arguments = ArrayUtils.addFirst(sortOptions.toArgs(), key);
         return commandManager.submitNewCommand(
-                SortReadOnly,
-                arguments,
-                response -> castArray(handleArrayResponse(response), String.class));
+                SortReadOnly, arguments, this::handleStringArrayResponse);
     }
 
     @Override
@@ -510,9 +524,7 @@ public class GlideClient extends BaseClient
         GlideString[] arguments = new ArgsBuilder().add(key).add(sortOptions.toArgs()).toArray();
 
         return commandManager.submitNewCommand(
-                SortReadOnly,
-                arguments,
-                response -> castArray(handleArrayOrNullResponseBinary(response), GlideString.class));
+                SortReadOnly, arguments, this::handleGlideStringArrayOrNullResponse);
     }
 
     @Override
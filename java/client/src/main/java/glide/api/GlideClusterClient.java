@@ -38,7 +38,7 @@ import static glide.api.models.commands.SortBaseOptions.STORE_COMMAND_STRING;
 import static glide.api.models.commands.function.FunctionListOptions.LIBRARY_NAME_VALKEY_API;
 import static glide.api.models.commands.function.FunctionListOptions.WITH_CODE_VALKEY_API;
 import static glide.api.models.commands.function.FunctionLoadOptions.REPLACE;
-import static glide.utils.ArrayTransformUtils.castArray;
+import static glide.api.models.configuration.RequestRoutingConfiguration.SimpleMultiNodeRoute.ALL_PRIMARIES;
 import static glide.utils.ArrayTransformUtils.castMapOfArrays;
 import static glide.utils.ArrayTransformUtils.concatenateArrays;
 import static glide.utils.ArrayTransformUtils.convertMapToKeyValueStringArray;
@@ -50,9 +50,11 @@ import glide.api.commands.ScriptingAndFunctionsClusterCommands;
 import glide.api.commands.ServerManagementClusterCommands;
 import glide.api.commands.TransactionsClusterCommands;
 import glide.api.logging.Logger;
+import glide.api.models.ClusterBatch;
 import glide.api.models.ClusterTransaction;
 import glide.api.models.ClusterValue;
 import glide.api.models.GlideString;
+import glide.api.models.PreparedCommand;
 import glide.api.models.commands.FlushMode;
 import glide.api.models.commands.InfoOptions;
 import glide.api.models.commands.SortClusterOptions;
@@ -69,6 +71,7 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import lombok.NonNull;
 import org.apache.commons.lang3.ArrayUtils;
@@ -99,6 +102,20 @@ public class GlideClusterClient extends BaseClient
         return createClient(config, GlideClusterClient::new);
     }
 
+    /**
+     * Tracking is a per-connection state, so it's enabled on the connection to every primary. The
+     * result is the set of primary addresses, which changes once nodes are added or promoted.
+     */
+    @Override
+    protected CompletableFuture<?> sendTrackingCommand(String[] command) {
+        return customCommand(command, ALL_PRIMARIES)
+                .thenApply(
+                        value ->
+                                value.hasMultiData()
+                                        ? Set.copyOf(value.getMultiValue().keySet())
+                                        : Set.of());
+    }
+
     @Override
     public CompletableFuture<ClusterValue<Object>> customCommand(@NonNull String[] args) {
         // TODO if a command returns a map as a single value, ClusterValue misleads user
@@ -129,6 +146,29 @@ public class GlideClusterClient extends BaseClient
                 CustomCommand, args, route, response -> handleCustomCommandBinaryResponse(route, response));
     }
 
+    @Override
+    public PreparedCommand prepareCustomCommand(@NonNull GlideString[] args) {
+        return commandManager.prepareCommand(CustomCommand, args, null);
+    }
+
+    @Override
+    public PreparedCommand prepareCustomCommand(@NonNull GlideString[] args, @NonNull Route route) {
+        return commandManager.prepareCommand(CustomCommand, args, route);
+    }
+
+    @Override
+    public CompletableFuture<ClusterValue<Object>> customCommand(
+            @NonNull PreparedCommand command, @NonNull GlideString... values) {
+        Route route = command.getRoute();
+        return commandManager.submitPreparedCommand(
+                command,
+                values,
+                response ->
+                        route == null
+                                ? ClusterValue.of(handleBinaryObjectOrNullResponse(response))
+                                : handleCustomCommandBinaryResponse(route, response));
+    }
+
     protected ClusterValue<Object> handleCustomCommandResponse(Route route, Response response) {
         if (route instanceof SingleNodeRoute) {
             return ClusterValue.ofSingleValue(handleObjectOrNullResponse(response));
@@ -172,6 +212,23 @@ public class GlideClusterClient extends BaseClient
         }
     }
 
+    @Override
+    public CompletableFuture<Object[]> exec(@NonNull ClusterBatch batch, boolean raiseOnError) {
+        return commandManager.submitNewBatch(
+                batch,
+                Optional.empty(),
+                response -> handleBatchResponse(response, batch.isBinaryOutput(), raiseOnError));
+    }
+
+    @Override
+    public CompletableFuture<Object[]> exec(
+            @NonNull ClusterBatch batch, @NonNull SingleNodeRoute route, boolean raiseOnError) {
+        return commandManager.submitNewBatch(
+                batch,
+                Optional.of(route),
+                response -> handleBatchResponse(response, batch.isBinaryOutput(), raiseOnError));
+    }
+
     @Override
     public CompletableFuture<String> ping() {
         return commandManager.submitNewCommand(Ping, new String[0], this::handleStringResponse);
@@ -372,8 +429,7 @@ public class GlideClusterClient extends BaseClient
 
     @Override
     public CompletableFuture<String[]> time() {
-        return commandManager.submitNewCommand(
-                Time, new String[0], response -> castArray(handleArrayResponse(response), String.class));
+        return commandManager.submitNewCommand(Time, new String[0], this::handleStringArrayResponse);
     }
 
     @Override
@@ -384,7 +440,7 @@ public class GlideClusterClient extends BaseClient
                 route,
                 response ->
                         route instanceof SingleNodeRoute
-                                ? ClusterValue.ofSingleValue(castArray(handleArrayResponse(response), String.class))
+                                ? ClusterValue.ofSingleValue(handleStringArrayResponse(response))
                                 : ClusterValue.ofMultiValue(
                                         castMapOfArrays(handleMapResponse(response), String.class)));
     }
@@ -1085,8 +1141,7 @@ public class GlideClusterClient extends BaseClient
     public CompletableFuture<String[]> sort(
             @NonNull String key, @NonNull SortClusterOptions sortClusterOptions) {
         String[] arguments = ArrayUtils.addFirst(sortClusterOptions.toArgs(), key);
-        return commandManager.submitNewCommand(
-                Sort, arguments, response -> castArray(handleArrayResponse(response), String.class));
+        return commandManager.submitNewCommand(Sort, arguments, this::handleStringArrayResponse);
     }
 
     @Override
@@ -1095,9 +1150,7 @@ public class GlideClusterClient extends BaseClient
         GlideString[] arguments = new ArgsBuilder().add(key).add(sortClusterOptions.toArgs()).toArray();
 
         return commandManager.submitNewCommand(
-                Sort,
-                arguments,
-                response -> castArray(handleArrayOrNullResponseBinary(response), GlideString.class));
+                Sort, arguments, this::handleGlideStringArrayOrNullResponse);
     }
 
     @Override
@@ -1105,9 +1158,7 @@ public class GlideClusterClient extends BaseClient
             @NonNull String key, @NonNull SortClusterOptions sortClusterOptions) {
         String[] arguments = ArrayUtils.addFirst(sortClusterOptions.toArgs(), key);
         return commandManager.submitNewCommand(
-                SortReadOnly,
-                arguments,
-                response -> castArray(handleArrayResponse(response), String.class));
+                SortReadOnly, arguments, this::handleStringArrayResponse);
     }
 
     @Override
@@ -1115,9 +1166,7 @@ public class GlideClusterClient extends BaseClient
             @NonNull GlideString key, @NonNull SortClusterOptions sortClusterOptions) {
         GlideString[] arguments = new ArgsBuilder().add(key).add(sortClusterOptions.toArgs()).toArray();
         return commandManager.submitNewCommand(
-                SortReadOnly,
-                arguments,
-                response -> castArray(handleArrayOrNullResponseBinary(response), GlideString.class));
+                SortReadOnly, arguments, this::handleGlideStringArrayOrNullResponse);
     }
 
     @Override
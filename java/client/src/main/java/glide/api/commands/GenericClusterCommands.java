@@ -1,9 +1,11 @@
 /** Copyright Valkey GLIDE Project Contributors - SPDX Identifier: Apache-2.0 */
 package glide.api.commands;
 
+import glide.api.models.ClusterBatch;
 import glide.api.models.ClusterTransaction;
 import glide.api.models.ClusterValue;
 import glide.api.models.GlideString;
+import glide.api.models.PreparedCommand;
 import glide.api.models.Transaction;
 import glide.api.models.commands.SortClusterOptions;
 import glide.api.models.commands.scan.ClusterScanCursor;
@@ -98,6 +100,66 @@ public interface GenericClusterCommands {
      */
     CompletableFuture<ClusterValue<Object>> customCommand(GlideString[] args, Route route);
 
+    /**
+     * Prepares a custom command to execute it many times by {@link #customCommand(PreparedCommand,
+     * GlideString...)}. The command name and the constant arguments are encoded once, and only the
+     * values of the slots are added on each execution.<br>
+     * The command will be routed automatically based on the passed command's default request policy.
+     *
+     * @see <a
+     *     href="https://github.com/valkey-io/valkey-glide/wiki/General-Concepts#custom-command">Valkey
+     *     GLIDE Wiki</a> for details on the restrictions and limitations of the custom command API.
+     * @param args Arguments for the custom command, <code>null</code> elements are slots for the
+     *     values given on execution.
+     * @return A prepared command, which can also be added to a {@link ClusterTransaction}.
+     * @example
+     *     <pre>{@code
+     * PreparedCommand hincrby = clusterClient.prepareCustomCommand(new GlideString[] {gs("HINCRBY"), null, gs("field"), gs("1")});
+     * }</pre>
+     */
+    PreparedCommand prepareCustomCommand(GlideString[] args);
+
+    /**
+     * Prepares a custom command to execute it many times by {@link #customCommand(PreparedCommand,
+     * GlideString...)}. The command name, the constant arguments and the route are encoded once,
+     * and only the values of the slots are added on each execution.
+     *
+     * @see <a
+     *     href="https://github.com/valkey-io/valkey-glide/wiki/General-Concepts#custom-command">Valkey
+     *     GLIDE Wiki</a> for details on the restrictions and limitations of the custom command API.
+     * @param args Arguments for the custom command, <code>null</code> elements are slots for the
+     *     values given on execution.
+     * @param route Specifies the routing configuration for the command. The client will route the
+     *     command to the nodes defined by <code>route</code>.
+     * @return A prepared command. The route is ignored if the command is added to a {@link
+     *     ClusterTransaction}.
+     * @example
+     *     <pre>{@code
+     * PreparedCommand configGet = clusterClient.prepareCustomCommand(new GlideString[] {gs("CONFIG"), gs("GET"), null}, ALL_NODES);
+     * }</pre>
+     */
+    PreparedCommand prepareCustomCommand(GlideString[] args, Route route);
+
+    /**
+     * Executes a prepared custom command with the given values in its slots.
+     *
+     * @see <a
+     *     href="https://github.com/valkey-io/valkey-glide/wiki/General-Concepts#custom-command">Valkey
+     *     GLIDE Wiki</a> for details on the restrictions and limitations of the custom command API.
+     * @param command A command returned by <code>prepareCustomCommand</code>.
+     * @param values Values of the slots of the command, in order.
+     * @return The returning value depends on the executed command and the route of the prepared
+     *     command.
+     * @example
+     *     <pre>{@code
+     * ClusterValue<Object> result = clusterClient.customCommand(configGet, gs("maxmemory")).get();
+     * Map<String, Object> payload = result.getMultiValue();
+     * assert payload.get(gs("node1")).equals(gs("1GB"));
+     * }</pre>
+     */
+    CompletableFuture<ClusterValue<Object>> customCommand(
+            PreparedCommand command, GlideString... values);
+
     /**
      * Executes a transaction by processing the queued commands.
      *
@@ -152,6 +214,60 @@ public interface GenericClusterCommands {
      */
     CompletableFuture<Object[]> exec(ClusterTransaction transaction, SingleNodeRoute route);
 
+    /**
+     * Executes a non-atomic batch. The queued commands are passed to GLIDE core in a single request,
+     * which sends them to the server as concurrent requests.
+     *
+     * <p>Unlike a transaction, the keys of a batch may belong to different slots. Every command is
+     * routed by its own keys, and the results are returned in the original order.
+     *
+     * @param batch A {@link ClusterBatch} object containing a list of commands to be executed.
+     * @param raiseOnError Determines how errors of commands are handled. If <code>true</code>, the
+     *     returned future fails with the error of the first failed command. If <code>false</code>,
+     *     the error of a failed command is returned in the list in place of its result, and the
+     *     other results are returned as well.
+     * @return A list of results corresponding to the execution of each command in the batch.
+     * @remarks
+     *     <ul>
+     *       <li>Other clients' commands may run between the commands of the batch.
+     *       <li>A failed command doesn't prevent the next commands from running.
+     *       <li>The commands are sent in the order they were queued in, but they're separate
+     *           requests, so they may be executed in a different order.
+     *     </ul>
+     *
+     * @example
+     *     <pre>{@code
+     * ClusterBatch batch = new ClusterBatch().set("user:1", "alice").set("user:2", "bob");
+     * Object[] result = clusterClient.exec(batch, true).get();
+     * assert result[0].equals("OK");
+     * assert result[1].equals("OK");
+     * }</pre>
+     */
+    CompletableFuture<Object[]> exec(ClusterBatch batch, boolean raiseOnError);
+
+    /**
+     * Executes a non-atomic batch on a single node. The queued commands are passed to GLIDE core in
+     * a single request, which sends them to the node as concurrent requests.
+     *
+     * @param batch A {@link ClusterBatch} object containing a list of commands to be executed.
+     * @param route A single-node routing configuration for the batch. The client will route all
+     *     commands of the batch to the node defined by <code>route</code>.
+     * @param raiseOnError Determines how errors of commands are handled. If <code>true</code>, the
+     *     returned future fails with the error of the first failed command. If <code>false</code>,
+     *     the error of a failed command is returned in the list in place of its result, and the
+     *     other results are returned as well.
+     * @return A list of results corresponding to the execution of each command in the batch.
+     * @example
+     *     <pre>{@code
+     * ClusterBatch batch = new ClusterBatch().ping().info();
+     * Object[] result = clusterClient.exec(batch, RANDOM, true).get();
+     * assert ((String) result[0]).equals("PONG");
+     * assert ((String) result[1]).contains("# Stats");
+     * }</pre>
+     */
+    CompletableFuture<Object[]> exec(
+            ClusterBatch batch, SingleNodeRoute route, boolean raiseOnError);
+
     /**
      * Returns a random key.
      *
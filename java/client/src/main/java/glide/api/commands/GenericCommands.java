@@ -1,7 +1,9 @@
 /** Copyright Valkey GLIDE Project Contributors - SPDX Identifier: Apache-2.0 */
 package glide.api.commands;
 
+import glide.api.models.Batch;
 import glide.api.models.GlideString;
+import glide.api.models.PreparedCommand;
 import glide.api.models.Transaction;
 import glide.api.models.commands.SortOptions;
 import glide.api.models.commands.SortOptionsBinary;
@@ -56,6 +58,41 @@ public interface GenericCommands {
      */
     CompletableFuture<Object> customCommand(GlideString[] args);
 
+    /**
+     * Prepares a custom command to execute it many times by {@link #customCommand(PreparedCommand,
+     * GlideString...)}. The command name and the constant arguments are encoded once, and only the
+     * values of the slots are added on each execution.
+     *
+     * @see <a
+     *     href="https://github.com/valkey-io/valkey-glide/wiki/General-Concepts#custom-command">Valkey
+     *     GLIDE Wiki</a> for details on the restrictions and limitations of the custom command API.
+     * @param args Arguments for the custom command, <code>null</code> elements are slots for the
+     *     values given on execution.
+     * @return A prepared command, which can also be added to a {@link Transaction}.
+     * @example
+     *     <pre>{@code
+     * PreparedCommand hincrby = client.prepareCustomCommand(new GlideString[] {gs("HINCRBY"), null, gs("field"), gs("1")});
+     * }</pre>
+     */
+    PreparedCommand prepareCustomCommand(GlideString[] args);
+
+    /**
+     * Executes a prepared custom command with the given values in its slots.
+     *
+     * @see <a
+     *     href="https://github.com/valkey-io/valkey-glide/wiki/General-Concepts#custom-command">Valkey
+     *     GLIDE Wiki</a> for details on the restrictions and limitations of the custom command API.
+     * @param command A command returned by {@link #prepareCustomCommand}.
+     * @param values Values of the slots of the command, in order.
+     * @return The returned value for the custom command.
+     * @example
+     *     <pre>{@code
+     * Object counter = client.customCommand(hincrby, gs("stats:42")).get();
+     * assert counter.equals(1L);
+     * }</pre>
+     */
+    CompletableFuture<Object> customCommand(PreparedCommand command, GlideString... values);
+
     /**
      * Executes a transaction by processing the queued commands.
      *
@@ -80,6 +117,35 @@ public interface GenericCommands {
      */
     CompletableFuture<Object[]> exec(Transaction transaction);
 
+    /**
+     * Executes a non-atomic batch. The queued commands are passed to GLIDE core in a single request,
+     * which sends them to the server as concurrent requests.
+     *
+     * @param batch A {@link Batch} object containing a list of commands to be executed.
+     * @param raiseOnError Determines how errors of commands are handled. If <code>true</code>, the
+     *     returned future fails with the error of the first failed command. If <code>false</code>,
+     *     the error of a failed command is returned in the list in place of its result, and the
+     *     other results are returned as well.
+     * @return A list of results corresponding to the execution of each command in the batch.
+     * @remarks
+     *     <ul>
+     *       <li>Other clients' commands may run between the commands of the batch.
+     *       <li>A failed command doesn't prevent the next commands from running.
+     *       <li>The commands are sent in the order they were queued in, but they're separate
+     *           requests, so they may be executed in a different order.
+     *     </ul>
+     *
+     * @example
+     *     <pre>{@code
+     * Batch batch = new Batch().set("key", "value").incr("key").get("key");
+     * Object[] result = client.exec(batch, false).get();
+     * assert result[0].equals("OK");
+     * assert result[1] instanceof RequestException;
+     * assert result[2].equals("value");
+     * }</pre>
+     */
+    CompletableFuture<Object[]> exec(Batch batch, boolean raiseOnError);
+
     /**
      * Move <code>key</code> from the currently selected database to the database specified by <code>
      * dbIndex</code>.
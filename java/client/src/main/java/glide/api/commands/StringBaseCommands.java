@@ -2,6 +2,7 @@
 package glide.api.commands;
 
 import glide.api.models.GlideString;
+import glide.api.models.NativeBuffer;
 import glide.api.models.commands.GetExOptions;
 import glide.api.models.commands.SetOptions;
 import glide.api.models.commands.SetOptions.ConditionalSet;
@@ -70,6 +71,27 @@ public interface StringBaseCommands {
      */
     CompletableFuture<GlideString> get(GlideString key);
 
+    /**
+     * Gets the value associated with the given <code>key</code> without copying it to the Java
+     * heap, or <code>null</code> if no such value exists. The value remains in native memory and is
+     * read through a {@link NativeBuffer}. This is meant for large values.
+     *
+     * @see <a href="https://valkey.io/commands/get/">valkey.io</a> for details.
+     * @param key The <code>key</code> to retrieve from the database.
+     * @return If <code>key</code> exists, returns the <code>value</code> of <code>key</code> as a
+     *     {@link NativeBuffer}, which should be closed once it's not needed. Otherwise, return
+     *     <code>null</code>.
+     * @example
+     *     <pre>{@code
+     * try (NativeBuffer value = client.getDirect(gs("key")).get()) {
+     *     for (int position = 0; position < value.size(); ) {
+     *         position += value.writeTo(socketChannel, position);
+     *     }
+     * }
+     * }</pre>
+     */
+    CompletableFuture<NativeBuffer> getDirect(GlideString key);
+
     /**
      * Gets a string value associated with the given <code>key</code> and deletes the key.
      *
@@ -298,9 +298,12 @@ import glide.api.models.commands.stream.StreamReadGroupOptions;
 import glide.api.models.commands.stream.StreamReadOptions;
 import glide.api.models.commands.stream.StreamTrimOptions;
 import glide.api.models.configuration.ReadFrom;
+import glide.connectors.handlers.StripedChannelHandler;
 import glide.managers.CommandManager;
 import glide.utils.ArgsBuilder;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NonNull;
 
@@ -313,6 +316,9 @@ import lombok.NonNull;
  * command given to the transaction. The response for each command depends on the executed Valkey
  * command. Specific response types are documented alongside each method.
  *
+ * <p>Large arguments are passed to GLIDE core in native memory, which GLIDE core frees once it
+ * receives the request. A transaction or a batch with such arguments can be executed only once.
+ *
  * @param <T> child typing for chaining method calls.
  */
 @Getter
@@ -327,6 +333,19 @@ public abstract class BaseTransaction<T extends BaseTransaction<T>> {
      */
     protected boolean binaryOutput = false;
 
+    /**
+     * Hash of the key of the first command, if its arguments are passed in native memory, see
+     * {@link StripedChannelHandler#keyHash(byte[])}. <code>0</code> otherwise.
+     */
+    protected int keyHash = 0;
+
+    /** Whether arguments of a command are in native memory, see {@link #claimArgsVectors()}. */
+    @Getter(AccessLevel.NONE)
+    private boolean hasArgsVectors = false;
+
+    @Getter(AccessLevel.NONE)
+    private final AtomicBoolean isArgsVectorsClaimed = new AtomicBoolean(false);
+
     /** Sets {@link #binaryOutput} to <code>true</code>. */
     public T withBinaryOutput() {
         binaryOutput = true;
@@ -335,6 +354,21 @@ public abstract class BaseTransaction<T extends BaseTransaction<T>> {
 
     protected abstract T getThis();
 
+    /**
+     * Claim the arguments passed in native memory for an execution. GLIDE core frees them once it
+     * receives the request, so they can be claimed only once. Called by the client before the
+     * request is built.
+     *
+     * @throws IllegalStateException If the arguments are claimed by a previous execution
+     */
+    public void claimArgsVectors() {
+        if (hasArgsVectors && isArgsVectorsClaimed.getAndSet(true)) {
+            throw new IllegalStateException(
+                    "The transaction has arguments in native memory, which are freed by its first"
+                            + " execution, so it can't be executed again");
+        }
+    }
+
     /**
      * Executes a single command, without checking inputs. Every part of the command, including
      * subcommands, should be added as a separate value in args.
@@ -353,6 +387,29 @@ public abstract class BaseTransaction<T extends BaseTransaction<T>> {
         return getThis();
     }
 
+    /**
+     * Adds a prepared command with the given values in its slots. The route of the prepared command
+     * is ignored, the transaction is routed as a whole.
+     *
+     * @apiNote See <a
+     *     href="https://github.com/valkey-io/valkey-glide/wiki/General-Concepts#custom-command">Glide
+     *     Wiki</a> for details on the restrictions and limitations of the custom command API.
+     * @param command A command returned by <code>prepareCustomCommand</code> of a client.
+     * @param values Values of the slots of the command, in order.
+     * @return Command Response - The returned value for the custom command.
+     */
+    public T customCommand(@NonNull PreparedCommand command, @NonNull GlideString... values) {
+        Command built = command.toCommand(values);
+        if (built.hasArgsVecPointer()) {
+            hasArgsVectors = true;
+            if (protobufTransaction.getCommandsCount() == 0) {
+                keyHash = command.keyHash(values);
+            }
+        }
+        protobufTransaction.addCommands(built);
+        return getThis();
+    }
+
     /**
      * Echoes the provided <code>message</code> back.
      *
@@ -7169,7 +7226,15 @@ public abstract class BaseTransaction<T extends BaseTransaction<T>> {
     protected Command buildCommand(RequestType requestType, ArgsBuilder argsBuilder) {
         final Command.Builder builder = Command.newBuilder();
         builder.setRequestType(requestType);
-        CommandManager.populateCommandWithArgs(argsBuilder.toArray(), builder);
+        GlideString[] args = argsBuilder.toArray();
+        CommandManager.populateCommandWithArgs(args, builder);
+        if (builder.hasArgsVecPointer()) {
+            hasArgsVectors = true;
+            // the command is added after it's built, so it's the first one if there are none yet
+            if (protobufTransaction.getCommandsCount() == 0 && args.length > 0) {
+                keyHash = StripedChannelHandler.keyHash(args[0].getBytes());
+            }
+        }
         return builder.build();
     }
 
@@ -0,0 +1,37 @@
+/** Copyright Valkey GLIDE Project Contributors - SPDX Identifier: Apache-2.0 */
+package glide.api.models;
+
+import glide.api.GlideClient;
+
+/**
+ * Batch implementation for standalone {@link GlideClient}. A batch sends a group of commands in a
+ * single request to GLIDE core, but unlike a {@link Transaction} it is not atomic: GLIDE core sends
+ * the commands to the server as concurrent requests, without <code>MULTI</code>/<code>EXEC</code>
+ * and not as a pipeline, so commands of other clients may run in between, and a failed command
+ * doesn't prevent the others from running.
+ *
+ * <p>Batch Response: An <code>array</code> of command responses is returned by the client {@link
+ * GlideClient#exec(Batch, boolean)} API, in the order they were given. Each element in the array
+ * represents a command given to the {@link Batch}. The response for each command depends on the
+ * executed Valkey command. Specific response types are documented alongside each method.
+ *
+ * @example
+ *     <pre>{@code
+ * Batch batch = new Batch()
+ *     .set("key", "value")
+ *     .incr("key")
+ *     .get("key");
+ * Object[] result = client.exec(batch, false).get();
+ * // result contains: OK, a RequestException, since the value is not an integer, and "value"
+ * assert result[0].equals("OK");
+ * assert result[1] instanceof RequestException;
+ * assert result[2].equals("value");
+ * }</pre>
+ */
+public class Batch extends BaseStandaloneTransaction<Batch> {
+
+    @Override
+    protected Batch getThis() {
+        return this;
+    }
+}
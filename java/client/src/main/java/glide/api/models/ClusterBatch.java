@@ -0,0 +1,35 @@
+/** Copyright Valkey GLIDE Project Contributors - SPDX Identifier: Apache-2.0 */
+package glide.api.models;
+
+import glide.api.GlideClusterClient;
+
+/**
+ * Batch implementation for cluster {@link GlideClusterClient}. A batch sends a group of commands in
+ * a single request to GLIDE core, but unlike a {@link ClusterTransaction} it is not atomic and its
+ * keys may belong to different slots. GLIDE core sends each command as a concurrent request routed
+ * by its own keys, not as a pipeline, and the responses are returned in the original order. A
+ * failed command doesn't prevent the others from running.
+ *
+ * <p>Batch Response: An <code>array</code> of command responses is returned by the client {@link
+ * GlideClusterClient#exec(ClusterBatch, boolean)} API, in the order they were given. Each element
+ * in the array represents a command given to the {@link ClusterBatch}. The response for each
+ * command depends on the executed command. Specific response types are documented alongside each
+ * method.
+ *
+ * @example
+ *     <pre>{@code
+ * ClusterBatch batch = new ClusterBatch()
+ *     .set("user:1", "alice")
+ *     .set("user:2", "bob")
+ *     .mget(new String[] {"user:1", "user:2"});
+ * Object[] result = client.exec(batch, true).get();
+ * // result contains: OK, OK and ["alice", "bob"]
+ * }</pre>
+ */
+public class ClusterBatch extends BaseClusterTransaction<ClusterBatch> {
+
+    @Override
+    protected ClusterBatch getThis() {
+        return this;
+    }
+}
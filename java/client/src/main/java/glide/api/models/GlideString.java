@@ -3,7 +3,6 @@ package glide.api.models;
 
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
-import java.util.concurrent.atomic.AtomicBoolean;
 import lombok.Getter;
 
 /**
@@ -12,12 +11,20 @@ import lombok.Getter;
  * This class stores data <code>byte[]</code> too, but provides API to represent data as a {@link
  * String} if conversion is possible.
  *
+ * <p>A GlideString is immutable. The array passed to {@link #of(byte[])} and the one returned by
+ * {@link #getBytes()} are shared with the GlideString rather than copied, so they must not be
+ * modified afterwards. Modifying them is unsupported: the hash code and the {@link String} form are
+ * cached, and a request which is not written yet may still read the array.
+ *
  * @see <a href="@see https://valkey.io/docs/topics/strings/">valkey.io</a> for more details.
  */
 public class GlideString implements Comparable<GlideString> {
 
-    /** The Valkey string as a binary representation. */
-    @Getter private byte[] bytes;
+    /**
+     * The Valkey string as a binary representation. The array is shared, not copied, and must not
+     * be modified.
+     */
+    @Getter private final byte[] bytes;
 
     /**
      * Stores a string when it is possible.<br>
@@ -25,27 +32,32 @@ public class GlideString implements Comparable<GlideString> {
      * #canConvertToString()} is possible. The conversion is lazy, and only converted on the first
      * call {@link #toString()}, {@link #getString()}, or {@link #canConvertToString()}.
      */
-    private String string = null;
+    private String string;
 
-    /** Flag whether possibility to convert to string was checked. */
-    private final AtomicBoolean conversionChecked = new AtomicBoolean(false);
+    /**
+     * Whether {@link #bytes} are checked to be not valid UTF-8, so they can't be converted to a
+     * {@link String}. Like {@link #string}, it may be computed by several threads at once, which
+     * get the same result.
+     */
+    private boolean isNotConvertible = false;
+
+    /** Cached hash code, <code>0</code> if not computed yet. */
+    private int hash = 0;
 
     /** Constructor is private - use {@link #gs} or {@link #of} to instantiate an object. */
-    private GlideString() {}
+    private GlideString(byte[] bytes, String string) {
+        this.bytes = bytes;
+        this.string = string;
+    }
 
     /** Create a GlideString using a {@link String}. */
     public static GlideString of(String string) {
-        var res = new GlideString();
-        res.string = string;
-        res.bytes = string.getBytes(StandardCharsets.UTF_8);
-        return res;
+        return new GlideString(string.getBytes(StandardCharsets.UTF_8), string);
     }
 
-    /** Create a GlideString using a byte array. */
+    /** Create a GlideString using a byte array, which must not be modified afterwards. */
     public static GlideString of(byte[] bytes) {
-        var res = new GlideString();
-        res.bytes = bytes;
-        return res;
+        return new GlideString(bytes, null);
     }
 
     /** Allow converting any type to GlideString */
@@ -54,13 +66,8 @@ public class GlideString implements Comparable<GlideString> {
             return (GlideString) o;
         } else if (o instanceof byte[]) {
             return GlideString.of((byte[]) o);
-        } else if (o instanceof String) {
-            return GlideString.of((String) o);
         } else {
-            var res = new GlideString();
-            res.string = o.toString();
-            res.bytes = res.string.getBytes(StandardCharsets.UTF_8);
-            return res;
+            return GlideString.of(o.toString());
         }
     }
 
@@ -69,7 +76,7 @@ public class GlideString implements Comparable<GlideString> {
         return GlideString.of(string);
     }
 
-    /** Create a GlideString using a byte array. */
+    /** Create a GlideString using a byte array, which must not be modified afterwards. */
     public static GlideString gs(byte[] bytes) {
         return GlideString.of(bytes);
     }
@@ -82,14 +89,15 @@ public class GlideString implements Comparable<GlideString> {
 
     /** Converts stored data to a human-friendly {@link String} if it is possible. */
     public String getString() {
+        String string = this.string;
         if (string != null) {
             return string;
         }
 
         if (canConvertToString()) {
-            return string;
+            return this.string;
         }
-        return String.format("Value not convertible to string: byte[] %d", Arrays.hashCode(bytes));
+        return String.format("Value not convertible to string: byte[] %d", hashCode());
     }
 
     /** Compare with another GlideString. */
@@ -102,31 +110,73 @@ public class GlideString implements Comparable<GlideString> {
         if (string != null) {
             return true;
         }
-
-        // double-checked locking
-        if (conversionChecked.get()) {
+        if (isNotConvertible) {
             return false;
-        } else {
-            synchronized (this) {
-                if (conversionChecked.get()) {
+        }
+        // only well-formed UTF-8 survives a round trip through String without data corruption
+        if (isValidUtf8(bytes)) {
+            string = new String(bytes, StandardCharsets.UTF_8);
+            return true;
+        }
+        isNotConvertible = true;
+        return false;
+    }
+
+    /**
+     * Check whether the given bytes are well-formed UTF-8, which excludes overlong encodings,
+     * surrogates and code points above <code>U+10FFFF</code>.
+     */
+    static boolean isValidUtf8(byte[] bytes) {
+        int i = 0;
+        // ASCII fast path
+        while (i < bytes.length && bytes[i] >= 0) {
+            i++;
+        }
+        while (i < bytes.length) {
+            int first = bytes[i] & 0xFF;
+            if (first < 0x80) {
+                i++;
+                continue;
+            }
+            // the range of the second byte is narrowed for some leading bytes, see the Unicode
+            // Standard, table 3-7
+            int length;
+            int min = 0x80;
+            int max = 0xBF;
+            if (first >= 0xC2 && first <= 0xDF) {
+                length = 2;
+            } else if (first >= 0xE0 && first <= 0xEF) {
+                length = 3;
+                if (first == 0xE0) {
+                    min = 0xA0;
+                } else if (first == 0xED) {
+                    max = 0x9F;
+                }
+            } else if (first >= 0xF0 && first <= 0xF4) {
+                length = 4;
+                if (first == 0xF0) {
+                    min = 0x90;
+                } else if (first == 0xF4) {
+                    max = 0x8F;
+                }
+            } else {
+                return false;
+            }
+            if (i + length > bytes.length) {
+                return false;
+            }
+            int second = bytes[i + 1] & 0xFF;
+            if (second < min || second > max) {
+                return false;
+            }
+            for (int j = i + 2; j < i + length; j++) {
+                if ((bytes[j] & 0xC0) != 0x80) {
                     return false;
-                } else {
-                    try {
-                        // TODO find a better way to check this
-                        // Detect whether `bytes` could be represented by a `String` without data corruption
-                        var tmpStr = new String(bytes, StandardCharsets.UTF_8);
-                        if (Arrays.equals(bytes, tmpStr.getBytes(StandardCharsets.UTF_8))) {
-                            string = tmpStr;
-                            return true;
-                        } else {
-                            return false;
-                        }
-                    } finally {
-                        conversionChecked.set(true);
-                    }
                 }
             }
+            i += length;
         }
+        return true;
     }
 
     @Override
@@ -140,7 +190,13 @@ public class GlideString implements Comparable<GlideString> {
 
     @Override
     public int hashCode() {
-        return Arrays.hashCode(bytes);
+        int hash = this.hash;
+        if (hash == 0) {
+            // recomputed every time for the rare strings which hash to 0
+            hash = Arrays.hashCode(bytes);
+            this.hash = hash;
+        }
+        return hash;
     }
 
     /** Method to concatenate two GlideString objects */
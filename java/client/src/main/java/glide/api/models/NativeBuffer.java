@@ -0,0 +1,203 @@
+/** Copyright Valkey GLIDE Project Contributors - SPDX Identifier: Apache-2.0 */
+package glide.api.models;
+
+import glide.ffi.resolvers.NativeValueFactory;
+import glide.ffi.resolvers.ValueViewResolver;
+import java.io.IOException;
+import java.lang.ref.Cleaner;
+import java.lang.ref.Reference;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A string response which remains in native memory, without copying it to the Java heap. This is
+ * useful for large values which are written to a channel or a socket as is.
+ *
+ * <p>The bytes are read through the methods of this class only, so they're never accessed once the
+ * native memory is freed: every method throws {@link IllegalStateException} after {@link
+ * #close()}, and the native memory is freed once the reads in progress complete. {@link #close()}
+ * doesn't wait for them, so it never blocks behind a write to a slow channel. The native memory is
+ * also freed once the buffer becomes unreachable.
+ *
+ * @example
+ *     <pre>{@code
+ * try (NativeBuffer value = client.getDirect(gs("key")).get()) {
+ *     for (int position = 0; position < value.size(); ) {
+ *         position += value.writeTo(socketChannel, position);
+ *     }
+ * }
+ * }</pre>
+ */
+public final class NativeBuffer implements AutoCloseable {
+
+    /** Releases native values of buffers which became unreachable. */
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    /** Added to {@link #state} on close. Reads in progress are counted below it. */
+    private static final int CLOSED = 1 << 30;
+
+    static {
+        NativeValueFactory.register(NativeBuffer::ofPointer);
+    }
+
+    /** A read-only view of the bytes, which never leaves this object. */
+    private final ByteBuffer buffer;
+
+    /** <code>null</code> if the buffer doesn't point to a native value. */
+    private final Cleaner.Cleanable cleanable;
+
+    /**
+     * The number of reads in progress, plus {@link #CLOSED} once the buffer is closed. Whoever
+     * brings it to exactly {@link #CLOSED} frees the native memory: {@link #close()} if no reads are
+     * in progress, the last read otherwise.
+     */
+    private final AtomicInteger state = new AtomicInteger();
+
+    private NativeBuffer(ByteBuffer nativeBuffer, long pointer) {
+        buffer = nativeBuffer.asReadOnlyBuffer();
+        cleanable = CLEANER.register(this, () -> ValueViewResolver.release(pointer));
+    }
+
+    private NativeBuffer(ByteBuffer buffer) {
+        this.buffer = buffer.asReadOnlyBuffer();
+        cleanable = null;
+    }
+
+    /**
+     * Create a buffer of a string value in native memory. Takes ownership of the value. Used by the
+     * client through {@link NativeValueFactory#newBuffer}, so a user can't wrap an arbitrary pointer.
+     *
+     * @param pointer A value pointer from a response
+     * @return A buffer, or <code>null</code> for a <code>nil</code> value, which is released
+     */
+    private static NativeBuffer ofPointer(long pointer) {
+        ByteBuffer nativeBuffer;
+        try {
+            nativeBuffer = ValueViewResolver.directBuffer(pointer);
+        } catch (RuntimeException e) {
+            ValueViewResolver.release(pointer);
+            throw e;
+        }
+        if (nativeBuffer == null) {
+            ValueViewResolver.release(pointer);
+            return null;
+        }
+        return new NativeBuffer(nativeBuffer, pointer);
+    }
+
+    /**
+     * Create a buffer of a string which was received inline, instead of as a native value. The
+     * bytes are copied to a direct buffer, which is freed by the garbage collector.
+     *
+     * @param bytes The remaining bytes of the buffer are copied
+     */
+    public static NativeBuffer of(ByteBuffer bytes) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.remaining());
+        buffer.put(bytes.duplicate()).flip();
+        return new NativeBuffer(buffer);
+    }
+
+    /** Number of bytes in the buffer. */
+    public int size() {
+        return buffer.capacity();
+    }
+
+    /**
+     * Write the bytes to a channel, starting at the given position. A single write is made, so a
+     * non-blocking channel may accept only a part of the bytes.
+     *
+     * @param channel A channel to write to
+     * @param position A position of the first byte to write
+     * @return The number of bytes written
+     * @throws IllegalStateException If the buffer is closed
+     * @throws IndexOutOfBoundsException If the position is out of bounds
+     */
+    public int writeTo(WritableByteChannel channel, int position) throws IOException {
+        Objects.checkIndex(position, size() + 1);
+        startRead();
+        try {
+            return channel.write(buffer.duplicate().position(position));
+        } finally {
+            endRead();
+        }
+    }
+
+    /**
+     * Copy bytes to a buffer, starting at the given position, as many as the buffer has room for.
+     *
+     * @param position A position of the first byte to copy
+     * @param destination A buffer to copy to
+     * @return The number of bytes copied
+     * @throws IllegalStateException If the buffer is closed
+     * @throws IndexOutOfBoundsException If the position is out of bounds
+     */
+    public int copyTo(int position, ByteBuffer destination) {
+        Objects.checkIndex(position, size() + 1);
+        int length = Math.min(size() - position, destination.remaining());
+        startRead();
+        try {
+            destination.put(buffer.duplicate().position(position).limit(position + length));
+        } finally {
+            endRead();
+        }
+        return length;
+    }
+
+    /**
+     * Copy all bytes to the Java heap.
+     *
+     * @throws IllegalStateException If the buffer is closed
+     */
+    public byte[] toByteArray() {
+        byte[] bytes = new byte[size()];
+        copyTo(0, ByteBuffer.wrap(bytes));
+        return bytes;
+    }
+
+    /**
+     * Free the native memory, once the reads in progress complete. Further access to the buffer
+     * throws {@link IllegalStateException}.
+     */
+    @Override
+    public void close() {
+        while (true) {
+            int current = state.get();
+            if (current >= CLOSED) {
+                return;
+            }
+            if (state.compareAndSet(current, current + CLOSED)) {
+                if (current == 0) {
+                    free();
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Register a read, so the native memory isn't freed until {@link #endRead()}.
+     *
+     * @throws IllegalStateException If the buffer is closed
+     */
+    private void startRead() {
+        if (state.incrementAndGet() > CLOSED) {
+            endRead();
+            throw new IllegalStateException("The buffer is closed");
+        }
+    }
+
+    private void endRead() {
+        if (state.decrementAndGet() == CLOSED) {
+            free();
+        }
+        Reference.reachabilityFence(this);
+    }
+
+    private void free() {
+        if (cleanable != null) {
+            cleanable.clean();
+        }
+    }
+}
@@ -0,0 +1,268 @@
+/** Copyright Valkey GLIDE Project Contributors - SPDX Identifier: Apache-2.0 */
+package glide.api.models;
+
+import glide.ffi.resolvers.NativeValueFactory;
+import glide.ffi.resolvers.ValueViewResolver;
+import java.lang.ref.Cleaner;
+import java.lang.ref.Reference;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.UnaryOperator;
+
+/**
+ * A view of a response which remains in native memory. Unlike a regular response, which is
+ * converted to Java objects as a whole once received, elements of a view are converted on access
+ * only. This is useful for large responses, when only a few elements are read.
+ *
+ * <p>Elements are exposed as the same types a regular response would contain. Elements of a map are
+ * exposed as {@link Map.Entry} objects, in the order they were received. Every access converts the
+ * element again, so a view suits reading each element once; convert the whole value with {@link
+ * #toValue()} to read elements repeatedly. The first access to a field of a map indexes the keys of
+ * the map, which costs about as much as converting the keys once.
+ *
+ * <p>A view should be closed once it's not needed, to free the native memory. Views which become
+ * unreachable are released eventually, but the native memory isn't accounted by the garbage
+ * collector. A view may be accessed by multiple threads, but all methods except {@link #size()} and
+ * {@link #isMap()} throw {@link IllegalStateException} once the view is closed.
+ *
+ * @example
+ *     <pre>{@code
+ * try (NativeValueView view = client.customCommandView(new String[] {"HGETALL", "key"}).get()) {
+ *     Object field = view.getField("field");
+ * }
+ * }</pre>
+ */
+public final class NativeValueView implements AutoCloseable, Iterable<Object> {
+
+    /** Releases native values of views which became unreachable. */
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    static {
+        // views are created by the client only, from the pointers of its responses
+        NativeValueFactory.register(NativeValueView::new);
+    }
+
+    /** Value pointer, or <code>0</code> if the response has no value in native memory. */
+    private final long pointer;
+
+    /** The value of a response without a value in native memory, such as <code>OK</code>. */
+    private final Object resolvedValue;
+
+    private final boolean encodingUtf8;
+
+    /**
+     * Conversion applied to every value returned, e.g. from <code>byte[]</code> to {@link
+     * GlideString}.
+     */
+    private final UnaryOperator<Object> converter;
+
+    private final int size;
+
+    private final boolean isMap;
+
+    private final Cleaner.Cleanable cleanable;
+
+    /** Indexes of map entries by their keys, built on the first access to a field. */
+    private Map<ByteBuffer, Integer> fieldIndexes = null;
+
+    private boolean isClosed = false;
+
+    private NativeValueView(
+            long pointer,
+            Object resolvedValue,
+            boolean encodingUtf8,
+            UnaryOperator<Object> converter) {
+        this.pointer = pointer;
+        this.resolvedValue = resolvedValue;
+        this.encodingUtf8 = encodingUtf8;
+        this.converter = converter;
+        if (pointer != 0) {
+            size = ValueViewResolver.size(pointer);
+            isMap = ValueViewResolver.isMap(pointer);
+            // the cleaner releases the value once this is unreachable, which may happen during a
+            // native call; every native call is therefore followed by a reachability fence
+            cleanable = CLEANER.register(this, () -> ValueViewResolver.release(pointer));
+        } else {
+            size = -1;
+            isMap = false;
+            cleanable = null;
+        }
+    }
+
+    /** Whether the value is an array, a set or a map. */
+    public boolean isAggregate() {
+        return size >= 0;
+    }
+
+    /** Whether the value is a map. */
+    public boolean isMap() {
+        return isMap;
+    }
+
+    /**
+     * Get the number of elements of an array or a set, or the number of entries of a map.
+     *
+     * @throws IllegalStateException If the value is not an aggregate
+     */
+    public int size() {
+        checkAggregate();
+        return size;
+    }
+
+    /**
+     * Convert an element of an array or a set, or an entry of a map.
+     *
+     * @param index An index of the element
+     * @return The element, or a {@link Map.Entry} for maps
+     * @throws IllegalStateException If the view is closed or the value is not an aggregate
+     * @throws IndexOutOfBoundsException If the index is out of bounds
+     */
+    public synchronized Object get(int index) {
+        checkOpen();
+        checkAggregate();
+        Objects.checkIndex(index, size);
+        Object element;
+        try {
+            element = ValueViewResolver.elementAt(pointer, index, encodingUtf8);
+        } finally {
+            Reference.reachabilityFence(this);
+        }
+        if (isMap) {
+            var entry = (Object[]) element;
+            return new AbstractMap.SimpleImmutableEntry<>(
+                    converter.apply(entry[0]), converter.apply(entry[1]));
+        }
+        return converter.apply(element);
+    }
+
+    /**
+     * Convert the value of a map entry.
+     *
+     * @param key A key of the entry
+     * @return The value of the entry, or <code>null</code> if the map doesn't contain the key
+     * @throws IllegalStateException If the view is closed or the value is not a map
+     */
+    public Object getField(String key) {
+        return getField(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Convert the value of a map entry.
+     *
+     * @param key A key of the entry
+     * @return The value of the entry, or <code>null</code> if the map doesn't contain the key
+     * @throws IllegalStateException If the view is closed or the value is not a map
+     */
+    public Object getField(GlideString key) {
+        return getField(key.getBytes());
+    }
+
+    private synchronized Object getField(byte[] key) {
+        checkOpen();
+        if (!isMap) {
+            throw new IllegalStateException("Value is not a map");
+        }
+        if (fieldIndexes == null) {
+            fieldIndexes = indexFields();
+        }
+        Integer index = fieldIndexes.get(ByteBuffer.wrap(key));
+        if (index == null) {
+            return null;
+        }
+        try {
+            return converter.apply(ValueViewResolver.valueAt(pointer, index, encodingUtf8));
+        } finally {
+            Reference.reachabilityFence(this);
+        }
+    }
+
+    private Map<ByteBuffer, Integer> indexFields() {
+        byte[][] keys;
+        try {
+            keys = ValueViewResolver.mapKeys(pointer);
+        } finally {
+            Reference.reachabilityFence(this);
+        }
+        var indexes = new HashMap<ByteBuffer, Integer>(keys.length * 4 / 3 + 1);
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                // the first entry wins if a key repeats
+                indexes.putIfAbsent(ByteBuffer.wrap(keys[i]), i);
+            }
+        }
+        return indexes;
+    }
+
+    /**
+     * Convert the whole value, as a regular response would be. The view remains open.
+     *
+     * @throws IllegalStateException If the view is closed
+     */
+    public synchronized Object toValue() {
+        checkOpen();
+        if (pointer == 0) {
+            return resolvedValue;
+        }
+        try {
+            return converter.apply(ValueViewResolver.toJava(pointer, encodingUtf8));
+        } finally {
+            Reference.reachabilityFence(this);
+        }
+    }
+
+    /**
+     * Iterate over elements of an array or a set, or over entries of a map. See {@link #get(int)}.
+     *
+     * @throws IllegalStateException If the value is not an aggregate
+     */
+    @Override
+    public Iterator<Object> iterator() {
+        checkAggregate();
+        return new Iterator<>() {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public Object next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return get(index++);
+            }
+        };
+    }
+
+    /** Free the native memory. Further access to the view throws {@link IllegalStateException}. */
+    @Override
+    public synchronized void close() {
+        if (!isClosed) {
+            isClosed = true;
+            fieldIndexes = null;
+            if (cleanable != null) {
+                cleanable.clean();
+            }
+        }
+    }
+
+    private void checkOpen() {
+        if (isClosed) {
+            throw new IllegalStateException("The view is closed");
+        }
+    }
+
+    private void checkAggregate() {
+        if (!isAggregate()) {
+            throw new IllegalStateException("Value is not an aggregate");
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/** Copyright Valkey GLIDE Project Contributors - SPDX Identifier: Apache-2.0 */
+package glide.api.models;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
+import command_request.CommandRequestOuterClass.Command;
+import command_request.CommandRequestOuterClass.Command.ArgsArray;
+import command_request.CommandRequestOuterClass.RequestType;
+import command_request.CommandRequestOuterClass.Routes;
+import glide.api.models.configuration.RequestRoutingConfiguration.Route;
+import glide.connectors.handlers.StripedChannelHandler;
+import glide.ffi.resolvers.GlideValueResolver;
+import glide.managers.CommandManager;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * A command template, which is encoded once and executed many times with different values in its
+ * slots. Slots are the <code>null</code> elements of the arguments given to <code>
+ * prepareCustomCommand</code>, every other argument is constant. The request type, the constant
+ * arguments and the route are encoded when the command is prepared, so an execution only adds the
+ * values of the slots.
+ *
+ * @example
+ *     <pre>{@code
+ * PreparedCommand hincrby = client.prepareCustomCommand(new GlideString[] {gs("HINCRBY"), null, gs("field"), gs("1")});
+ * Object counter = client.customCommand(hincrby, gs("stats:42")).get();
+ * Transaction transaction = new Transaction().customCommand(hincrby, gs("stats:43"));
+ * }</pre>
+ */
+public class PreparedCommand {
+
+    @Getter private final RequestType requestType;
+
+    /** The number of values to give on each execution. */
+    @Getter private final int slotCount;
+
+    /** The route given when the command is prepared, <code>null</code> if none. */
+    @Getter private final Route route;
+
+    /** The encoded {@link #route}, <code>null</code> if none. */
+    @Getter private final Routes encodedRoute;
+
+    /** Constant arguments, <code>null</code> in the slots. */
+    private final byte[][] arguments;
+
+    /** {@link #arguments} wrapped for the protobuf request. */
+    private final ByteString[] encodedArguments;
+
+    /** The total length of the constant arguments in bytes. */
+    private final long constantLength;
+
+    /** The whole command, if it has no slots and its arguments fit into the request. */
+    private final Command command;
+
+    /**
+     * Encode a command template. Use <code>prepareCustomCommand</code> of a client instead.
+     *
+     * @param requestType Valkey command type
+     * @param arguments Command arguments, <code>null</code> elements are slots
+     * @param route Command routing parameters, <code>null</code> if none
+     * @param encodedRoute The encoded <code>route</code>, <code>null</code> if none
+     */
+    public PreparedCommand(
+            @NonNull RequestType requestType,
+            @NonNull GlideString[] arguments,
+            Route route,
+            Routes encodedRoute) {
+        this.requestType = requestType;
+        this.route = route;
+        this.encodedRoute = encodedRoute;
+        this.arguments = new byte[arguments.length][];
+        this.encodedArguments = new ByteString[arguments.length];
+        int slotCount = 0;
+        long constantLength = 0;
+        for (int i = 0; i < arguments.length; i++) {
+            if (arguments[i] == null) {
+                slotCount++;
+            } else {
+                // copied once, so the constant can't be changed through the array of the argument
+                this.arguments[i] = arguments[i].getBytes().clone();
+                this.encodedArguments[i] = UnsafeByteOperations.unsafeWrap(this.arguments[i]);
+                constantLength += this.arguments[i].length;
+            }
+        }
+        this.slotCount = slotCount;
+        this.constantLength = constantLength;
+        this.command =
+                slotCount == 0 && constantLength < GlideValueResolver.REQUEST_ARGS_THRESHOLD_IN_BYTES
+                        ? toCommand(new GlideString[0], constantLength)
+                        : null;
+    }
+
+    /**
+     * Build the protobuf command with the given values in the slots. Like {@link
+     * glide.managers.CommandManager#populateCommandWithArgs}, long arguments are passed in native
+     * memory.
+     *
+     * @param values Values of the slots, in order
+     * @return A protobuf command
+     * @throws IllegalArgumentException If the number of values doesn't match the number of slots
+     */
+    public Command toCommand(@NonNull GlideString[] values) {
+        if (values.length != slotCount) {
+            throw new IllegalArgumentException(
+                    String.format("Expected %d arguments, but got %d", slotCount, values.length));
+        }
+        if (command != null) {
+            return command;
+        }
+        long totalLength = constantLength;
+        for (GlideString value : values) {
+            totalLength += value.getBytes().length;
+        }
+        return toCommand(values, totalLength);
+    }
+
+    /**
+     * Hash the key of the command with the given values in the slots, see {@link
+     * StripedChannelHandler#keyHash(byte[])}.
+     *
+     * @param values Values of the slots, in order
+     * @return The hash of the first argument, <code>0</code> if the command has no arguments
+     */
+    public int keyHash(@NonNull GlideString[] values) {
+        if (arguments.length == 0) {
+            return 0;
+        }
+        return StripedChannelHandler.keyHash(
+                arguments[0] != null ? arguments[0] : values[0].getBytes());
+    }
+
+    private Command toCommand(GlideString[] values, long totalLength) {
+        Command.Builder builder = Command.newBuilder().setRequestType(requestType);
+        int slot = 0;
+        if (totalLength < GlideValueResolver.REQUEST_ARGS_THRESHOLD_IN_BYTES) {
+            ArgsArray.Builder commandArgs = ArgsArray.newBuilder();
+            for (ByteString argument : encodedArguments) {
+                commandArgs.addArgs(
+                        argument != null
+                                ? argument
+                                : ByteString.copyFrom(values[slot++].getBytes()));
+            }
+            builder.setArgsArray(commandArgs);
+        } else {
+            byte[][] bytes = new byte[arguments.length][];
+            for (int i = 0; i < arguments.length; i++) {
+                bytes[i] = arguments[i] != null ? arguments[i] : values[slot++].getBytes();
+            }
+            CommandManager.setArgsVecPointer(bytes, totalLength, builder);
+        }
+        return builder.build();
+    }
+}
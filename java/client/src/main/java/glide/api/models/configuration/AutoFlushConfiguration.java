@@ -0,0 +1,44 @@
+/** Copyright Valkey GLIDE Project Contributors - SPDX Identifier: Apache-2.0 */
+package glide.api.models.configuration;
+
+import glide.api.models.exceptions.ConfigurationError;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Configuration of write coalescing. Instead of flushing every request to the socket, requests
+ * written concurrently are accumulated and flushed together, which saves syscalls under high load.
+ * Requests are flushed when any of the thresholds is reached, or once the client event loop has
+ * processed all requests queued so far, whichever happens first.
+ *
+ * @example
+ *     <pre>{@code
+ * AutoFlushConfiguration autoFlush =
+ *     AutoFlushConfiguration.builder()
+ *         .maxPendingRequests(64)
+ *         .maxPendingBytes(32 * 1024)
+ *         .build();
+ * }</pre>
+ */
+@Getter
+@Builder
+public class AutoFlushConfiguration {
+    /** Maximum number of requests written but not yet flushed. */
+    @Builder.Default private final int maxPendingRequests = 128;
+
+    /** Maximum number of bytes written but not yet flushed. */
+    @Builder.Default private final int maxPendingBytes = 64 * 1024;
+
+    private AutoFlushConfiguration(int maxPendingRequests, int maxPendingBytes) {
+        if (maxPendingRequests <= 0 || maxPendingBytes <= 0) {
+            throw new ConfigurationError(
+                    "Write coalescing thresholds should be positive, got "
+                            + maxPendingRequests
+                            + " requests and "
+                            + maxPendingBytes
+                            + " bytes");
+        }
+        this.maxPendingRequests = maxPendingRequests;
+        this.maxPendingBytes = maxPendingBytes;
+    }
+}
@@ -0,0 +1,52 @@
+/** Copyright Valkey GLIDE Project Contributors - SPDX Identifier: Apache-2.0 */
+package glide.api.models.configuration;
+
+import glide.api.models.exceptions.ConfigurationError;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Configuration of auto-pipelining. Requests submitted concurrently, e.g. by many threads, are
+ * collected for a short window and written to GLIDE core with a single flush, instead of a flush
+ * per request. Every command is still executed and answered on its own, so callers keep their own
+ * futures, and an error of one command doesn't affect the others.
+ * Requests are sent once the window expires or once <code>maxBatchSize</code> requests are
+ * collected, whichever happens first. Requires the {@link TransportMode#UDS} transport.
+ *
+ * <p>Like requests which are not pipelined, concurrent requests are not ordered relative to each
+ * other. Use a transaction or a batch to execute commands in order.
+ *
+ * @example
+ *     <pre>{@code
+ * AutoPipelineConfiguration autoPipeline =
+ *     AutoPipelineConfiguration.builder()
+ *         .maxBatchSize(32)
+ *         .maxDelayMicros(20)
+ *         .build();
+ * }</pre>
+ */
+@Getter
+@Builder
+public class AutoPipelineConfiguration {
+    /** Maximum number of requests written with a single flush. */
+    @Builder.Default private final int maxBatchSize = 64;
+
+    /**
+     * Maximum time in microseconds a request waits for other requests. If <code>0</code>, requests
+     * are sent once the client event loop has processed all requests queued so far.
+     */
+    @Builder.Default private final long maxDelayMicros = 50;
+
+    private AutoPipelineConfiguration(int maxBatchSize, long maxDelayMicros) {
+        if (maxBatchSize <= 0 || maxDelayMicros < 0) {
+            throw new ConfigurationError(
+                    "Auto-pipelining batch size should be positive and delay non-negative, got "
+                            + maxBatchSize
+                            + " requests and "
+                            + maxDelayMicros
+                            + " microseconds");
+        }
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayMicros = maxDelayMicros;
+    }
+}
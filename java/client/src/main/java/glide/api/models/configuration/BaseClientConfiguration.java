@@ -3,6 +3,8 @@ package glide.api.models.configuration;
 
 import glide.connectors.resources.ThreadPoolResource;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NonNull;
@@ -16,6 +18,9 @@ import lombok.experimental.SuperBuilder;
 @Getter
 @SuperBuilder
 public abstract class BaseClientConfiguration {
+    /** An executor which runs tasks in the calling thread. See {@link #completionExecutor}. */
+    public static final Executor DIRECT_EXECUTOR = Runnable::run;
+
     /**
      * DNS Addresses and ports of known nodes in the cluster. If the server is in cluster mode the
      * list can be partial, as the client will attempt to map out the cluster and find all nodes. If
@@ -65,5 +70,53 @@ public abstract class BaseClientConfiguration {
      */
     private final ThreadPoolResource threadPoolResource;
 
+    /**
+     * An executor which runs response handlers and completes futures returned by the client. If not
+     * set, {@link ForkJoinPool#commonPool()} is used.<br>
+     * Use {@link #DIRECT_EXECUTOR} to complete futures right on the event loop thread which received
+     * the response. This saves a thread hop per command, but callbacks attached to the futures must
+     * not block, because they stall processing of all other responses.
+     */
+    @NonNull @Builder.Default private final Executor completionExecutor = ForkJoinPool.commonPool();
+
+    /**
+     * Write coalescing settings. If set, requests submitted concurrently are flushed to GLIDE core
+     * together according to the given thresholds. If not set, every request is flushed immediately.
+     */
+    private final AutoFlushConfiguration autoFlush;
+
+    /**
+     * Channel striping settings. If set, the client opens several connections to GLIDE core and
+     * distributes requests across them. If not set, a single connection is used.
+     */
+    private final ChannelStripingConfiguration channelStriping;
+
+    /**
+     * In-flight request limit settings. If set, the number of requests submitted and not completed
+     * yet is bounded, and requests above the limit are handled according to the configured policy.
+     * If not set, the number of requests in flight is unbounded.
+     */
+    private final InFlightLimitConfiguration inFlightLimit;
+
+    /**
+     * Client-side near cache settings. If set, responses of read commands are cached and
+     * invalidated by the server. Requires the {@link TransportMode#UDS} transport. If not set,
+     * nothing is cached.
+     */
+    private final NearCacheConfiguration nearCache;
+
+    /**
+     * Auto-pipelining settings. If set, requests submitted concurrently are collected and written
+     * to GLIDE core with a single flush. Requires the {@link TransportMode#UDS} transport. If not
+     * set, every request is sent on its own.
+     */
+    private final AutoPipelineConfiguration autoPipeline;
+
+    /**
+     * Transport used to communicate with GLIDE core. If not set, {@link TransportMode#UDS} is used.
+     * Write coalescing and channel striping settings apply to the UDS transport only.
+     */
+    @NonNull @Builder.Default private final TransportMode transportMode = TransportMode.UDS;
+
     public abstract BaseSubscriptionConfiguration getSubscriptionConfiguration();
 }
@@ -0,0 +1,64 @@
+/** Copyright Valkey GLIDE Project Contributors - SPDX Identifier: Apache-2.0 */
+package glide.api.models.configuration;
+
+import glide.api.models.exceptions.ConfigurationError;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * Configuration of channel striping. A client opens several connections to GLIDE core, each served
+ * by its own event loop thread and its own core client, and distributes requests across them. This
+ * removes the single channel bottleneck when a client is shared by many threads.
+ *
+ * <p>Each connection has its own connection state on the server side. Commands which change the
+ * connection state (e.g. <code>SELECT</code>, <code>WATCH</code> or <code>CLIENT</code> commands)
+ * affect only one of the connections. Pubsub subscriptions are applied to the first connection
+ * only. The near cache is not supported, see {@link NearCacheConfiguration}.
+ *
+ * @example
+ *     <pre>{@code
+ * ChannelStripingConfiguration channelStriping =
+ *     ChannelStripingConfiguration.builder()
+ *         .channelCount(4)
+ *         .mode(StripingMode.KEY_HASH)
+ *         .build();
+ * }</pre>
+ */
+@Getter
+@Builder
+public class ChannelStripingConfiguration {
+    /** Number of connections to GLIDE core opened by the client. */
+    @Builder.Default private final int channelCount = 4;
+
+    /**
+     * Strategy to choose a connection for a request. Defaults to {@link StripingMode#KEY_HASH}, which
+     * keeps the order of requests with the same key.
+     */
+    @NonNull @Builder.Default private final StripingMode mode = StripingMode.KEY_HASH;
+
+    private ChannelStripingConfiguration(int channelCount, @NonNull StripingMode mode) {
+        if (channelCount <= 0) {
+            throw new ConfigurationError(
+                    "Channel count should be positive, got " + channelCount + " channels");
+        }
+        this.channelCount = channelCount;
+        this.mode = mode;
+    }
+
+    /** Strategy to choose a connection for a request. */
+    public enum StripingMode {
+        /**
+         * Requests are distributed evenly across all connections. Requests with the same key may be
+         * executed out of the order of submission.
+         */
+        ROUND_ROBIN,
+        /**
+         * Requests are distributed by a hash of their first argument, which is the key for most of
+         * the commands. Requests with the same key are sent through the same connection, so they
+         * are executed in the order of submission. Requests without arguments use the first
+         * connection.
+         */
+        KEY_HASH
+    }
+}
@@ -0,0 +1,70 @@
+/** Copyright Valkey GLIDE Project Contributors - SPDX Identifier: Apache-2.0 */
+package glide.api.models.configuration;
+
+import glide.api.models.exceptions.ConfigurationError;
+import glide.api.models.exceptions.RequestException;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * Configuration of the in-flight request limit. A client bounds the number of requests submitted to
+ * GLIDE core and not yet completed. Requests which exceed the limit are handled according to the
+ * {@link OverloadPolicy}, so a slow server doesn't make pending requests pile up until the client
+ * runs out of memory.
+ *
+ * @example
+ *     <pre>{@code
+ * InFlightLimitConfiguration inFlightLimit =
+ *     InFlightLimitConfiguration.builder()
+ *         .maxInFlightRequests(1000)
+ *         .policy(OverloadPolicy.QUEUE)
+ *         .maxQueuedRequests(10000)
+ *         .build();
+ * }</pre>
+ */
+@Getter
+@Builder
+public class InFlightLimitConfiguration {
+    /** Maximum number of requests submitted to GLIDE core and not yet completed. */
+    @Builder.Default private final int maxInFlightRequests = 1000;
+
+    /** What to do with a request when the limit is reached. */
+    @NonNull @Builder.Default private final OverloadPolicy policy = OverloadPolicy.FAIL_FAST;
+
+    /** Maximum number of requests waiting for admission. Used by {@link OverloadPolicy#QUEUE}. */
+    @Builder.Default private final int maxQueuedRequests = 10000;
+
+    private InFlightLimitConfiguration(
+            int maxInFlightRequests, @NonNull OverloadPolicy policy, int maxQueuedRequests) {
+        if (maxInFlightRequests <= 0) {
+            throw new ConfigurationError(
+                    "maxInFlightRequests should be positive, got " + maxInFlightRequests);
+        }
+        if (maxQueuedRequests < 0) {
+            throw new ConfigurationError(
+                    "maxQueuedRequests should not be negative, got " + maxQueuedRequests);
+        }
+        this.maxInFlightRequests = maxInFlightRequests;
+        this.policy = policy;
+        this.maxQueuedRequests = maxQueuedRequests;
+    }
+
+    /** What to do with a request when the in-flight limit is reached. */
+    public enum OverloadPolicy {
+        /** The request fails immediately with a {@link RequestException}. */
+        FAIL_FAST,
+        /**
+         * The calling thread is blocked until another request completes. A request submitted by an
+         * event loop thread or by a thread which completes requests, e.g. by a callback run with
+         * {@link BaseClientConfiguration#DIRECT_EXECUTOR}, fails immediately instead, as with
+         * {@link #FAIL_FAST}: blocking such a thread would stop the completions it waits for.
+         */
+        BLOCK,
+        /**
+         * The request is queued and submitted once another request completes. If the queue is full,
+         * the request fails immediately with a {@link RequestException}.
+         */
+        QUEUE
+    }
+}
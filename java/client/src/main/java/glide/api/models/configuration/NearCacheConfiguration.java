@@ -0,0 +1,102 @@
+/** Copyright Valkey GLIDE Project Contributors - SPDX Identifier: Apache-2.0 */
+package glide.api.models.configuration;
+
+import glide.api.models.exceptions.ConfigurationError;
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Singular;
+
+/**
+ * Configuration of the client-side near cache. A client keeps the responses of read commands like
+ * <code>GET</code>, <code>HGET</code>, <code>HGETALL</code> and <code>SMEMBERS</code> in memory
+ * and answers repeated reads without a round trip. The server tracks the keys read with <code>
+ * CLIENT TRACKING</code> and sends invalidation messages when they change, which evict the cached
+ * values. Requires the {@link TransportMode#UDS} transport, which delivers push messages.
+ *
+ * <p>Invalidation messages are asynchronous, so a read which follows a write of the same key may
+ * still return the previous value for a short time.
+ *
+ * <p>Only the connections to primaries are tracked, so the client must read from primaries, see
+ * {@link ReadFrom#PRIMARY}. Tracking is enabled on the connections to cluster nodes added or
+ * promoted by resharding or failover once it's refreshed, see {@link #trackingRefreshMillis}, and
+ * values read from such nodes until then may miss invalidations.
+ *
+ * <p>Tracking is a state of a connection to GLIDE core, so the near cache can't be combined with
+ * {@link ChannelStripingConfiguration} of more than one channel.
+ *
+ * @see <a href="https://valkey.io/topics/client-side-caching/">valkey.io</a> for details.
+ * @example
+ *     <pre>{@code
+ * NearCacheConfiguration nearCache =
+ *     NearCacheConfiguration.builder()
+ *         .maxKeys(50000)
+ *         .ttlMillis(60000)
+ *         .trackingMode(TrackingMode.BCAST)
+ *         .prefix("config:")
+ *         .build();
+ * }</pre>
+ */
+@Getter
+@Builder
+public class NearCacheConfiguration {
+    /** Maximum number of keys cached. Keys above the limit evict other keys. */
+    @Builder.Default private final int maxKeys = 10000;
+
+    /**
+     * Time to live of a cached value in milliseconds. If <code>0</code>, values are kept until they
+     * are invalidated or evicted.
+     */
+    @Builder.Default private final long ttlMillis = 0;
+
+    /**
+     * Interval of enabling tracking again in milliseconds, which tracks the nodes added or promoted
+     * since, and evicts all values if the primaries changed. If <code>0</code>, tracking is enabled
+     * only once connected.
+     */
+    @Builder.Default private final long trackingRefreshMillis = 5000;
+
+    /** How the server tracks the keys to invalidate. */
+    @NonNull @Builder.Default private final TrackingMode trackingMode = TrackingMode.DEFAULT;
+
+    /**
+     * Prefixes of the keys to track in {@link TrackingMode#BCAST} mode. Only keys with one of the
+     * prefixes are cached. If none given, every key is tracked and cached.
+     */
+    @Singular private final List<String> prefixes;
+
+    private NearCacheConfiguration(
+            int maxKeys,
+            long ttlMillis,
+            long trackingRefreshMillis,
+            @NonNull TrackingMode trackingMode,
+            List<String> prefixes) {
+        if (maxKeys <= 0) {
+            throw new ConfigurationError("Max keys should be positive, got " + maxKeys);
+        }
+        if (ttlMillis < 0) {
+            throw new ConfigurationError("TTL should not be negative, got " + ttlMillis);
+        }
+        if (trackingRefreshMillis < 0) {
+            throw new ConfigurationError(
+                    "Tracking refresh interval should not be negative, got " + trackingRefreshMillis);
+        }
+        this.maxKeys = maxKeys;
+        this.ttlMillis = ttlMillis;
+        this.trackingRefreshMillis = trackingRefreshMillis;
+        this.trackingMode = trackingMode;
+        this.prefixes = prefixes;
+    }
+
+    /** How the server tracks the keys to invalidate. */
+    public enum TrackingMode {
+        /** The server remembers the keys read by the client and invalidates only them. */
+        DEFAULT,
+        /**
+         * The server invalidates every key matching the configured prefixes, whether it was read or
+         * not. Uses no memory on the server, but sends more invalidation messages.
+         */
+        BCAST
+    }
+}
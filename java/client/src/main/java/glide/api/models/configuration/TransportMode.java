@@ -0,0 +1,20 @@
+/** Copyright Valkey GLIDE Project Contributors - SPDX Identifier: Apache-2.0 */
+package glide.api.models.configuration;
+
+/** Transport used by a client to communicate with GLIDE core. */
+public enum TransportMode {
+    /** Requests and responses are passed through a Unix domain socket. */
+    UDS,
+    /**
+     * Requests are submitted to GLIDE core in-process over JNI, and responses are passed back by
+     * native threads. This saves two socket hops per request. Pubsub subscriptions are not
+     * supported in this mode.
+     */
+    IN_PROCESS,
+    /**
+     * Like {@link #IN_PROCESS}, but requests and responses are passed through a pair of rings in
+     * shared memory, which are polled by dedicated threads on both sides. This saves a JNI call per
+     * request and per response at the cost of threads spinning for a while when idle.
+     */
+    SHARED_MEMORY
+}
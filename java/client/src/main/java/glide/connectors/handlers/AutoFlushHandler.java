@@ -0,0 +1,97 @@
+/** Copyright Valkey GLIDE Project Contributors - SPDX Identifier: Apache-2.0 */
+package glide.connectors.handlers;
+
+import glide.api.models.configuration.AutoFlushConfiguration;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import lombok.NonNull;
+
+/**
+ * Outbound handler which coalesces flushes according to {@link AutoFlushConfiguration}. Used by
+ * Netty.
+ *
+ * <p>Every request is written by {@link ChannelHandler} with a flush. This handler defers the flush
+ * until a threshold is reached or until a flush task, scheduled on the first deferred flush, is
+ * executed by the event loop. Requests submitted by other threads are queued to the event loop
+ * before that task, so they are flushed together with a single syscall.
+ *
+ * <p>All fields are accessed from the channel event loop only.
+ */
+public class AutoFlushHandler extends ChannelDuplexHandler {
+
+    private final int maxPendingRequests;
+    private final int maxPendingBytes;
+
+    private int pendingRequests = 0;
+    private long pendingBytes = 0;
+    private boolean flushScheduled = false;
+    private ChannelHandlerContext ctx;
+
+    private final Runnable flushTask =
+            () -> {
+                flushScheduled = false;
+                if (pendingRequests > 0) {
+                    flushNow(ctx);
+                }
+            };
+
+    public AutoFlushHandler(@NonNull AutoFlushConfiguration configuration) {
+        this.maxPendingRequests = configuration.getMaxPendingRequests();
+        this.maxPendingBytes = configuration.getMaxPendingBytes();
+    }
+
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) {
+        this.ctx = ctx;
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+        if (msg instanceof ByteBuf) {
+            pendingBytes += ((ByteBuf) msg).readableBytes();
+        }
+        ctx.write(msg, promise);
+    }
+
+    @Override
+    public void flush(ChannelHandlerContext ctx) {
+        pendingRequests++;
+        if (pendingRequests >= maxPendingRequests || pendingBytes >= maxPendingBytes) {
+            flushNow(ctx);
+        } else if (!flushScheduled) {
+            flushScheduled = true;
+            ctx.executor().execute(flushTask);
+        }
+    }
+
+    @Override
+    public void close(ChannelHandlerContext ctx, ChannelPromise promise) throws Exception {
+        flushIfPending(ctx);
+        ctx.close(promise);
+    }
+
+    @Override
+    public void disconnect(ChannelHandlerContext ctx, ChannelPromise promise) throws Exception {
+        flushIfPending(ctx);
+        ctx.disconnect(promise);
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) {
+        flushIfPending(ctx);
+    }
+
+    private void flushIfPending(ChannelHandlerContext ctx) {
+        if (pendingRequests > 0) {
+            flushNow(ctx);
+        }
+    }
+
+    private void flushNow(ChannelHandlerContext ctx) {
+        pendingRequests = 0;
+        pendingBytes = 0;
+        ctx.flush();
+    }
+}
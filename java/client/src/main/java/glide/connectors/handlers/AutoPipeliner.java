@@ -0,0 +1,139 @@
+/** Copyright Valkey GLIDE Project Contributors - SPDX Identifier: Apache-2.0 */
+package glide.connectors.handlers;
+
+import command_request.CommandRequestOuterClass.CommandRequest;
+import glide.api.models.configuration.AutoPipelineConfiguration;
+import glide.api.models.exceptions.ClosingException;
+import glide.managers.CommandManager;
+import glide.connectors.handlers.ChannelHandler.NettyFutureErrorHandler;
+import io.netty.channel.Channel;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.NonNull;
+import response.ResponseOuterClass.Response;
+
+/**
+ * Collects requests written concurrently by {@link ChannelHandler} and writes them to the channel
+ * with a single flush, according to {@link AutoPipelineConfiguration}. The requests remain
+ * separate messages, so GLIDE core reads them from the socket at once but executes and answers
+ * each one on its own, and their futures are completed by {@link CallbackDispatcher} as usual.
+ *
+ * <p>The first request collected schedules a write on the channel event loop after the configured
+ * delay. A request which reaches the batch size schedules a write right away. Requests are written
+ * only by the event loop, in the order they are collected, so concurrent writes can't reorder the
+ * batches.
+ *
+ * <p>Requests which are not written once the pipeliner is closed are dropped, and their native
+ * argument vectors are released, see {@link CommandManager#releaseArgsVectors}. A request is taken
+ * from the queue either by a write or by the drop, so its vectors are never released twice.
+ */
+class AutoPipeliner {
+
+    private final Channel channel;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+
+    private final Queue<PendingRequest> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger(0);
+    private final AtomicBoolean isWriteScheduled = new AtomicBoolean(false);
+    private final AtomicBoolean isFullBatchScheduled = new AtomicBoolean(false);
+    private volatile boolean isClosed = false;
+
+    private final Runnable writeTask =
+            () -> {
+                // reset before writing, so a request added meanwhile is written or schedules a task
+                isWriteScheduled.set(false);
+                writePending();
+            };
+
+    private final Runnable fullBatchTask =
+            () -> {
+                isFullBatchScheduled.set(false);
+                writePending();
+            };
+
+    AutoPipeliner(@NonNull Channel channel, @NonNull AutoPipelineConfiguration configuration) {
+        this.channel = channel;
+        this.maxBatchSize = configuration.getMaxBatchSize();
+        this.maxDelayNanos = TimeUnit.MICROSECONDS.toNanos(configuration.getMaxDelayMicros());
+    }
+
+    /**
+     * Collect a request to write it together with other requests.
+     *
+     * @param request A complete request, with its callback ID set
+     * @param future The response promise of the request, failed if the request can't be written
+     */
+    void add(CommandRequest request, CompletableFuture<Response> future) {
+        pending.add(new PendingRequest(request, future));
+        if (isClosed) {
+            // the request may have missed the drop on close
+            dropPending();
+            return;
+        }
+        if (pendingCount.incrementAndGet() >= maxBatchSize) {
+            if (isFullBatchScheduled.compareAndSet(false, true)) {
+                channel.eventLoop().execute(fullBatchTask);
+            }
+        } else if (isWriteScheduled.compareAndSet(false, true)) {
+            if (maxDelayNanos > 0) {
+                channel.eventLoop().schedule(writeTask, maxDelayNanos, TimeUnit.NANOSECONDS);
+            } else {
+                channel.eventLoop().execute(writeTask);
+            }
+        }
+    }
+
+    /** Drop the requests collected, fail their promises and release their argument vectors. */
+    void close() {
+        isClosed = true;
+        dropPending();
+    }
+
+    private void dropPending() {
+        PendingRequest next;
+        while ((next = pending.poll()) != null) {
+            pendingCount.decrementAndGet();
+            CommandManager.releaseArgsVectors(next.request);
+            next.future.completeExceptionally(
+                    new ClosingException("Channel closed: Unable to submit command."));
+        }
+    }
+
+    /**
+     * Write all requests collected so far, flushing after every {@link #maxBatchSize} requests. Runs
+     * on the event loop.
+     */
+    private void writePending() {
+        while (true) {
+            int written = 0;
+            PendingRequest next;
+            while (written < maxBatchSize && (next = pending.poll()) != null) {
+                channel.write(next.request).addListener(new NettyFutureErrorHandler(next.future));
+                written++;
+            }
+            if (written == 0) {
+                return;
+            }
+            pendingCount.addAndGet(-written);
+            channel.flush();
+            if (written < maxBatchSize) {
+                return;
+            }
+        }
+    }
+
+    private static final class PendingRequest {
+        private final CommandRequest request;
+        private final CompletableFuture<Response> future;
+
+        private PendingRequest(CommandRequest request, CompletableFuture<Response> future) {
+            this.request = request;
+            this.future = future;
+        }
+    }
+}
@@ -7,17 +7,16 @@ import glide.api.logging.Logger;
 import glide.api.models.exceptions.ClosingException;
 import glide.api.models.exceptions.ConnectionException;
 import glide.api.models.exceptions.ExecAbortException;
+import glide.api.models.exceptions.GlideException;
 import glide.api.models.exceptions.RequestException;
 import glide.api.models.exceptions.TimeoutException;
+import glide.ffi.resolvers.GlideValueResolver;
 import glide.managers.CommandManager;
 import glide.managers.ConnectionManager;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.atomic.AtomicInteger;
 import lombok.RequiredArgsConstructor;
-import org.apache.commons.lang3.tuple.Pair;
 import response.ResponseOuterClass.RequestError;
+import response.ResponseOuterClass.RequestErrorType;
 import response.ResponseOuterClass.Response;
 
 /** Holder for resources required to dispatch responses and used by {@link ReadHandler}. */
@@ -27,48 +26,78 @@ public class CallbackDispatcher {
     /** A message handler instance. */
     protected final MessageHandler messageHandler;
 
-    /** Unique request ID (callback ID). Thread-safe and overflow-safe. */
-    protected final AtomicInteger nextAvailableRequestId = new AtomicInteger(0);
-
     /**
-     * Storage of Futures to handle responses. Map key is callback id, which starts from 0. The value
-     * is a CompletableFuture that is returned to the user and completed when the request is done.
-     *
-     * <p>Note: Protobuf packet contains callback ID as uint32, but it stores data as a bit field.
-     * Negative Java values would be shown as positive on Rust side. There is no data loss, because
-     * callback ID remains unique.
+     * Storage of Futures to handle responses. Callback ID is issued by the storage. The value is a
+     * CompletableFuture that is returned to the user and completed when the request is done.
      */
-    protected final ConcurrentHashMap<Integer, CompletableFuture<Response>> responses =
-            new ConcurrentHashMap<>();
+    protected final CallbackRegistry<CompletableFuture<Response>> responses =
+            new CallbackRegistry<>();
 
     /**
-     * Storage of freed callback IDs. It is needed to avoid occupying an ID being used and to speed up
-     * search for a next free ID.
+     * Convert an error of a request to the exception it fails with.
+     *
+     * @param type The error type, <code>null</code> if unknown
+     * @param msg The error message
+     * @return An exception to complete the request with
      */
-    // TODO: Optimize to avoid growing up to 2e32 (16 Gb)
-    // https://github.com/valkey-io/valkey-glide/issues/704
-    protected final ConcurrentLinkedQueue<Integer> freeRequestIds = new ConcurrentLinkedQueue<>();
+    public static GlideException toException(RequestErrorType type, String msg) {
+        if (type == null) {
+            return new RequestException(msg);
+        }
+        switch (type) {
+            case Unspecified:
+                // Unspecified error on Valkey service-side
+                return new RequestException(msg);
+            case ExecAbort:
+                // Transactional error on Valkey service-side
+                return new ExecAbortException(msg);
+            case Timeout:
+                // Timeout from Glide to Valkey service
+                return new TimeoutException(msg);
+            case Disconnect:
+                // Connection problem between Glide and Valkey
+                return new ConnectionException(msg);
+            default:
+                // Request or command error from Valkey
+                return new RequestException(msg);
+        }
+    }
 
     /**
      * Register a new request to be sent. Once response received, the given future completes with it.
      *
-     * @return A pair of unique callback ID which should set into request and a client promise for
-     *     response.
+     * @param future A client promise for response
+     * @return A unique callback ID which should set into request.
+     * @throws RequestException If there are too many requests in flight
      */
-    public Pair<Integer, CompletableFuture<Response>> registerRequest() {
-        var future = new CompletableFuture<Response>();
-        Integer callbackId = freeRequestIds.poll();
-        if (callbackId == null) {
-            // on null, we have no available request ids available in freeRequestIds
-            // instead, get the next available request from counter
-            callbackId = nextAvailableRequestId.getAndIncrement();
+    public int registerRequest(CompletableFuture<Response> future) {
+        int callbackId = responses.claim(future);
+        if (callbackId == -1) {
+            throw new RequestException(
+                    "Too many requests in flight: the limit of "
+                            + CallbackRegistry.MAX_CAPACITY
+                            + " pending requests is reached");
         }
-        responses.put(callbackId, future);
-        return Pair.of(callbackId, future);
+        return callbackId;
+    }
+
+    /**
+     * Check whether the value of a response to the given request may be resolved in advance. See
+     * {@link ResponseBatch}.
+     *
+     * @param callbackId A callback ID the response is addressed to
+     * @return <code>false</code> if the request expects the value pointer as is
+     */
+    public boolean isResolvableInAdvance(int callbackId) {
+        CompletableFuture<Response> future = responses.peek(callbackId);
+        return future instanceof ResolvableResponseFuture
+                && ((ResolvableResponseFuture) future).isResolvable();
     }
 
     public CompletableFuture<Response> registerConnection() {
-        return registerRequest().getValue();
+        var future = new CompletableFuture<Response>();
+        registerRequest(future);
+        return future;
     }
 
     /**
@@ -89,39 +118,33 @@ public class CallbackDispatcher {
             messageHandler.handle(response);
             return;
         }
-        // Complete and return the response at callbackId
-        // free up the callback ID in the freeRequestIds list
-        int callbackId = response.getCallbackIdx();
-        CompletableFuture<Response> future = responses.remove(callbackId);
+        completeRequest(response.getCallbackIdx(), response);
+    }
+
+    /**
+     * Complete the client promise registered under the given callback ID and free the ID for reuse.
+     * Used for responses which are neither pushes nor closing errors, so callback ID may be not set
+     * in the response itself.
+     *
+     * @param callbackId A callback ID the response is addressed to
+     * @param response A response received
+     */
+    public void completeRequest(int callbackId, Response response) {
+        CompletableFuture<Response> future = responses.release(callbackId);
         if (future != null) {
-            freeRequestIds.add(callbackId);
             if (response.hasRequestError()) {
                 RequestError error = response.getRequestError();
-                String msg = error.getMessage();
-                switch (error.getType()) {
-                    case Unspecified:
-                        // Unspecified error on Valkey service-side
-                        future.completeExceptionally(new RequestException(msg));
-                        break;
-                    case ExecAbort:
-                        // Transactional error on Valkey service-side
-                        future.completeExceptionally(new ExecAbortException(msg));
-                        break;
-                    case Timeout:
-                        // Timeout from Glide to Valkey service
-                        future.completeExceptionally(new TimeoutException(msg));
-                        break;
-                    case Disconnect:
-                        // Connection problem between Glide and Valkey
-                        future.completeExceptionally(new ConnectionException(msg));
-                        break;
-                    default:
-                        // Request or command error from Valkey
-                        future.completeExceptionally(new RequestException(msg));
+                future.completeExceptionally(toException(error.getType(), error.getMessage()));
+            } else {
+                // Complete on the event loop thread. Consumers (e.g. CommandManager) are responsible to
+                // switch to the configured completion executor if needed.
+                if (!future.complete(response)) {
+                    // the request has failed already, e.g. its write failed
+                    releaseValue(response);
                 }
             }
-            future.completeAsync(() -> response);
         } else {
+            releaseValue(response);
             // probably a response was received after shutdown or `registerRequest` call was missing
             Logger.log(
                     ERROR,
@@ -135,6 +158,35 @@ public class CallbackDispatcher {
         }
     }
 
+    /**
+     * Complete the client promise registered under the given callback ID with a value resolved in
+     * advance, see {@link #isResolvableInAdvance}. The promise is completed with a response which
+     * carries {@link GlideValueResolver#PREFETCHED_VALUE_HANDLE} and keeps the value itself.
+     *
+     * @param callbackId A callback ID the response is addressed to
+     * @param value A value of the response
+     */
+    public void completeRequestWithValue(int callbackId, Object value) {
+        CompletableFuture<Response> future = responses.release(callbackId);
+        if (future instanceof ResolvableResponseFuture) {
+            ((ResolvableResponseFuture) future).completeWithValue(value);
+        } else {
+            // the value is on heap already, there's nothing to release
+            Logger.log(
+                    ERROR,
+                    "callback dispatcher",
+                    () -> "Received a value for not registered callback id " + callbackId);
+            distributeClosingException("Client is in an erroneous state and should close");
+        }
+    }
+
+    /** Free the value of a response which can't be delivered, so it doesn't leak. */
+    private static void releaseValue(Response response) {
+        if (response.hasRespPointer()) {
+            GlideValueResolver.releaseValue(response.getRespPointer());
+        }
+    }
+
     /**
      * Distribute {@link ClosingException} to all pending requests. {@link CommandManager} and {@link
      * ConnectionManager} should catch it, handle and close the UDS connection.<br>
@@ -143,13 +195,52 @@ public class CallbackDispatcher {
      * @param message Exception message
      */
     public void distributeClosingException(String message) {
-        responses.values().forEach(f -> f.completeExceptionally(new ClosingException(message)));
-        responses.clear();
+        responses.drain(f -> f.completeExceptionally(new ClosingException(message)));
     }
 
     public void shutdownGracefully() {
         String msg = "Operation terminated: The closing process has been initiated for the resource.";
-        responses.values().forEach(future -> future.completeExceptionally(new ClosingException(msg)));
-        responses.clear();
+        responses.drain(future -> future.completeExceptionally(new ClosingException(msg)));
+    }
+
+    /**
+     * A response promise of a request which accepts the value of the response resolved in advance.
+     * The value is kept by the promise, so it's dropped together with the request if nobody takes
+     * it.
+     */
+    public static class ResolvableResponseFuture extends CompletableFuture<Response> {
+
+        /** A response to complete requests with, which tells that the value is kept by the promise. */
+        private static final Response PREFETCHED_RESPONSE =
+                Response.newBuilder()
+                        .setRespPointer(GlideValueResolver.PREFETCHED_VALUE_HANDLE)
+                        .build();
+
+        /** A value resolved in advance, written before the promise completes. */
+        private Object value;
+
+        /**
+         * Whether the value of the response may be resolved in advance. Subclasses may keep the
+         * value pointer as is instead.
+         */
+        public boolean isResolvable() {
+            return true;
+        }
+
+        /** Complete the promise with a value resolved in advance. */
+        void completeWithValue(Object value) {
+            this.value = value;
+            complete(PREFETCHED_RESPONSE);
+        }
+
+        /**
+         * Get the value the promise is completed with. Should be called once the promise is
+         * completed with a response with {@link GlideValueResolver#PREFETCHED_VALUE_HANDLE}.
+         *
+         * @return A value resolved in advance
+         */
+        public Object getValue() {
+            return value;
+        }
     }
 }
@@ -0,0 +1,249 @@
+/** Copyright Valkey GLIDE Project Contributors - SPDX Identifier: Apache-2.0 */
+package glide.connectors.handlers;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Lock-free storage of callbacks for requests in flight, used by {@link CallbackDispatcher}.
+ *
+ * <p>Callbacks are kept in slots of fixed-size segments, which are allocated on demand and reused
+ * afterwards, so memory footprint is bounded by the peak number of requests in flight. Released
+ * slots are recycled through a lock-free stack of free slot indices. Neither a claim nor a release
+ * allocates.
+ *
+ * <p>A callback ID consists of a slot index (lower {@link #INDEX_BITS} bits) and a generation of the
+ * slot (upper bits). The generation is bumped every time a slot is released, so a late or duplicate
+ * response addressed to a recycled slot is not delivered to a wrong request. Callback IDs are never
+ * negative.
+ *
+ * @param <T> Type of stored callbacks
+ */
+public class CallbackRegistry<T> {
+
+    /** Number of bits in a callback ID which store a slot index. */
+    public static final int INDEX_BITS = 20;
+
+    /** Maximum number of slots, which is the maximum number of requests in flight. */
+    public static final int MAX_CAPACITY = 1 << INDEX_BITS;
+
+    private static final int INDEX_MASK = MAX_CAPACITY - 1;
+
+    /** Generation is stored in remaining upper bits of a callback ID, except the sign bit. */
+    private static final int GENERATION_MASK = (1 << (Integer.SIZE - 1 - INDEX_BITS)) - 1;
+
+    private static final int SEGMENT_BITS = 10;
+    private static final int SEGMENT_SIZE = 1 << SEGMENT_BITS;
+    private static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+    /** Lower half of {@link #freeHead} which marks an empty stack. */
+    private static final int EMPTY = 0;
+
+    /** A chunk of slots. */
+    private static final class Segment<T> {
+        final AtomicReferenceArray<T> values = new AtomicReferenceArray<>(SEGMENT_SIZE);
+        final AtomicIntegerArray generations = new AtomicIntegerArray(SEGMENT_SIZE);
+
+        /** Link to the next free slot (index + 1) while a slot is stored in the free stack. */
+        final AtomicIntegerArray nextFree = new AtomicIntegerArray(SEGMENT_SIZE);
+    }
+
+    /** Maximum number of slots for this instance. */
+    private final int capacity;
+
+    private final AtomicReferenceArray<Segment<T>> segments;
+
+    /** Number of slots ever claimed. All slots below this index are allocated. */
+    private final AtomicInteger highWaterMark = new AtomicInteger(0);
+
+    /**
+     * Head of the free slot stack. Upper half is a modification counter (to avoid ABA problem), lower
+     * half is a top slot index + 1 or {@link #EMPTY}.
+     */
+    private final AtomicLong freeHead = new AtomicLong(EMPTY);
+
+    /** Number of slots currently holding a callback. */
+    private final AtomicInteger size = new AtomicInteger(0);
+
+    public CallbackRegistry() {
+        this(MAX_CAPACITY);
+    }
+
+    /**
+     * Create a registry.
+     *
+     * @param capacity Maximum number of callbacks stored at the same time. Should not exceed {@link
+     *     #MAX_CAPACITY}.
+     */
+    public CallbackRegistry(int capacity) {
+        if (capacity <= 0 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException(
+                    "Capacity should be in range [1, " + MAX_CAPACITY + "], got " + capacity);
+        }
+        this.capacity = capacity;
+        segments = new AtomicReferenceArray<>((capacity + SEGMENT_MASK) >>> SEGMENT_BITS);
+    }
+
+    /**
+     * Store a callback.
+     *
+     * @param value A callback to store
+     * @return A unique callback ID or <code>-1</code> if the registry is full.
+     */
+    public int claim(T value) {
+        int index = popFree();
+        if (index == -1) {
+            do {
+                index = highWaterMark.get();
+                if (index >= capacity) {
+                    return -1;
+                }
+            } while (!highWaterMark.compareAndSet(index, index + 1));
+        }
+        Segment<T> segment = segment(index);
+        int offset = index & SEGMENT_MASK;
+        // the generation is read before the value is published: once the slot is occupied, a
+        // concurrent drain may release it and bump the generation
+        int generation = segment.generations.get(offset);
+        segment.values.set(offset, value);
+        size.incrementAndGet();
+        return (generation << INDEX_BITS) | index;
+    }
+
+    /**
+     * Remove a callback and free its slot.
+     *
+     * @param callbackId An ID returned by {@link #claim}
+     * @return A stored callback or <code>null</code> if there is no callback stored with given ID
+     */
+    public T release(int callbackId) {
+        int index = callbackId & INDEX_MASK;
+        if (callbackId < 0 || index >= highWaterMark.get()) {
+            return null;
+        }
+        Segment<T> segment = segments.get(index >>> SEGMENT_BITS);
+        if (segment == null) {
+            return null;
+        }
+        return release(segment, index, callbackId >>> INDEX_BITS);
+    }
+
+    /**
+     * Get a callback without removing it.
+     *
+     * @param callbackId An ID returned by {@link #claim}
+     * @return A stored callback or <code>null</code> if there is no callback stored with given ID
+     */
+    public T peek(int callbackId) {
+        int index = callbackId & INDEX_MASK;
+        if (callbackId < 0 || index >= highWaterMark.get()) {
+            return null;
+        }
+        Segment<T> segment = segments.get(index >>> SEGMENT_BITS);
+        if (segment == null) {
+            return null;
+        }
+        int offset = index & SEGMENT_MASK;
+        T value = segment.values.get(offset);
+        // the slot may have been recycled for another request
+        return segment.generations.get(offset) == callbackId >>> INDEX_BITS ? value : null;
+    }
+
+    /**
+     * Remove all stored callbacks and pass them to the given consumer.
+     *
+     * @param action An action to perform on every callback removed
+     */
+    public void drain(Consumer<T> action) {
+        int limit = highWaterMark.get();
+        for (int index = 0; index < limit; index++) {
+            Segment<T> segment = segments.get(index >>> SEGMENT_BITS);
+            int offset = index & SEGMENT_MASK;
+            if (segment != null) {
+                T value = release(segment, index, segment.generations.get(offset));
+                if (value != null) {
+                    action.accept(value);
+                }
+            }
+        }
+    }
+
+    /**
+     * Perform an action on every stored callback without removing them.
+     *
+     * @param action An action to perform
+     */
+    public void forEach(Consumer<T> action) {
+        int limit = highWaterMark.get();
+        for (int index = 0; index < limit; index++) {
+            Segment<T> segment = segments.get(index >>> SEGMENT_BITS);
+            T value = segment == null ? null : segment.values.get(index & SEGMENT_MASK);
+            if (value != null) {
+                action.accept(value);
+            }
+        }
+    }
+
+    /** Get the number of stored callbacks. */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Release a slot if it is occupied and its generation matches. A successful generation bump
+     * grants exclusive ownership on the slot, so a concurrent release of the same ID fails.
+     */
+    private T release(Segment<T> segment, int index, int generation) {
+        int offset = index & SEGMENT_MASK;
+        if (segment.values.get(offset) == null
+                || !segment.generations.compareAndSet(
+                        offset, generation, (generation + 1) & GENERATION_MASK)) {
+            return null;
+        }
+        T value = segment.values.getAndSet(offset, null);
+        size.decrementAndGet();
+        pushFree(segment, index);
+        return value;
+    }
+
+    /** Get a segment for the given slot index, allocate the segment if needed. */
+    private Segment<T> segment(int index) {
+        int segmentIndex = index >>> SEGMENT_BITS;
+        Segment<T> segment = segments.get(segmentIndex);
+        if (segment == null) {
+            segments.compareAndSet(segmentIndex, null, new Segment<>());
+            segment = segments.get(segmentIndex);
+        }
+        return segment;
+    }
+
+    private void pushFree(Segment<T> segment, int index) {
+        long head;
+        long newHead;
+        do {
+            head = freeHead.get();
+            segment.nextFree.set(index & SEGMENT_MASK, (int) head);
+            newHead = (((head >>> 32) + 1) << 32) | (index + 1);
+        } while (!freeHead.compareAndSet(head, newHead));
+    }
+
+    /** Pop a free slot index or return <code>-1</code> if there are no free slots. */
+    private int popFree() {
+        while (true) {
+            long head = freeHead.get();
+            int top = (int) head;
+            if (top == EMPTY) {
+                return -1;
+            }
+            int index = top - 1;
+            int next = segments.get(index >>> SEGMENT_BITS).nextFree.get(index & SEGMENT_MASK);
+            long newHead = (((head >>> 32) + 1) << 32) | (next & 0xFFFFFFFFL);
+            if (freeHead.compareAndSet(head, newHead)) {
+                return index;
+            }
+        }
+    }
+}
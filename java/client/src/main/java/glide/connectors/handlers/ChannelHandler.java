@@ -3,6 +3,8 @@ package glide.connectors.handlers;
 
 import command_request.CommandRequestOuterClass.CommandRequest;
 import connection_request.ConnectionRequestOuterClass.ConnectionRequest;
+import glide.api.models.configuration.AutoFlushConfiguration;
+import glide.api.models.configuration.AutoPipelineConfiguration;
 import glide.connectors.resources.ThreadPoolResource;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.Channel;
@@ -25,6 +27,9 @@ public class ChannelHandler {
     protected final CallbackDispatcher callbackDispatcher;
     private AtomicBoolean isClosed = new AtomicBoolean(false);
 
+    /** Collects requests to send them together, <code>null</code> if auto-pipelining is off. */
+    private final AutoPipeliner autoPipeliner;
+
     public boolean isClosed() {
         return this.isClosed.get() || !this.channel.isOpen();
     }
@@ -41,39 +46,130 @@ public class ChannelHandler {
             String socketPath,
             ThreadPoolResource threadPoolResource)
             throws InterruptedException {
+        this(callbackDispatcher, socketPath, threadPoolResource, null);
+    }
+
+    /**
+     * Open a new channel for a new client and running it on the provided EventLoopGroup.
+     *
+     * @param callbackDispatcher Dispatcher to handle callbacks
+     * @param socketPath Address to connect
+     * @param threadPoolResource Resource to choose ELG and domainSocketChannelClass
+     * @param autoFlush Write coalescing configuration or <code>null</code> to flush every request
+     */
+    public ChannelHandler(
+            CallbackDispatcher callbackDispatcher,
+            String socketPath,
+            ThreadPoolResource threadPoolResource,
+            AutoFlushConfiguration autoFlush)
+            throws InterruptedException {
+        this(callbackDispatcher, socketPath, threadPoolResource, autoFlush, null);
+    }
+
+    /**
+     * Open a new channel for a new client and running it on the provided EventLoopGroup.
+     *
+     * @param callbackDispatcher Dispatcher to handle callbacks
+     * @param socketPath Address to connect
+     * @param threadPoolResource Resource to choose ELG and domainSocketChannelClass
+     * @param autoFlush Write coalescing configuration or <code>null</code> to flush every request
+     * @param autoPipeline Auto-pipelining configuration or <code>null</code> to send every request
+     *     on its own
+     */
+    public ChannelHandler(
+            CallbackDispatcher callbackDispatcher,
+            String socketPath,
+            ThreadPoolResource threadPoolResource,
+            AutoFlushConfiguration autoFlush,
+            AutoPipelineConfiguration autoPipeline)
+            throws InterruptedException {
 
         channel =
                 new Bootstrap()
                         .group(threadPoolResource.getEventLoopGroup())
                         .channel(threadPoolResource.getDomainSocketChannelClass())
-                        .handler(new ProtobufSocketChannelInitializer(callbackDispatcher))
+                        .handler(new ProtobufSocketChannelInitializer(callbackDispatcher, autoFlush))
                         .connect(new DomainSocketAddress(socketPath))
                         // TODO    .addListener(new NettyFutureErrorHandler())
                         //   we need to use connection promise here for that ^
                         .sync()
                         .channel();
         this.callbackDispatcher = callbackDispatcher;
+        this.autoPipeliner = autoPipeline == null ? null : new AutoPipeliner(channel, autoPipeline);
+    }
+
+    /**
+     * Wrap a channel which is already open. Used by handlers which override writing to the channel.
+     *
+     * @param channel A channel
+     * @param callbackDispatcher Dispatcher to handle callbacks
+     */
+    protected ChannelHandler(Channel channel, CallbackDispatcher callbackDispatcher) {
+        this.channel = channel;
+        this.callbackDispatcher = callbackDispatcher;
+        this.autoPipeliner = null;
     }
 
     /**
      * Complete a protobuf message and write it to the channel (to UDS).
      *
      * @param request Incomplete request, function completes it by setting callback ID
-     * @param flush True to flush immediately
-     * @return A response promise
+     * @param flush True to flush immediately. If write coalescing is configured, the flush is
+     *     deferred and merged with flushes of other requests, see {@link AutoFlushHandler}. If
+     *     auto-pipelining is configured, the request is sent together with other requests whether
+     *     flushed or not, see {@link AutoPipeliner}.
+     * @return A response promise. The value of the response may be resolved in advance and kept by
+     *     the promise, see {@link CallbackDispatcher.ResolvableResponseFuture}.
      */
     public CompletableFuture<Response> write(CommandRequest.Builder request, boolean flush) {
-        var commandId = callbackDispatcher.registerRequest();
-        request.setCallbackIdx(commandId.getKey());
+        return write(request, flush, new CallbackDispatcher.ResolvableResponseFuture());
+    }
 
-        if (flush) {
-            channel
-                    .writeAndFlush(request.build())
-                    .addListener(new NettyFutureErrorHandler(commandId.getValue()));
+    /**
+     * Complete a protobuf message and write it like {@link #write(CommandRequest.Builder, boolean)},
+     * with a response promise given by the caller, which is completed by {@link CallbackDispatcher}
+     * directly.
+     *
+     * @param request Incomplete request, function completes it by setting callback ID
+     * @param flush True to flush immediately
+     * @param future A response promise. The value of the response may be resolved in advance only
+     *     if it's a {@link CallbackDispatcher.ResolvableResponseFuture} which is resolvable, by
+     *     default {@link ReadHandler} keeps the value pointer as is otherwise.
+     * @return The response promise given
+     */
+    public CompletableFuture<Response> write(
+            CommandRequest.Builder request, boolean flush, CompletableFuture<Response> future) {
+        request.setCallbackIdx(callbackDispatcher.registerRequest(future));
+
+        if (autoPipeliner != null) {
+            // a request which is not flushed is collected too, so it can't overtake collected ones
+            autoPipeliner.add(request.build(), future);
+        } else if (flush) {
+            channel.writeAndFlush(request.build()).addListener(new NettyFutureErrorHandler(future));
         } else {
-            channel.write(request.build()).addListener(new NettyFutureErrorHandler(commandId.getValue()));
+            channel.write(request.build()).addListener(new NettyFutureErrorHandler(future));
         }
-        return commandId.getValue();
+        return future;
+    }
+
+    /**
+     * Complete a protobuf message and write it like {@link #write(CommandRequest.Builder, boolean,
+     * CompletableFuture)}, along with the hash of its key. A channel which distributes requests by
+     * key uses the hash if the arguments of the request are passed in native memory, see {@link
+     * StripedChannelHandler#keyHash(byte[])}.
+     *
+     * @param request Incomplete request, function completes it by setting callback ID
+     * @param keyHash The hash of the first argument of the request, <code>0</code> if none
+     * @param flush True to flush immediately
+     * @param future A response promise
+     * @return The response promise given
+     */
+    public CompletableFuture<Response> write(
+            CommandRequest.Builder request,
+            int keyHash,
+            boolean flush,
+            CompletableFuture<Response> future) {
+        return write(request, flush, future);
     }
 
     /**
@@ -91,6 +187,9 @@ public class ChannelHandler {
     /** Closes the UDS connection and frees corresponding resources. */
     public ChannelFuture close() {
         this.isClosed.set(true);
+        if (autoPipeliner != null) {
+            autoPipeliner.close();
+        }
         callbackDispatcher.shutdownGracefully();
         return channel.close();
     }
@@ -100,7 +199,7 @@ public class ChannelHandler {
      * CompletableFuture} promise.
      */
     @RequiredArgsConstructor
-    private static class NettyFutureErrorHandler implements ChannelFutureListener {
+    static class NettyFutureErrorHandler implements ChannelFutureListener {
 
         private final CompletableFuture<Response> promise;
 
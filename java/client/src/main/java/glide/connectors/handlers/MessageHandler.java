@@ -9,6 +9,7 @@ import glide.api.models.PubSubMessage;
 import glide.api.models.configuration.BaseSubscriptionConfiguration.MessageCallback;
 import glide.api.models.exceptions.GlideException;
 import glide.managers.BaseResponseResolver;
+import glide.managers.NearCache;
 import java.util.Arrays;
 import java.util.Map;
 import java.util.Optional;
@@ -19,7 +20,7 @@ import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import response.ResponseOuterClass.Response;
 
-/** Handler for incoming push messages (subscriptions). */
+/** Handler for incoming push messages (subscriptions and near cache invalidations). */
 @Getter
 @RequiredArgsConstructor
 public class MessageHandler {
@@ -50,9 +51,19 @@ public class MessageHandler {
     /** Helper which extracts data from received {@link Response}s from GLIDE. */
     private final BaseResponseResolver responseResolver;
 
+    /** A near cache to invalidate, if configured. */
+    private final Optional<NearCache> nearCache;
+
     /** A message queue wrapper. */
     @Getter private final PubSubMessageQueue queue = new PubSubMessageQueue();
 
+    public MessageHandler(
+            Optional<MessageCallback> callback,
+            Optional<Object> context,
+            BaseResponseResolver responseResolver) {
+        this(callback, context, responseResolver, Optional.empty());
+    }
+
     /** Process a push (PUBSUB) message received as a part of {@link Response} from GLIDE. */
     void handle(Response response) throws MessageCallbackException {
         Object data = responseResolver.apply(response);
@@ -75,7 +86,11 @@ public class MessageHandler {
                         Logger.Level.WARN,
                         "disconnect notification",
                         "Transport disconnected, messages might be lost");
+                nearCache.ifPresent(NearCache::onDisconnect);
                 break;
+            case Invalidate:
+                nearCache.ifPresent(cache -> invalidate(cache, values));
+                return;
             case PMessage:
                 handle(
                         new PubSubMessage(
@@ -111,6 +126,20 @@ public class MessageHandler {
         }
     }
 
+    /**
+     * Evict the keys of an invalidation message from a near cache. The message has an array of
+     * keys, or <code>null</code> if the server flushed all keys.
+     */
+    private void invalidate(NearCache cache, Object[] values) {
+        if (values.length == 0 || values[0] == null) {
+            cache.invalidateAll();
+            return;
+        }
+        for (Object key : (Object[]) values[0]) {
+            cache.invalidate(GlideString.of(key));
+        }
+    }
+
     /** Process a {@link PubSubMessage} received. */
     private void handle(PubSubMessage message) throws MessageCallbackException {
         if (callback.isPresent()) {
@@ -0,0 +1,174 @@
+/** Copyright Valkey GLIDE Project Contributors - SPDX Identifier: Apache-2.0 */
+package glide.connectors.handlers;
+
+import static glide.api.logging.Logger.Level.ERROR;
+
+import command_request.CommandRequestOuterClass.CommandRequest;
+import connection_request.ConnectionRequestOuterClass.ConnectionRequest;
+import glide.api.logging.Logger;
+import glide.api.models.exceptions.ClosingException;
+import glide.ffi.resolvers.NativeTransportResolver;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.lang.ref.Cleaner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.RequiredArgsConstructor;
+import response.ResponseOuterClass.RequestError;
+import response.ResponseOuterClass.RequestErrorType;
+import response.ResponseOuterClass.Response;
+
+/**
+ * Channel handler which submits requests to GLIDE core in-process over JNI, bypassing the UDS. See
+ * {@link NativeTransportResolver}. Responses are received by native threads and decoded by {@link
+ * ResponseDecoder}.
+ */
+public class NativeChannelHandler extends ChannelHandler {
+
+    /** Releases native clients of handlers which became unreachable. */
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private final AtomicBoolean isClosed = new AtomicBoolean(false);
+
+    /** Native client handle, set on {@link #connect}. */
+    private volatile long handle = 0;
+
+    public NativeChannelHandler(CallbackDispatcher callbackDispatcher) {
+        // there is no socket, the channel only completes the close promise
+        super(new EmbeddedChannel(), callbackDispatcher);
+    }
+
+    @Override
+    public boolean isClosed() {
+        return isClosed.get();
+    }
+
+    /** Native client handle or <code>0</code> if not connected yet. */
+    protected long getHandle() {
+        return handle;
+    }
+
+    /**
+     * Complete a protobuf message and submit it to GLIDE core.
+     *
+     * @param request Incomplete request, function completes it by setting callback ID
+     * @param flush Ignored, requests are submitted immediately
+     * @param future A response promise, value pointers are never resolved in advance
+     * @return The response promise given
+     */
+    @Override
+    public CompletableFuture<Response> write(
+            CommandRequest.Builder request, boolean flush, CompletableFuture<Response> future) {
+        if (failIfNotOpen(future)) {
+            return future;
+        }
+        int callbackIdx = callbackDispatcher.registerRequest(future);
+        submit(callbackIdx, request.setCallbackIdx(callbackIdx).build());
+        return future;
+    }
+
+    /**
+     * Fail a request which is not registered yet, if the client is closed or not connected.
+     *
+     * @param future The response promise of the request
+     * @return <code>true</code> if the request is failed
+     */
+    protected boolean failIfNotOpen(CompletableFuture<Response> future) {
+        if (isClosed() || handle == 0) {
+            future.completeExceptionally(
+                    new ClosingException(
+                            isClosed() ? "Client is closed" : "Client is not connected"));
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Submit a request by a JNI call. If it fails, only this request is failed.
+     *
+     * @param callbackIdx The callback ID of the request
+     * @param request A complete request
+     */
+    protected void submit(int callbackIdx, CommandRequest request) {
+        try {
+            NativeTransportResolver.submitRequest(handle, request.toByteArray());
+        } catch (Exception e) {
+            failRequest(callbackIdx, "Failed to submit a request: " + e);
+        }
+    }
+
+    /**
+     * Fail a request which could not be submitted. Other requests in flight are not affected.
+     *
+     * @param callbackIdx The callback ID of the request
+     * @param message The error message
+     */
+    protected void failRequest(int callbackIdx, String message) {
+        callbackDispatcher.completeRequest(
+                callbackIdx,
+                Response.newBuilder()
+                        .setRequestError(
+                                RequestError.newBuilder()
+                                        .setType(RequestErrorType.Unspecified)
+                                        .setMessage(message))
+                        .build());
+    }
+
+    /**
+     * Create a native client and connect it.
+     *
+     * @param request A connection request
+     * @return A connection promise
+     */
+    @Override
+    public CompletableFuture<Response> connect(ConnectionRequest request) {
+        var future = callbackDispatcher.registerConnection();
+        try {
+            long nativeHandle =
+                    NativeTransportResolver.createClient(
+                            request.toByteArray(), new DispatchingListener(callbackDispatcher));
+            CLEANER.register(
+                    this,
+                    () -> {
+                        NativeTransportResolver.closeClient(nativeHandle);
+                        NativeTransportResolver.releaseClient(nativeHandle);
+                    });
+            handle = nativeHandle;
+        } catch (Exception e) {
+            future.completeExceptionally(new ClosingException("Failed to create a client: " + e));
+        }
+        return future;
+    }
+
+    /** Closes the native client and frees corresponding resources. */
+    @Override
+    public ChannelFuture close() {
+        if (isClosed.compareAndSet(false, true) && handle != 0) {
+            NativeTransportResolver.closeClient(handle);
+        }
+        callbackDispatcher.shutdownGracefully();
+        return channel.close();
+    }
+
+    /**
+     * Passes responses to a {@link CallbackDispatcher}. Doesn't reference the handler, so the handler
+     * can be collected while the native client holds the listener.
+     */
+    @RequiredArgsConstructor
+    private static class DispatchingListener implements NativeTransportResolver.ResponseListener {
+
+        private final CallbackDispatcher callbackDispatcher;
+
+        @Override
+        public void onResponse(byte[] response) {
+            try {
+                ResponseDecoder.decode(Unpooled.wrappedBuffer(response), callbackDispatcher);
+            } catch (Exception e) {
+                Logger.log(ERROR, "native transport", () -> "=== onResponse", e);
+                callbackDispatcher.distributeClosingException(
+                        "An unhandled error while handling a response: " + e);
+            }
+        }
+    }
+}
@@ -1,31 +1,42 @@
 /** Copyright Valkey GLIDE Project Contributors - SPDX Identifier: Apache-2.0 */
 package glide.connectors.handlers;
 
+import glide.api.models.configuration.AutoFlushConfiguration;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOutboundHandlerAdapter;
 import io.netty.channel.unix.UnixChannel;
-import io.netty.handler.codec.protobuf.ProtobufDecoder;
-import io.netty.handler.codec.protobuf.ProtobufEncoder;
 import io.netty.handler.codec.protobuf.ProtobufVarint32FrameDecoder;
-import io.netty.handler.codec.protobuf.ProtobufVarint32LengthFieldPrepender;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
-import response.ResponseOuterClass.Response;
 
 /** Builder for the channel used by {@link ChannelHandler}. */
 @RequiredArgsConstructor
 public class ProtobufSocketChannelInitializer extends ChannelInitializer<UnixChannel> {
 
+    /** Encoder is stateless, so it is shared by all channels. */
+    private static final ProtobufVarint32LengthPrefixedEncoder ENCODER =
+            new ProtobufVarint32LengthPrefixedEncoder();
+
     private final CallbackDispatcher callbackDispatcher;
 
+    /** Write coalescing configuration or <code>null</code> to flush every request immediately. */
+    private final AutoFlushConfiguration autoFlush;
+
+    public ProtobufSocketChannelInitializer(CallbackDispatcher callbackDispatcher) {
+        this(callbackDispatcher, null);
+    }
+
     @Override
     public void initChannel(@NonNull UnixChannel ch) {
+        if (autoFlush != null) {
+            // should be the closest to the socket to see encoded frames
+            ch.pipeline().addLast("autoFlush", new AutoFlushHandler(autoFlush));
+        }
         ch.pipeline()
                 // https://netty.io/4.1/api/io/netty/handler/codec/protobuf/ProtobufEncoder.html
                 .addLast("frameDecoder", new ProtobufVarint32FrameDecoder())
-                .addLast("frameEncoder", new ProtobufVarint32LengthFieldPrepender())
-                .addLast("protobufDecoder", new ProtobufDecoder(Response.getDefaultInstance()))
-                .addLast("protobufEncoder", new ProtobufEncoder())
+                // frames are decoded by ReadHandler using ResponseDecoder
+                .addLast("protobufEncoder", ENCODER)
                 .addLast(new ReadHandler(callbackDispatcher))
                 .addLast(new ChannelOutboundHandlerAdapter());
     }
@@ -0,0 +1,56 @@
+/** Copyright Valkey GLIDE Project Contributors - SPDX Identifier: Apache-2.0 */
+package glide.connectors.handlers;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.MessageLite;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandler.Sharable;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.MessageToByteEncoder;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import lombok.NonNull;
+
+/**
+ * Encoder which serializes a protobuf message together with its varint32 length prefix straight
+ * into a pooled direct buffer of the exact size. Used by Netty.
+ *
+ * <p>It replaces a pair of {@link io.netty.handler.codec.protobuf.ProtobufEncoder} and {@link
+ * io.netty.handler.codec.protobuf.ProtobufVarint32LengthFieldPrepender}, which serialize a message
+ * into a heap array first and then copy it into another buffer to prepend the length.
+ */
+@Sharable
+public class ProtobufVarint32LengthPrefixedEncoder extends MessageToByteEncoder<MessageLite> {
+
+    public ProtobufVarint32LengthPrefixedEncoder() {
+        super(true);
+    }
+
+    @Override
+    protected ByteBuf allocateBuffer(
+            @NonNull ChannelHandlerContext ctx, @NonNull MessageLite msg, boolean preferDirect) {
+        return ctx.alloc().directBuffer(getFrameSize(msg.getSerializedSize()));
+    }
+
+    @Override
+    protected void encode(
+            @NonNull ChannelHandlerContext ctx, @NonNull MessageLite msg, @NonNull ByteBuf out)
+            throws IOException {
+        // size is memoized by the message, so it isn't calculated twice
+        int bodySize = msg.getSerializedSize();
+        int frameSize = getFrameSize(bodySize);
+        out.ensureWritable(frameSize);
+        ByteBuffer buffer = out.internalNioBuffer(out.writerIndex(), frameSize);
+
+        CodedOutputStream output = CodedOutputStream.newInstance(buffer);
+        output.writeUInt32NoTag(bodySize);
+        msg.writeTo(output);
+        output.flush();
+
+        out.writerIndex(out.writerIndex() + frameSize);
+    }
+
+    private static int getFrameSize(int bodySize) {
+        return CodedOutputStream.computeUInt32SizeNoTag(bodySize) + bodySize;
+    }
+}
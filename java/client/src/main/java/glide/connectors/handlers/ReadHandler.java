@@ -4,6 +4,7 @@ package glide.connectors.handlers;
 import static glide.api.logging.Logger.Level.ERROR;
 
 import glide.api.logging.Logger;
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import lombok.NonNull;
@@ -16,12 +17,29 @@ public class ReadHandler extends ChannelInboundHandlerAdapter {
 
     private final CallbackDispatcher callbackDispatcher;
 
-    /** Submit responses from glide to an instance {@link CallbackDispatcher} to handle them. */
+    /** Responses of a read, which values are resolved together once the read completes. */
+    private final ResponseBatch batch = new ResponseBatch();
+
+    /**
+     * Submit responses from glide to an instance {@link CallbackDispatcher} to handle them. Accepts
+     * raw response frames, which are decoded by {@link ResponseDecoder}, or decoded {@link
+     * Response} messages.
+     */
     @Override
     public void channelRead(@NonNull ChannelHandlerContext ctx, @NonNull Object msg)
             throws MessageHandler.MessageCallbackException {
+        if (msg instanceof ByteBuf) {
+            ByteBuf frame = (ByteBuf) msg;
+            try {
+                ResponseDecoder.decode(frame, callbackDispatcher, batch);
+            } finally {
+                frame.release();
+            }
+            return;
+        }
         if (msg instanceof Response) {
             Response response = (Response) msg;
+            batch.flush(callbackDispatcher);
             callbackDispatcher.completeRequest(response);
             ctx.fireChannelRead(msg);
             return;
@@ -29,6 +47,13 @@ public class ReadHandler extends ChannelInboundHandlerAdapter {
         throw new RuntimeException("Unexpected message in socket");
     }
 
+    /** Resolve values of the responses received in the read and complete their requests. */
+    @Override
+    public void channelReadComplete(ChannelHandlerContext ctx) {
+        batch.flush(callbackDispatcher);
+        ctx.fireChannelReadComplete();
+    }
+
     /** Handles uncaught exceptions from {@link #channelRead(ChannelHandlerContext, Object)}. */
     @Override
     public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) throws Exception {
@@ -0,0 +1,114 @@
+/** Copyright Valkey GLIDE Project Contributors - SPDX Identifier: Apache-2.0 */
+package glide.connectors.handlers;
+
+import static glide.api.logging.Logger.Level.ERROR;
+
+import glide.api.logging.Logger;
+import glide.ffi.resolvers.GlideValueResolver;
+import java.util.Arrays;
+import response.ResponseOuterClass.RequestError;
+import response.ResponseOuterClass.RequestErrorType;
+import response.ResponseOuterClass.Response;
+
+/**
+ * Responses collected by {@link ReadHandler} during a read. Values of the responses which may be
+ * resolved in advance are resolved by a single native call once the read completes, see {@link
+ * GlideValueResolver#prefetchValues}. All requests are completed in the order their responses
+ * arrive. Used by a single event loop thread.
+ */
+class ResponseBatch {
+
+    /** Maximum number of responses held back, so a long read doesn't delay the first responses. */
+    static final int MAX_SIZE = 256;
+
+    private final int[] callbackIds = new int[MAX_SIZE];
+
+    /** Responses to complete requests with, <code>null</code> for values resolved in advance. */
+    private final Response[] responses = new Response[MAX_SIZE];
+
+    /** Pointers of the values resolved in advance, in the order of the responses. */
+    private final long[] pointers = new long[MAX_SIZE];
+
+    private int size = 0;
+    private int pointerCount = 0;
+
+    /**
+     * Add a response to complete a request with as is. The batch is flushed if it's full.
+     *
+     * @param callbackId A callback ID the response is addressed to
+     * @param response A response received
+     * @param callbackDispatcher A dispatcher to complete the requests
+     */
+    void add(int callbackId, Response response, CallbackDispatcher callbackDispatcher) {
+        callbackIds[size] = callbackId;
+        responses[size] = response;
+        if (++size == MAX_SIZE) {
+            flush(callbackDispatcher);
+        }
+    }
+
+    /**
+     * Add a response which value is resolved in advance. The batch is flushed if it's full.
+     *
+     * @param callbackId A callback ID the response is addressed to
+     * @param pointer A value pointer from the response
+     * @param callbackDispatcher A dispatcher to complete the requests
+     */
+    void addPointer(int callbackId, long pointer, CallbackDispatcher callbackDispatcher) {
+        pointers[pointerCount++] = pointer;
+        add(callbackId, null, callbackDispatcher);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Resolve values of the responses in the batch and complete the requests in order.
+     *
+     * @param callbackDispatcher A dispatcher to complete the requests
+     */
+    void flush(CallbackDispatcher callbackDispatcher) {
+        if (size == 0) {
+            return;
+        }
+        int count = size;
+        Object[] values = null;
+        Response error = null;
+        if (pointerCount > 0) {
+            String failure;
+            try {
+                values = GlideValueResolver.prefetchValues(Arrays.copyOf(pointers, pointerCount));
+                // a native panic returns no values and throws nothing
+                failure = values == null ? "the native call failed" : null;
+            } catch (Exception e) {
+                Logger.log(ERROR, "response batch", () -> "=== prefetchValues", e);
+                failure = e.toString();
+            }
+            if (failure != null) {
+                // values are freed anyway, fail their requests
+                error =
+                        Response.newBuilder()
+                                .setRequestError(
+                                        RequestError.newBuilder()
+                                                .setType(RequestErrorType.Unspecified)
+                                                .setMessage("Failed to resolve a response: " + failure))
+                                .build();
+            }
+        }
+        size = 0;
+        pointerCount = 0;
+        int valueIndex = 0;
+        for (int i = 0; i < count; i++) {
+            Response response = responses[i];
+            responses[i] = null;
+            if (response != null) {
+                callbackDispatcher.completeRequest(callbackIds[i], response);
+            } else if (error != null) {
+                callbackDispatcher.completeRequest(callbackIds[i], error);
+            } else {
+                callbackDispatcher.completeRequestWithValue(callbackIds[i], values[valueIndex++]);
+            }
+        }
+    }
+}
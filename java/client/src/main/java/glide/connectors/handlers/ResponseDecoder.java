@@ -0,0 +1,203 @@
+/** Copyright Valkey GLIDE Project Contributors - SPDX Identifier: Apache-2.0 */
+package glide.connectors.handlers;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
+import io.netty.buffer.ByteBuf;
+import io.netty.handler.codec.CorruptedFrameException;
+import lombok.NonNull;
+import response.ResponseOuterClass.ConstantResponse;
+import response.ResponseOuterClass.Response;
+
+/**
+ * Decoder of {@link Response} frames which reads fields straight from the inbound buffer and passes
+ * them to {@link CallbackDispatcher}. Used by {@link ReadHandler}.
+ *
+ * <p>Most of the responses carry only a callback ID and a value pointer, a constant or a value
+ * sent inline, so they are dispatched without parsing a message. A message is parsed only for
+ * request errors, closing errors, pushes and fields unknown to the decoder.
+ */
+public final class ResponseDecoder {
+
+    // Wire tags (field number << 3 | wire type) of the fields decoded in place, see response.proto
+    private static final int CALLBACK_IDX_TAG = 1 << 3;
+    private static final int RESP_POINTER_TAG = 2 << 3;
+    private static final int CONSTANT_RESPONSE_TAG = 3 << 3;
+    private static final int IS_PUSH_TAG = 6 << 3;
+    private static final int INT_VALUE_TAG = 7 << 3;
+    private static final int DOUBLE_VALUE_TAG = 8 << 3 | 1;
+    private static final int BOOL_VALUE_TAG = 9 << 3;
+    private static final int BYTES_VALUE_TAG = 10 << 3 | 2;
+
+    /** Shared instances to complete requests with, consumers don't need the callback ID. */
+    private static final Response OK_RESPONSE =
+            Response.newBuilder().setConstantResponse(ConstantResponse.OK).build();
+
+    private static final Response NULL_RESPONSE = Response.getDefaultInstance();
+
+    private ResponseDecoder() {}
+
+    /**
+     * Decode a single frame and submit it to the dispatcher. The frame should contain exactly one
+     * serialized {@link Response} without the length prefix. The buffer is not released.
+     *
+     * @param frame A buffer with a serialized response
+     * @param callbackDispatcher A dispatcher to complete the request
+     * @throws CorruptedFrameException If the frame can't be decoded
+     */
+    public static void decode(
+            @NonNull ByteBuf frame, @NonNull CallbackDispatcher callbackDispatcher)
+            throws MessageHandler.MessageCallbackException {
+        decode(frame, callbackDispatcher, null);
+    }
+
+    /**
+     * Decode a single frame like {@link #decode(ByteBuf, CallbackDispatcher)}, but add the response
+     * to the batch instead of dispatching it, so requests are completed in order once the values of
+     * the batch are resolved. The batch is flushed before a message is parsed, so a closing error
+     * doesn't overtake the responses received before it.
+     *
+     * @param frame A buffer with a serialized response
+     * @param callbackDispatcher A dispatcher to complete the request
+     * @param batch A batch to add the response to, or <code>null</code>
+     * @throws CorruptedFrameException If the frame can't be decoded
+     */
+    static void decode(ByteBuf frame, CallbackDispatcher callbackDispatcher, ResponseBatch batch)
+            throws MessageHandler.MessageCallbackException {
+        int start = frame.readerIndex();
+        int end = frame.writerIndex();
+
+        int callbackIdx = 0;
+        long respPointer = 0;
+        boolean hasRespPointer = false;
+        boolean hasConstantResponse = false;
+        // a value sent inline, see BaseResponseResolver
+        Response inlineResponse = null;
+
+        while (frame.readerIndex() < end) {
+            int tag = (int) readVarint(frame, end);
+            switch (tag) {
+                case CALLBACK_IDX_TAG:
+                    callbackIdx = (int) readVarint(frame, end);
+                    break;
+                case RESP_POINTER_TAG:
+                    // fields of the oneof override each other
+                    respPointer = readVarint(frame, end);
+                    hasRespPointer = true;
+                    hasConstantResponse = false;
+                    inlineResponse = null;
+                    break;
+                case CONSTANT_RESPONSE_TAG:
+                    if (readVarint(frame, end) != ConstantResponse.OK_VALUE) {
+                        materialize(frame, start, end, callbackDispatcher, batch);
+                        return;
+                    }
+                    hasConstantResponse = true;
+                    hasRespPointer = false;
+                    inlineResponse = null;
+                    break;
+                case INT_VALUE_TAG:
+                    long intValue = readVarint(frame, end);
+                    inlineResponse = Response.newBuilder().setIntValue(intValue).build();
+                    hasRespPointer = false;
+                    hasConstantResponse = false;
+                    break;
+                case DOUBLE_VALUE_TAG:
+                    checkReadable(frame, Long.BYTES, end);
+                    double doubleValue = Double.longBitsToDouble(frame.readLongLE());
+                    inlineResponse = Response.newBuilder().setDoubleValue(doubleValue).build();
+                    hasRespPointer = false;
+                    hasConstantResponse = false;
+                    break;
+                case BOOL_VALUE_TAG:
+                    boolean boolValue = readVarint(frame, end) != 0;
+                    inlineResponse = Response.newBuilder().setBoolValue(boolValue).build();
+                    hasRespPointer = false;
+                    hasConstantResponse = false;
+                    break;
+                case BYTES_VALUE_TAG:
+                    int length = (int) readVarint(frame, end);
+                    checkReadable(frame, length, end);
+                    ByteString bytesValue =
+                            ByteString.copyFrom(frame.nioBuffer(frame.readerIndex(), length));
+                    frame.skipBytes(length);
+                    inlineResponse = Response.newBuilder().setBytesValue(bytesValue).build();
+                    hasRespPointer = false;
+                    hasConstantResponse = false;
+                    break;
+                case IS_PUSH_TAG:
+                    if (readVarint(frame, end) != 0) {
+                        materialize(frame, start, end, callbackDispatcher, batch);
+                        return;
+                    }
+                    break;
+                default:
+                    // request error, closing error or an unknown field
+                    materialize(frame, start, end, callbackDispatcher, batch);
+                    return;
+            }
+        }
+
+        if (hasRespPointer
+                && batch != null
+                && callbackDispatcher.isResolvableInAdvance(callbackIdx)) {
+            batch.addPointer(callbackIdx, respPointer, callbackDispatcher);
+            return;
+        }
+        Response response;
+        if (hasRespPointer) {
+            response = Response.newBuilder().setRespPointer(respPointer).build();
+        } else if (hasConstantResponse) {
+            response = OK_RESPONSE;
+        } else if (inlineResponse != null) {
+            response = inlineResponse;
+        } else {
+            response = NULL_RESPONSE;
+        }
+        if (batch != null) {
+            batch.add(callbackIdx, response, callbackDispatcher);
+        } else {
+            callbackDispatcher.completeRequest(callbackIdx, response);
+        }
+    }
+
+    /** Parse the whole frame into a {@link Response} message and dispatch it. */
+    private static void materialize(
+            ByteBuf frame, int start, int end, CallbackDispatcher callbackDispatcher, ResponseBatch batch)
+            throws MessageHandler.MessageCallbackException {
+        if (batch != null) {
+            batch.flush(callbackDispatcher);
+        }
+        Response response;
+        try {
+            response = Response.parseFrom(frame.nioBuffer(start, end - start));
+        } catch (InvalidProtocolBufferException e) {
+            throw new CorruptedFrameException("Failed to decode a response", e);
+        }
+        frame.readerIndex(end);
+        callbackDispatcher.completeRequest(response);
+    }
+
+    /** Check that a field of the given length doesn't exceed the frame. */
+    private static void checkReadable(ByteBuf frame, int length, int end) {
+        if (length < 0 || end - frame.readerIndex() < length) {
+            throw new CorruptedFrameException("Truncated field in a response");
+        }
+    }
+
+    /** Read a base 128 varint, see https://protobuf.dev/programming-guides/encoding/#varints. */
+    private static long readVarint(ByteBuf frame, int end) {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (frame.readerIndex() >= end) {
+                throw new CorruptedFrameException("Truncated varint in a response");
+            }
+            byte b = frame.readByte();
+            result |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return result;
+            }
+        }
+        throw new CorruptedFrameException("Malformed varint in a response");
+    }
+}
@@ -0,0 +1,151 @@
+/** Copyright Valkey GLIDE Project Contributors - SPDX Identifier: Apache-2.0 */
+package glide.connectors.handlers;
+
+import static glide.api.logging.Logger.Level.ERROR;
+
+import command_request.CommandRequestOuterClass.CommandRequest;
+import connection_request.ConnectionRequestOuterClass.ConnectionRequest;
+import glide.api.logging.Logger;
+import glide.api.models.exceptions.ClosingException;
+import glide.ffi.resolvers.NativeTransportResolver;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFuture;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.LockSupport;
+import response.ResponseOuterClass.Response;
+
+/**
+ * Channel handler which passes requests and responses through a pair of rings in native memory
+ * instead of a JNI call per request. Requests are encoded straight into the ring by the calling
+ * threads, responses are read by a dedicated thread. Both sides poll their ring for a while and
+ * then park until the other side wakes them up. Frames which don't fit a ring are passed by JNI
+ * calls instead, as by {@link NativeChannelHandler}, which also creates and closes the client.
+ */
+public class SharedMemoryChannelHandler extends NativeChannelHandler {
+
+    /** Capacity of each ring in bytes. */
+    private static final int RING_CAPACITY = 1 << 20;
+
+    /** Number of empty polls before the response consumer parks. */
+    private static final int SPIN_LIMIT = 1000;
+
+    private volatile SharedMemoryRing requests;
+    private volatile SharedMemoryRing responses;
+    private volatile Thread consumer;
+
+    public SharedMemoryChannelHandler(CallbackDispatcher callbackDispatcher) {
+        super(callbackDispatcher);
+    }
+
+    /**
+     * Create a native client and start the rings. The response consumer thread references the
+     * handler, so the handler should be closed to stop it.
+     *
+     * @param request A connection request
+     * @return A connection promise
+     */
+    @Override
+    public CompletableFuture<Response> connect(ConnectionRequest request) {
+        var future = super.connect(request);
+        long handle = getHandle();
+        if (handle == 0) {
+            return future;
+        }
+        try {
+            var thread = new Thread(this::consumeResponses, "glide-ring-consumer");
+            thread.setDaemon(true);
+            var buffers =
+                    NativeTransportResolver.startRingTransport(handle, RING_CAPACITY, thread);
+            requests = new SharedMemoryRing(buffers[0]);
+            responses = new SharedMemoryRing(buffers[1]);
+            consumer = thread;
+            thread.start();
+        } catch (Exception e) {
+            callbackDispatcher.distributeClosingException(
+                    "Failed to start the shared memory transport: " + e);
+        }
+        return future;
+    }
+
+    /**
+     * Complete a protobuf message and write it to the request ring. A request which doesn't fit the
+     * ring, e.g. with a large value, is submitted by a JNI call instead.
+     *
+     * @param request Incomplete request, function completes it by setting callback ID
+     * @param flush Ignored, requests are published immediately
+     * @param future A response promise, value pointers are never resolved in advance
+     * @return The response promise given
+     */
+    @Override
+    public CompletableFuture<Response> write(
+            CommandRequest.Builder request, boolean flush, CompletableFuture<Response> future) {
+        if (failIfNotOpen(future)) {
+            return future;
+        }
+        SharedMemoryRing ring = requests;
+        if (ring == null) {
+            future.completeExceptionally(
+                    new ClosingException("Shared memory transport is not started"));
+            return future;
+        }
+        int callbackIdx = callbackDispatcher.registerRequest(future);
+        var message = request.setCallbackIdx(callbackIdx).build();
+        if (message.getSerializedSize() > ring.maxMessageLength()) {
+            submit(callbackIdx, message);
+            return future;
+        }
+
+        boolean written;
+        try {
+            written = ring.write(message);
+        } catch (Exception e) {
+            failRequest(callbackIdx, "Failed to encode a request: " + e);
+            return future;
+        }
+        if (!written) {
+            callbackDispatcher.distributeClosingException("Shared memory transport is closed");
+        } else if (ring.isConsumerParked()) {
+            NativeTransportResolver.wakeRingConsumer(getHandle());
+        }
+        return future;
+    }
+
+    /** Closes the native client and stops the response consumer. */
+    @Override
+    public ChannelFuture close() {
+        var result = super.close();
+        Thread thread = consumer;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+        return result;
+    }
+
+    /** Body of the response consumer thread. */
+    private void consumeResponses() {
+        SharedMemoryRing ring = responses;
+        ByteBuf frame = Unpooled.buffer();
+        int idlePolls = 0;
+        while (!isClosed() && !ring.isClosed()) {
+            if (!ring.read(frame)) {
+                if (++idlePolls < SPIN_LIMIT) {
+                    Thread.onSpinWait();
+                } else {
+                    ring.park();
+                    idlePolls = 0;
+                }
+                continue;
+            }
+            idlePolls = 0;
+            try {
+                ResponseDecoder.decode(frame, callbackDispatcher);
+            } catch (Exception e) {
+                Logger.log(ERROR, "shared memory transport", () -> "=== consumeResponses", e);
+                callbackDispatcher.distributeClosingException(
+                        "An unhandled error while handling a response: " + e);
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,206 @@
+/** Copyright Valkey GLIDE Project Contributors - SPDX Identifier: Apache-2.0 */
+package glide.connectors.handlers;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.MessageLite;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Multi-producer/single-consumer ring of protobuf frames in a buffer shared with GLIDE core. The
+ * layout is defined by <code>ring_transport.rs</code>: a header with the consumer position, the
+ * reserved position, a flag set by a parked consumer and a flag set on close, each in its own cache
+ * line, followed by the data area. Positions grow monotonically and are wrapped by the data area
+ * capacity, which is a power of two.
+ *
+ * <p>A frame starts at a position aligned to 8 bytes with a header word, which holds the message
+ * length and flags, followed by the message. A producer reserves a frame by a CAS on the reserved
+ * position, encodes the message in place and publishes the frame by writing its header last. The
+ * consumer zeroes the frames it reads before it releases their space, so a header is zero until
+ * its frame is published. Frames never wrap, the rest of the data area is skipped by a padding
+ * frame instead.
+ */
+class SharedMemoryRing {
+
+    private static final VarHandle LONG_VIEW =
+            MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private static final int HEAD_OFFSET = 0;
+    private static final int TAIL_OFFSET = 64;
+    private static final int PARKED_OFFSET = 128;
+    private static final int CLOSED_OFFSET = 192;
+    private static final int DATA_OFFSET = 256;
+
+    /** Size of a frame header, frames are aligned to it. */
+    private static final int FRAME_HEADER_SIZE = 8;
+
+    /** Header flag of a frame with a message. */
+    private static final long MESSAGE = 1;
+
+    /** Header flag of a frame which is skipped by the consumer. */
+    private static final long PADDING = 2;
+
+    /** Number of checks for free space before the producer backs off. */
+    private static final int SPIN_LIMIT = 1000;
+
+    /** Time the producer waits between checks for free space, once it backs off. */
+    private static final long BACKOFF_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    /** Parking is limited, so a consumer notices closing of the ring without a wakeup. */
+    private static final long PARK_TIMEOUT_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    /** Header fields are accessed through the buffer, frames through the {@link ByteBuf} view. */
+    private final ByteBuffer buffer;
+
+    private final ByteBuf data;
+    private final int capacity;
+
+    SharedMemoryRing(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.data = Unpooled.wrappedBuffer(buffer);
+        this.capacity = buffer.capacity() - DATA_OFFSET;
+    }
+
+    /**
+     * The longest message which can be written. A frame and the padding before it take less than
+     * twice the frame size, so a frame is limited to a half of the capacity.
+     */
+    int maxMessageLength() {
+        return capacity / 2 - FRAME_HEADER_SIZE;
+    }
+
+    boolean isClosed() {
+        return (long) LONG_VIEW.getVolatile(buffer, CLOSED_OFFSET) != 0;
+    }
+
+    /** Whether the consumer is parked and needs a wakeup to see new frames. */
+    boolean isConsumerParked() {
+        return (long) LONG_VIEW.getVolatile(buffer, PARKED_OFFSET) != 0;
+    }
+
+    /**
+     * Encode a message into the ring, waiting for space if needed. The producer spins for a while
+     * and then parks between checks, because the consumer doesn't wake it up. No lock is held
+     * while waiting, producers only compete for the CAS which reserves a frame. Safe to be called
+     * by any number of threads.
+     *
+     * @param message A message, which should not exceed {@link #maxMessageLength()}
+     * @return <code>false</code> if the ring was closed before the message was written
+     * @throws IOException If the message can't be encoded, the reserved frame is skipped then
+     */
+    boolean write(MessageLite message) throws IOException {
+        int length = message.getSerializedSize();
+        int frameSize = frameSize(length);
+        long position = reserve(frameSize);
+        if (position < 0) {
+            return false;
+        }
+        int offset = DATA_OFFSET + index(position);
+        try {
+            var slot = buffer.duplicate();
+            slot.position(offset + FRAME_HEADER_SIZE).limit(offset + FRAME_HEADER_SIZE + length);
+            var output = CodedOutputStream.newInstance(slot);
+            message.writeTo(output);
+            output.flush();
+        } catch (IOException | RuntimeException e) {
+            publish(offset, frameSize - FRAME_HEADER_SIZE, PADDING);
+            throw e;
+        }
+        publish(offset, length, MESSAGE);
+        return true;
+    }
+
+    /**
+     * Read the next message, skipping padding. Should be called by a single thread.
+     *
+     * @param frame A buffer to read the message into, it is cleared first
+     * @return <code>false</code> if there are no published frames to read
+     */
+    boolean read(ByteBuf frame) {
+        while (true) {
+            long head = (long) LONG_VIEW.getOpaque(buffer, HEAD_OFFSET);
+            int offset = DATA_OFFSET + index(head);
+            long header = (long) LONG_VIEW.getAcquire(buffer, offset);
+            if (header == 0) {
+                return false;
+            }
+            int length = (int) (header >>> 32);
+            int frameSize = frameSize(length);
+            boolean isMessage = (header & PADDING) == 0;
+            if (isMessage) {
+                frame.clear().ensureWritable(length);
+                data.getBytes(offset + FRAME_HEADER_SIZE, frame, length);
+            }
+            // the next producer which reserves this space relies on a zero header
+            data.setZero(offset, frameSize);
+            LONG_VIEW.setRelease(buffer, HEAD_OFFSET, head + frameSize);
+            if (isMessage) {
+                return true;
+            }
+        }
+    }
+
+    /** Park the consumer thread until the producer wakes it up, a new frame or closing is seen. */
+    void park() {
+        LONG_VIEW.setVolatile(buffer, PARKED_OFFSET, 1L);
+        long head = (long) LONG_VIEW.getOpaque(buffer, HEAD_OFFSET);
+        if ((long) LONG_VIEW.getVolatile(buffer, DATA_OFFSET + index(head)) == 0 && !isClosed()) {
+            LockSupport.parkNanos(this, PARK_TIMEOUT_NANOS);
+        }
+        LONG_VIEW.setVolatile(buffer, PARKED_OFFSET, 0L);
+    }
+
+    /**
+     * Reserve a frame, preceded by a padding frame if it doesn't fit before the end of the data
+     * area.
+     *
+     * @return The position of the frame or <code>-1</code> if the ring was closed
+     */
+    private long reserve(int frameSize) {
+        int checks = 0;
+        while (true) {
+            long tail = (long) LONG_VIEW.getVolatile(buffer, TAIL_OFFSET);
+            int index = index(tail);
+            int padding = capacity - index < frameSize ? capacity - index : 0;
+            long head = (long) LONG_VIEW.getAcquire(buffer, HEAD_OFFSET);
+            if (capacity - (tail - head) >= padding + frameSize) {
+                if (LONG_VIEW.compareAndSet(buffer, TAIL_OFFSET, tail, tail + padding + frameSize)) {
+                    if (padding > 0) {
+                        publish(DATA_OFFSET + index, padding - FRAME_HEADER_SIZE, PADDING);
+                    }
+                    return tail + padding;
+                }
+                // another producer reserved the space, retry at once
+                continue;
+            }
+            if (isClosed()) {
+                return -1;
+            }
+            if (++checks < SPIN_LIMIT) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(this, BACKOFF_NANOS);
+            }
+        }
+    }
+
+    /** Publish a frame. Volatile, so the parked flag is read after the frame is visible. */
+    private void publish(int offset, int length, long flag) {
+        LONG_VIEW.setVolatile(buffer, offset, (long) length << 32 | flag);
+    }
+
+    private static int frameSize(int length) {
+        return (FRAME_HEADER_SIZE + length + FRAME_HEADER_SIZE - 1) & -FRAME_HEADER_SIZE;
+    }
+
+    private int index(long position) {
+        return (int) (position & (capacity - 1));
+    }
+}
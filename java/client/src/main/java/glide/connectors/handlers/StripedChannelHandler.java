@@ -0,0 +1,138 @@
+/** Copyright Valkey GLIDE Project Contributors - SPDX Identifier: Apache-2.0 */
+package glide.connectors.handlers;
+
+import com.google.protobuf.UnsafeByteOperations;
+import command_request.CommandRequestOuterClass.Command;
+import command_request.CommandRequestOuterClass.CommandRequest;
+import connection_request.ConnectionRequestOuterClass.ConnectionRequest;
+import glide.api.models.configuration.ChannelStripingConfiguration.StripingMode;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelPromise;
+import io.netty.util.concurrent.PromiseCombiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.NonNull;
+import response.ResponseOuterClass.Response;
+
+/**
+ * Channel handler which distributes requests across several channels according to a {@link
+ * StripingMode}. Every channel is connected to its own GLIDE core client and has its own {@link
+ * CallbackDispatcher}, while all of them share a single {@link MessageHandler}.
+ */
+public class StripedChannelHandler extends ChannelHandler {
+
+    private final ChannelHandler[] channels;
+    private final StripingMode mode;
+    private final AtomicInteger nextChannel = new AtomicInteger();
+
+    /**
+     * Combine channels into a single handler.
+     *
+     * @param channels Open channels, the first one is used for pushes and requests without a key
+     * @param mode Strategy to choose a channel for a request
+     */
+    public StripedChannelHandler(@NonNull ChannelHandler[] channels, @NonNull StripingMode mode) {
+        super(channels[0].channel, channels[0].callbackDispatcher);
+        this.channels = channels;
+        this.mode = mode;
+    }
+
+    @Override
+    public boolean isClosed() {
+        // a failure of any channel closes the client
+        for (var channel : channels) {
+            if (channel.isClosed()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public CompletableFuture<Response> write(
+            CommandRequest.Builder request, boolean flush, CompletableFuture<Response> future) {
+        return write(request, 0, flush, future);
+    }
+
+    @Override
+    public CompletableFuture<Response> write(
+            CommandRequest.Builder request,
+            int keyHash,
+            boolean flush,
+            CompletableFuture<Response> future) {
+        return channels[selectChannel(request, keyHash)].write(request, flush, future);
+    }
+
+    /**
+     * Connect all channels. Pubsub subscriptions are requested by the first channel only, so every
+     * message is delivered once.
+     *
+     * @param request A connection request
+     * @return A connection promise, which completes with the response to the first channel once all
+     *     channels are connected
+     */
+    @Override
+    public CompletableFuture<Response> connect(ConnectionRequest request) {
+        var secondaryRequest = request.toBuilder().clearPubsubSubscriptions().build();
+        var futures = new CompletableFuture<?>[channels.length];
+        var primary = channels[0].connect(request);
+        futures[0] = primary;
+        for (int i = 1; i < channels.length; i++) {
+            futures[i] = channels[i].connect(secondaryRequest);
+        }
+        return CompletableFuture.allOf(futures).thenCompose(ignored -> primary);
+    }
+
+    /** Closes all channels. The returned future completes when all of them are closed. */
+    @Override
+    public ChannelFuture close() {
+        var futures = new ChannelFuture[channels.length];
+        for (int i = 0; i < channels.length; i++) {
+            futures[i] = channels[i].close();
+        }
+        ChannelPromise promise = channel.newPromise();
+        // the combiner should be used on the event loop
+        channel.eventLoop()
+                .execute(
+                        () -> {
+                            var combiner = new PromiseCombiner(channel.eventLoop());
+                            combiner.addAll(futures);
+                            combiner.finish(promise);
+                        });
+        return promise;
+    }
+
+    /**
+     * Hash a key like an argument passed in an {@link Command.ArgsArray}, so a request with arguments
+     * passed in native memory is sent through the same channel as other requests with the same key.
+     *
+     * @param key The first argument of a command
+     * @return A hash of the key
+     */
+    public static int keyHash(byte[] key) {
+        return UnsafeByteOperations.unsafeWrap(key).hashCode();
+    }
+
+    private int selectChannel(CommandRequest.Builder request, int keyHash) {
+        if (mode == StripingMode.ROUND_ROBIN) {
+            return Math.floorMod(nextChannel.getAndIncrement(), channels.length);
+        }
+        Command command = null;
+        if (request.hasSingleCommand()) {
+            command = request.getSingleCommand();
+        } else if (request.hasTransaction() && request.getTransaction().getCommandsCount() > 0) {
+            command = request.getTransaction().getCommands(0);
+        }
+        if (command == null) {
+            return 0;
+        }
+        if (command.hasArgsArray() && command.getArgsArray().getArgsCount() > 0) {
+            return Math.floorMod(command.getArgsArray().getArgs(0).hashCode(), channels.length);
+        }
+        // large arguments are passed by a pointer, the hash of the key is given along with them
+        if (command.hasArgsVecPointer()) {
+            return Math.floorMod(keyHash, channels.length);
+        }
+        return 0;
+    }
+}
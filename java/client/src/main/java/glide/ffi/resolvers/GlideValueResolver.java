@@ -1,11 +1,96 @@
 /** Copyright Valkey GLIDE Project Contributors - SPDX Identifier: Apache-2.0 */
 package glide.ffi.resolvers;
 
+import glide.api.models.GlideString;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
 import response.ResponseOuterClass.Response;
 
 public class GlideValueResolver {
     public static final long MAX_REQUEST_ARGS_LENGTH_IN_BYTES;
 
+    /** System property to override {@link #REQUEST_ARGS_THRESHOLD_IN_BYTES}. */
+    public static final String REQUEST_ARGS_THRESHOLD_PROPERTY = "glide.requestArgsThreshold";
+
+    /**
+     * Arguments of a request which are longer than this in total are passed to GLIDE core in
+     * native memory by {@link #createArgsVec}, smaller ones are copied into the request. Defaults
+     * to {@link #MAX_REQUEST_ARGS_LENGTH_IN_BYTES}, the limit GLIDE core uses for the same choice.
+     *
+     * <p>The value is not calibrated at runtime. To tune it for a machine, run <code>
+     * RequestArgsBenchmark</code> and set {@link #REQUEST_ARGS_THRESHOLD_PROPERTY} to the smallest
+     * size where <code>native_memory</code> is faster than <code>request</code>. The benchmark
+     * doesn't measure the copy GLIDE core makes when it parses arguments out of the request, so the
+     * real crossover is at or below the measured one.
+     */
+    public static final long REQUEST_ARGS_THRESHOLD_IN_BYTES;
+
+    /** System property to enable {@link #ARGS_ARENA_ENABLED}. */
+    public static final String ARGS_ARENA_PROPERTY = "glide.argsArena";
+
+    /**
+     * Whether {@link #createArgsVec} writes all arguments into a single native buffer, instead of
+     * copying them one by one by {@link #createLeakedBytesVec}. Disabled by default.
+     *
+     * <p>To decide whether to enable it on a machine, run <code>RequestArgsBenchmark</code> and
+     * compare <code>native_memory</code> with <code>vector=arena</code> and <code>vector=leaked
+     * </code>. Set {@link #ARGS_ARENA_PROPERTY} to <code>true</code> if the arena is faster for the
+     * sizes above {@link #REQUEST_ARGS_THRESHOLD_IN_BYTES}.
+     */
+    public static final boolean ARGS_ARENA_ENABLED;
+
+    /** System property to override {@link #ASCII_STRING_THRESHOLD_IN_BYTES}. */
+    public static final String ASCII_STRING_THRESHOLD_PROPERTY = "glide.asciiStringThreshold";
+
+    /**
+     * ASCII strings of at least this length are created natively from their bytes, decoded as
+     * Latin-1, rather than by <code>NewStringUTF</code>, which converts them to modified UTF-8 and
+     * back. Disabled ({@link Integer#MAX_VALUE}) by default.
+     *
+     * <p>The crossover of the two paths depends on the JVM and the machine. To enable the ASCII path,
+     * run <code>StringConversionBenchmark</code> and set {@link #ASCII_STRING_THRESHOLD_PROPERTY} to
+     * the smallest <code>size</code> where <code>latin1</code> is faster than <code>utf</code> for
+     * <code>ascii</code> content, and stays faster for larger sizes.
+     */
+    public static final int ASCII_STRING_THRESHOLD_IN_BYTES;
+
+    /** Hint flag: strings are exposed as <code>String</code>, otherwise as <code>byte[]</code>. */
+    public static final int ENCODING_UTF8 = 1;
+
+    /**
+     * Hint flag: binary strings are exposed as {@link GlideString} instead of <code>byte[]</code>.
+     */
+    public static final int GLIDE_STRINGS = 2;
+
+    /**
+     * Hint flag: a top-level array of strings is exposed as <code>String[]</code> or <code>
+     * GlideString[]</code> instead of <code>Object[]</code>. Nested arrays are always <code>Object[]
+     * </code>, so elements of any type may be stored into them.
+     */
+    public static final int TYPED_ARRAYS = 4;
+
+    /**
+     * A value pointer which {@link Response}s carry instead of a pointer, if the value is resolved in
+     * advance. Such a value is passed to the response handler by {@link #setPrefetchedValue}.
+     */
+    public static final long PREFETCHED_VALUE_HANDLE = -1;
+
+    /** A value resolved in advance for the response handled by the current thread, if any. */
+    private static final ThreadLocal<PrefetchedValue> prefetchedValue =
+            ThreadLocal.withInitial(PrefetchedValue::new);
+
+    /** A holder of a value resolved in advance, reused by a thread for all responses. */
+    private static final class PrefetchedValue {
+        Object value;
+        boolean isSet;
+    }
+
     // TODO: consider lazy loading the glide_rs library
     static {
         NativeUtils.loadGlideLib();
@@ -13,6 +98,12 @@ public class GlideValueResolver {
         // Note: This is derived from a native call instead of hard-coded to ensure consistency
         // between Java and native clients.
         MAX_REQUEST_ARGS_LENGTH_IN_BYTES = getMaxRequestArgsLengthInBytes();
+        REQUEST_ARGS_THRESHOLD_IN_BYTES =
+                Long.getLong(REQUEST_ARGS_THRESHOLD_PROPERTY, MAX_REQUEST_ARGS_LENGTH_IN_BYTES);
+        ARGS_ARENA_ENABLED = Boolean.getBoolean(ARGS_ARENA_PROPERTY);
+        ASCII_STRING_THRESHOLD_IN_BYTES =
+                Integer.getInteger(ASCII_STRING_THRESHOLD_PROPERTY, Integer.MAX_VALUE);
+        setAsciiStringThreshold(ASCII_STRING_THRESHOLD_IN_BYTES);
     }
 
     /**
@@ -34,6 +125,221 @@ public class GlideValueResolver {
      */
     public static native Object valueFromPointerBinary(long pointer);
 
+    /**
+     * Resolve a value received from Valkey using given C-style pointer into the shape the response
+     * handler expects, so the value doesn't need converting afterwards.
+     *
+     * @param pointer A memory pointer from {@link Response}
+     * @param hint A combination of {@link #ENCODING_UTF8}, {@link #GLIDE_STRINGS} and {@link
+     *     #TYPED_ARRAYS}
+     * @return A RESP3 value
+     */
+    public static native Object valueFromPointerWithHint(long pointer, int hint);
+
+    /**
+     * Resolve several values received from Valkey in a single call. All values are freed, even if
+     * resolving fails.
+     *
+     * @param pointers Memory pointers from {@link Response}s
+     * @param hint A combination of {@link #ENCODING_UTF8}, {@link #GLIDE_STRINGS} and {@link
+     *     #TYPED_ARRAYS}
+     * @return RESP3 values in the order of the pointers
+     */
+    public static native Object[] valuesFromPointers(long[] pointers, int hint);
+
+    /**
+     * Resolve values of several responses in a single native call, before the response handlers
+     * run. The shape of the values is known only to the handlers, so strings are resolved as <code>
+     * byte[]</code> and every handler converts its value once, see {@link #resolveValue(long, int)}.
+     *
+     * @param pointers Memory pointers from {@link Response}s
+     * @return RESP3 values in the order of the pointers
+     */
+    public static Object[] prefetchValues(long[] pointers) {
+        return valuesFromPointers(pointers, 0);
+    }
+
+    /**
+     * Pass a value resolved by {@link #prefetchValues} to the response handler, which is called next
+     * on the current thread. The handler resolves it by {@link #PREFETCHED_VALUE_HANDLE} once. Should
+     * be followed by {@link #clearPrefetchedValue} once the handler returns.
+     *
+     * @param value A value resolved in advance
+     */
+    public static void setPrefetchedValue(Object value) {
+        PrefetchedValue holder = prefetchedValue.get();
+        holder.value = value;
+        holder.isSet = true;
+    }
+
+    /** Drop a value set by {@link #setPrefetchedValue}, if the handler didn't take it. */
+    public static void clearPrefetchedValue() {
+        PrefetchedValue holder = prefetchedValue.get();
+        holder.value = null;
+        holder.isSet = false;
+    }
+
+    /**
+     * Resolve a value by a pointer or by {@link #PREFETCHED_VALUE_HANDLE}. String data is assumed
+     * to be UTF-8 and exposed as <code>String</code> objects.
+     *
+     * @param pointer A memory pointer or a handle from {@link Response}
+     * @return A RESP3 value
+     */
+    public static Object resolveValue(long pointer) {
+        if (pointer >= 0) {
+            return valueFromPointer(pointer);
+        }
+        return reshape(takePrefetchedValue(), ENCODING_UTF8);
+    }
+
+    /**
+     * Resolve a value by a pointer or by {@link #PREFETCHED_VALUE_HANDLE}. String data is exposed as
+     * <code>byte[]</code>.
+     *
+     * @param pointer A memory pointer or a handle from {@link Response}
+     * @return A RESP3 value
+     */
+    public static Object resolveValueBinary(long pointer) {
+        if (pointer >= 0) {
+            return valueFromPointerBinary(pointer);
+        }
+        // prefetched values have this shape already
+        return takePrefetchedValue();
+    }
+
+    /**
+     * Resolve a value by a pointer or by {@link #PREFETCHED_VALUE_HANDLE} into the shape described
+     * by a hint, see {@link #valueFromPointerWithHint}.
+     *
+     * @param pointer A memory pointer or a handle from {@link Response}
+     * @param hint A combination of {@link #ENCODING_UTF8}, {@link #GLIDE_STRINGS} and {@link
+     *     #TYPED_ARRAYS}
+     * @return A RESP3 value
+     */
+    public static Object resolveValue(long pointer, int hint) {
+        if (pointer >= 0) {
+            return valueFromPointerWithHint(pointer, hint);
+        }
+        return reshape(takePrefetchedValue(), hint);
+    }
+
+    /**
+     * Convert a string sent inline in a {@link Response} to the shape described by a hint, like
+     * {@link #valueFromPointerWithHint} would.
+     *
+     * @param bytes The string received
+     * @param hint A combination of {@link #ENCODING_UTF8} and {@link #GLIDE_STRINGS}
+     * @return A <code>String</code>, a {@link GlideString} or the <code>byte[]</code> given
+     * @throws RuntimeException If the string should be decoded, but it is not valid UTF-8
+     */
+    public static Object resolveInlineString(byte[] bytes, int hint) {
+        return reshape(bytes, hint);
+    }
+
+    /**
+     * Free a value by a pointer without resolving it. Used for responses which nobody waits for
+     * anymore. Values resolved in advance are not held natively, so nothing is freed for {@link
+     * #PREFETCHED_VALUE_HANDLE}.
+     *
+     * @param pointer A memory pointer or a handle from {@link Response}
+     */
+    public static void releaseValue(long pointer) {
+        if (pointer >= 0) {
+            ValueViewResolver.release(pointer);
+        }
+    }
+
+    /** Take the value set by {@link #setPrefetchedValue} for the response handled. */
+    private static Object takePrefetchedValue() {
+        PrefetchedValue holder = prefetchedValue.get();
+        if (!holder.isSet) {
+            throw new IllegalStateException("No value is resolved in advance for the response");
+        }
+        Object value = holder.value;
+        holder.value = null;
+        holder.isSet = false;
+        return value;
+    }
+
+    /**
+     * Convert a value with strings as <code>byte[]</code>, e.g. a value resolved in advance, to the
+     * shape described by a hint. Strings are converted once, arrays are converted in place.
+     */
+    private static Object reshape(Object value, int hint) {
+        if ((hint & (ENCODING_UTF8 | GLIDE_STRINGS)) == 0) {
+            // strings stay byte[] and arrays stay untyped
+            return value;
+        }
+        if (value instanceof byte[]) {
+            byte[] bytes = (byte[]) value;
+            if ((hint & ENCODING_UTF8) != 0) {
+                return toUtf8String(bytes);
+            }
+            return (hint & GLIDE_STRINGS) != 0 ? GlideString.of(bytes) : bytes;
+        }
+        if (value instanceof Object[]) {
+            Object[] array = (Object[]) value;
+            Class<?> stringType = stringType(hint);
+            boolean isStringArray = (hint & TYPED_ARRAYS) != 0 && stringType != byte[].class;
+            // only the top-level array is typed, nested ones stay Object[]
+            int elementHint = hint & ~TYPED_ARRAYS;
+            for (int i = 0; i < array.length; i++) {
+                array[i] = reshape(array[i], elementHint);
+                isStringArray &= array[i] == null || stringType.isInstance(array[i]);
+            }
+            if (isStringArray) {
+                return stringType == String.class
+                        ? Arrays.copyOf(array, array.length, String[].class)
+                        : Arrays.copyOf(array, array.length, GlideString[].class);
+            }
+            return array;
+        }
+        if (value instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) value;
+            Map<Object, Object> converted = new LinkedHashMap<>(map.size() * 2);
+            int elementHint = hint & ~TYPED_ARRAYS;
+            map.forEach((k, v) -> converted.put(reshape(k, elementHint), reshape(v, elementHint)));
+            return converted;
+        }
+        if (value instanceof Set) {
+            Set<?> set = (Set<?>) value;
+            Set<Object> converted = new HashSet<>(set.size() * 2);
+            int elementHint = hint & ~TYPED_ARRAYS;
+            set.forEach(e -> converted.add(reshape(e, elementHint)));
+            return converted;
+        }
+        return value;
+    }
+
+    /** The type of strings in the shape described by a hint. */
+    private static Class<?> stringType(int hint) {
+        if ((hint & ENCODING_UTF8) != 0) {
+            return String.class;
+        }
+        return (hint & GLIDE_STRINGS) != 0 ? GlideString.class : byte[].class;
+    }
+
+    /**
+     * Decode a UTF-8 string. Malformed input is reported as it is by {@link #valueFromPointer}.
+     *
+     * @param bytes A UTF-8 string
+     * @return A decoded string
+     * @throws RuntimeException If the string is not valid UTF-8
+     */
+    static String toUtf8String(byte[] bytes) {
+        String string = new String(bytes, StandardCharsets.UTF_8);
+        // malformed input is replaced silently, so check it only if a replacement character is seen
+        if (string.indexOf('\uFFFD') >= 0) {
+            try {
+                StandardCharsets.UTF_8.newDecoder().decode(ByteBuffer.wrap(bytes));
+            } catch (CharacterCodingException e) {
+                throw new RuntimeException("Invalid UTF-8 sequence in a response", e);
+            }
+        }
+        return string;
+    }
+
     /**
      * Copy the given array of byte arrays to a native series of byte arrays and return a C-style
      * pointer.
@@ -43,10 +349,81 @@ public class GlideValueResolver {
      */
     public static native long createLeakedBytesVec(byte[][] args);
 
+    /**
+     * Write the given arguments to native memory and return a C-style pointer to a native series of
+     * byte arrays, like {@link #createLeakedBytesVec} does. If {@link #ARGS_ARENA_ENABLED}, the
+     * arguments are copied once into a single buffer allocated natively, which GLIDE core uses
+     * without copying it again.
+     *
+     * @param args The arguments to copy.
+     * @param totalLength The total length in bytes of the arguments.
+     * @return A C-style pointer to a native representation of the arguments.
+     */
+    public static long createArgsVec(byte[][] args, long totalLength) {
+        if (!ARGS_ARENA_ENABLED || totalLength > Integer.MAX_VALUE) {
+            return createLeakedBytesVec(args);
+        }
+        ByteBuffer arena = allocateArgsArena((int) totalLength);
+        int[] lengths = new int[args.length];
+        try {
+            for (int i = 0; i < args.length; i++) {
+                arena.put(args[i]);
+                lengths[i] = args[i].length;
+            }
+        } catch (RuntimeException e) {
+            releaseArgsArena(arena);
+            throw e;
+        }
+        return createBytesVecFromArena(arena, lengths);
+    }
+
+    /**
+     * Allocate native memory for request arguments.
+     *
+     * @param capacity The total length in bytes of the arguments.
+     * @return A direct buffer, which must be passed to {@link #createBytesVecFromArena} or {@link
+     *     #releaseArgsArena}.
+     */
+    private static native ByteBuffer allocateArgsArena(int capacity);
+
+    /**
+     * Split a buffer filled with arguments into a native series of byte arrays without copying. The
+     * buffer is taken over even if this call fails.
+     *
+     * @param arena A buffer returned by {@link #allocateArgsArena}.
+     * @param lengths The lengths of the arguments in the buffer.
+     * @return A C-style pointer to a native representation of the arguments.
+     */
+    private static native long createBytesVecFromArena(ByteBuffer arena, int[] lengths);
+
+    /**
+     * Free a buffer returned by {@link #allocateArgsArena}, which was not filled.
+     *
+     * @param arena A buffer returned by {@link #allocateArgsArena}.
+     */
+    private static native void releaseArgsArena(ByteBuffer arena);
+
+    /**
+     * Free a vector created by {@link #createLeakedBytesVec} or {@link #createArgsVec}, if the
+     * request which holds it was not passed to GLIDE core. GLIDE core frees the vectors of the
+     * requests it receives.
+     *
+     * @param pointer A pointer returned by {@link #createLeakedBytesVec} or {@link #createArgsVec}
+     */
+    public static native void releaseBytesVec(long pointer);
+
     /**
      * Get the maximum length in bytes of all request arguments.
      *
      * @return The maximum length in bytes of all request arguments.
      */
     private static native long getMaxRequestArgsLengthInBytes();
+
+    /**
+     * Set the length from which ASCII strings are created from their bytes, see {@link
+     * #ASCII_STRING_THRESHOLD_IN_BYTES}. A negative length disables it.
+     *
+     * @param threshold The minimal length of strings created from bytes
+     */
+    private static native void setAsciiStringThreshold(int threshold);
 }
@@ -0,0 +1,78 @@
+/** Copyright Valkey GLIDE Project Contributors - SPDX Identifier: Apache-2.0 */
+package glide.ffi.resolvers;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Bindings of the in-process transport, which submits requests to GLIDE core over JNI instead of
+ * the UDS, either by a call per request or through shared memory rings. Requests and responses are
+ * serialized protobuf messages, as they are on the socket.
+ */
+public class NativeTransportResolver {
+
+    // TODO: consider lazy loading the glide_rs library
+    static {
+        NativeUtils.loadGlideLib();
+    }
+
+    /** Receiver of responses. Invoked by native threads. */
+    @FunctionalInterface
+    public interface ResponseListener {
+        /**
+         * Handle a response.
+         *
+         * @param response A serialized <code>Response</code> message
+         */
+        void onResponse(byte[] response);
+    }
+
+    /**
+     * Create a client and start connecting it. Once connected or failed, a response with callback
+     * ID <code>0</code> is passed to the listener.
+     *
+     * @param connectionRequest A serialized <code>ConnectionRequest</code> message
+     * @param listener A listener to receive all responses of the client
+     * @return A client handle
+     */
+    public static native long createClient(byte[] connectionRequest, ResponseListener listener);
+
+    /**
+     * Submit a request. The response is passed to the client listener.
+     *
+     * @param handle A client handle
+     * @param commandRequest A serialized <code>CommandRequest</code> message
+     */
+    public static native void submitRequest(long handle, byte[] commandRequest);
+
+    /**
+     * Start the shared memory transport of a client. Requests written to the request ring are
+     * consumed by a native thread, and responses to them are written to the response ring.
+     *
+     * @param handle A client handle
+     * @param capacity Capacity of each ring in bytes, a power of two
+     * @param consumer A thread which consumes responses, it is unparked when responses are written
+     * @return Two direct buffers: the request ring and the response ring
+     */
+    public static native ByteBuffer[] startRingTransport(long handle, int capacity, Thread consumer);
+
+    /**
+     * Wake up the native thread which consumes requests, if it is parked.
+     *
+     * @param handle A client handle
+     */
+    public static native void wakeRingConsumer(long handle);
+
+    /**
+     * Close a client. Responses to requests in flight are still passed to the listener.
+     *
+     * @param handle A client handle
+     */
+    public static native void closeClient(long handle);
+
+    /**
+     * Release a client handle. The handle should not be used after this call.
+     *
+     * @param handle A client handle
+     */
+    public static native void releaseClient(long handle);
+}
@@ -0,0 +1,115 @@
+/** Copyright Valkey GLIDE Project Contributors - SPDX Identifier: Apache-2.0 */
+package glide.ffi.resolvers;
+
+import glide.api.models.NativeBuffer;
+import glide.api.models.NativeValueView;
+import java.util.function.UnaryOperator;
+
+/**
+ * Creates the objects which take ownership of values in native memory, {@link NativeValueView}
+ * and {@link NativeBuffer}. Their factories aren't public, so a user can't wrap an arbitrary
+ * pointer: every class registers its factory here once it's initialized. This package isn't
+ * exported by the module, the factories are used by the client only.
+ */
+public final class NativeValueFactory {
+
+    /** Creates a {@link NativeValueView}, see {@link #newView}. */
+    public interface ViewFactory {
+        NativeValueView create(
+                long pointer,
+                Object resolvedValue,
+                boolean encodingUtf8,
+                UnaryOperator<Object> converter);
+    }
+
+    /** Creates a {@link NativeBuffer}, see {@link #newBuffer}. */
+    public interface BufferFactory {
+        NativeBuffer create(long pointer);
+    }
+
+    private static volatile ViewFactory viewFactory;
+
+    private static volatile BufferFactory bufferFactory;
+
+    private NativeValueFactory() {}
+
+    /**
+     * Register the factory of {@link NativeValueView}. Called by the class once it's initialized.
+     *
+     * @throws IllegalStateException If a factory is registered already
+     */
+    public static synchronized void register(ViewFactory factory) {
+        if (viewFactory != null) {
+            throw new IllegalStateException("NativeValueView factory is registered already");
+        }
+        viewFactory = factory;
+    }
+
+    /**
+     * Register the factory of {@link NativeBuffer}. Called by the class once it's initialized.
+     *
+     * @throws IllegalStateException If a factory is registered already
+     */
+    public static synchronized void register(BufferFactory factory) {
+        if (bufferFactory != null) {
+            throw new IllegalStateException("NativeBuffer factory is registered already");
+        }
+        bufferFactory = factory;
+    }
+
+    /**
+     * Create a view of a value in native memory. The view takes ownership of the value.
+     *
+     * @param pointer A value pointer from a response
+     * @param encodingUtf8 Whether strings should be exposed as <code>String</code> or as <code>
+     *     byte[]</code>
+     * @param converter A conversion applied to every value returned
+     */
+    public static NativeValueView newView(
+            long pointer, boolean encodingUtf8, UnaryOperator<Object> converter) {
+        return viewFactory().create(pointer, null, encodingUtf8, converter);
+    }
+
+    /**
+     * Create a view of a response without a value in native memory.
+     *
+     * @param value The value of the response, such as <code>OK</code> or <code>null</code>
+     */
+    public static NativeValueView newView(Object value) {
+        return viewFactory().create(0, value, true, UnaryOperator.identity());
+    }
+
+    /**
+     * Create a buffer of a string value in native memory. The buffer takes ownership of the value.
+     *
+     * @param pointer A value pointer from a response
+     * @return A buffer, or <code>null</code> for a <code>nil</code> value, which is released
+     */
+    public static NativeBuffer newBuffer(long pointer) {
+        BufferFactory factory = bufferFactory;
+        if (factory == null) {
+            initialize(NativeBuffer.class);
+            factory = bufferFactory;
+        }
+        return factory.create(pointer);
+    }
+
+    private static ViewFactory viewFactory() {
+        ViewFactory factory = viewFactory;
+        if (factory == null) {
+            // initialized lazily rather than in a static initializer of this class, which could
+            // deadlock with the initializer of the view class
+            initialize(NativeValueView.class);
+            factory = viewFactory;
+        }
+        return factory;
+    }
+
+    private static void initialize(Class<?> type) {
+        try {
+            Class.forName(type.getName(), true, type.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/** Copyright Valkey GLIDE Project Contributors - SPDX Identifier: Apache-2.0 */
+package glide.ffi.resolvers;
+
+import static glide.ffi.resolvers.GlideValueResolver.ENCODING_UTF8;
+import static glide.ffi.resolvers.GlideValueResolver.GLIDE_STRINGS;
+import static glide.ffi.resolvers.GlideValueResolver.TYPED_ARRAYS;
+
+import glide.api.models.GlideString;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Decoder of values serialized by GLIDE core into a single byte array. Large aggregates are passed
+ * this way instead of being built over JNI element by element, see <code>value_to_java</code> in
+ * <code>lib.rs</code>. Values are decoded into the same types {@link
+ * GlideValueResolver#valueFromPointerWithHint} returns.
+ *
+ * <p>Every value is a tag byte followed by a payload. Strings are a 4-byte length and bytes,
+ * aggregates are a 4-byte number of elements (of entries for maps) followed by the elements.
+ * Numbers are big endian.
+ */
+public final class SerializedValueDecoder {
+
+    // Value tags, see lib.rs
+    private static final byte TAG_NIL = 0;
+    private static final byte TAG_SIMPLE_STRING = 1;
+    private static final byte TAG_OKAY = 2;
+    private static final byte TAG_INT = 3;
+    private static final byte TAG_BULK_STRING = 4;
+    private static final byte TAG_ARRAY = 5;
+    private static final byte TAG_MAP = 6;
+    private static final byte TAG_DOUBLE = 7;
+    private static final byte TAG_BOOLEAN = 8;
+    private static final byte TAG_VERBATIM_STRING = 9;
+    private static final byte TAG_SET = 10;
+    private static final byte TAG_PUSH = 11;
+    private static final byte TAG_STRING_ARRAY = 12;
+
+    private SerializedValueDecoder() {}
+
+    /**
+     * Decode a serialized value. Called by native code.
+     *
+     * @param data A serialized value
+     * @param hint Flags of {@link GlideValueResolver} which tell how values are exposed
+     * @return A RESP3 value
+     */
+    public static Object decode(byte[] data, int hint) {
+        var buffer = ByteBuffer.wrap(data);
+        Object value = decodeValue(buffer, hint);
+        if (buffer.hasRemaining()) {
+            throw new IllegalArgumentException("Unexpected data after a serialized value");
+        }
+        return value;
+    }
+
+    private static Object decodeValue(ByteBuffer buffer, int hint) {
+        // only the top-level array is typed, see newStringArray
+        int elementHint = hint & ~TYPED_ARRAYS;
+        byte tag = buffer.get();
+        switch (tag) {
+            case TAG_NIL:
+                return null;
+            case TAG_OKAY:
+                return "OK";
+            case TAG_INT:
+                return buffer.getLong();
+            case TAG_DOUBLE:
+                return buffer.getDouble();
+            case TAG_BOOLEAN:
+                return buffer.get() != 0;
+            case TAG_SIMPLE_STRING:
+            case TAG_VERBATIM_STRING:
+                // these are valid UTF-8 strings already
+                return (hint & ENCODING_UTF8) != 0
+                        ? decodeString(buffer)
+                        : decodeBinaryString(buffer, hint);
+            case TAG_BULK_STRING:
+                if ((hint & ENCODING_UTF8) != 0) {
+                    return GlideValueResolver.toUtf8String(decodeBytes(buffer, buffer.getInt()));
+                }
+                return decodeBinaryString(buffer, hint);
+            case TAG_ARRAY:
+                return decodeArray(buffer, new Object[buffer.getInt()], elementHint);
+            case TAG_STRING_ARRAY:
+                return decodeArray(buffer, newStringArray(buffer.getInt(), hint), elementHint);
+            case TAG_MAP:
+                {
+                    int size = buffer.getInt();
+                    Map<Object, Object> map = new LinkedHashMap<>(capacity(size));
+                    for (int i = 0; i < size; i++) {
+                        Object key = decodeValue(buffer, elementHint);
+                        map.put(key, decodeValue(buffer, elementHint));
+                    }
+                    return map;
+                }
+            case TAG_SET:
+                {
+                    int size = buffer.getInt();
+                    Set<Object> set = new HashSet<>(capacity(size));
+                    for (int i = 0; i < size; i++) {
+                        set.add(decodeValue(buffer, elementHint));
+                    }
+                    return set;
+                }
+            case TAG_PUSH:
+                {
+                    Map<String, Object> push = new HashMap<>();
+                    push.put("kind", decodeString(buffer));
+                    push.put("values", decodeValue(buffer, elementHint));
+                    return push;
+                }
+            default:
+                throw new IllegalArgumentException("Unknown serialized value tag " + tag);
+        }
+    }
+
+    /**
+     * An array for strings, typed if the hint asks for it. The hint of nested values never does, so
+     * only the top-level array matches the declared return type of a command.
+     */
+    private static Object[] newStringArray(int size, int hint) {
+        if ((hint & TYPED_ARRAYS) == 0) {
+            return new Object[size];
+        }
+        if ((hint & ENCODING_UTF8) != 0) {
+            return new String[size];
+        }
+        return (hint & GLIDE_STRINGS) != 0 ? new GlideString[size] : new Object[size];
+    }
+
+    private static Object decodeBinaryString(ByteBuffer buffer, int hint) {
+        byte[] bytes = decodeBytes(buffer, buffer.getInt());
+        return (hint & GLIDE_STRINGS) != 0 ? GlideString.of(bytes) : bytes;
+    }
+
+    private static Object[] decodeArray(ByteBuffer buffer, Object[] array, int hint) {
+        for (int i = 0; i < array.length; i++) {
+            array[i] = decodeValue(buffer, hint);
+        }
+        return array;
+    }
+
+    private static String decodeString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        int start = buffer.arrayOffset() + buffer.position();
+        buffer.position(buffer.position() + length);
+        return new String(buffer.array(), start, length, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] decodeBytes(ByteBuffer buffer, int length) {
+        int start = buffer.arrayOffset() + buffer.position();
+        buffer.position(buffer.position() + length);
+        return Arrays.copyOfRange(buffer.array(), start, start + length);
+    }
+
+    /** Initial capacity of a hash-based collection which holds the given number of elements. */
+    private static int capacity(int size) {
+        return (int) (size / 0.75f) + 1;
+    }
+}
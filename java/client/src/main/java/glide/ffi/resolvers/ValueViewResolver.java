@@ -0,0 +1,90 @@
+/** Copyright Valkey GLIDE Project Contributors - SPDX Identifier: Apache-2.0 */
+package glide.ffi.resolvers;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Access to values which remain in native memory, see {@link glide.api.models.NativeValueView}.
+ * Elements are converted on access into the same types {@link GlideValueResolver#valueFromPointer}
+ * returns. A pointer is valid until {@link #release} is called.
+ */
+public class ValueViewResolver {
+
+    // TODO: consider lazy loading the glide_rs library
+    static {
+        NativeUtils.loadGlideLib();
+    }
+
+    /**
+     * Get the number of elements of an array or a set, or the number of entries of a map.
+     *
+     * @param pointer A value pointer from a response
+     * @return The number of elements, or <code>-1</code> if the value is not an aggregate
+     */
+    public static native int size(long pointer);
+
+    /**
+     * Check whether a value is a map.
+     *
+     * @param pointer A value pointer from a response
+     * @return <code>true</code> if the value is a map
+     */
+    public static native boolean isMap(long pointer);
+
+    /**
+     * Convert an element of an aggregate value.
+     *
+     * @param pointer A value pointer from a response
+     * @param index An index of the element
+     * @param encodingUtf8 Whether strings should be exposed as <code>String</code> or as <code>
+     *     byte[]</code>
+     * @return The element, or an <code>Object[]</code> of the key and the value for maps
+     */
+    public static native Object elementAt(long pointer, int index, boolean encodingUtf8);
+
+    /**
+     * Get the keys of a map, in the order of the entries. Integer keys are exposed by their decimal
+     * form.
+     *
+     * @param pointer A value pointer from a response, which points to a map
+     * @return The keys, with <code>null</code> for keys which are neither strings nor integers
+     */
+    public static native byte[][] mapKeys(long pointer);
+
+    /**
+     * Convert the value of a map entry.
+     *
+     * @param pointer A value pointer from a response, which points to a map
+     * @param index An index of the entry
+     * @param encodingUtf8 Whether strings should be exposed as <code>String</code> or as <code>
+     *     byte[]</code>
+     * @return The value of the entry
+     */
+    public static native Object valueAt(long pointer, int index, boolean encodingUtf8);
+
+    /**
+     * Convert a whole value. The value remains in native memory.
+     *
+     * @param pointer A value pointer from a response
+     * @param encodingUtf8 Whether strings should be exposed as <code>String</code> or as <code>
+     *     byte[]</code>
+     * @return The value
+     */
+    public static native Object toJava(long pointer, boolean encodingUtf8);
+
+    /**
+     * Expose the bytes of a string value without copying them. The buffer points into native
+     * memory, so it must not be accessed once the value is released.
+     *
+     * @param pointer A value pointer from a response
+     * @return A direct buffer, or <code>null</code> for a <code>nil</code> value
+     */
+    public static native ByteBuffer directBuffer(long pointer);
+
+    /**
+     * Free a value. The pointer must not be used afterwards.
+     *
+     * @param pointer A value pointer from a response
+     */
+    public static native void release(long pointer);
+}
@@ -2,8 +2,10 @@
 package glide.managers;
 
 import static glide.api.BaseClient.OK;
+import static glide.ffi.resolvers.GlideValueResolver.ENCODING_UTF8;
 
 import glide.api.models.exceptions.GlideException;
+import glide.ffi.resolvers.GlideValueResolver;
 import lombok.AllArgsConstructor;
 import response.ResponseOuterClass.Response;
 
@@ -17,7 +19,23 @@ public class BaseResponseResolver implements GlideExceptionCheckedFunction<Respo
     private GlideExceptionCheckedFunction<Long, Object> respPointerResolver;
 
     /**
-     * Extracts value from the RESP pointer.
+     * The shape of strings received inline, a hint of {@link GlideValueResolver}. It should match
+     * the shape of strings {@link #respPointerResolver} returns.
+     */
+    private int hint;
+
+    /**
+     * Create a resolver which exposes strings received inline as <code>String</code>.
+     *
+     * @param respPointerResolver A resolver of values passed by a pointer
+     */
+    public BaseResponseResolver(GlideExceptionCheckedFunction<Long, Object> respPointerResolver) {
+        this(respPointerResolver, ENCODING_UTF8);
+    }
+
+    /**
+     * Extracts value from the RESP pointer, or from the response itself for scalar values sent
+     * inline.
      *
      * @return A generic Object with the Response or null if the response is empty
      */
@@ -26,14 +44,24 @@ public class BaseResponseResolver implements GlideExceptionCheckedFunction<Respo
         assert !response.hasClosingError() : "Unhandled response closing error";
         assert !response.hasRequestError() : "Unhandled response request error";
 
-        if (response.hasConstantResponse()) {
-            return OK;
-        }
-        if (response.hasRespPointer()) {
-            // Return the shared value - which may be a null value
-            return respPointerResolver.apply(response.getRespPointer());
+        switch (response.getValueCase()) {
+            case CONSTANT_RESPONSE:
+                return OK;
+            case RESP_POINTER:
+                // Return the shared value - which may be a null value
+                return respPointerResolver.apply(response.getRespPointer());
+            case INT_VALUE:
+                return response.getIntValue();
+            case DOUBLE_VALUE:
+                return response.getDoubleValue();
+            case BOOL_VALUE:
+                return response.getBoolValue();
+            case BYTES_VALUE:
+                return GlideValueResolver.resolveInlineString(
+                        response.getBytesValue().toByteArray(), hint);
+            default:
+                // if no response payload is provided, assume null
+                return null;
         }
-        // if no response payload is provided, assume null
-        return null;
     }
 }
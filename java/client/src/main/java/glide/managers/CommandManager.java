@@ -2,22 +2,28 @@
 package glide.managers;
 
 import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
 import command_request.CommandRequestOuterClass;
 import command_request.CommandRequestOuterClass.Command;
 import command_request.CommandRequestOuterClass.Command.ArgsArray;
 import command_request.CommandRequestOuterClass.CommandRequest;
+import command_request.CommandRequestOuterClass.CommandRequestOrBuilder;
 import command_request.CommandRequestOuterClass.RequestType;
 import command_request.CommandRequestOuterClass.Routes;
 import command_request.CommandRequestOuterClass.ScriptInvocation;
 import command_request.CommandRequestOuterClass.ScriptInvocationPointers;
 import command_request.CommandRequestOuterClass.SimpleRoutes;
 import command_request.CommandRequestOuterClass.SlotTypes;
+import glide.api.models.Batch;
+import glide.api.models.ClusterBatch;
 import glide.api.models.ClusterTransaction;
 import glide.api.models.GlideString;
+import glide.api.models.PreparedCommand;
 import glide.api.models.Script;
 import glide.api.models.Transaction;
 import glide.api.models.commands.scan.ClusterScanCursor;
 import glide.api.models.commands.scan.ScanOptions;
+import glide.api.models.configuration.BaseClientConfiguration;
 import glide.api.models.configuration.RequestRoutingConfiguration.ByAddressRoute;
 import glide.api.models.configuration.RequestRoutingConfiguration.Route;
 import glide.api.models.configuration.RequestRoutingConfiguration.SimpleMultiNodeRoute;
@@ -27,12 +33,19 @@ import glide.api.models.configuration.RequestRoutingConfiguration.SlotKeyRoute;
 import glide.api.models.exceptions.ClosingException;
 import glide.api.models.exceptions.RequestException;
 import glide.connectors.handlers.CallbackDispatcher;
+import glide.connectors.handlers.CallbackDispatcher.ResolvableResponseFuture;
 import glide.connectors.handlers.ChannelHandler;
+import glide.connectors.handlers.StripedChannelHandler;
 import glide.ffi.resolvers.GlideValueResolver;
-import java.util.Arrays;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
@@ -48,6 +61,66 @@ public class CommandManager {
     /** UDS connection representation. */
     private final ChannelHandler channel;
 
+    /**
+     * Executor which runs response handlers and completes futures returned to the user. See {@link
+     * BaseClientConfiguration#getCompletionExecutor()}.
+     */
+    private final Executor completionExecutor;
+
+    /** Admission control for requests, <code>null</code> if the number of requests is unbounded. */
+    private final InFlightRequestLimiter inFlightLimiter;
+
+    /**
+     * Values of responses received and not resolved yet by the response handlers, and argument
+     * vectors of requests in flight.
+     */
+    private final NativeValueRegistry nativeValues = new NativeValueRegistry();
+
+    public CommandManager(ChannelHandler channel) {
+        this(channel, ForkJoinPool.commonPool());
+    }
+
+    public CommandManager(ChannelHandler channel, Executor completionExecutor) {
+        this(channel, completionExecutor, null);
+    }
+
+    /** Number of requests submitted and not completed yet, if an in-flight limit is configured. */
+    public int getInFlightRequestCount() {
+        return inFlightLimiter == null ? 0 : inFlightLimiter.getInFlightCount();
+    }
+
+    /** Number of requests waiting for admission, if an in-flight limit is configured. */
+    public int getQueuedRequestCount() {
+        return inFlightLimiter == null ? 0 : inFlightLimiter.getQueuedCount();
+    }
+
+    /**
+     * Number of allocations in native memory owned by the client: response values which are not
+     * resolved yet, and argument vectors of requests which are not completed yet.
+     */
+    public int getNativeValueCount() {
+        return nativeValues.getValueCount() + nativeValues.getArgsVectorCount();
+    }
+
+    /**
+     * Release values of the responses which are not resolved yet, and of the responses received
+     * later, as their requests complete. The requests fail with {@link ClosingException}. Called
+     * once the client is closed.
+     */
+    public void releaseNativeValues() {
+        nativeValues.close();
+    }
+
+    /**
+     * Fail the requests which wait for admission by the in-flight limit, if it's configured. Called
+     * once the client is closed.
+     */
+    public void failQueuedRequests() {
+        if (inFlightLimiter != null) {
+            inFlightLimiter.close();
+        }
+    }
+
     /**
      * Internal interface for exposing implementation details about a ClusterScanCursor. This is an
      * interface so that it can be mocked in tests.
@@ -75,7 +148,7 @@ public class CommandManager {
             GlideExceptionCheckedFunction<Response, T> responseHandler) {
 
         CommandRequest.Builder command = prepareCommandRequest(requestType, arguments);
-        return submitCommandToChannel(command, responseHandler);
+        return submitCommandToChannel(command, keyHash(command, arguments), responseHandler, true);
     }
 
     /**
@@ -92,7 +165,45 @@ public class CommandManager {
             GlideExceptionCheckedFunction<Response, T> responseHandler) {
 
         CommandRequest.Builder command = prepareCommandRequest(requestType, arguments);
-        return submitCommandToChannel(command, responseHandler);
+        return submitCommandToChannel(command, keyHash(command, arguments), responseHandler, true);
+    }
+
+    /**
+     * Build a command and send. The response value is not resolved in advance by the channel, so it
+     * remains in native memory until the response handler takes it, see {@link
+     * ResolvableResponseFuture#isResolvable()}.
+     *
+     * @param requestType Valkey command type
+     * @param arguments Valkey command arguments
+     * @param responseHandler The handler for the response object
+     * @return A result promise of type T
+     */
+    public <T> CompletableFuture<T> submitNewCommandUnresolved(
+            RequestType requestType,
+            String[] arguments,
+            GlideExceptionCheckedFunction<Response, T> responseHandler) {
+
+        CommandRequest.Builder command = prepareCommandRequest(requestType, arguments);
+        return submitCommandToChannel(command, keyHash(command, arguments), responseHandler, false);
+    }
+
+    /**
+     * Build a command and send. The response value is not resolved in advance by the channel, so it
+     * remains in native memory until the response handler takes it, see {@link
+     * ResolvableResponseFuture#isResolvable()}.
+     *
+     * @param requestType Valkey command type
+     * @param arguments Valkey command arguments
+     * @param responseHandler The handler for the response object
+     * @return A result promise of type T
+     */
+    public <T> CompletableFuture<T> submitNewCommandUnresolved(
+            RequestType requestType,
+            GlideString[] arguments,
+            GlideExceptionCheckedFunction<Response, T> responseHandler) {
+
+        CommandRequest.Builder command = prepareCommandRequest(requestType, arguments);
+        return submitCommandToChannel(command, keyHash(command, arguments), responseHandler, false);
     }
 
     /**
@@ -111,7 +222,7 @@ public class CommandManager {
             GlideExceptionCheckedFunction<Response, T> responseHandler) {
 
         CommandRequest.Builder command = prepareCommandRequest(requestType, arguments, route);
-        return submitCommandToChannel(command, responseHandler);
+        return submitCommandToChannel(command, keyHash(command, arguments), responseHandler, true);
     }
 
     /**
@@ -130,7 +241,45 @@ public class CommandManager {
             GlideExceptionCheckedFunction<Response, T> responseHandler) {
 
         CommandRequest.Builder command = prepareCommandRequest(requestType, arguments, route);
-        return submitCommandToChannel(command, responseHandler);
+        return submitCommandToChannel(command, keyHash(command, arguments), responseHandler, true);
+    }
+
+    /**
+     * Encode a command template to execute it by {@link #submitPreparedCommand}.
+     *
+     * @param requestType Valkey command type
+     * @param arguments Valkey command arguments, <code>null</code> elements are slots
+     * @param route Command routing parameters, <code>null</code> if none
+     * @return A prepared command
+     */
+    public PreparedCommand prepareCommand(
+            RequestType requestType, GlideString[] arguments, Route route) {
+        Routes encodedRoute =
+                route == null
+                        ? null
+                        : prepareCommandRequestRoute(CommandRequest.newBuilder(), route).getRoute();
+        return new PreparedCommand(requestType, arguments, route, encodedRoute);
+    }
+
+    /**
+     * Fill the slots of a prepared command and send it.
+     *
+     * @param command A command prepared by {@link #prepareCommand}
+     * @param values Values of the slots
+     * @param responseHandler The handler for the response object
+     * @return A result promise of type T
+     */
+    public <T> CompletableFuture<T> submitPreparedCommand(
+            PreparedCommand command,
+            GlideString[] values,
+            GlideExceptionCheckedFunction<Response, T> responseHandler) {
+
+        var builder = CommandRequest.newBuilder().setSingleCommand(command.toCommand(values));
+        if (command.getEncodedRoute() != null) {
+            builder.setRoute(command.getEncodedRoute());
+        }
+        int keyHash = builder.getSingleCommand().hasArgsVecPointer() ? command.keyHash(values) : 0;
+        return submitCommandToChannel(builder, keyHash, responseHandler, true);
     }
 
     /**
@@ -144,6 +293,44 @@ public class CommandManager {
             Transaction transaction, GlideExceptionCheckedFunction<Response, T> responseHandler) {
 
         CommandRequest.Builder command = prepareCommandRequest(transaction);
+        return submitCommandToChannel(command, transaction.getKeyHash(), responseHandler, true);
+    }
+
+    /**
+     * Build a non-atomic Batch and send.
+     *
+     * @param batch Batch request with multiple commands
+     * @param responseHandler The handler for the response object
+     * @return A result promise of type T
+     */
+    public <T> CompletableFuture<T> submitNewBatch(
+            Batch batch, GlideExceptionCheckedFunction<Response, T> responseHandler) {
+
+        batch.claimArgsVectors();
+        CommandRequest.Builder command =
+                CommandRequest.newBuilder().setBatch(batch.getProtobufTransaction().build());
+        return submitCommandToChannel(command, responseHandler);
+    }
+
+    /**
+     * Build a non-atomic Cluster Batch and send.
+     *
+     * @param batch Batch request with multiple commands
+     * @param route Batch routing parameters, every command is routed by its own keys if empty
+     * @param responseHandler The handler for the response object
+     * @return A result promise of type T
+     */
+    public <T> CompletableFuture<T> submitNewBatch(
+            ClusterBatch batch,
+            Optional<Route> route,
+            GlideExceptionCheckedFunction<Response, T> responseHandler) {
+
+        batch.claimArgsVectors();
+        CommandRequest.Builder command =
+                CommandRequest.newBuilder().setBatch(batch.getProtobufTransaction().build());
+        if (route.isPresent()) {
+            prepareCommandRequestRoute(command, route.get());
+        }
         return submitCommandToChannel(command, responseHandler);
     }
 
@@ -180,7 +367,7 @@ public class CommandManager {
             GlideExceptionCheckedFunction<Response, T> responseHandler) {
 
         CommandRequest.Builder command = prepareCommandRequest(transaction, route);
-        return submitCommandToChannel(command, responseHandler);
+        return submitCommandToChannel(command, transaction.getKeyHash(), responseHandler, true);
     }
 
     /**
@@ -209,19 +396,342 @@ public class CommandManager {
      */
     protected <T> CompletableFuture<T> submitCommandToChannel(
             CommandRequest.Builder command, GlideExceptionCheckedFunction<Response, T> responseHandler) {
+        return submitCommandToChannel(command, 0, responseHandler, true);
+    }
+
+    /**
+     * Take a command request and send to channel.
+     *
+     * @param command The command request as a builder to execute
+     * @param keyHash The hash of the key of the command, see {@link #keyHash}
+     * @param responseHandler The handler for the response object
+     * @param resolvable Whether the channel may resolve the response value in advance
+     * @return A result promise of type T
+     */
+    private <T> CompletableFuture<T> submitCommandToChannel(
+            CommandRequest.Builder command,
+            int keyHash,
+            GlideExceptionCheckedFunction<Response, T> responseHandler,
+            boolean resolvable) {
         if (channel.isClosed()) {
+            releaseArgsVectors(command);
             var errorFuture = new CompletableFuture<T>();
             errorFuture.completeExceptionally(
                     new ClosingException("Channel closed: Unable to submit command."));
             return errorFuture;
         }
 
-        // write command request to channel
-        // when complete, convert the response to our expected type T using the given responseHandler
-        return channel
-                .write(command, true)
-                .exceptionally(this::exceptionHandler)
-                .thenApplyAsync(responseHandler::apply);
+        // write command request to channel, the response promise converts the response and
+        // completes the result promise in a single stage, which is executed by the completion executor
+        var request = new PendingRequest<>(command, keyHash, responseHandler, resolvable);
+        if (inFlightLimiter == null) {
+            request.submit();
+        } else {
+            inFlightLimiter.submit(request);
+        }
+        return request.result;
+    }
+
+    /**
+     * Complete a result promise with a response converted to the expected type. The value of the
+     * response is released instead, if the promise is completed already, e.g. cancelled by the
+     * caller.
+     *
+     * @param result A result promise returned to the caller
+     * @param response A response received, if any
+     * @param value A value of the response resolved in advance, if any
+     * @param exception An exception thrown in the pipeline before, if any
+     * @param responseHandler The handler for the response object
+     */
+    private <T> void completeResult(
+            CompletableFuture<T> result,
+            Response response,
+            Object value,
+            Throwable exception,
+            GlideExceptionCheckedFunction<Response, T> responseHandler) {
+        if (result.isDone()) {
+            releaseValue(response);
+            return;
+        }
+        try {
+            if (hasNativeValue(response) && !nativeValues.claim(response.getRespPointer())) {
+                throw new ClosingException("Client closed: The response is released.");
+            }
+            result.complete(handleResponse(response, value, exception, responseHandler));
+        } catch (Throwable e) {
+            // the same exception a handle stage would complete with
+            result.completeExceptionally(
+                    e instanceof CompletionException ? e : new CompletionException(e));
+        }
+    }
+
+    /**
+     * Convert a response received to the expected type or rethrow an exception.
+     *
+     * @param response A response received, if any
+     * @param value A value of the response resolved in advance, if any
+     * @param exception An exception thrown in the pipeline before, if any
+     * @param responseHandler The handler for the response object
+     * @return A result of type T
+     */
+    private <T> T handleResponse(
+            Response response,
+            Object value,
+            Throwable exception,
+            GlideExceptionCheckedFunction<Response, T> responseHandler) {
+        if (exception != null) {
+            exceptionHandler(exception);
+        }
+        if (!isPrefetched(response)) {
+            return responseHandler.apply(response);
+        }
+        // the handler resolves the value by the handle in the response
+        GlideValueResolver.setPrefetchedValue(value);
+        try {
+            return responseHandler.apply(response);
+        } finally {
+            GlideValueResolver.clearPrefetchedValue();
+        }
+    }
+
+    /**
+     * Hash the key of a single command, if its arguments are passed in native memory. The channel
+     * can't hash them then, see {@link ChannelHandler#write(CommandRequest.Builder, int, boolean,
+     * CompletableFuture)}.
+     *
+     * @param command A command request
+     * @param arguments Arguments of the command, which are {@link String}s or {@link GlideString}s
+     * @return The hash of the first argument, or <code>0</code> if it's not needed
+     */
+    private static int keyHash(CommandRequest.Builder command, Object[] arguments) {
+        if (!command.getSingleCommand().hasArgsVecPointer() || arguments.length == 0) {
+            return 0;
+        }
+        Object key = arguments[0];
+        return StripedChannelHandler.keyHash(
+                key instanceof String
+                        ? ((String) key).getBytes(StandardCharsets.UTF_8)
+                        : ((GlideString) key).getBytes());
+    }
+
+    /** Free the value of a response which nobody waits for. */
+    private void releaseValue(Response response) {
+        if (hasNativeValue(response)) {
+            nativeValues.release(response.getRespPointer());
+        }
+    }
+
+    /** Check whether a response carries a pointer to a value in native memory. */
+    private static boolean hasNativeValue(Response response) {
+        return response != null && response.hasRespPointer() && response.getRespPointer() >= 0;
+    }
+
+    /** Check whether the value of a response is resolved in advance and kept by its promise. */
+    private static boolean isPrefetched(Response response) {
+        return response != null
+                && response.hasRespPointer()
+                && response.getRespPointer() == GlideValueResolver.PREFETCHED_VALUE_HANDLE;
+    }
+
+    /**
+     * Count native argument vectors of a request, see {@link #populateCommandWithArgs(byte[][],
+     * boolean, Command.Builder)}.
+     */
+    private static int argsVectorCount(CommandRequestOrBuilder command) {
+        if (command.hasSingleCommand()) {
+            return command.getSingleCommand().hasArgsVecPointer() ? 1 : 0;
+        }
+        if (command.hasScriptInvocationPointers()) {
+            ScriptInvocationPointers script = command.getScriptInvocationPointers();
+            return (script.hasArgsPointer() ? 1 : 0) + (script.hasKeysPointer() ? 1 : 0);
+        }
+        int count = 0;
+        for (Command transactionCommand : commandsOf(command)) {
+            if (transactionCommand.hasArgsVecPointer()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Free native argument vectors of a request which was not passed to GLIDE core, see {@link
+     * #populateCommandWithArgs(byte[][], boolean, Command.Builder)}. Vectors of transactions and
+     * batches are released too, because they can be executed only once, see {@link
+     * glide.api.models.BaseTransaction#claimArgsVectors()}. Used by the channel for requests it drops
+     * without writing them.
+     *
+     * @param command A request which is never written
+     */
+    public static void releaseArgsVectors(CommandRequestOrBuilder command) {
+        for (Command transactionCommand : commandsOf(command)) {
+            if (transactionCommand.hasArgsVecPointer()) {
+                GlideValueResolver.releaseBytesVec(transactionCommand.getArgsVecPointer());
+            }
+        }
+        if (command.hasSingleCommand() && command.getSingleCommand().hasArgsVecPointer()) {
+            GlideValueResolver.releaseBytesVec(command.getSingleCommand().getArgsVecPointer());
+        } else if (command.hasScriptInvocationPointers()) {
+            ScriptInvocationPointers script = command.getScriptInvocationPointers();
+            if (script.hasArgsPointer()) {
+                GlideValueResolver.releaseBytesVec(script.getArgsPointer());
+            }
+            if (script.hasKeysPointer()) {
+                GlideValueResolver.releaseBytesVec(script.getKeysPointer());
+            }
+        }
+    }
+
+    /** Commands of a transaction or a batch request, or none for other requests. */
+    private static List<Command> commandsOf(CommandRequestOrBuilder command) {
+        if (command.hasTransaction()) {
+            return command.getTransaction().getCommandsList();
+        }
+        if (command.hasBatch()) {
+            return command.getBatch().getCommandsList();
+        }
+        return List.of();
+    }
+
+    /**
+     * A request in flight. It's the response promise registered in {@link CallbackDispatcher}, which
+     * hands the response over to the completion executor as soon as it completes, so the result
+     * promise returned to the caller is completed without dependent stages in between. Owns the
+     * native argument vectors of the request until it's written, and the channel owns them after.
+     */
+    private final class PendingRequest<T> extends ResolvableResponseFuture
+            implements Runnable, InFlightRequestLimiter.Request {
+
+        /** The result promise returned to the caller. */
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+
+        private final GlideExceptionCheckedFunction<Response, T> responseHandler;
+
+        private final boolean resolvable;
+
+        /** The request, or <code>null</code> once it's written or released. */
+        private volatile CommandRequest.Builder command;
+
+        private final int keyHash;
+
+        /** Number of native argument vectors of the request, see {@link #argsVectorCount}. */
+        private final int argsVectors;
+
+        /** Whether the request holds a permit of the in-flight limit. */
+        private volatile boolean isAdmitted = false;
+
+        /** The outcome of the request, passed to the completion executor, see {@link #run()}. */
+        private Response response;
+
+        private Throwable exception;
+
+        PendingRequest(
+                CommandRequest.Builder command,
+                int keyHash,
+                GlideExceptionCheckedFunction<Response, T> responseHandler,
+                boolean resolvable) {
+            this.command = command;
+            this.keyHash = keyHash;
+            this.responseHandler = responseHandler;
+            this.resolvable = resolvable;
+            this.argsVectors = argsVectorCount(command);
+            nativeValues.trackArgsVectors(argsVectors);
+        }
+
+        /** Write the request to the channel. Exceptions are thrown to the caller. */
+        @Override
+        public void submit() {
+            // the channel owns the request once it's passed, even if it completes the promise right away
+            CommandRequest.Builder request = command;
+            command = null;
+            isAdmitted = inFlightLimiter != null;
+            try {
+                channel.write(request, keyHash, true, this);
+            } catch (RuntimeException e) {
+                // returns the permit, unless the promise is completed already
+                completeExceptionally(e);
+                releaseArgsVectors(request);
+                throw e;
+            }
+        }
+
+        /** Fail the request which is not written, e.g. rejected by the in-flight limiter. */
+        @Override
+        public void fail(Throwable exception) {
+            completeExceptionally(exception);
+        }
+
+        @Override
+        public boolean isResolvable() {
+            return resolvable;
+        }
+
+        @Override
+        public boolean complete(Response response) {
+            if (!super.complete(response)) {
+                return false;
+            }
+            onCompletion(response, null);
+            return true;
+        }
+
+        @Override
+        public boolean completeExceptionally(Throwable exception) {
+            if (!super.completeExceptionally(exception)) {
+                return false;
+            }
+            onCompletion(null, exception);
+            return true;
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            if (!super.cancel(mayInterruptIfRunning)) {
+                return false;
+            }
+            onCompletion(null, new CancellationException());
+            return true;
+        }
+
+        private void onCompletion(Response response, Throwable exception) {
+            if (isAdmitted) {
+                inFlightLimiter.release();
+            }
+            if (exception != null) {
+                releaseIfNotWritten();
+            }
+            nativeValues.untrackArgsVectors(argsVectors);
+            if (hasNativeValue(response)) {
+                nativeValues.track();
+            }
+            this.response = response;
+            this.exception = exception;
+            boolean wasCompleting = InFlightRequestLimiter.enterCompletion();
+            try {
+                completionExecutor.execute(this);
+            } catch (RejectedExecutionException e) {
+                releaseValue(response);
+                result.completeExceptionally(e);
+            } finally {
+                InFlightRequestLimiter.exitCompletion(wasCompleting);
+            }
+        }
+
+        /** Convert the response and complete the result promise, on the completion executor. */
+        @Override
+        public void run() {
+            Object value = isPrefetched(response) ? getValue() : null;
+            completeResult(result, response, value, exception, responseHandler);
+        }
+
+        /** Free the argument vectors if the request is not written. */
+        private void releaseIfNotWritten() {
+            CommandRequest.Builder request = command;
+            if (request != null) {
+                command = null;
+                releaseArgsVectors(request);
+            }
+        }
     }
 
     /**
@@ -274,6 +784,7 @@ public class CommandManager {
      *     adding a callback id.
      */
     protected CommandRequest.Builder prepareCommandRequest(Transaction transaction) {
+        transaction.claimArgsVectors();
         return CommandRequest.newBuilder().setTransaction(transaction.getProtobufTransaction().build());
     }
 
@@ -289,19 +800,21 @@ public class CommandManager {
     protected CommandRequest.Builder prepareScript(
             Script script, List<GlideString> keys, List<GlideString> args) {
 
-        if (keys.stream().mapToLong(key -> key.getBytes().length).sum()
-                        + args.stream().mapToLong(key -> key.getBytes().length).sum()
-                > GlideValueResolver.MAX_REQUEST_ARGS_LENGTH_IN_BYTES) {
+        long keysLength = keys.stream().mapToLong(key -> key.getBytes().length).sum();
+        long argsLength = args.stream().mapToLong(arg -> arg.getBytes().length).sum();
+        if (keysLength + argsLength > GlideValueResolver.REQUEST_ARGS_THRESHOLD_IN_BYTES) {
             return CommandRequest.newBuilder()
                     .setScriptInvocationPointers(
                             ScriptInvocationPointers.newBuilder()
                                     .setHash(script.getHash())
                                     .setArgsPointer(
-                                            GlideValueResolver.createLeakedBytesVec(
-                                                    args.stream().map(GlideString::getBytes).toArray(byte[][]::new)))
+                                            GlideValueResolver.createArgsVec(
+                                                    args.stream().map(GlideString::getBytes).toArray(byte[][]::new),
+                                                    argsLength))
                                     .setKeysPointer(
-                                            GlideValueResolver.createLeakedBytesVec(
-                                                    keys.stream().map(GlideString::getBytes).toArray(byte[][]::new)))
+                                            GlideValueResolver.createArgsVec(
+                                                    keys.stream().map(GlideString::getBytes).toArray(byte[][]::new),
+                                                    keysLength))
                                     .build());
         }
 
@@ -333,6 +846,7 @@ public class CommandManager {
     protected CommandRequest.Builder prepareCommandRequest(
             ClusterTransaction transaction, Optional<Route> route) {
 
+        transaction.claimArgsVectors();
         CommandRequest.Builder builder =
                 CommandRequest.newBuilder().setTransaction(transaction.getProtobufTransaction().build());
 
@@ -479,11 +993,23 @@ public class CommandManager {
      */
     public static <ArgType> void populateCommandWithArgs(
             ArgType[] arguments, Command.Builder outputBuilder) {
-        populateCommandWithArgs(
-                Arrays.stream(arguments)
-                        .map(value -> GlideString.of(value).getBytes())
-                        .collect(Collectors.toList()),
-                outputBuilder);
+        byte[][] bytes = new byte[arguments.length][];
+        boolean isEncoded = true;
+        for (int i = 0; i < arguments.length; i++) {
+            Object argument = arguments[i];
+            if (argument instanceof String) {
+                bytes[i] = ((String) argument).getBytes(StandardCharsets.UTF_8);
+            } else if (argument instanceof byte[]) {
+                bytes[i] = (byte[]) argument;
+                isEncoded = false;
+            } else if (argument instanceof GlideString) {
+                bytes[i] = ((GlideString) argument).getBytes();
+                isEncoded = false;
+            } else {
+                bytes[i] = argument.toString().getBytes(StandardCharsets.UTF_8);
+            }
+        }
+        populateCommandWithArgs(bytes, isEncoded, outputBuilder);
     }
 
     /**
@@ -492,35 +1018,88 @@ public class CommandManager {
      * @param arguments The arguments to add to the builder.
      * @param outputBuilder The builder to populate with arguments.
      */
+    private static void populateCommandWithArgs(String[] arguments, Command.Builder outputBuilder) {
+        byte[][] bytes = new byte[arguments.length][];
+        for (int i = 0; i < arguments.length; i++) {
+            bytes[i] = arguments[i].getBytes(StandardCharsets.UTF_8);
+        }
+        populateCommandWithArgs(bytes, true, outputBuilder);
+    }
+
+    /**
+     * Add the given set of arguments to the output Command.Builder. See {@link
+     * #populateCommandWithArgs(byte[][], boolean, Command.Builder)}. The bytes of the arguments are
+     * copied into the request, because the arrays are shared with the caller.
+     *
+     * @param arguments The arguments to add to the builder.
+     * @param outputBuilder The builder to populate with arguments.
+     */
     private static void populateCommandWithArgs(
             GlideString[] arguments, Command.Builder outputBuilder) {
-        populateCommandWithArgs(
-                Arrays.stream(arguments).map(GlideString::getBytes).collect(Collectors.toList()),
-                outputBuilder);
+        long totalArgSize = 0;
+        for (GlideString argument : arguments) {
+            totalArgSize += argument.getBytes().length;
+        }
+        if (totalArgSize < GlideValueResolver.REQUEST_ARGS_THRESHOLD_IN_BYTES) {
+            ArgsArray.Builder commandArgs = ArgsArray.newBuilder();
+            for (GlideString argument : arguments) {
+                commandArgs.addArgs(ByteString.copyFrom(argument.getBytes()));
+            }
+            outputBuilder.setArgsArray(commandArgs);
+        } else {
+            byte[][] bytes = new byte[arguments.length][];
+            for (int i = 0; i < arguments.length; i++) {
+                bytes[i] = arguments[i].getBytes();
+            }
+            setArgsVecPointer(bytes, totalArgSize, outputBuilder);
+        }
     }
 
     /**
      * Add the given set of arguments to the output Command.Builder.
      *
      * <p>Implementation note: When the length in bytes of all arguments supplied to the given command
-     * exceed {@link GlideValueResolver#MAX_REQUEST_ARGS_LENGTH_IN_BYTES}, the Command will hold a
+     * exceed {@link GlideValueResolver#REQUEST_ARGS_THRESHOLD_IN_BYTES}, the Command will hold a
      * handle to leaked vector of byte arrays in the native layer in the <code>ArgsVecPointer</code>
      * field. In the normal case where the command arguments are small, they'll be serialized as to an
      * {@link ArgsArray} message.
      *
+     * <p>Arrays encoded for this request only are wrapped without copying. Other arrays are shared
+     * with the caller, who may modify them once the call returns, so they're copied.
+     *
      * @param arguments The arguments to add to the builder.
+     * @param isEncoded Whether every array is encoded for this request and referenced nowhere else
      * @param outputBuilder The builder to populate with arguments.
      */
     private static void populateCommandWithArgs(
-            List<byte[]> arguments, Command.Builder outputBuilder) {
-        final long totalArgSize = arguments.stream().mapToLong(arg -> arg.length).sum();
-        if (totalArgSize < GlideValueResolver.MAX_REQUEST_ARGS_LENGTH_IN_BYTES) {
+            byte[][] arguments, boolean isEncoded, Command.Builder outputBuilder) {
+        long totalArgSize = 0;
+        for (byte[] argument : arguments) {
+            totalArgSize += argument.length;
+        }
+        if (totalArgSize < GlideValueResolver.REQUEST_ARGS_THRESHOLD_IN_BYTES) {
             ArgsArray.Builder commandArgs = ArgsArray.newBuilder();
-            arguments.forEach(arg -> commandArgs.addArgs(ByteString.copyFrom(arg)));
+            for (byte[] argument : arguments) {
+                commandArgs.addArgs(
+                        isEncoded
+                                ? UnsafeByteOperations.unsafeWrap(argument)
+                                : ByteString.copyFrom(argument));
+            }
             outputBuilder.setArgsArray(commandArgs);
         } else {
-            outputBuilder.setArgsVecPointer(
-                    GlideValueResolver.createLeakedBytesVec(arguments.toArray(new byte[][] {})));
+            setArgsVecPointer(arguments, totalArgSize, outputBuilder);
         }
     }
+
+    /**
+     * Pass the given arguments to the output Command.Builder in a native vector.
+     *
+     * @param arguments The arguments to add to the builder.
+     * @param totalArgSize The total length of the arguments in bytes.
+     * @param outputBuilder The builder to populate with arguments.
+     */
+    public static void setArgsVecPointer(
+            byte[][] arguments, long totalArgSize, Command.Builder outputBuilder) {
+        outputBuilder.setArgsVecPointer(GlideValueResolver.createArgsVec(arguments, totalArgSize));
+    }
 }
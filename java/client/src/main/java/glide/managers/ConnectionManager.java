@@ -98,7 +98,9 @@ public class ConnectionManager {
 
         connectionRequestBuilder
                 .setTlsMode(configuration.isUseTLS() ? TlsMode.SecureTls : TlsMode.NoTls)
-                .setReadFrom(mapReadFromEnum(configuration.getReadFrom()));
+                .setReadFrom(mapReadFromEnum(configuration.getReadFrom()))
+                // BaseResponseResolver decodes scalars sent in the response itself
+                .setInlineScalarResponses(true);
 
         if (configuration.getCredentials() != null) {
             AuthenticationInfo.Builder authenticationInfoBuilder = AuthenticationInfo.newBuilder();
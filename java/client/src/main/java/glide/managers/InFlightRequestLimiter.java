@@ -0,0 +1,231 @@
+/** Copyright Valkey GLIDE Project Contributors - SPDX Identifier: Apache-2.0 */
+package glide.managers;
+
+import glide.api.models.configuration.BaseClientConfiguration;
+import glide.api.models.configuration.InFlightLimitConfiguration;
+import glide.api.models.configuration.InFlightLimitConfiguration.OverloadPolicy;
+import glide.api.models.exceptions.ClosingException;
+import glide.api.models.exceptions.RequestException;
+import io.netty.util.concurrent.FastThreadLocalThread;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Admission control for requests submitted by {@link CommandManager}. Bounds the number of requests
+ * in flight and applies the configured {@link OverloadPolicy} to the requests above the limit. See
+ * {@link InFlightLimitConfiguration}.
+ */
+public class InFlightRequestLimiter {
+
+    private final int maxInFlightRequests;
+    private final OverloadPolicy policy;
+    private final int maxQueuedRequests;
+
+    /** A permit per request in flight. */
+    private final Semaphore permits;
+
+    /** Requests waiting for admission, used by {@link OverloadPolicy#QUEUE}. */
+    private final Queue<Request> queue = new ConcurrentLinkedQueue<>();
+
+    /** Size of {@link #queue}, which is tracked separately, because the queue size is O(n). */
+    private final AtomicInteger queued = new AtomicInteger(0);
+
+    /** Set while a thread submits queued requests, see {@link #drain()}. */
+    private final AtomicBoolean isDraining = new AtomicBoolean(false);
+
+    private volatile boolean isClosed = false;
+
+    /**
+     * Set while a thread completes requests, so {@link OverloadPolicy#BLOCK} doesn't block requests
+     * submitted by the completions, see {@link #enterCompletion()}.
+     */
+    private static final ThreadLocal<Boolean> isCompleting = ThreadLocal.withInitial(() -> false);
+
+    public InFlightRequestLimiter(InFlightLimitConfiguration config) {
+        maxInFlightRequests = config.getMaxInFlightRequests();
+        policy = config.getPolicy();
+        maxQueuedRequests = config.getMaxQueuedRequests();
+        permits = new Semaphore(maxInFlightRequests);
+    }
+
+    /**
+     * Submit a request if the limit allows it, otherwise handle it according to the policy. The
+     * request holds a permit once it's submitted, which should be returned by {@link #release()}
+     * once the request completes.
+     *
+     * @param request A request to submit, which fails with {@link RequestException} if it's rejected
+     */
+    public void submit(Request request) {
+        switch (policy) {
+            case BLOCK:
+                if (isCompleting.get() || Thread.currentThread() instanceof FastThreadLocalThread) {
+                    // the thread would wait for a permit, which only it can return
+                    if (permits.tryAcquire()) {
+                        request.submit();
+                    } else {
+                        reject(request);
+                    }
+                    return;
+                }
+                try {
+                    permits.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    request.fail(new RequestException("Interrupted while waiting for admission"));
+                    return;
+                }
+                request.submit();
+                return;
+            case QUEUE:
+                // don't overtake the requests already queued
+                if (queued.get() == 0 && permits.tryAcquire()) {
+                    request.submit();
+                    return;
+                }
+                if (queued.incrementAndGet() > maxQueuedRequests) {
+                    queued.decrementAndGet();
+                    reject(request);
+                    return;
+                }
+                queue.add(request);
+                if (isClosed) {
+                    failQueued();
+                } else {
+                    drain();
+                }
+                return;
+            case FAIL_FAST:
+            default:
+                if (permits.tryAcquire()) {
+                    request.submit();
+                } else {
+                    reject(request);
+                }
+        }
+    }
+
+    /** Return the permit of a request submitted, once the request completes. */
+    public void release() {
+        permits.release();
+        if (!queue.isEmpty()) {
+            drain();
+        }
+    }
+
+    /**
+     * Fail the requests waiting for admission with {@link ClosingException}, and the requests
+     * queued later. Called once the client is closed.
+     */
+    public void close() {
+        isClosed = true;
+        failQueued();
+    }
+
+    /**
+     * Mark the current thread as one which completes requests, until {@link
+     * #exitCompletion(boolean)}. Completions may run user callbacks in the same thread, e.g. with
+     * {@link BaseClientConfiguration#DIRECT_EXECUTOR}, and the requests they submit can't wait for
+     * a permit there.
+     *
+     * @return Whether the thread was marked already, to be passed to {@link
+     *     #exitCompletion(boolean)}
+     */
+    static boolean enterCompletion() {
+        if (isCompleting.get()) {
+            return true;
+        }
+        isCompleting.set(true);
+        return false;
+    }
+
+    /** Unmark the current thread, unless it was marked before {@link #enterCompletion()}. */
+    static void exitCompletion(boolean wasCompleting) {
+        if (!wasCompleting) {
+            isCompleting.set(false);
+        }
+    }
+
+    /** Number of requests submitted and not completed yet. */
+    public int getInFlightCount() {
+        return maxInFlightRequests - permits.availablePermits();
+    }
+
+    /** Number of requests waiting for admission. */
+    public int getQueuedCount() {
+        return queued.get();
+    }
+
+    /**
+     * Submit queued requests while there are permits. Called after a permit is returned and after a
+     * request is queued, so a request can't stay in the queue while there are free permits.
+     *
+     * <p>A submitted request may complete right away, e.g. if the client is closed, which returns
+     * its permit and calls this method again. Only one thread drains the queue at a time, and
+     * nested or concurrent calls leave the work to it, so the stack doesn't grow with the queue.
+     * The draining thread checks the queue again after it stops, so no request is left behind.
+     */
+    private void drain() {
+        do {
+            if (!isDraining.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                while (!queue.isEmpty() && permits.tryAcquire()) {
+                    Request request = queue.poll();
+                    if (request == null) {
+                        permits.release();
+                        break;
+                    }
+                    queued.decrementAndGet();
+                    submitQueued(request);
+                }
+            } finally {
+                isDraining.set(false);
+            }
+        } while (!queue.isEmpty() && permits.availablePermits() > 0);
+    }
+
+    private void submitQueued(Request request) {
+        try {
+            request.submit();
+        } catch (RuntimeException e) {
+            request.fail(e);
+        }
+    }
+
+    private void failQueued() {
+        Request request;
+        while ((request = queue.poll()) != null) {
+            queued.decrementAndGet();
+            request.fail(new ClosingException("Client closed: the request was not submitted"));
+        }
+    }
+
+    private void reject(Request request) {
+        request.fail(
+                new RequestException(
+                        "Too many requests in flight: the limit of "
+                                + maxInFlightRequests
+                                + " requests is reached"));
+    }
+
+    /** A request subject to admission control. */
+    public interface Request {
+
+        /**
+         * Submit the request once it's admitted. The request holds a permit, which it returns by
+         * {@link #release()} once it completes, even if submission fails.
+         */
+        void submit();
+
+        /**
+         * Fail the request which is not admitted.
+         *
+         * @param exception The reason, e.g. {@link RequestException} if the limit is reached
+         */
+        void fail(Throwable exception);
+    }
+}
@@ -0,0 +1,98 @@
+/** Copyright Valkey GLIDE Project Contributors - SPDX Identifier: Apache-2.0 */
+package glide.managers;
+
+import glide.ffi.resolvers.GlideValueResolver;
+import java.util.concurrent.atomic.AtomicInteger;
+import response.ResponseOuterClass.Response;
+
+/**
+ * Accounting of native memory owned by a client: response values which are received from GLIDE
+ * core and not resolved yet, and argument vectors of requests in flight. Every value is owned by
+ * the completion stage of its request, which either claims the value to resolve it, or releases it
+ * if nobody waits for the response anymore, e.g. it is cancelled. A single stage completes a
+ * request, so values are handed over without a shared collection, and only counted here. Argument
+ * vectors are counted from the moment their request is submitted until it completes, by then GLIDE
+ * core has consumed them or the client has released them. Used by {@link CommandManager}.
+ *
+ * <p>Once closed, values are released when their requests complete instead of being claimed.
+ */
+public class NativeValueRegistry {
+
+    private final AtomicInteger valueCount = new AtomicInteger();
+
+    private final AtomicInteger argsVectorCount = new AtomicInteger();
+
+    private volatile boolean isClosed = false;
+
+    /**
+     * Count a value of a received response, see {@link Response#getRespPointer()}, which is owned by
+     * the completion stage of its request from now on.
+     */
+    public void track() {
+        valueCount.incrementAndGet();
+    }
+
+    /**
+     * Count argument vectors of a request submitted, until {@link #untrackArgsVectors(int)} is
+     * called once the request completes.
+     *
+     * @param count The number of vectors of the request
+     */
+    public void trackArgsVectors(int count) {
+        if (count > 0) {
+            argsVectorCount.addAndGet(count);
+        }
+    }
+
+    /**
+     * Stop counting argument vectors of a completed request, see {@link #trackArgsVectors(int)}.
+     *
+     * @param count The number of vectors of the request
+     */
+    public void untrackArgsVectors(int count) {
+        if (count > 0) {
+            argsVectorCount.addAndGet(-count);
+        }
+    }
+
+    /**
+     * Take ownership of a value to resolve it. The value is released instead if the registry is
+     * closed.
+     *
+     * @param pointer A value pointer from a response
+     * @return <code>false</code> if the value is released and must not be accessed
+     */
+    public boolean claim(long pointer) {
+        valueCount.decrementAndGet();
+        if (isClosed) {
+            GlideValueResolver.releaseValue(pointer);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Free a value which nobody waits for.
+     *
+     * @param pointer A value pointer from a response
+     */
+    public void release(long pointer) {
+        valueCount.decrementAndGet();
+        GlideValueResolver.releaseValue(pointer);
+    }
+
+    /** Release every value which is not claimed yet, once its request completes. */
+    public void close() {
+        isClosed = true;
+    }
+
+    /** Number of values received and not resolved or released yet. */
+    public int getValueCount() {
+        return valueCount.get();
+    }
+
+    /** Number of argument vectors of requests which are not completed yet. */
+    public int getArgsVectorCount() {
+        return argsVectorCount.get();
+    }
+}
@@ -0,0 +1,378 @@
+/** Copyright Valkey GLIDE Project Contributors - SPDX Identifier: Apache-2.0 */
+package glide.managers;
+
+import glide.api.logging.Logger;
+import glide.api.models.GlideString;
+import glide.api.models.configuration.NearCacheConfiguration;
+import glide.api.models.configuration.NearCacheConfiguration.TrackingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Client-side cache of read responses, which are invalidated by the server, see {@link
+ * NearCacheConfiguration}. Values are cached per key and per slot, which identifies the read
+ * command and its other arguments, e.g. a hash field. An invalidation of a key evicts all its
+ * slots.
+ *
+ * <p>Keys above the limit evict the oldest keys, in the order they were cached. The keys are queued
+ * as they're cached, and the queue may keep keys invalidated since, which are skipped by eviction.
+ * It's compacted once such keys make up more than a half of it.
+ *
+ * <p>A read reserves its slot by a placeholder before the request is sent, and the response
+ * replaces the placeholder only if it's still there. An invalidation received in between removes
+ * the placeholder, so a value which is possibly stale is never cached, whatever order the response
+ * and the invalidation are handled in.
+ *
+ * <p>Tracking is a state of a connection, so it's enabled again once a connection is lost, and
+ * periodically, which reaches the connections to cluster nodes added or promoted since. The result
+ * of the tracking command identifies the connections tracked, e.g. the cluster primaries, and all
+ * values are evicted if it changes, because they may have been read from a connection which was
+ * not tracked.
+ */
+public class NearCache {
+
+    /** Returned by {@link #get} if no value is cached. */
+    public static final Object MISS = new Object();
+
+    /** Placeholder for <code>null</code> values, which can't be stored in the map. */
+    private static final Object NULL_VALUE = new Object();
+
+    /** Delay before the tracking command is sent again, once it failed. */
+    private static final long TRACKING_RETRY_DELAY = TimeUnit.SECONDS.toNanos(1);
+
+    /** Number of keys invalidated which the eviction queue may keep before it's compacted. */
+    private static final int MIN_COMPACTION_SIZE = 64;
+
+    /** A cached value, or a placeholder of a value being read if {@link #value} is null. */
+    public static final class Entry {
+        private final Object value;
+        private final long expiresAt;
+
+        private Entry(Object value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /** Cached slots of a key. */
+    private static final class KeyEntries extends ConcurrentHashMap<Object, Entry> {
+        private final GlideString key;
+
+        private KeyEntries(GlideString key) {
+            this.key = key;
+        }
+    }
+
+    private final Map<GlideString, KeyEntries> keys = new ConcurrentHashMap<>();
+
+    /** Keys in the order they were cached, oldest first, see {@link #evict()}. */
+    private final Queue<KeyEntries> evictionQueue = new ConcurrentLinkedQueue<>();
+
+    /** Size of {@link #evictionQueue}, which the queue doesn't count in constant time. */
+    private final AtomicInteger evictionQueueSize = new AtomicInteger(0);
+
+    private final AtomicBoolean isCompacting = new AtomicBoolean(false);
+
+    private final int maxKeys;
+
+    /** Time to live in nanoseconds, <code>0</code> if unlimited. */
+    private final long ttl;
+
+    /** Prefixes of the keys tracked in BCAST mode, empty if every key is tracked. */
+    private final List<byte[]> prefixes = new ArrayList<>();
+
+    /** Arguments of the <code>CLIENT TRACKING</code> command which enables invalidations. */
+    private final String[] trackingCommand;
+
+    /** Interval of enabling tracking again in nanoseconds, <code>0</code> if never. */
+    private final long trackingRefreshInterval;
+
+    /** Sends {@link #trackingCommand} to the server, set once the client is created. */
+    private volatile Supplier<CompletableFuture<?>> trackingSender;
+
+    /** Whether the server sends invalidations, so new values may be cached. */
+    private volatile boolean isTracking = false;
+
+    private final AtomicBoolean isEnablingTracking = new AtomicBoolean(false);
+
+    /** When the tracking command may be sent again after a failure, see {@link System#nanoTime}. */
+    private volatile long trackingRetryAt = System.nanoTime();
+
+    /** When tracking is enabled again, see {@link System#nanoTime}. */
+    private volatile long trackingRefreshAt = System.nanoTime();
+
+    /** Result of the last tracking command, which identifies the connections tracked. */
+    private volatile Object trackedConnections = null;
+
+    /** Incremented on every disconnection, which resets tracking on the server. */
+    private final AtomicInteger connectionEpoch = new AtomicInteger(0);
+
+    public NearCache(NearCacheConfiguration config) {
+        maxKeys = config.getMaxKeys();
+        ttl = TimeUnit.MILLISECONDS.toNanos(config.getTtlMillis());
+        trackingRefreshInterval = TimeUnit.MILLISECONDS.toNanos(config.getTrackingRefreshMillis());
+        List<String> command = new ArrayList<>(List.of("CLIENT", "TRACKING", "ON"));
+        if (config.getTrackingMode() == TrackingMode.BCAST) {
+            command.add("BCAST");
+            for (String prefix : config.getPrefixes()) {
+                command.add("PREFIX");
+                command.add(prefix);
+                prefixes.add(GlideString.of(prefix).getBytes());
+            }
+        }
+        trackingCommand = command.toArray(String[]::new);
+    }
+
+    /** Arguments of the <code>CLIENT TRACKING</code> command which enables invalidations. */
+    public String[] getTrackingCommand() {
+        return trackingCommand.clone();
+    }
+
+    /**
+     * Enable tracking on the server.
+     *
+     * @param sender Sends the {@link #getTrackingCommand()} to the server, and returns a result
+     *     which changes only if the connections tracked change, e.g. the addresses of the nodes
+     * @return A future which completes once values can be cached
+     */
+    public CompletableFuture<Void> start(Supplier<CompletableFuture<?>> sender) {
+        trackingSender = sender;
+        return enableTracking();
+    }
+
+    /**
+     * Get a cached value.
+     *
+     * @param key The key read
+     * @param slot The read command and its arguments other than the key
+     * @return The value, which may be <code>null</code>, or {@link #MISS}
+     */
+    public Object get(GlideString key, Object slot) {
+        KeyEntries entries = keys.get(key);
+        Entry entry = entries == null ? null : entries.get(slot);
+        if (entry == null || entry.value == null) {
+            return MISS;
+        }
+        if (ttl > 0 && System.nanoTime() - entry.expiresAt > 0) {
+            entries.remove(slot, entry);
+            return MISS;
+        }
+        return entry.value == NULL_VALUE ? null : entry.value;
+    }
+
+    /**
+     * Reserve a slot for a value which is about to be read, see {@link #complete}.
+     *
+     * @param key The key read
+     * @param slot The read command and its arguments other than the key
+     * @return A placeholder, or <code>null</code> if the value should not be cached
+     */
+    public Entry reserve(GlideString key, Object slot) {
+        if (!isTracking) {
+            if (System.nanoTime() - trackingRetryAt >= 0) {
+                enableTracking();
+            }
+            return null;
+        }
+        if (trackingRefreshInterval > 0 && System.nanoTime() - trackingRefreshAt >= 0) {
+            enableTracking();
+        }
+        if (!isCacheable(key)) {
+            return null;
+        }
+        KeyEntries entries = keys.get(key);
+        if (entries == null) {
+            if (keys.size() >= maxKeys) {
+                evict();
+            }
+            KeyEntries created = new KeyEntries(key);
+            entries = keys.putIfAbsent(key, created);
+            if (entries == null) {
+                entries = created;
+                enqueue(created);
+            }
+        }
+        Entry placeholder = new Entry(null, 0);
+        Entry current = entries.putIfAbsent(slot, placeholder);
+        if (current == null) {
+            return placeholder;
+        }
+        // an expired value is replaced, a read in progress completes the placeholder
+        if (current.value != null && entries.replace(slot, current, placeholder)) {
+            return placeholder;
+        }
+        return null;
+    }
+
+    /**
+     * Cache a value read, unless the key was invalidated since the slot was reserved.
+     *
+     * @param key The key read
+     * @param slot The read command and its arguments other than the key
+     * @param placeholder A placeholder returned by {@link #reserve}
+     * @param value The value read
+     */
+    public void complete(GlideString key, Object slot, Entry placeholder, Object value) {
+        KeyEntries entries = keys.get(key);
+        if (entries != null) {
+            Object cached = value == null ? NULL_VALUE : value;
+            entries.replace(slot, placeholder, new Entry(cached, System.nanoTime() + ttl));
+        }
+    }
+
+    /**
+     * Release a slot reserved for a value which could not be read.
+     *
+     * @param key The key read
+     * @param slot The read command and its arguments other than the key
+     * @param placeholder A placeholder returned by {@link #reserve}
+     */
+    public void cancel(GlideString key, Object slot, Entry placeholder) {
+        KeyEntries entries = keys.get(key);
+        if (entries != null) {
+            entries.remove(slot, placeholder);
+        }
+    }
+
+    /** Evict all values of a key, which was changed on the server. */
+    public void invalidate(GlideString key) {
+        keys.remove(key);
+    }
+
+    /** Evict all values, e.g. once the server flushed its databases. */
+    public void invalidateAll() {
+        // the queued keys are dropped by eviction or compaction
+        keys.clear();
+    }
+
+    /**
+     * Evict all values once the connection is lost, because invalidations may be lost too, and
+     * enable tracking on the new connection. Values are not cached until it's enabled.
+     */
+    public void onDisconnect() {
+        isTracking = false;
+        connectionEpoch.incrementAndGet();
+        invalidateAll();
+        enableTracking();
+    }
+
+    /** Number of keys cached, including the keys with reads in progress. */
+    public int getKeyCount() {
+        return keys.size();
+    }
+
+    /**
+     * Send the tracking command, unless it's in progress or the client is not created yet. If it
+     * fails, it's retried by a read after {@link #TRACKING_RETRY_DELAY}, while values cached already
+     * are kept until they are invalidated.
+     */
+    private CompletableFuture<Void> enableTracking() {
+        Supplier<CompletableFuture<?>> sender = trackingSender;
+        if (sender == null || !isEnablingTracking.compareAndSet(false, true)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        int epoch = connectionEpoch.get();
+        CompletableFuture<?> response;
+        try {
+            response = sender.get();
+        } catch (RuntimeException e) {
+            trackingRetryAt = System.nanoTime() + TRACKING_RETRY_DELAY;
+            trackingRefreshAt = trackingRetryAt;
+            isEnablingTracking.set(false);
+            return CompletableFuture.failedFuture(e);
+        }
+        return response.handle(
+                (connections, exception) -> {
+                    isEnablingTracking.set(false);
+                    if (exception != null) {
+                        trackingRetryAt = System.nanoTime() + TRACKING_RETRY_DELAY;
+                        trackingRefreshAt = trackingRetryAt;
+                        Logger.log(
+                                Logger.Level.WARN,
+                                "near cache",
+                                () -> "Failed to enable tracking: " + exception.getMessage());
+                    } else if (epoch == connectionEpoch.get()) {
+                        trackingRefreshAt = System.nanoTime() + trackingRefreshInterval;
+                        if (isTracking && !Objects.equals(trackedConnections, connections)) {
+                            // values may have been read from a connection which was not tracked
+                            invalidateAll();
+                        }
+                        trackedConnections = connections;
+                        isTracking = true;
+                    } else {
+                        // disconnected again while enabling
+                        enableTracking();
+                    }
+                    return null;
+                });
+    }
+
+    private boolean isCacheable(GlideString key) {
+        if (prefixes.isEmpty()) {
+            return true;
+        }
+        byte[] bytes = key.getBytes();
+        for (byte[] prefix : prefixes) {
+            if (bytes.length >= prefix.length
+                    && Arrays.equals(bytes, 0, prefix.length, prefix, 0, prefix.length)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Evict the oldest key cached, skipping the keys which are not cached anymore. */
+    private void evict() {
+        KeyEntries oldest;
+        while ((oldest = evictionQueue.poll()) != null) {
+            evictionQueueSize.decrementAndGet();
+            if (keys.remove(oldest.key, oldest)) {
+                return;
+            }
+        }
+    }
+
+    /** Queue a key cached for eviction, and compact the queue if needed. */
+    private void enqueue(KeyEntries entries) {
+        evictionQueue.add(entries);
+        int size = evictionQueueSize.incrementAndGet();
+        if (size - MIN_COMPACTION_SIZE > 2 * keys.size() && isCompacting.compareAndSet(false, true)) {
+            try {
+                compact(size);
+            } finally {
+                isCompacting.set(false);
+            }
+        }
+    }
+
+    /**
+     * Drop the keys which are not cached anymore from the eviction queue. The keys which are still
+     * cached are queued again in the same order, after the keys queued meanwhile.
+     *
+     * @param size The number of keys to check from the head of the queue
+     */
+    private void compact(int size) {
+        for (int i = 0; i < size; i++) {
+            KeyEntries entries = evictionQueue.poll();
+            if (entries == null) {
+                return;
+            }
+            if (keys.get(entries.key) == entries) {
+                evictionQueue.add(entries);
+            } else {
+                evictionQueueSize.decrementAndGet();
+            }
+        }
+    }
+}
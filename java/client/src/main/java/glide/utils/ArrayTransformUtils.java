@@ -159,6 +159,10 @@ public class ArrayTransformUtils {
         if (objectArr == null) {
             return null;
         }
+        if (clazz.isAssignableFrom(objectArr.getClass().getComponentType())) {
+            // typed already, e.g. a top-level array resolved with GlideValueResolver.TYPED_ARRAYS
+            return (U[]) objectArr;
+        }
         return Arrays.stream(objectArr)
                 .map(clazz::cast)
                 .toArray(size -> (U[]) Array.newInstance(clazz, size));
@@ -179,11 +183,12 @@ public class ArrayTransformUtils {
         if (outerObjectArr == null) {
             return null;
         }
-        T[] convertedArr = (T[]) new Object[outerObjectArr.length];
+        U[][] convertedArr =
+                (U[][]) Array.newInstance(Array.newInstance(clazz, 0).getClass(), outerObjectArr.length);
         for (int i = 0; i < outerObjectArr.length; i++) {
-            convertedArr[i] = (T) castArray((T[]) outerObjectArr[i], clazz);
+            convertedArr[i] = castArray((T[]) outerObjectArr[i], clazz);
         }
-        return (U[][]) castArray(convertedArr, Array.newInstance(clazz, 0).getClass());
+        return convertedArr;
     }
 
     /**
@@ -13,6 +13,7 @@ module glide.api {
     exports glide.api.models.exceptions;
 
     requires com.google.protobuf;
+    requires io.netty.buffer;
     requires io.netty.codec;
     requires io.netty.common;
     requires io.netty.transport;
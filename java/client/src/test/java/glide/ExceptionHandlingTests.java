@@ -312,8 +312,9 @@ public class ExceptionHandlingTests {
 
         @Override
         public CompletableFuture<Response> write(CommandRequest.Builder request, boolean flush) {
-            var commandId = callbackDispatcher.registerRequest();
-            return commandId.getValue();
+            var future = new CompletableFuture<Response>();
+            callbackDispatcher.registerRequest(future);
+            return future;
         }
 
         @Override
@@ -335,7 +336,7 @@ public class ExceptionHandlingTests {
 
         @Override
         public void completeRequest(Response response) {
-            responses.values().forEach(future -> future.completeExceptionally(exceptionToThrow));
+            responses.forEach(future -> future.completeExceptionally(exceptionToThrow));
         }
     }
 }
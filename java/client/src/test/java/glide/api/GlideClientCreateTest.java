@@ -14,8 +14,11 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.when;
 
+import glide.api.models.configuration.ChannelStripingConfiguration;
 import glide.api.models.configuration.GlideClientConfiguration;
+import glide.api.models.configuration.NearCacheConfiguration;
 import glide.api.models.exceptions.ClosingException;
+import glide.api.models.exceptions.ConfigurationError;
 import glide.connectors.handlers.ChannelHandler;
 import glide.connectors.handlers.MessageHandler;
 import glide.connectors.resources.ThreadPoolResource;
@@ -49,9 +52,11 @@ public class GlideClientCreateTest {
         messageHandler = mock(MessageHandler.class);
         threadPoolResource = mock(ThreadPoolResource.class);
 
-        mockedClient.when(() -> buildChannelHandler(any(), any())).thenReturn(channelHandler);
+        mockedClient.when(() -> buildChannelHandler(any(), any(), any())).thenReturn(channelHandler);
         mockedClient.when(() -> buildConnectionManager(channelHandler)).thenReturn(connectionManager);
-        mockedClient.when(() -> buildCommandManager(channelHandler)).thenReturn(commandManager);
+        mockedClient
+                .when(() -> buildCommandManager(eq(channelHandler), any()))
+                .thenReturn(commandManager);
         mockedClient.when(() -> buildMessageHandler(any())).thenReturn(messageHandler);
         mockedClient.when(() -> createClient(any(), any())).thenCallRealMethod();
 
@@ -128,4 +133,17 @@ public class GlideClientCreateTest {
     }
 
     // TODO check message queue and subscriptionConfiguration
+
+    @Test
+    public void buildChannelHandler_rejects_near_cache_with_channel_striping() {
+        mockedClient.when(() -> buildChannelHandler(any(), any(), any())).thenCallRealMethod();
+        GlideClientConfiguration config =
+                GlideClientConfiguration.builder()
+                        .nearCache(NearCacheConfiguration.builder().build())
+                        .channelStriping(ChannelStripingConfiguration.builder().channelCount(2).build())
+                        .build();
+
+        assertThrows(
+                ConfigurationError.class, () -> buildChannelHandler(threadPoolResource, null, config));
+    }
 }
@@ -289,7 +289,10 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import command_request.CommandRequestOuterClass.RequestType;
+import glide.api.models.Batch;
 import glide.api.models.GlideString;
+import glide.api.models.NativeBuffer;
+import glide.api.models.PreparedCommand;
 import glide.api.models.Script;
 import glide.api.models.Transaction;
 import glide.api.models.commands.ConditionalChange;
@@ -365,7 +368,10 @@ import glide.api.models.commands.stream.StreamReadOptions;
 import glide.api.models.commands.stream.StreamTrimOptions;
 import glide.api.models.commands.stream.StreamTrimOptions.MaxLen;
 import glide.api.models.commands.stream.StreamTrimOptions.MinId;
+import glide.api.models.exceptions.RequestException;
+import glide.ffi.resolvers.GlideValueResolver;
 import glide.managers.CommandManager;
+import glide.managers.GlideExceptionCheckedFunction;
 import glide.utils.ArgsBuilder;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
@@ -382,6 +388,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import response.ResponseOuterClass.RequestErrorType;
+import response.ResponseOuterClass.Response;
 
 public class GlideClientTest {
 
@@ -446,6 +454,31 @@ public class GlideClientTest {
         assertEquals(value, payload);
     }
 
+    @SneakyThrows
+    @Test
+    public void customCommand_prepared_returns_success() {
+        // setup
+        GlideString[] values = new GlideString[] {gs("testKey")};
+        PreparedCommand command =
+                new PreparedCommand(
+                        CustomCommand, new GlideString[] {gs("GETSTRING"), null}, null, null);
+        Object value = gs("testValue");
+        CompletableFuture<Object> testResponse = new CompletableFuture<>();
+        testResponse.complete(value);
+
+        // match on protobuf request
+        when(commandManager.submitPreparedCommand(eq(command), eq(values), any()))
+                .thenReturn(testResponse);
+
+        // exercise
+        CompletableFuture<Object> response = service.customCommand(command, values);
+        Object payload = response.get();
+
+        // verify
+        assertEquals(testResponse, response);
+        assertEquals(value, payload);
+    }
+
     @SneakyThrows
     @Test
     public void exec() {
@@ -469,6 +502,37 @@ public class GlideClientTest {
         assertArrayEquals(value, payload);
     }
 
+    @SneakyThrows
+    @Test
+    public void exec_batch_returns_errors_in_place_of_values() {
+        // setup
+        Batch batch = new Batch().set("key", "value").get("key");
+        Object[] errors = {new Object[] {1L, (long) RequestErrorType.Unspecified_VALUE, "WRONGTYPE"}};
+        // a typed array, which can't hold the error
+        Object[] value = new Object[] {new String[] {"OK", null}, errors};
+        Response batchResponse =
+                Response.newBuilder().setRespPointer(GlideValueResolver.PREFETCHED_VALUE_HANDLE).build();
+
+        // match on protobuf request
+        when(commandManager.<Object[]>submitNewBatch(eq(batch), any()))
+                .thenAnswer(
+                        invocation -> {
+                            GlideExceptionCheckedFunction<Response, Object[]> handler =
+                                    invocation.getArgument(1);
+                            GlideValueResolver.setPrefetchedValue(value);
+                            return CompletableFuture.completedFuture(handler.apply(batchResponse));
+                        });
+
+        // exercise
+        CompletableFuture<Object[]> response = service.exec(batch, false);
+        Object[] payload = response.get();
+
+        // verify
+        assertEquals("OK", payload[0]);
+        assertInstanceOf(RequestException.class, payload[1]);
+        assertEquals("WRONGTYPE", ((RequestException) payload[1]).getMessage());
+    }
+
     @SneakyThrows
     @Test
     public void echo_returns_success() {
@@ -701,6 +765,25 @@ public class GlideClientTest {
         assertEquals(value, payload);
     }
 
+    @SneakyThrows
+    @Test
+    public void getDirect_returns_success() {
+        // setup
+        GlideString key = gs("testKey");
+        CompletableFuture<NativeBuffer> testResponse = new CompletableFuture<>();
+        testResponse.complete(null);
+        when(commandManager.<NativeBuffer>submitNewCommandUnresolved(
+                        eq(Get), eq(new GlideString[] {key}), any()))
+                .thenReturn(testResponse);
+
+        // exercise
+        CompletableFuture<NativeBuffer> response = service.getDirect(key);
+
+        // verify
+        assertEquals(testResponse, response);
+        assertNull(response.get());
+    }
+
     @SneakyThrows
     @Test
     public void getdel() {
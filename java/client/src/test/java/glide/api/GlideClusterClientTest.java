@@ -48,6 +48,8 @@ import static glide.api.models.configuration.RequestRoutingConfiguration.SimpleS
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -55,6 +57,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import command_request.CommandRequestOuterClass.CommandRequest;
+import glide.api.models.ClusterBatch;
 import glide.api.models.ClusterTransaction;
 import glide.api.models.ClusterValue;
 import glide.api.models.GlideString;
@@ -68,6 +71,7 @@ import glide.api.models.commands.scan.ClusterScanCursor;
 import glide.api.models.commands.scan.ScanOptions;
 import glide.api.models.configuration.RequestRoutingConfiguration.Route;
 import glide.api.models.configuration.RequestRoutingConfiguration.SingleNodeRoute;
+import glide.api.models.exceptions.RequestException;
 import glide.managers.CommandManager;
 import glide.managers.GlideExceptionCheckedFunction;
 import java.util.EnumSet;
@@ -75,11 +79,13 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import lombok.SneakyThrows;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import response.ResponseOuterClass.ConstantResponse;
+import response.ResponseOuterClass.RequestErrorType;
 import response.ResponseOuterClass.Response;
 
 public class GlideClusterClientTest {
@@ -233,6 +239,29 @@ public class GlideClusterClientTest {
         }
     }
 
+    @Test
+    @SneakyThrows
+    public void exec_batch_returns_errors_in_place_of_values() {
+        var commandManager = new TestCommandManager(null);
+        var batch = new ClusterBatch().set("key", "value").incr("key").get("key");
+        Object[] response = {
+            new Object[] {OK, null, "value"},
+            new Object[] {new Object[] {1L, (long) RequestErrorType.Unspecified_VALUE, "WRONGTYPE"}}
+        };
+
+        try (var client = new TestClient(commandManager, response)) {
+            var values = client.exec(batch, false).get();
+            assertEquals(OK, values[0]);
+            assertInstanceOf(RequestException.class, values[1]);
+            assertEquals("WRONGTYPE", ((RequestException) values[1]).getMessage());
+            assertEquals("value", values[2]);
+
+            var exception =
+                    assertThrows(ExecutionException.class, () -> client.exec(batch, true).get());
+            assertInstanceOf(RequestException.class, exception.getCause());
+        }
+    }
+
     private static class TestClient extends GlideClusterClient {
 
         private final Object object;
@@ -0,0 +1,77 @@
+/** Copyright Valkey GLIDE Project Contributors - SPDX Identifier: Apache-2.0 */
+package glide.api.models;
+
+import static glide.api.models.GlideString.gs;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+public class GlideStringTests {
+
+    private static Stream<Arguments> getUtf8Samples() {
+        return Stream.of(
+                Arguments.of("empty", new byte[0], true),
+                Arguments.of("ascii", bytes(0x61, 0x62, 0x63), true),
+                Arguments.of("two_bytes", bytes(0xC3, 0xA9), true),
+                Arguments.of("three_bytes", bytes(0xE2, 0x82, 0xAC), true),
+                Arguments.of("four_bytes", bytes(0xF0, 0x9F, 0x98, 0x80), true),
+                Arguments.of("replacement_character", bytes(0xEF, 0xBF, 0xBD), true),
+                Arguments.of("max_code_point", bytes(0xF4, 0x8F, 0xBF, 0xBF), true),
+                Arguments.of("overlong", bytes(0xC0, 0xAF), false),
+                Arguments.of("overlong_three_bytes", bytes(0xE0, 0x80, 0xAF), false),
+                Arguments.of("surrogate", bytes(0xED, 0xA0, 0x80), false),
+                Arguments.of("above_max_code_point", bytes(0xF4, 0x90, 0x80, 0x80), false),
+                Arguments.of("truncated", bytes(0x61, 0xE2, 0x82), false),
+                Arguments.of("bad_continuation", bytes(0xE2, 0x28, 0xA1), false),
+                Arguments.of("lone_continuation", bytes(0x61, 0x80), false),
+                Arguments.of("invalid_byte", bytes(0xFF), false));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("getUtf8Samples")
+    public void canConvertToString_matches_round_trip(String name, byte[] bytes, boolean isValid) {
+        var roundTrip =
+                new String(bytes, StandardCharsets.UTF_8).getBytes(StandardCharsets.UTF_8);
+        assertEquals(isValid, Arrays.equals(bytes, roundTrip));
+        assertEquals(isValid, gs(bytes).canConvertToString());
+        if (isValid) {
+            assertEquals(new String(bytes, StandardCharsets.UTF_8), gs(bytes).getString());
+        }
+    }
+
+    @Test
+    public void hashCode_is_cached_and_matches_bytes() {
+        byte[] bytes = "key".getBytes(StandardCharsets.UTF_8);
+        var string = gs(bytes);
+        assertEquals(Arrays.hashCode(bytes), string.hashCode());
+        assertEquals(string.hashCode(), string.hashCode());
+        assertEquals(gs("key").hashCode(), string.hashCode());
+        assertEquals(gs("key"), string);
+    }
+
+    @Test
+    public void not_convertible_string() {
+        var string = gs(bytes(0xFF, 0xFE));
+        assertFalse(string.canConvertToString());
+        assertFalse(string.canConvertToString());
+        assertTrue(string.toString().startsWith("Value not convertible to string"));
+        assertArrayEquals(bytes(0xFF, 0xFE), string.getBytes());
+    }
+
+    private static byte[] bytes(int... values) {
+        byte[] bytes = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            bytes[i] = (byte) values[i];
+        }
+        return bytes;
+    }
+}
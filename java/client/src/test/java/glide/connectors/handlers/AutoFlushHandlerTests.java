@@ -0,0 +1,102 @@
+/** Copyright Valkey GLIDE Project Contributors - SPDX Identifier: Apache-2.0 */
+package glide.connectors.handlers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import glide.api.models.configuration.AutoFlushConfiguration;
+import glide.api.models.exceptions.ConfigurationError;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for AutoFlushHandler */
+public class AutoFlushHandlerTests {
+
+    @Test
+    public void flushes_when_request_count_is_reached() {
+        var channel = channel(3, 1024);
+        writeAll(channel, 3);
+
+        channel.flush();
+        channel.flush();
+        assertEquals(0, channel.outboundMessages().size());
+
+        channel.flush();
+        assertEquals(3, channel.outboundMessages().size());
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void flushes_when_byte_count_is_reached() {
+        var channel = channel(100, 10);
+
+        channel.writeAndFlush(Unpooled.wrappedBuffer(new byte[6]));
+        assertEquals(0, channel.outboundMessages().size());
+
+        channel.writeAndFlush(Unpooled.wrappedBuffer(new byte[6]));
+        assertEquals(2, channel.outboundMessages().size());
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void flushes_once_event_loop_runs_scheduled_task() {
+        var channel = channel(100, 1024);
+        writeAll(channel, 2);
+
+        channel.flush();
+        channel.flush();
+        assertEquals(0, channel.outboundMessages().size());
+
+        channel.runPendingTasks();
+        assertEquals(2, channel.outboundMessages().size());
+
+        // the next flush schedules a new task
+        writeAll(channel, 1);
+        channel.flush();
+        assertEquals(2, channel.outboundMessages().size());
+        channel.runPendingTasks();
+        assertEquals(3, channel.outboundMessages().size());
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void close_flushes_pending_requests() {
+        var channel = channel(100, 1024);
+
+        channel.writeAndFlush(Unpooled.wrappedBuffer(new byte[1]));
+        channel.close();
+
+        assertEquals(1, channel.outboundMessages().size());
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void rejects_thresholds_which_are_not_positive() {
+        assertThrows(
+                ConfigurationError.class,
+                () -> AutoFlushConfiguration.builder().maxPendingRequests(0).build());
+        assertThrows(
+                ConfigurationError.class,
+                () -> AutoFlushConfiguration.builder().maxPendingBytes(-1).build());
+    }
+
+    /**
+     * Write requests without flushing them. {@link EmbeddedChannel} runs pending tasks on every write
+     * it receives, so a write after a deferred flush would run the flush task at once.
+     */
+    private static void writeAll(EmbeddedChannel channel, int count) {
+        for (int i = 0; i < count; i++) {
+            channel.write(Unpooled.buffer(1).writeByte(i));
+        }
+    }
+
+    private static EmbeddedChannel channel(int maxPendingRequests, int maxPendingBytes) {
+        return new EmbeddedChannel(
+                new AutoFlushHandler(
+                        AutoFlushConfiguration.builder()
+                                .maxPendingRequests(maxPendingRequests)
+                                .maxPendingBytes(maxPendingBytes)
+                                .build()));
+    }
+}
@@ -0,0 +1,157 @@
+/** Copyright Valkey GLIDE Project Contributors - SPDX Identifier: Apache-2.0 */
+package glide.connectors.handlers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import command_request.CommandRequestOuterClass.CommandRequest;
+import glide.api.models.configuration.AutoPipelineConfiguration;
+import glide.api.models.exceptions.ClosingException;
+import glide.api.models.exceptions.ConfigurationError;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import response.ResponseOuterClass.Response;
+
+/** Unit tests for AutoPipeliner */
+public class AutoPipelinerTests {
+
+    @Test
+    public void requests_added_before_event_loop_runs_are_flushed_together() {
+        var channel = new EmbeddedChannel();
+        var flushes = countFlushes(channel);
+        var pipeliner = new AutoPipeliner(channel, configuration(64));
+
+        for (int i = 0; i < 3; i++) {
+            pipeliner.add(request(i), new CompletableFuture<>());
+        }
+        assertNull(channel.readOutbound());
+
+        channel.runPendingTasks();
+        for (int i = 0; i < 3; i++) {
+            CommandRequest sent = channel.readOutbound();
+            assertEquals(i, sent.getCallbackIdx());
+        }
+        assertNull(channel.readOutbound());
+        assertEquals(1, flushes.get());
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void full_batch_is_sent_without_waiting() {
+        var channel = new EmbeddedChannel();
+        var flushes = countFlushes(channel);
+        var pipeliner = new AutoPipeliner(channel, configuration(2, 1_000_000));
+
+        pipeliner.add(request(0), new CompletableFuture<>());
+        assertNull(channel.readOutbound());
+        pipeliner.add(request(1), new CompletableFuture<>());
+        // written by the event loop, before the delay expires
+        channel.runPendingTasks();
+        assertEquals(0, ((CommandRequest) channel.readOutbound()).getCallbackIdx());
+        assertEquals(1, ((CommandRequest) channel.readOutbound()).getCallbackIdx());
+        assertNull(channel.readOutbound());
+        assertEquals(1, flushes.get());
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void batches_are_sent_in_order_requests_are_added() {
+        var channel = new EmbeddedChannel();
+        var flushes = countFlushes(channel);
+        var pipeliner = new AutoPipeliner(channel, configuration(2));
+
+        for (int i = 0; i < 5; i++) {
+            pipeliner.add(request(i), new CompletableFuture<>());
+        }
+        assertNull(channel.readOutbound());
+
+        channel.runPendingTasks();
+        for (int i = 0; i < 5; i++) {
+            CommandRequest sent = channel.readOutbound();
+            assertEquals(i, sent.getCallbackIdx());
+        }
+        assertNull(channel.readOutbound());
+        assertEquals(3, flushes.get());
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void write_error_fails_all_requests_sent_together() {
+        var channel = new EmbeddedChannel();
+        var pipeliner = new AutoPipeliner(channel, configuration(2));
+        channel.close();
+
+        var first = new CompletableFuture<Response>();
+        var second = new CompletableFuture<Response>();
+        pipeliner.add(request(0), first);
+        pipeliner.add(request(1), second);
+        channel.runPendingTasks();
+
+        assertTrue(first.isCompletedExceptionally());
+        assertTrue(second.isCompletedExceptionally());
+    }
+
+    @Test
+    public void close_drops_requests_not_written() {
+        var channel = new EmbeddedChannel();
+        var pipeliner = new AutoPipeliner(channel, configuration(64));
+
+        var dropped = new CompletableFuture<Response>();
+        pipeliner.add(request(0), dropped);
+        pipeliner.close();
+        var late = new CompletableFuture<Response>();
+        pipeliner.add(request(1), late);
+        channel.runPendingTasks();
+
+        assertNull(channel.readOutbound());
+        var exception = assertThrows(ExecutionException.class, dropped::get);
+        assertInstanceOf(ClosingException.class, exception.getCause());
+        exception = assertThrows(ExecutionException.class, late::get);
+        assertInstanceOf(ClosingException.class, exception.getCause());
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void rejects_batch_size_which_is_not_positive() {
+        assertThrows(ConfigurationError.class, () -> configuration(0));
+        assertThrows(ConfigurationError.class, () -> configuration(2, -1));
+    }
+
+    private static AutoPipelineConfiguration configuration(int maxBatchSize) {
+        return configuration(maxBatchSize, 0);
+    }
+
+    private static AutoPipelineConfiguration configuration(int maxBatchSize, long maxDelayMicros) {
+        return AutoPipelineConfiguration.builder()
+                .maxBatchSize(maxBatchSize)
+                .maxDelayMicros(maxDelayMicros)
+                .build();
+    }
+
+    /** Count flushes which reach the end of the pipeline of the channel. */
+    private static AtomicInteger countFlushes(EmbeddedChannel channel) {
+        var flushes = new AtomicInteger();
+        channel.pipeline()
+                .addFirst(
+                        new ChannelOutboundHandlerAdapter() {
+                            @Override
+                            public void flush(ChannelHandlerContext ctx) {
+                                flushes.incrementAndGet();
+                                ctx.flush();
+                            }
+                        });
+        return flushes;
+    }
+
+    private static CommandRequest request(int callbackIdx) {
+        return CommandRequest.newBuilder().setCallbackIdx(callbackIdx).build();
+    }
+}
@@ -0,0 +1,135 @@
+/** Copyright Valkey GLIDE Project Contributors - SPDX Identifier: Apache-2.0 */
+package glide.connectors.handlers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for CallbackRegistry */
+public class CallbackRegistryTests {
+
+    @Test
+    public void claim_and_release() {
+        var registry = new CallbackRegistry<String>();
+        int first = registry.claim("first");
+        int second = registry.claim("second");
+
+        assertEquals(0, first);
+        assertEquals(1, second);
+        assertEquals(2, registry.size());
+
+        assertEquals("second", registry.release(second));
+        assertEquals("first", registry.release(first));
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    public void released_id_is_not_reused() {
+        var registry = new CallbackRegistry<String>();
+        int first = registry.claim("first");
+        registry.release(first);
+        int second = registry.claim("second");
+
+        // same slot, but another generation
+        assertNotEquals(first, second);
+        assertNull(registry.release(first));
+        assertEquals("second", registry.release(second));
+        // double release
+        assertNull(registry.release(second));
+    }
+
+    @Test
+    public void peek_does_not_remove() {
+        var registry = new CallbackRegistry<String>();
+        int first = registry.claim("first");
+
+        assertEquals("first", registry.peek(first));
+        assertEquals(1, registry.size());
+
+        registry.release(first);
+        int second = registry.claim("second");
+        // a stale ID doesn't see the value of a recycled slot
+        assertNull(registry.peek(first));
+        assertEquals("second", registry.peek(second));
+    }
+
+    @Test
+    public void release_unknown_id() {
+        var registry = new CallbackRegistry<String>();
+        assertNull(registry.release(42));
+        assertNull(registry.release(-1));
+
+        int id = registry.claim("value");
+        assertNull(registry.release(id + 1));
+        assertEquals("value", registry.release(id));
+    }
+
+    @Test
+    public void registry_is_bounded() {
+        var registry = new CallbackRegistry<Integer>(3);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(registry.claim(i) >= 0);
+        }
+        assertEquals(-1, registry.claim(3));
+
+        registry.release(1);
+        assertTrue(registry.claim(3) >= 0);
+    }
+
+    @Test
+    public void drain_removes_all_values() {
+        var registry = new CallbackRegistry<Integer>();
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < 2048; i++) {
+            ids.add(registry.claim(i));
+        }
+        registry.release(ids.get(42));
+
+        Set<Integer> drained = new HashSet<>();
+        registry.drain(drained::add);
+
+        assertEquals(2047, drained.size());
+        assertEquals(0, registry.size());
+        ids.forEach(id -> assertNull(registry.release(id)));
+    }
+
+    @Test
+    @SneakyThrows
+    public void concurrent_claim_and_release() {
+        var registry = new CallbackRegistry<Object>();
+        int threads = 8;
+        int iterations = 10_000;
+        Set<Integer> inFlight = ConcurrentHashMap.newKeySet();
+        var pool = Executors.newFixedThreadPool(threads);
+        var latch = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            pool.submit(
+                    () -> {
+                        for (int i = 0; i < iterations; i++) {
+                            var value = new Object();
+                            int id = registry.claim(value);
+                            // an ID is never shared by two requests in flight
+                            assertTrue(inFlight.add(id));
+                            inFlight.remove(id);
+                            assertEquals(value, registry.release(id));
+                        }
+                        latch.countDown();
+                    });
+        }
+        assertTrue(latch.await(30, TimeUnit.SECONDS));
+        pool.shutdown();
+        assertEquals(0, registry.size());
+    }
+}
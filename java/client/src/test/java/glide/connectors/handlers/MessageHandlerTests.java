@@ -5,14 +5,18 @@ import static glide.api.models.GlideString.gs;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import glide.api.models.PubSubMessage;
 import glide.api.models.configuration.BaseSubscriptionConfiguration;
+import glide.api.models.configuration.NearCacheConfiguration;
 import glide.api.models.exceptions.GlideException;
 import glide.managers.BaseResponseResolver;
+import glide.managers.NearCache;
 import java.util.ArrayList;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import lombok.SneakyThrows;
 import org.junit.jupiter.api.Test;
 import response.ResponseOuterClass;
@@ -231,4 +235,46 @@ public class MessageHandlerTests {
         assertInstanceOf(RuntimeException.class, ex.getCause());
         assertEquals(new RuntimeException("message").getMessage(), ex.getCause().getMessage());
     }
+
+    @Test
+    @SneakyThrows
+    public void invalidate_message_evicts_near_cache_keys() {
+        // Arrange.
+        NearCache nearCache = new NearCache(NearCacheConfiguration.builder().build());
+        nearCache.start(() -> CompletableFuture.completedFuture("OK"));
+        for (String key : new String[] {"key1", "key2", "key3"}) {
+            nearCache.complete(gs(key), "GET", nearCache.reserve(gs(key), "GET"), "value");
+        }
+        Object[][] values = {
+            new Object[] {new Object[] {gs("key1").getBytes(), gs("key2").getBytes()}},
+            new Object[] {null}
+        };
+        int[] pushes = {0};
+        BaseResponseResolver fakeResolver =
+                new BaseResponseResolver(null) {
+                    @Override
+                    public Object apply(ResponseOuterClass.Response response) throws GlideException {
+                        return Map.of(
+                                "kind",
+                                MessageHandler.PushKind.Invalidate,
+                                "values",
+                                values[pushes[0]++]);
+                    }
+                };
+        MessageHandler handler =
+                new MessageHandler(
+                        Optional.empty(), Optional.empty(), fakeResolver, Optional.of(nearCache));
+
+        // Act.
+        handler.handle(null);
+
+        // Assert.
+        assertEquals(1, nearCache.getKeyCount());
+        assertEquals("value", nearCache.get(gs("key3"), "GET"));
+        assertTrue(handler.getQueue().messageQueue.isEmpty());
+
+        // Flush of all keys.
+        handler.handle(null);
+        assertEquals(0, nearCache.getKeyCount());
+    }
 }
@@ -0,0 +1,82 @@
+/** Copyright Valkey GLIDE Project Contributors - SPDX Identifier: Apache-2.0 */
+package glide.connectors.handlers;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import command_request.CommandRequestOuterClass.Command;
+import command_request.CommandRequestOuterClass.CommandRequest;
+import command_request.CommandRequestOuterClass.RequestType;
+import glide.api.models.exceptions.ClosingException;
+import glide.api.models.exceptions.RequestException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import org.junit.jupiter.api.Test;
+import response.ResponseOuterClass.Response;
+
+/**
+ * Unit tests for NativeChannelHandler. Paths which submit requests to GLIDE core need the native
+ * library and are not covered here.
+ */
+public class NativeChannelHandlerTests {
+
+    @Test
+    public void write_before_connect_fails_only_that_request() {
+        var callbackDispatcher = new CallbackDispatcher(null);
+        var inFlight = new CompletableFuture<Response>();
+        callbackDispatcher.registerRequest(inFlight);
+        var handler = new NativeChannelHandler(callbackDispatcher);
+
+        var future = handler.write(ping(), true);
+
+        var exception = assertThrows(ExecutionException.class, future::get);
+        assertInstanceOf(ClosingException.class, exception.getCause());
+        assertFalse(inFlight.isDone());
+        assertFalse(handler.isClosed());
+    }
+
+    @Test
+    public void write_after_close_fails_request() {
+        var handler = new NativeChannelHandler(new CallbackDispatcher(null));
+        handler.close();
+
+        var future = handler.write(ping(), true);
+
+        var exception = assertThrows(ExecutionException.class, future::get);
+        assertInstanceOf(ClosingException.class, exception.getCause());
+    }
+
+    @Test
+    public void close_returns_completed_channel_future() {
+        var handler = new NativeChannelHandler(new CallbackDispatcher(null));
+
+        var future = handler.close();
+
+        assertTrue(future.isSuccess());
+        assertTrue(handler.isClosed());
+    }
+
+    @Test
+    public void failed_request_does_not_affect_other_requests() {
+        var callbackDispatcher = new CallbackDispatcher(null);
+        var inFlight = new CompletableFuture<Response>();
+        callbackDispatcher.registerRequest(inFlight);
+        var failed = new CompletableFuture<Response>();
+        int callbackIdx = callbackDispatcher.registerRequest(failed);
+        var handler = new NativeChannelHandler(callbackDispatcher);
+
+        handler.failRequest(callbackIdx, "Failed to submit a request");
+
+        var exception = assertThrows(ExecutionException.class, failed::get);
+        assertInstanceOf(RequestException.class, exception.getCause());
+        assertFalse(inFlight.isDone());
+        assertTrue(failed.isCompletedExceptionally());
+    }
+
+    private static CommandRequest.Builder ping() {
+        return CommandRequest.newBuilder()
+                .setSingleCommand(Command.newBuilder().setRequestType(RequestType.Ping));
+    }
+}
@@ -0,0 +1,60 @@
+/** Copyright Valkey GLIDE Project Contributors - SPDX Identifier: Apache-2.0 */
+package glide.connectors.handlers;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.protobuf.ByteString;
+import command_request.CommandRequestOuterClass.Command;
+import command_request.CommandRequestOuterClass.Command.ArgsArray;
+import command_request.CommandRequestOuterClass.CommandRequest;
+import command_request.CommandRequestOuterClass.RequestType;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.protobuf.ProtobufEncoder;
+import io.netty.handler.codec.protobuf.ProtobufVarint32LengthFieldPrepender;
+import java.util.Arrays;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/** Unit tests for ProtobufVarint32LengthPrefixedEncoder */
+public class ProtobufVarint32LengthPrefixedEncoderTests {
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 10, 127, 128, 16384, 1 << 20})
+    public void encoded_frame_matches_netty_protobuf_encoders(int valueSize) {
+        byte[] value = new byte[valueSize];
+        Arrays.fill(value, (byte) 'x');
+        var request =
+                CommandRequest.newBuilder()
+                        .setCallbackIdx(42)
+                        .setSingleCommand(
+                                Command.newBuilder()
+                                        .setRequestType(RequestType.Set)
+                                        .setArgsArray(
+                                                ArgsArray.newBuilder()
+                                                        .addArgs(ByteString.copyFromUtf8("key"))
+                                                        .addArgs(ByteString.copyFrom(value))))
+                        .build();
+
+        var channel = new EmbeddedChannel(new ProtobufVarint32LengthPrefixedEncoder());
+        assertTrue(channel.writeOutbound(request));
+        ByteBuf actual = channel.readOutbound();
+
+        var referenceChannel =
+                new EmbeddedChannel(new ProtobufVarint32LengthFieldPrepender(), new ProtobufEncoder());
+        assertTrue(referenceChannel.writeOutbound(request));
+        ByteBuf expected = referenceChannel.readOutbound();
+
+        assertTrue(actual.isDirect());
+        assertEquals(expected.readableBytes(), actual.readableBytes());
+        assertArrayEquals(ByteBufUtil.getBytes(expected), ByteBufUtil.getBytes(actual));
+
+        actual.release();
+        expected.release();
+        channel.finishAndReleaseAll();
+        referenceChannel.finishAndReleaseAll();
+    }
+}
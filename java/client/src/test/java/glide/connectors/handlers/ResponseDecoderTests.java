@@ -0,0 +1,246 @@
+/** Copyright Valkey GLIDE Project Contributors - SPDX Identifier: Apache-2.0 */
+package glide.connectors.handlers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.protobuf.ByteString;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.CorruptedFrameException;
+import java.util.List;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import response.ResponseOuterClass.ConstantResponse;
+import response.ResponseOuterClass.RequestError;
+import response.ResponseOuterClass.RequestErrorType;
+import response.ResponseOuterClass.Response;
+
+/** Unit tests for ResponseDecoder */
+public class ResponseDecoderTests {
+
+    private CallbackDispatcher callbackDispatcher;
+
+    @BeforeEach
+    public void init() {
+        callbackDispatcher = mock(CallbackDispatcher.class);
+    }
+
+    @Test
+    @SneakyThrows
+    public void decode_resp_pointer() {
+        var frame =
+                toFrame(Response.newBuilder().setCallbackIdx(42).setRespPointer(Long.MAX_VALUE));
+
+        ResponseDecoder.decode(frame, callbackDispatcher);
+
+        var captor = ArgumentCaptor.forClass(Response.class);
+        verify(callbackDispatcher).completeRequest(eq(42), captor.capture());
+        assertTrue(captor.getValue().hasRespPointer());
+        assertEquals(Long.MAX_VALUE, captor.getValue().getRespPointer());
+        assertEquals(0, frame.readableBytes());
+    }
+
+    @Test
+    @SneakyThrows
+    public void decode_constant_response() {
+        var frame =
+                toFrame(
+                        Response.newBuilder()
+                                .setCallbackIdx(1 << 30)
+                                .setConstantResponse(ConstantResponse.OK));
+
+        ResponseDecoder.decode(frame, callbackDispatcher);
+
+        var captor = ArgumentCaptor.forClass(Response.class);
+        verify(callbackDispatcher).completeRequest(eq(1 << 30), captor.capture());
+        assertTrue(captor.getValue().hasConstantResponse());
+        assertEquals(ConstantResponse.OK, captor.getValue().getConstantResponse());
+    }
+
+    @Test
+    @SneakyThrows
+    public void decode_null_response() {
+        // callback ID 0 isn't serialized at all, so the frame is empty
+        var frame = toFrame(Response.newBuilder().setCallbackIdx(0));
+
+        ResponseDecoder.decode(frame, callbackDispatcher);
+
+        var captor = ArgumentCaptor.forClass(Response.class);
+        verify(callbackDispatcher).completeRequest(eq(0), captor.capture());
+        assertFalse(captor.getValue().hasRespPointer());
+        assertFalse(captor.getValue().hasConstantResponse());
+    }
+
+    @Test
+    @SneakyThrows
+    public void decode_inline_values() {
+        var values =
+                List.of(
+                        Response.newBuilder().setIntValue(-42),
+                        Response.newBuilder().setDoubleValue(2.5),
+                        Response.newBuilder().setBoolValue(true),
+                        Response.newBuilder().setBytesValue(ByteString.copyFromUtf8("value")));
+        when(callbackDispatcher.isResolvableInAdvance(anyInt())).thenReturn(true);
+
+        for (var value : values) {
+            var frame = toFrame(value.clone().setCallbackIdx(5));
+            ResponseDecoder.decode(frame, callbackDispatcher);
+
+            var captor = ArgumentCaptor.forClass(Response.class);
+            verify(callbackDispatcher).completeRequest(eq(5), captor.capture());
+            assertEquals(value.build(), captor.getValue());
+            clearInvocations(callbackDispatcher);
+        }
+        verify(callbackDispatcher, never()).completeRequest(any());
+    }
+
+    @Test
+    public void decode_truncated_inline_bytes() {
+        var bytes =
+                Response.newBuilder()
+                        .setCallbackIdx(1)
+                        .setBytesValue(ByteString.copyFromUtf8("value"))
+                        .build()
+                        .toByteArray();
+        var frame = Unpooled.wrappedBuffer(bytes, 0, bytes.length - 1);
+
+        assertThrows(
+                CorruptedFrameException.class,
+                () -> ResponseDecoder.decode(frame, callbackDispatcher));
+    }
+
+    @Test
+    @SneakyThrows
+    public void decode_request_error_materializes_message() {
+        var response =
+                Response.newBuilder()
+                        .setCallbackIdx(7)
+                        .setRequestError(
+                                RequestError.newBuilder()
+                                        .setType(RequestErrorType.Timeout)
+                                        .setMessage("timeout"))
+                        .build();
+
+        ResponseDecoder.decode(toFrame(response.toBuilder()), callbackDispatcher);
+
+        verify(callbackDispatcher).completeRequest(response);
+        verify(callbackDispatcher, never()).completeRequest(anyInt(), any());
+    }
+
+    @Test
+    @SneakyThrows
+    public void decode_closing_error_materializes_message() {
+        var response = Response.newBuilder().setCallbackIdx(-1).setClosingError("closed").build();
+
+        ResponseDecoder.decode(toFrame(response.toBuilder()), callbackDispatcher);
+
+        verify(callbackDispatcher).completeRequest(response);
+        verify(callbackDispatcher, never()).completeRequest(anyInt(), any());
+    }
+
+    @Test
+    @SneakyThrows
+    public void decode_push_materializes_message() {
+        var response = Response.newBuilder().setRespPointer(100500).setIsPush(true).build();
+
+        ResponseDecoder.decode(toFrame(response.toBuilder()), callbackDispatcher);
+
+        verify(callbackDispatcher).completeRequest(response);
+        verify(callbackDispatcher, never()).completeRequest(anyInt(), any());
+    }
+
+    @Test
+    @SneakyThrows
+    public void decode_resp_pointer_into_batch() {
+        var batch = new ResponseBatch();
+        var frame = toFrame(Response.newBuilder().setCallbackIdx(42).setRespPointer(100500));
+        when(callbackDispatcher.isResolvableInAdvance(anyInt())).thenReturn(true);
+
+        ResponseDecoder.decode(frame, callbackDispatcher, batch);
+
+        assertEquals(1, batch.size());
+        verify(callbackDispatcher, never()).completeRequest(anyInt(), any());
+    }
+
+    @Test
+    @SneakyThrows
+    public void batch_completes_requests_in_arrival_order() {
+        var batch = new ResponseBatch();
+        when(callbackDispatcher.isResolvableInAdvance(anyInt())).thenReturn(false);
+
+        ResponseDecoder.decode(
+                toFrame(Response.newBuilder().setCallbackIdx(42).setRespPointer(100500)),
+                callbackDispatcher,
+                batch);
+        ResponseDecoder.decode(
+                toFrame(Response.newBuilder().setCallbackIdx(43).setConstantResponse(ConstantResponse.OK)),
+                callbackDispatcher,
+                batch);
+        ResponseDecoder.decode(
+                toFrame(Response.newBuilder().setCallbackIdx(44).setIntValue(5)),
+                callbackDispatcher,
+                batch);
+
+        // responses are held back until the read completes
+        assertEquals(3, batch.size());
+        verify(callbackDispatcher, never()).completeRequest(anyInt(), any());
+
+        batch.flush(callbackDispatcher);
+
+        assertEquals(0, batch.size());
+        var inOrder = inOrder(callbackDispatcher);
+        var captor = ArgumentCaptor.forClass(Response.class);
+        inOrder.verify(callbackDispatcher).completeRequest(eq(42), captor.capture());
+        assertEquals(100500, captor.getValue().getRespPointer());
+        inOrder.verify(callbackDispatcher).completeRequest(eq(43), any());
+        inOrder.verify(callbackDispatcher).completeRequest(eq(44), any());
+    }
+
+    @Test
+    @SneakyThrows
+    public void decode_flushes_batch_before_closing_error() {
+        var batch = new ResponseBatch();
+        var closingError = Response.newBuilder().setCallbackIdx(-1).setClosingError("closed").build();
+
+        ResponseDecoder.decode(
+                toFrame(Response.newBuilder().setCallbackIdx(5).setIntValue(1)), callbackDispatcher, batch);
+        ResponseDecoder.decode(toFrame(closingError.toBuilder()), callbackDispatcher, batch);
+
+        assertEquals(0, batch.size());
+        var inOrder = inOrder(callbackDispatcher);
+        inOrder.verify(callbackDispatcher).completeRequest(eq(5), any());
+        inOrder.verify(callbackDispatcher).completeRequest(closingError);
+    }
+
+    @Test
+    public void decode_truncated_frame() {
+        var bytes =
+                Response.newBuilder().setCallbackIdx(1).setRespPointer(1L << 40).build().toByteArray();
+        var frame = Unpooled.wrappedBuffer(bytes, 0, bytes.length - 1);
+
+        assertThrows(
+                CorruptedFrameException.class,
+                () -> ResponseDecoder.decode(frame, callbackDispatcher));
+    }
+
+    private static ByteBuf toFrame(Response.Builder response) {
+        var bytes = response.build().toByteArray();
+        var frame = Unpooled.directBuffer(bytes.length);
+        frame.writeBytes(bytes);
+        return frame;
+    }
+}
@@ -0,0 +1,174 @@
+/** Copyright Valkey GLIDE Project Contributors - SPDX Identifier: Apache-2.0 */
+package glide.connectors.handlers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.MessageLite;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import response.ResponseOuterClass.Response;
+
+/** Unit tests for SharedMemoryRing */
+public class SharedMemoryRingTests {
+
+    private static final int HEADER_SIZE = 256;
+
+    @Test
+    public void read_empty_ring() {
+        var ring = new SharedMemoryRing(ByteBuffer.allocateDirect(HEADER_SIZE + 64));
+
+        assertFalse(ring.read(Unpooled.buffer()));
+    }
+
+    @Test
+    @SneakyThrows
+    public void write_and_read_frames_across_the_wrap() {
+        var ring = new SharedMemoryRing(ByteBuffer.allocateDirect(HEADER_SIZE + 64));
+        var out = Unpooled.buffer();
+
+        // frames of 16, 24 and 32 bytes, so some of them are preceded by padding
+        for (int i = 0; i < 10; i++) {
+            var message = response(i, i % 3 * 7);
+            assertTrue(ring.write(message));
+            assertTrue(ring.read(out));
+            assertEquals(message, decode(out));
+        }
+        assertFalse(ring.read(out));
+    }
+
+    @Test
+    @SneakyThrows
+    public void write_to_closed_ring_fails_when_full() {
+        var buffer = ByteBuffer.allocateDirect(HEADER_SIZE + 32);
+        var ring = new SharedMemoryRing(buffer);
+        assertTrue(ring.write(response(1)));
+        assertTrue(ring.write(response(2)));
+
+        // the closed flag is at offset 192, see ring_transport.rs
+        buffer.putLong(192, 1);
+
+        assertTrue(ring.isClosed());
+        assertFalse(ring.write(response(3)));
+    }
+
+    @Test
+    @SneakyThrows
+    public void write_to_full_ring_waits_for_consumer() {
+        var ring = new SharedMemoryRing(ByteBuffer.allocateDirect(HEADER_SIZE + 32));
+        assertTrue(ring.write(response(1)));
+        assertTrue(ring.write(response(2)));
+
+        var written =
+                CompletableFuture.supplyAsync(
+                        () -> {
+                            try {
+                                return ring.write(response(3));
+                            } catch (IOException e) {
+                                throw new RuntimeException(e);
+                            }
+                        });
+        // long enough for the producer to back off
+        Thread.sleep(50);
+        assertFalse(written.isDone());
+
+        var out = Unpooled.buffer();
+        assertTrue(ring.read(out));
+        assertTrue(written.get(10, TimeUnit.SECONDS));
+        assertTrue(ring.read(out));
+        assertEquals(response(2), decode(out));
+        assertTrue(ring.read(out));
+        assertEquals(response(3), decode(out));
+    }
+
+    @Test
+    @SneakyThrows
+    public void frame_which_failed_to_encode_is_skipped() {
+        var ring = new SharedMemoryRing(ByteBuffer.allocateDirect(HEADER_SIZE + 64));
+        var message = response(1);
+        var failing = mock(MessageLite.class);
+        when(failing.getSerializedSize()).thenReturn(10);
+        doThrow(new IOException("broken")).when(failing).writeTo(any(CodedOutputStream.class));
+
+        assertTrue(ring.write(message));
+        assertThrows(IOException.class, () -> ring.write(failing));
+        assertTrue(ring.write(response(3)));
+
+        var out = Unpooled.buffer();
+        assertTrue(ring.read(out));
+        assertEquals(message, decode(out));
+        assertTrue(ring.read(out));
+        assertEquals(response(3), decode(out));
+        assertFalse(ring.read(out));
+    }
+
+    @Test
+    @SneakyThrows
+    public void concurrent_producers_publish_every_frame() {
+        var ring = new SharedMemoryRing(ByteBuffer.allocateDirect(HEADER_SIZE + 256));
+        int producers = 4;
+        int perProducer = 1000;
+        var futures = new ArrayList<CompletableFuture<Void>>();
+        for (int p = 0; p < producers; p++) {
+            int first = p * perProducer;
+            futures.add(
+                    CompletableFuture.runAsync(
+                            () -> {
+                                for (int i = first; i < first + perProducer; i++) {
+                                    try {
+                                        assertTrue(ring.write(response(i)));
+                                    } catch (IOException e) {
+                                        throw new RuntimeException(e);
+                                    }
+                                }
+                            }));
+        }
+
+        var seen = new HashSet<Integer>();
+        var out = Unpooled.buffer();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (seen.size() < producers * perProducer && System.nanoTime() < deadline) {
+            if (ring.read(out)) {
+                assertTrue(seen.add(decode(out).getCallbackIdx()));
+            }
+        }
+        for (var future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        assertEquals(producers * perProducer, seen.size());
+        assertFalse(ring.read(out));
+    }
+
+    private static Response response(int callbackIdx) {
+        return Response.newBuilder().setCallbackIdx(callbackIdx).setIsPush(true).build();
+    }
+
+    private static Response response(int callbackIdx, int valueLength) {
+        return Response.newBuilder()
+                .setCallbackIdx(callbackIdx)
+                .setBytesValue(ByteString.copyFrom(new byte[valueLength]))
+                .build();
+    }
+
+    @SneakyThrows
+    private static Response decode(ByteBuf frame) {
+        return Response.parseFrom(ByteBufUtil.getBytes(frame));
+    }
+}
@@ -0,0 +1,173 @@
+/** Copyright Valkey GLIDE Project Contributors - SPDX Identifier: Apache-2.0 */
+package glide.connectors.handlers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.protobuf.ByteString;
+import command_request.CommandRequestOuterClass.Command;
+import command_request.CommandRequestOuterClass.Command.ArgsArray;
+import command_request.CommandRequestOuterClass.CommandRequest;
+import command_request.CommandRequestOuterClass.RequestType;
+import connection_request.ConnectionRequestOuterClass.ConnectionRequest;
+import connection_request.ConnectionRequestOuterClass.PubSubChannelsOrPatterns;
+import connection_request.ConnectionRequestOuterClass.PubSubSubscriptions;
+import glide.api.models.configuration.ChannelStripingConfiguration;
+import glide.api.models.configuration.ChannelStripingConfiguration.StripingMode;
+import glide.api.models.exceptions.ConfigurationError;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import response.ResponseOuterClass.Response;
+
+/** Unit tests for StripedChannelHandler */
+public class StripedChannelHandlerTests {
+
+    private ChannelHandler[] channels;
+
+    @BeforeEach
+    public void init() {
+        channels = new ChannelHandler[3];
+        for (int i = 0; i < channels.length; i++) {
+            channels[i] = mock(ChannelHandler.class);
+            when(channels[i].write(any(), anyBoolean(), any())).thenReturn(new CompletableFuture<>());
+        }
+    }
+
+    @Test
+    public void round_robin_distributes_requests_evenly() {
+        var handler = new StripedChannelHandler(channels, StripingMode.ROUND_ROBIN);
+
+        for (int i = 0; i < 6; i++) {
+            handler.write(command("key" + i), true);
+        }
+
+        for (var channel : channels) {
+            verify(channel, times(2)).write(any(), anyBoolean(), any());
+        }
+    }
+
+    @Test
+    public void key_hash_sends_same_key_through_same_channel() {
+        var handler = new StripedChannelHandler(channels, StripingMode.KEY_HASH);
+
+        for (int i = 0; i < 5; i++) {
+            handler.write(command("key"), true);
+        }
+
+        int expected = Math.floorMod(ByteString.copyFromUtf8("key").hashCode(), channels.length);
+        verify(channels[expected], times(5)).write(any(), anyBoolean(), any());
+    }
+
+    @Test
+    public void key_hash_sends_arguments_passed_by_pointer_through_channel_of_key() {
+        var handler = new StripedChannelHandler(channels, StripingMode.KEY_HASH);
+
+        for (int i = 0; i < channels.length; i++) {
+            String key = "key" + i;
+            int hash = StripedChannelHandler.keyHash(key.getBytes(StandardCharsets.UTF_8));
+            handler.write(command(key), true);
+            handler.write(
+                    CommandRequest.newBuilder()
+                            .setSingleCommand(
+                                    Command.newBuilder().setRequestType(RequestType.Set).setArgsVecPointer(42)),
+                    hash,
+                    true,
+                    new CompletableFuture<>());
+
+            int expected = Math.floorMod(hash, channels.length);
+            verify(channels[expected], times(2)).write(any(), anyBoolean(), any());
+            for (var channel : channels) {
+                clearInvocations(channel);
+            }
+        }
+    }
+
+    @Test
+    public void key_hash_sends_requests_without_arguments_through_first_channel() {
+        var handler = new StripedChannelHandler(channels, StripingMode.KEY_HASH);
+
+        handler.write(
+                CommandRequest.newBuilder()
+                        .setSingleCommand(
+                                Command.newBuilder()
+                                        .setRequestType(RequestType.Ping)
+                                        .setArgsArray(ArgsArray.newBuilder())),
+                true);
+
+        verify(channels[0]).write(any(), anyBoolean(), any());
+    }
+
+    @Test
+    public void key_hash_is_the_default_mode() {
+        assertEquals(StripingMode.KEY_HASH, ChannelStripingConfiguration.builder().build().getMode());
+    }
+
+    @Test
+    public void rejects_channel_count_which_is_not_positive() {
+        assertThrows(
+                ConfigurationError.class,
+                () -> ChannelStripingConfiguration.builder().channelCount(0).build());
+    }
+
+    @Test
+    @SneakyThrows
+    public void connect_subscribes_first_channel_only() {
+        var response = Response.newBuilder().build();
+        for (var channel : channels) {
+            when(channel.connect(any())).thenReturn(CompletableFuture.completedFuture(response));
+        }
+        var request =
+                ConnectionRequest.newBuilder()
+                        .setClientName("name")
+                        .setPubsubSubscriptions(
+                                PubSubSubscriptions.newBuilder()
+                                        .putChannelsOrPatternsByType(
+                                                0,
+                                                PubSubChannelsOrPatterns.newBuilder()
+                                                        .addChannelsOrPatterns(
+                                                                ByteString.copyFromUtf8("channel"))
+                                                        .build()))
+                        .build();
+        var handler = new StripedChannelHandler(channels, StripingMode.ROUND_ROBIN);
+
+        assertSame(response, handler.connect(request).get());
+
+        verify(channels[0]).connect(request);
+        for (int i = 1; i < channels.length; i++) {
+            var captor = ArgumentCaptor.forClass(ConnectionRequest.class);
+            verify(channels[i]).connect(captor.capture());
+            assertFalse(captor.getValue().hasPubsubSubscriptions());
+            assertEquals("name", captor.getValue().getClientName());
+        }
+    }
+
+    @Test
+    public void closed_if_any_channel_is_closed() {
+        var handler = new StripedChannelHandler(channels, StripingMode.ROUND_ROBIN);
+        assertFalse(handler.isClosed());
+
+        when(channels[2].isClosed()).thenReturn(true);
+        assertTrue(handler.isClosed());
+    }
+
+    private static CommandRequest.Builder command(String key) {
+        var args = ArgsArray.newBuilder().addArgs(ByteString.copyFromUtf8(key));
+        return CommandRequest.newBuilder()
+                .setSingleCommand(
+                        Command.newBuilder().setRequestType(RequestType.Get).setArgsArray(args));
+    }
+}
@@ -4,18 +4,35 @@ package glide.ffi;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.google.protobuf.ByteString;
+import glide.api.models.GlideString;
+import glide.api.models.NativeBuffer;
 import glide.ffi.resolvers.GlideValueResolver;
+import glide.ffi.resolvers.NativeValueFactory;
+import glide.ffi.resolvers.SerializedValueDecoder;
+import glide.managers.BaseResponseResolver;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
 import lombok.SneakyThrows;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
+import response.ResponseOuterClass.Response;
 
 public class FfiTest {
 
@@ -45,6 +62,20 @@ public class FfiTest {
 
     public static native long createLeakedLongSet(long[] value);
 
+    public static native long createLeakedStreamRead(byte[] stream, int entryCount);
+
+    public static native long createLeakedBulkStringArray(byte[][] values);
+
+    public static native boolean isSerializedToJava(long pointer);
+
+    public static native byte[][] takeBytesVec(long pointer);
+
+    public static native long createLeakedMixedAggregate();
+
+    public static native byte[] serializeValue(long pointer);
+
+    public static native Object convertElementByElement(long pointer, int hint);
+
     // This tests that panics do not cross the FFI boundary and an exception is thrown if a panic is
     // caught
     public static native long handlePanics(
@@ -104,6 +135,30 @@ public class FfiTest {
         assertEquals(input, bulkStringValue);
     }
 
+    @ParameterizedTest
+    @ValueSource(ints = {31, 32, 5000})
+    public void redisValueToJavaValue_AsciiBulkString(int length) {
+        // testFfi sets the threshold, so strings of at least 32 ASCII bytes are created from the
+        // bytes as Latin-1 and shorter ones by NewStringUTF
+        assertEquals(32, GlideValueResolver.ASCII_STRING_THRESHOLD_IN_BYTES);
+        String input = "key:\0\t~".repeat(length).substring(0, length);
+        long ptr = FfiTest.createLeakedBulkString(input.getBytes(StandardCharsets.US_ASCII));
+        assertEquals(input, GlideValueResolver.valueFromPointer(ptr));
+
+        String nonAscii = "\u00e9".repeat(length);
+        ptr = FfiTest.createLeakedBulkString(nonAscii.getBytes(StandardCharsets.UTF_8));
+        assertEquals(nonAscii, GlideValueResolver.valueFromPointer(ptr));
+    }
+
+    @Test
+    public void redisValueToJavaValue_AsciiSimpleAndVerbatimStrings() {
+        String input = "a simple string which is longer than 32 characters";
+        assertEquals(
+                input, GlideValueResolver.valueFromPointer(FfiTest.createLeakedSimpleString(input)));
+        assertEquals(
+                input, GlideValueResolver.valueFromPointer(FfiTest.createLeakedVerbatimString(input)));
+    }
+
     @Test
     public void redisValueToJavaValue_Array() {
         long[] array = {1L, 2L, 3L};
@@ -114,6 +169,115 @@ public class FfiTest {
         assertArrayEquals(new Object[] {1L, 2L, 3L}, result);
     }
 
+    @Test
+    public void redisValueToJavaValue_LargeArray() {
+        // large aggregates are passed in the serialized form
+        long[] array = LongStream.range(0, 1000).toArray();
+        long ptr = FfiTest.createLeakedLongArray(array);
+        Object longArrayValue = GlideValueResolver.valueFromPointer(ptr);
+        assertArrayEquals(LongStream.range(0, 1000).boxed().toArray(), (Object[]) longArrayValue);
+    }
+
+    @Test
+    public void redisValueToJavaValue_StreamRead() {
+        // a single stream with many entries is large, though its map has a single entry
+        byte[] stream = "stream".getBytes(StandardCharsets.UTF_8);
+        long small = FfiTest.createLeakedStreamRead(stream, 1);
+        assertFalse(FfiTest.isSerializedToJava(small));
+        GlideValueResolver.releaseValue(small);
+
+        long ptr = FfiTest.createLeakedStreamRead(stream, 100);
+        assertTrue(FfiTest.isSerializedToJava(ptr));
+        Map<?, ?> result = (Map<?, ?>) GlideValueResolver.valueFromPointer(ptr);
+        assertEquals(1, result.size());
+        Object[] entries = (Object[]) result.get("stream");
+        assertEquals(100, entries.length);
+        assertArrayEquals(
+                new Object[] {"99-0", new Object[] {"field", "value99"}}, (Object[]) entries[99]);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 100})
+    public void valueFromPointerWithHint_typed_arrays_top_level_only(int entryCount) {
+        byte[] stream = "stream".getBytes(StandardCharsets.UTF_8);
+        long ptr = FfiTest.createLeakedStreamRead(stream, entryCount);
+        int hint = GlideValueResolver.ENCODING_UTF8 | GlideValueResolver.TYPED_ARRAYS;
+        Map<?, ?> result = (Map<?, ?>) GlideValueResolver.valueFromPointerWithHint(ptr, hint);
+        Object[] entries = (Object[]) result.get("stream");
+        assertEquals(Object[].class, entries.getClass());
+        Object[] entry = (Object[]) entries[0];
+        assertEquals(Object[].class, entry.getClass());
+        // an array of strings, yet not the top-level one
+        assertEquals(Object[].class, entry[1].getClass());
+    }
+
+    @Test
+    public void valueFromPointerWithHint_typed_string_arrays() {
+        byte[][] values = {"a".getBytes(StandardCharsets.UTF_8), null, new byte[0]};
+        int utf8 = GlideValueResolver.ENCODING_UTF8 | GlideValueResolver.TYPED_ARRAYS;
+        int binary = GlideValueResolver.GLIDE_STRINGS | GlideValueResolver.TYPED_ARRAYS;
+
+        Object strings =
+                GlideValueResolver.valueFromPointerWithHint(
+                        FfiTest.createLeakedBulkStringArray(values), utf8);
+        assertEquals(String[].class, strings.getClass());
+        assertArrayEquals(new String[] {"a", null, ""}, (String[]) strings);
+
+        Object glideStrings =
+                GlideValueResolver.valueFromPointerWithHint(
+                        FfiTest.createLeakedBulkStringArray(values), binary);
+        assertEquals(GlideString[].class, glideStrings.getClass());
+        assertArrayEquals(
+                new GlideString[] {GlideString.of("a"), null, GlideString.of("")},
+                (GlideString[]) glideStrings);
+
+        Object untyped =
+                GlideValueResolver.valueFromPointerWithHint(
+                        FfiTest.createLeakedBulkStringArray(values), GlideValueResolver.ENCODING_UTF8);
+        assertEquals(Object[].class, untyped.getClass());
+
+        // an array which holds a non-string can't be typed
+        Object longs =
+                GlideValueResolver.valueFromPointerWithHint(
+                        FfiTest.createLeakedLongArray(new long[] {1L}), utf8);
+        assertEquals(Object[].class, longs.getClass());
+    }
+
+    @Test
+    public void serialized_form_matches_the_decoder_byte_for_byte() {
+        long ptr = FfiTest.createLeakedLongArray(new long[] {1L, -2L});
+        byte[] serialized = FfiTest.serializeValue(ptr);
+        GlideValueResolver.releaseValue(ptr);
+
+        // an array tag, a big endian count, then an int tag and a big endian value per element
+        ByteBuffer expected = ByteBuffer.allocate(1 + 4 + 2 * (1 + 8));
+        expected.put((byte) 5).putInt(2).put((byte) 3).putLong(1L).put((byte) 3).putLong(-2L);
+        assertArrayEquals(expected.array(), serialized);
+        assertArrayEquals(
+                new Object[] {1L, -2L},
+                (Object[]) SerializedValueDecoder.decode(serialized, GlideValueResolver.ENCODING_UTF8));
+    }
+
+    @ParameterizedTest
+    @ValueSource(
+            ints = {
+                0,
+                GlideValueResolver.ENCODING_UTF8,
+                GlideValueResolver.GLIDE_STRINGS,
+                GlideValueResolver.ENCODING_UTF8 | GlideValueResolver.TYPED_ARRAYS,
+                GlideValueResolver.GLIDE_STRINGS | GlideValueResolver.TYPED_ARRAYS
+            })
+    public void serialized_form_decodes_as_element_by_element_conversion(int hint) {
+        long ptr = FfiTest.createLeakedMixedAggregate();
+        try {
+            assertTrue(FfiTest.isSerializedToJava(ptr));
+            Object decoded = SerializedValueDecoder.decode(FfiTest.serializeValue(ptr), hint);
+            assertSameValue(FfiTest.convertElementByElement(ptr, hint), decoded);
+        } finally {
+            GlideValueResolver.releaseValue(ptr);
+        }
+    }
+
     @Test
     public void redisValueToJavaValue_Map() {
         long[] keys = {12L, 14L, 23L};
@@ -164,6 +328,244 @@ public class FfiTest {
                 () -> assertEquals(result.size(), 2));
     }
 
+    @Test
+    public void redisValuesToJavaValues_batch() {
+        long[] pointers = {
+            FfiTest.createLeakedInt(42L), FfiTest.createLeakedNil(), FfiTest.createLeakedOkay()
+        };
+        Object[] values =
+                GlideValueResolver.valuesFromPointers(pointers, GlideValueResolver.ENCODING_UTF8);
+        assertArrayEquals(new Object[] {42L, null, "OK"}, values);
+    }
+
+    @Test
+    public void redisValuesToJavaValues_batch_fails_as_a_whole() {
+        // values are freed by the native call even if it fails, so they are not used afterwards
+        long[] pointers = {
+            FfiTest.createLeakedInt(42L),
+            FfiTest.createLeakedBulkString(new byte[] {(byte) 0xFF}),
+            FfiTest.createLeakedBulkString("value".getBytes(StandardCharsets.UTF_8))
+        };
+        assertThrows(
+                RuntimeException.class,
+                () -> GlideValueResolver.valuesFromPointers(pointers, GlideValueResolver.ENCODING_UTF8));
+    }
+
+    @Test
+    public void redisValuesToJavaValues_empty_batch() {
+        assertArrayEquals(
+                new Object[0],
+                GlideValueResolver.valuesFromPointers(new long[0], GlideValueResolver.ENCODING_UTF8));
+    }
+
+    @Test
+    public void prefetchValues_resolves_values_once() {
+        byte[] alpha = new byte[] {(byte) 0xCE, (byte) 0xB1};
+        Object[] values =
+                GlideValueResolver.prefetchValues(
+                        new long[] {FfiTest.createLeakedBulkString(alpha), FfiTest.createLeakedNil()});
+
+        assertArrayEquals(alpha, (byte[]) values[0]);
+        assertNull(values[1]);
+        GlideValueResolver.setPrefetchedValue(values[0]);
+        try {
+            assertEquals(
+                    new String(alpha, StandardCharsets.UTF_8),
+                    GlideValueResolver.resolveValue(GlideValueResolver.PREFETCHED_VALUE_HANDLE));
+            // a value can be resolved once
+            assertThrows(
+                    IllegalStateException.class,
+                    () -> GlideValueResolver.resolveValue(GlideValueResolver.PREFETCHED_VALUE_HANDLE));
+        } finally {
+            GlideValueResolver.clearPrefetchedValue();
+        }
+    }
+
+    @Test
+    public void valueFromPointerWithHint_glideString() {
+        byte[] bytes = new byte[] {(byte) 0xFF, 0};
+        long ptr = FfiTest.createLeakedBulkString(bytes);
+        Object value =
+                GlideValueResolver.valueFromPointerWithHint(ptr, GlideValueResolver.GLIDE_STRINGS);
+        assertEquals(GlideString.of(bytes), value);
+    }
+
+    @Test
+    public void prefetchValues_reshapes_values() {
+        byte[] bytes = "value".getBytes(StandardCharsets.UTF_8);
+        Object[] values =
+                GlideValueResolver.prefetchValues(
+                        new long[] {
+                            FfiTest.createLeakedBulkString(bytes), FfiTest.createLeakedBulkString(bytes)
+                        });
+
+        GlideValueResolver.setPrefetchedValue(values[0]);
+        assertEquals(
+                GlideString.of(bytes),
+                GlideValueResolver.resolveValue(
+                        GlideValueResolver.PREFETCHED_VALUE_HANDLE, GlideValueResolver.GLIDE_STRINGS));
+        GlideValueResolver.setPrefetchedValue(values[1]);
+        assertEquals(
+                "value",
+                GlideValueResolver.resolveValue(
+                        GlideValueResolver.PREFETCHED_VALUE_HANDLE, GlideValueResolver.ENCODING_UTF8));
+    }
+
+    @Test
+    public void valueView_array() {
+        long[] array = LongStream.range(0, 1000).toArray();
+        try (var view = NativeValueFactory.newView(createLeakedLongArray(array), true, o -> o)) {
+            assertEquals(1000, view.size());
+            assertFalse(view.isMap());
+            assertEquals(999L, view.get(999));
+            assertThrows(IndexOutOfBoundsException.class, () -> view.get(1000));
+            assertEquals(LongStream.range(0, 1000).sum(), sum(view));
+            assertArrayEquals(
+                    LongStream.range(0, 1000).boxed().toArray(), (Object[]) view.toValue());
+
+            view.close();
+            assertThrows(IllegalStateException.class, () -> view.get(0));
+        }
+    }
+
+    @Test
+    public void valueView_map() {
+        long ptr = FfiTest.createLeakedMap(new long[] {12L, 14L}, new long[] {1L, 2L});
+        try (var view = NativeValueFactory.newView(ptr, true, o -> o)) {
+            assertTrue(view.isMap());
+            assertEquals(2, view.size());
+            assertEquals(Map.entry(14L, 2L), view.get(1));
+            assertEquals(1L, view.getField("12"));
+            assertNull(view.getField("13"));
+        }
+    }
+
+    @Test
+    public void valueView_scalar() {
+        try (var view = NativeValueFactory.newView(FfiTest.createLeakedInt(42L), true, o -> o)) {
+            assertFalse(view.isAggregate());
+            assertThrows(IllegalStateException.class, view::size);
+            assertEquals(42L, view.toValue());
+        }
+    }
+
+    @Test
+    public void nativeBuffer_bulkString() {
+        byte[] bytes = "glide".getBytes(StandardCharsets.UTF_8);
+        var value = NativeValueFactory.newBuffer(FfiTest.createLeakedBulkString(bytes));
+        assertEquals(bytes.length, value.size());
+        assertArrayEquals(bytes, value.toByteArray());
+        ByteBuffer tail = ByteBuffer.allocate(3);
+        assertEquals(3, value.copyTo(2, tail));
+        assertArrayEquals("ide".getBytes(StandardCharsets.UTF_8), tail.array());
+        value.close();
+        assertThrows(IllegalStateException.class, value::toByteArray);
+        assertNull(NativeValueFactory.newBuffer(FfiTest.createLeakedNil()));
+    }
+
+    @SneakyThrows
+    @Test
+    public void nativeBuffer_close_does_not_wait_for_a_write() {
+        byte[] bytes = "glide".getBytes(StandardCharsets.UTF_8);
+        var value = NativeValueFactory.newBuffer(FfiTest.createLeakedBulkString(bytes));
+        var writing = new CountDownLatch(1);
+        var unblock = new CountDownLatch(1);
+        var output = new ByteArrayOutputStream();
+        WritableByteChannel channel =
+                new WritableByteChannel() {
+                    private final WritableByteChannel target = Channels.newChannel(output);
+
+                    @Override
+                    @SneakyThrows
+                    public int write(ByteBuffer src) {
+                        writing.countDown();
+                        unblock.await();
+                        return target.write(src);
+                    }
+
+                    @Override
+                    public boolean isOpen() {
+                        return true;
+                    }
+
+                    @Override
+                    public void close() {}
+                };
+
+        var written = CompletableFuture.supplyAsync(() -> writeTo(value, channel));
+        assertTrue(writing.await(10, TimeUnit.SECONDS));
+        // returns at once, the memory is freed once the write completes
+        value.close();
+        assertThrows(IllegalStateException.class, value::toByteArray);
+        unblock.countDown();
+        assertEquals(bytes.length, written.get(10, TimeUnit.SECONDS));
+        assertArrayEquals(bytes, output.toByteArray());
+    }
+
+    @SneakyThrows
+    private static int writeTo(NativeBuffer value, WritableByteChannel channel) {
+        return value.writeTo(channel, 0);
+    }
+
+    @Test
+    public void responseResolver_inline_values() {
+        var resolver = new BaseResponseResolver(pointer -> null, GlideValueResolver.ENCODING_UTF8);
+        assertEquals(-42L, resolver.apply(Response.newBuilder().setIntValue(-42).build()));
+        assertEquals(2.5, resolver.apply(Response.newBuilder().setDoubleValue(2.5).build()));
+        assertEquals(false, resolver.apply(Response.newBuilder().setBoolValue(false).build()));
+
+        var bytes = Response.newBuilder().setBytesValue(ByteString.copyFromUtf8("value")).build();
+        assertEquals("value", resolver.apply(bytes));
+        assertEquals(
+                GlideString.of("value"),
+                new BaseResponseResolver(pointer -> null, GlideValueResolver.GLIDE_STRINGS)
+                        .apply(bytes));
+        assertArrayEquals(
+                "value".getBytes(StandardCharsets.UTF_8),
+                (byte[]) new BaseResponseResolver(pointer -> null, 0).apply(bytes));
+
+        var invalidUtf8 =
+                Response.newBuilder().setBytesValue(ByteString.copyFrom(new byte[] {-1})).build();
+        assertThrows(RuntimeException.class, () -> resolver.apply(invalidUtf8));
+    }
+
+    @SneakyThrows
+    @Test
+    public void nativeBuffer_inline_bytes() {
+        byte[] bytes = "glide".getBytes(StandardCharsets.UTF_8);
+        try (var value = NativeBuffer.of(ByteBuffer.wrap(bytes))) {
+            var output = new ByteArrayOutputStream();
+            assertEquals(bytes.length, value.writeTo(Channels.newChannel(output), 0));
+            assertArrayEquals(bytes, output.toByteArray());
+        }
+    }
+
+    @Test
+    public void createArgsVec_splits_arguments() {
+        assertTrue(GlideValueResolver.ARGS_ARENA_ENABLED);
+        byte[][] args = {
+            "key".getBytes(StandardCharsets.UTF_8),
+            new byte[0],
+            "x".repeat(5000).getBytes(StandardCharsets.UTF_8)
+        };
+        long pointer = GlideValueResolver.createArgsVec(args, 5003);
+        assertArrayEquals(args, FfiTest.takeBytesVec(pointer));
+    }
+
+    @Test
+    public void createArgsVec_arguments_longer_than_given() {
+        byte[][] args = {"key".getBytes(StandardCharsets.UTF_8)};
+        assertThrows(RuntimeException.class, () -> GlideValueResolver.createArgsVec(args, 2));
+    }
+
+    private static long sum(Iterable<Object> values) {
+        long sum = 0;
+        for (Object value : values) {
+            sum += (Long) value;
+        }
+        return sum;
+    }
+
     @Test
     public void handlePanics_panic() {
         long expectedValue = 0L;
@@ -211,4 +613,36 @@ public class FfiTest {
     public void throwException_throwRuntimeException() {
         assertThrows(RuntimeException.class, () -> FfiTest.throwException(false, true, "My message"));
     }
+
+    /** Compare values by content and by type, arrays and nested values included. */
+    private static void assertSameValue(Object expected, Object actual) {
+        if (expected == null || actual == null) {
+            assertEquals(expected, actual);
+            return;
+        }
+        assertEquals(expected.getClass(), actual.getClass());
+        if (expected instanceof byte[]) {
+            assertArrayEquals((byte[]) expected, (byte[]) actual);
+        } else if (expected instanceof Object[]) {
+            Object[] expectedArray = (Object[]) expected;
+            Object[] actualArray = (Object[]) actual;
+            assertEquals(expectedArray.length, actualArray.length);
+            for (int i = 0; i < expectedArray.length; i++) {
+                assertSameValue(expectedArray[i], actualArray[i]);
+            }
+        } else if (expected instanceof Map) {
+            // maps are compared in iteration order, keys may be byte[]
+            var expectedEntries = ((Map<?, ?>) expected).entrySet().iterator();
+            var actualEntries = ((Map<?, ?>) actual).entrySet().iterator();
+            assertEquals(((Map<?, ?>) expected).size(), ((Map<?, ?>) actual).size());
+            while (expectedEntries.hasNext()) {
+                var expectedEntry = expectedEntries.next();
+                var actualEntry = actualEntries.next();
+                assertSameValue(expectedEntry.getKey(), actualEntry.getKey());
+                assertSameValue(expectedEntry.getValue(), actualEntry.getValue());
+            }
+        } else {
+            assertEquals(expected, actual);
+        }
+    }
 }
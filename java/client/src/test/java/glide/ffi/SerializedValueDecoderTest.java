@@ -0,0 +1,152 @@
+/** Copyright Valkey GLIDE Project Contributors - SPDX Identifier: Apache-2.0 */
+package glide.ffi;
+
+import static glide.api.models.GlideString.gs;
+import static glide.ffi.resolvers.GlideValueResolver.ENCODING_UTF8;
+import static glide.ffi.resolvers.GlideValueResolver.GLIDE_STRINGS;
+import static glide.ffi.resolvers.GlideValueResolver.TYPED_ARRAYS;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import glide.api.models.GlideString;
+import glide.ffi.resolvers.SerializedValueDecoder;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+
+public class SerializedValueDecoderTest {
+
+    @Test
+    @SneakyThrows
+    public void decode_array_of_scalars() {
+        var bytes = new ByteArrayOutputStream();
+        var out = new DataOutputStream(bytes);
+        out.writeByte(5); // array
+        out.writeInt(6);
+        out.writeByte(0); // nil
+        out.writeByte(2); // okay
+        out.writeByte(3); // int
+        out.writeLong(-42);
+        out.writeByte(7); // double
+        out.writeDouble(2.5);
+        out.writeByte(8); // boolean
+        out.writeByte(1);
+        writeString(out, 4, "value"); // bulk string
+
+        Object value = SerializedValueDecoder.decode(bytes.toByteArray(), ENCODING_UTF8);
+
+        assertArrayEquals(new Object[] {null, "OK", -42L, 2.5, true, "value"}, (Object[]) value);
+    }
+
+    @Test
+    @SneakyThrows
+    public void decode_map_keeps_the_order() {
+        var bytes = new ByteArrayOutputStream();
+        var out = new DataOutputStream(bytes);
+        out.writeByte(6); // map
+        out.writeInt(2);
+        writeString(out, 4, "b");
+        out.writeByte(3);
+        out.writeLong(1);
+        writeString(out, 4, "a");
+        out.writeByte(3);
+        out.writeLong(2);
+
+        Object value = SerializedValueDecoder.decode(bytes.toByteArray(), ENCODING_UTF8);
+
+        assertInstanceOf(LinkedHashMap.class, value);
+        assertEquals(List.of("b", "a"), List.copyOf(((Map<?, ?>) value).keySet()));
+        assertEquals(Map.of("b", 1L, "a", 2L), value);
+    }
+
+    @Test
+    @SneakyThrows
+    public void decode_binary_strings() {
+        var bytes = new ByteArrayOutputStream();
+        var out = new DataOutputStream(bytes);
+        out.writeByte(10); // set
+        out.writeInt(1);
+        writeString(out, 1, "simple");
+
+        Object value = SerializedValueDecoder.decode(bytes.toByteArray(), 0);
+
+        var set = (Set<?>) value;
+        assertEquals(1, set.size());
+        assertArrayEquals(
+                "simple".getBytes(StandardCharsets.UTF_8), (byte[]) set.iterator().next());
+    }
+
+    @Test
+    @SneakyThrows
+    public void decode_string_array_into_typed_array() {
+        var bytes = new ByteArrayOutputStream();
+        var out = new DataOutputStream(bytes);
+        out.writeByte(12); // array of strings
+        out.writeInt(3);
+        writeString(out, 4, "a");
+        out.writeByte(0);
+        writeString(out, 1, "b");
+        byte[] data = bytes.toByteArray();
+
+        Object binary = SerializedValueDecoder.decode(data, GLIDE_STRINGS | TYPED_ARRAYS);
+        assertArrayEquals(new GlideString[] {gs("a"), null, gs("b")}, (GlideString[]) binary);
+
+        Object utf8 = SerializedValueDecoder.decode(data, ENCODING_UTF8 | TYPED_ARRAYS);
+        assertArrayEquals(new String[] {"a", null, "b"}, (String[]) utf8);
+
+        Object untyped = SerializedValueDecoder.decode(data, GLIDE_STRINGS);
+        assertEquals(Object[].class, untyped.getClass());
+    }
+
+    @Test
+    @SneakyThrows
+    public void decode_nested_string_array_untyped() {
+        var bytes = new ByteArrayOutputStream();
+        var out = new DataOutputStream(bytes);
+        out.writeByte(12); // array of strings
+        out.writeInt(1);
+        writeString(out, 4, "a");
+        byte[] inner = bytes.toByteArray();
+        bytes.reset();
+        out.writeByte(5); // array
+        out.writeInt(1);
+        out.write(inner);
+        byte[] data = bytes.toByteArray();
+
+        var value = (Object[]) SerializedValueDecoder.decode(data, ENCODING_UTF8 | TYPED_ARRAYS);
+
+        assertEquals(Object[].class, value.getClass());
+        assertEquals(Object[].class, value[0].getClass());
+        assertArrayEquals(new Object[] {"a"}, (Object[]) value[0]);
+    }
+
+    @Test
+    @SneakyThrows
+    public void decode_invalid_utf8() {
+        var bytes = new ByteArrayOutputStream();
+        var out = new DataOutputStream(bytes);
+        out.writeByte(4);
+        out.writeInt(1);
+        out.writeByte(0xFF);
+
+        assertThrows(
+                RuntimeException.class,
+                () -> SerializedValueDecoder.decode(bytes.toByteArray(), ENCODING_UTF8));
+    }
+
+    @SneakyThrows
+    private static void writeString(DataOutputStream out, int tag, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeByte(tag);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+}
@@ -2,38 +2,57 @@
 package glide.managers;
 
 import static command_request.CommandRequestOuterClass.RequestType.CustomCommand;
+import static glide.api.models.GlideString.gs;
+import static glide.api.models.configuration.BaseClientConfiguration.DIRECT_EXECUTOR;
 import static glide.api.models.configuration.RequestRoutingConfiguration.SimpleMultiNodeRoute.ALL_NODES;
 import static glide.api.models.configuration.RequestRoutingConfiguration.SimpleMultiNodeRoute.ALL_PRIMARIES;
 import static glide.api.models.configuration.RequestRoutingConfiguration.SimpleSingleNodeRoute.RANDOM;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.protobuf.ByteString;
+import command_request.CommandRequestOuterClass.Command;
 import command_request.CommandRequestOuterClass.CommandRequest;
 import command_request.CommandRequestOuterClass.SimpleRoutes;
 import command_request.CommandRequestOuterClass.SlotTypes;
+import glide.api.models.ClusterBatch;
 import glide.api.models.ClusterTransaction;
+import glide.api.models.GlideString;
+import glide.api.models.PreparedCommand;
 import glide.api.models.Transaction;
 import glide.api.models.configuration.RequestRoutingConfiguration.ByAddressRoute;
 import glide.api.models.configuration.RequestRoutingConfiguration.Route;
 import glide.api.models.configuration.RequestRoutingConfiguration.SlotIdRoute;
 import glide.api.models.configuration.RequestRoutingConfiguration.SlotKeyRoute;
 import glide.api.models.configuration.RequestRoutingConfiguration.SlotType;
+import glide.api.models.exceptions.ClosingException;
 import glide.api.models.exceptions.RequestException;
+import glide.connectors.handlers.CallbackDispatcher;
 import glide.connectors.handlers.ChannelHandler;
+import glide.connectors.handlers.StripedChannelHandler;
+import glide.ffi.FfiTest;
+import glide.ffi.resolvers.GlideValueResolver;
+import java.nio.charset.StandardCharsets;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Stream;
 import lombok.SneakyThrows;
 import org.junit.jupiter.api.BeforeEach;
@@ -57,6 +76,24 @@ public class CommandManagerTest {
         service = new CommandManager(channelHandler);
     }
 
+    /** Complete the response promise written with a request once the given promise completes. */
+    private void mockWrite(CompletableFuture<Response> future) {
+        when(channelHandler.write(any(), anyInt(), anyBoolean(), any()))
+                .thenAnswer(
+                        invocation -> {
+                            CompletableFuture<Response> written = invocation.getArgument(3);
+                            future.whenComplete(
+                                    (response, exception) -> {
+                                        if (exception != null) {
+                                            written.completeExceptionally(exception);
+                                        } else {
+                                            written.complete(response);
+                                        }
+                                    });
+                            return written;
+                        });
+    }
+
     @Test
     @SneakyThrows
     public void submitNewCommand_return_Object_result() {
@@ -68,7 +105,7 @@ public class CommandManagerTest {
 
         CompletableFuture<Response> future = new CompletableFuture<>();
         future.complete(respPointerResponse);
-        when(channelHandler.write(any(), anyBoolean())).thenReturn(future);
+        mockWrite(future);
         when(channelHandler.isClosed()).thenReturn(false);
 
         // exercise
@@ -90,7 +127,7 @@ public class CommandManagerTest {
         Response respPointerResponse = Response.newBuilder().build();
         CompletableFuture<Response> future = new CompletableFuture<>();
         future.complete(respPointerResponse);
-        when(channelHandler.write(any(), anyBoolean())).thenReturn(future);
+        mockWrite(future);
         when(channelHandler.isClosed()).thenReturn(false);
 
         // exercise
@@ -107,6 +144,215 @@ public class CommandManagerTest {
         assertNull(respPointer);
     }
 
+    @Test
+    @SneakyThrows
+    public void submitNewCommand_with_direct_executor_completes_in_place() {
+        // setup
+        var directService = new CommandManager(channelHandler, DIRECT_EXECUTOR);
+        CompletableFuture<Response> future = new CompletableFuture<>();
+        mockWrite(future);
+        when(channelHandler.isClosed()).thenReturn(false);
+
+        // exercise
+        CompletableFuture<Thread> result =
+                directService.submitNewCommand(
+                        CustomCommand, new String[0], response -> Thread.currentThread());
+        future.complete(Response.newBuilder().build());
+
+        // verify
+        assertTrue(result.isDone());
+        assertEquals(Thread.currentThread(), result.get());
+    }
+
+    @Test
+    public void populateCommandWithArgs_encodes_every_argument_type() {
+        var builder = Command.newBuilder();
+        byte[] binary = new byte[] {(byte) 0xFF, 0};
+
+        CommandManager.populateCommandWithArgs(
+                new Object[] {"key", gs(binary), binary, 42, "\u00e9"}, builder);
+
+        assertEquals(
+                List.of(
+                        ByteString.copyFromUtf8("key"),
+                        ByteString.copyFrom(binary),
+                        ByteString.copyFrom(binary),
+                        ByteString.copyFromUtf8("42"),
+                        ByteString.copyFromUtf8("\u00e9")),
+                builder.getArgsArray().getArgsList());
+    }
+
+    @Test
+    public void populateCommandWithArgs_copies_arrays_of_the_caller() {
+        var builder = Command.newBuilder();
+        byte[] binary = new byte[] {1, 2};
+        byte[] glideBinary = new byte[] {3, 4};
+
+        CommandManager.populateCommandWithArgs(new Object[] {binary, gs(glideBinary)}, builder);
+        binary[0] = 0;
+        glideBinary[0] = 0;
+
+        assertEquals(
+                List.of(ByteString.copyFrom(new byte[] {1, 2}), ByteString.copyFrom(new byte[] {3, 4})),
+                builder.getArgsArray().getArgsList());
+    }
+
+    @Test
+    public void submitNewCommand_passes_key_hash_along_with_arguments_in_native_memory() {
+        mockWrite(new CompletableFuture<>());
+        when(channelHandler.isClosed()).thenReturn(false);
+        ArgumentCaptor<CommandRequest.Builder> captor =
+                ArgumentCaptor.forClass(CommandRequest.Builder.class);
+        byte[] value = new byte[(int) GlideValueResolver.REQUEST_ARGS_THRESHOLD_IN_BYTES];
+
+        service.submitNewCommand(CustomCommand, new GlideString[] {gs("key"), gs(value)}, r -> null);
+
+        int keyHash = StripedChannelHandler.keyHash("key".getBytes(StandardCharsets.UTF_8));
+        verify(channelHandler).write(captor.capture(), eq(keyHash), anyBoolean(), any());
+        Command command = captor.getValue().getSingleCommand();
+        assertTrue(command.hasArgsVecPointer());
+        GlideValueResolver.releaseBytesVec(command.getArgsVecPointer());
+    }
+
+    @Test
+    public void submitPreparedCommand_fills_slots_and_route() {
+        mockWrite(new CompletableFuture<>());
+        when(channelHandler.isClosed()).thenReturn(false);
+        ArgumentCaptor<CommandRequest.Builder> captor =
+                ArgumentCaptor.forClass(CommandRequest.Builder.class);
+        GlideString[] template = {gs("HINCRBY"), null, gs("field"), null};
+        PreparedCommand command = service.prepareCommand(CustomCommand, template, RANDOM);
+
+        service.submitPreparedCommand(command, new GlideString[] {gs("k1"), gs("1")}, r -> null);
+        service.submitPreparedCommand(command, new GlideString[] {gs("k2"), gs("5")}, r -> null);
+        verify(channelHandler, times(2)).write(captor.capture(), anyInt(), anyBoolean(), any());
+
+        Command first = captor.getAllValues().get(0).getSingleCommand();
+        CommandRequest.Builder second = captor.getAllValues().get(1);
+        assertAll(
+                () ->
+                        assertEquals(
+                                List.of(
+                                        ByteString.copyFromUtf8("HINCRBY"),
+                                        ByteString.copyFromUtf8("k1"),
+                                        ByteString.copyFromUtf8("field"),
+                                        ByteString.copyFromUtf8("1")),
+                                first.getArgsArray().getArgsList()),
+                () ->
+                        assertEquals(
+                                ByteString.copyFromUtf8("k2"),
+                                second.getSingleCommand().getArgsArray().getArgs(1)),
+                () -> assertEquals(CustomCommand, second.getSingleCommand().getRequestType()),
+                () -> assertEquals(SimpleRoutes.Random, second.getRoute().getSimpleRoutes()));
+        GlideString[] missingValue = {gs("k3")};
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> service.submitPreparedCommand(command, missingValue, r -> null));
+    }
+
+    @Test
+    @SneakyThrows
+    public void cancelled_request_releases_response_value() {
+        // setup
+        var directService = new CommandManager(channelHandler, DIRECT_EXECUTOR);
+        CompletableFuture<Response> future = new CompletableFuture<>();
+        mockWrite(future);
+        when(channelHandler.isClosed()).thenReturn(false);
+        var handled = new AtomicBoolean(false);
+
+        // exercise
+        CompletableFuture<Object> result =
+                directService.submitNewCommand(
+                        CustomCommand, new String[0], response -> handled.getAndSet(true));
+        result.cancel(false);
+        future.complete(
+                Response.newBuilder().setRespPointer(FfiTest.createLeakedInt(42)).build());
+
+        // verify
+        assertFalse(handled.get());
+        assertEquals(0, directService.getNativeValueCount());
+    }
+
+    @Test
+    @SneakyThrows
+    public void prefetched_value_is_passed_to_response_handler() {
+        // setup
+        var directService = new CommandManager(channelHandler, DIRECT_EXECUTOR);
+        var dispatcher = new CallbackDispatcher(null);
+        ArgumentCaptor<CompletableFuture<Response>> written =
+                ArgumentCaptor.forClass(CompletableFuture.class);
+        when(channelHandler.isClosed()).thenReturn(false);
+        byte[] value = "value".getBytes(StandardCharsets.UTF_8);
+
+        // exercise
+        CompletableFuture<Object> result =
+                directService.submitNewCommand(
+                        CustomCommand,
+                        new String[0],
+                        new BaseResponseResolver(GlideValueResolver::resolveValue));
+        verify(channelHandler).write(any(), anyInt(), anyBoolean(), written.capture());
+        int callbackId = dispatcher.registerRequest(written.getValue());
+        assertTrue(dispatcher.isResolvableInAdvance(callbackId));
+        dispatcher.completeRequestWithValue(callbackId, value);
+
+        // verify
+        assertEquals("value", result.get());
+        assertEquals(0, directService.getNativeValueCount());
+    }
+
+    @Test
+    @SneakyThrows
+    public void args_vectors_are_counted_until_request_completes() {
+        // setup
+        var directService = new CommandManager(channelHandler, DIRECT_EXECUTOR);
+        CompletableFuture<Response> future = new CompletableFuture<>();
+        mockWrite(future);
+        when(channelHandler.isClosed()).thenReturn(false);
+        // the vector is consumed by GLIDE core once written, so it's never dereferenced here
+        var command =
+                CommandRequest.newBuilder()
+                        .setSingleCommand(
+                                Command.newBuilder().setRequestType(CustomCommand).setArgsVecPointer(42));
+
+        // exercise
+        CompletableFuture<Object> result =
+                directService.submitCommandToChannel(command, response -> "OK");
+        assertEquals(1, directService.getNativeValueCount());
+        future.complete(Response.newBuilder().build());
+
+        // verify
+        assertEquals("OK", result.get());
+        assertEquals(0, directService.getNativeValueCount());
+    }
+
+    @Test
+    @SneakyThrows
+    public void releaseNativeValues_fails_pending_responses() {
+        // setup
+        var tasks = new LinkedList<Runnable>();
+        var queuedService = new CommandManager(channelHandler, tasks::add);
+        CompletableFuture<Response> future = new CompletableFuture<>();
+        mockWrite(future);
+        when(channelHandler.isClosed()).thenReturn(false);
+
+        // exercise
+        CompletableFuture<Object> result =
+                queuedService.submitNewCommand(
+                        CustomCommand,
+                        new String[0],
+                        new BaseResponseResolver(GlideValueResolver::resolveValue));
+        future.complete(
+                Response.newBuilder().setRespPointer(FfiTest.createLeakedInt(42)).build());
+        assertEquals(1, queuedService.getNativeValueCount());
+        queuedService.releaseNativeValues();
+        tasks.forEach(Runnable::run);
+
+        // verify
+        assertEquals(0, queuedService.getNativeValueCount());
+        var exception = assertThrows(ExecutionException.class, result::get);
+        assertInstanceOf(ClosingException.class, exception.getCause());
+    }
+
     @Test
     @SneakyThrows
     public void submitNewCommand_return_String_result() {
@@ -119,7 +365,7 @@ public class CommandManagerTest {
 
         CompletableFuture<Response> future = new CompletableFuture<>();
         future.complete(respPointerResponse);
-        when(channelHandler.write(any(), anyBoolean())).thenReturn(future);
+        mockWrite(future);
         when(channelHandler.isClosed()).thenReturn(false);
 
         // exercise
@@ -143,14 +389,14 @@ public class CommandManagerTest {
     @MethodSource("getEnumRoutes")
     public void prepare_request_with_simple_routes(Route routeType) {
         CompletableFuture<Response> future = new CompletableFuture<>();
-        when(channelHandler.write(any(), anyBoolean())).thenReturn(future);
+        mockWrite(future);
         when(channelHandler.isClosed()).thenReturn(false);
 
         ArgumentCaptor<CommandRequest.Builder> captor =
                 ArgumentCaptor.forClass(CommandRequest.Builder.class);
 
         service.submitNewCommand(CustomCommand, new String[0], routeType, r -> null);
-        verify(channelHandler).write(captor.capture(), anyBoolean());
+        verify(channelHandler).write(captor.capture(), anyInt(), anyBoolean(), any());
         var requestBuilder = captor.getValue();
 
         var protobufToClientRouteMapping =
@@ -174,7 +420,7 @@ public class CommandManagerTest {
     @EnumSource(value = SlotType.class)
     public void prepare_request_with_slot_id_routes(SlotType slotType) {
         CompletableFuture<Response> future = new CompletableFuture<>();
-        when(channelHandler.write(any(), anyBoolean())).thenReturn(future);
+        mockWrite(future);
         when(channelHandler.isClosed()).thenReturn(false);
 
         ArgumentCaptor<CommandRequest.Builder> captor =
@@ -182,7 +428,7 @@ public class CommandManagerTest {
 
         service.submitNewCommand(
                 CustomCommand, new String[0], new SlotIdRoute(42, slotType), r -> null);
-        verify(channelHandler).write(captor.capture(), anyBoolean());
+        verify(channelHandler).write(captor.capture(), anyInt(), anyBoolean(), any());
         var requestBuilder = captor.getValue();
 
         var protobufToClientRouteMapping =
@@ -207,7 +453,7 @@ public class CommandManagerTest {
     @EnumSource(value = SlotType.class)
     public void prepare_request_with_slot_key_routes(SlotType slotType) {
         CompletableFuture<Response> future = new CompletableFuture<>();
-        when(channelHandler.write(any(), anyBoolean())).thenReturn(future);
+        mockWrite(future);
         when(channelHandler.isClosed()).thenReturn(false);
 
         ArgumentCaptor<CommandRequest.Builder> captor =
@@ -215,7 +461,7 @@ public class CommandManagerTest {
 
         service.submitNewCommand(
                 CustomCommand, new String[0], new SlotKeyRoute("TEST", slotType), r -> null);
-        verify(channelHandler).write(captor.capture(), anyBoolean());
+        verify(channelHandler).write(captor.capture(), anyInt(), anyBoolean(), any());
         var requestBuilder = captor.getValue();
 
         var protobufToClientRouteMapping =
@@ -239,7 +485,7 @@ public class CommandManagerTest {
     @Test
     public void prepare_request_with_by_address_route() {
         CompletableFuture<Response> future = new CompletableFuture<>();
-        when(channelHandler.write(any(), anyBoolean())).thenReturn(future);
+        mockWrite(future);
         when(channelHandler.isClosed()).thenReturn(false);
 
         ArgumentCaptor<CommandRequest.Builder> captor =
@@ -247,7 +493,7 @@ public class CommandManagerTest {
 
         service.submitNewCommand(
                 CustomCommand, new String[0], new ByAddressRoute("testhost", 6379), r -> null);
-        verify(channelHandler).write(captor.capture(), anyBoolean());
+        verify(channelHandler).write(captor.capture(), anyInt(), anyBoolean(), any());
         var requestBuilder = captor.getValue();
 
         assertAll(
@@ -263,7 +509,7 @@ public class CommandManagerTest {
     @Test
     public void prepare_request_with_unknown_route_type() {
         CompletableFuture<Response> future = new CompletableFuture<>();
-        when(channelHandler.write(any(), anyBoolean())).thenReturn(future);
+        mockWrite(future);
 
         var exception =
                 assertThrows(
@@ -284,7 +530,7 @@ public class CommandManagerTest {
         trans.customCommand(arg1).customCommand(arg2).customCommand(arg3);
 
         CompletableFuture<Response> future = new CompletableFuture<>();
-        when(channelHandler.write(any(), anyBoolean())).thenReturn(future);
+        mockWrite(future);
         when(channelHandler.isClosed()).thenReturn(false);
 
         ArgumentCaptor<CommandRequest.Builder> captor =
@@ -294,7 +540,7 @@ public class CommandManagerTest {
         service.submitNewTransaction(trans, r -> null);
 
         // verify
-        verify(channelHandler).write(captor.capture(), anyBoolean());
+        verify(channelHandler).write(captor.capture(), anyInt(), anyBoolean(), any());
         var requestBuilder = captor.getValue();
 
         // verify
@@ -313,6 +559,51 @@ public class CommandManagerTest {
         }
     }
 
+    @Test
+    public void submitNewBatch_sends_protobuf_batch_request() {
+        // setup
+        ClusterBatch batch = new ClusterBatch().set("key1", "one").get("key2");
+
+        CompletableFuture<Response> future = new CompletableFuture<>();
+        mockWrite(future);
+        when(channelHandler.isClosed()).thenReturn(false);
+
+        ArgumentCaptor<CommandRequest.Builder> captor =
+                ArgumentCaptor.forClass(CommandRequest.Builder.class);
+
+        // exercise
+        service.submitNewBatch(batch, Optional.empty(), r -> null);
+
+        // verify
+        verify(channelHandler).write(captor.capture(), anyInt(), anyBoolean(), any());
+        var requestBuilder = captor.getValue();
+        assertTrue(requestBuilder.hasBatch());
+        assertFalse(requestBuilder.hasTransaction());
+        assertFalse(requestBuilder.hasRoute());
+        assertEquals(batch.getProtobufTransaction().build(), requestBuilder.getBatch());
+    }
+
+    @Test
+    public void submitNewBatch_rejects_second_execution_with_arguments_in_native_memory() {
+        mockWrite(new CompletableFuture<>());
+        when(channelHandler.isClosed()).thenReturn(false);
+        ArgumentCaptor<CommandRequest.Builder> captor =
+                ArgumentCaptor.forClass(CommandRequest.Builder.class);
+        byte[] value = new byte[(int) GlideValueResolver.REQUEST_ARGS_THRESHOLD_IN_BYTES];
+        ClusterBatch batch =
+                new ClusterBatch().customCommand(new GlideString[] {gs("SET"), gs("key"), gs(value)});
+
+        service.submitNewBatch(batch, Optional.empty(), r -> null);
+
+        assertThrows(
+                IllegalStateException.class,
+                () -> service.submitNewBatch(batch, Optional.empty(), r -> null));
+        verify(channelHandler).write(captor.capture(), anyInt(), anyBoolean(), any());
+        Command command = captor.getValue().getBatch().getCommands(0);
+        assertTrue(command.hasArgsVecPointer());
+        GlideValueResolver.releaseBytesVec(command.getArgsVecPointer());
+    }
+
     @ParameterizedTest
     @MethodSource("getEnumRoutes")
     public void submitNewCommand_with_ClusterTransaction_with_route_sends_protobuf_request(
@@ -325,14 +616,14 @@ public class CommandManagerTest {
                 new ClusterTransaction().customCommand(arg1).customCommand(arg2).customCommand(arg3);
 
         CompletableFuture<Response> future = new CompletableFuture<>();
-        when(channelHandler.write(any(), anyBoolean())).thenReturn(future);
+        mockWrite(future);
         when(channelHandler.isClosed()).thenReturn(false);
 
         ArgumentCaptor<CommandRequest.Builder> captor =
                 ArgumentCaptor.forClass(CommandRequest.Builder.class);
 
         service.submitNewTransaction(trans, Optional.of(routeType), r -> null);
-        verify(channelHandler).write(captor.capture(), anyBoolean());
+        verify(channelHandler).write(captor.capture(), anyInt(), anyBoolean(), any());
         var requestBuilder = captor.getValue();
 
         var protobufToClientRouteMapping =
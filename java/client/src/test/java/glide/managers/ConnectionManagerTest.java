@@ -83,6 +83,7 @@ public class ConnectionManagerTest {
                         .setTlsMode(TlsMode.NoTls)
                         .setClusterModeEnabled(false)
                         .setReadFrom(ConnectionRequestOuterClass.ReadFrom.Primary)
+                        .setInlineScalarResponses(true)
                         .build();
         CompletableFuture<Response> completedFuture = new CompletableFuture<>();
         Response response = Response.newBuilder().setConstantResponse(ConstantResponse.OK).build();
@@ -108,6 +109,7 @@ public class ConnectionManagerTest {
                         .setTlsMode(TlsMode.NoTls)
                         .setClusterModeEnabled(true)
                         .setReadFrom(ConnectionRequestOuterClass.ReadFrom.Primary)
+                        .setInlineScalarResponses(true)
                         .build();
         CompletableFuture<Response> completedFuture = new CompletableFuture<>();
         Response response = Response.newBuilder().setConstantResponse(ConstantResponse.OK).build();
@@ -164,6 +166,7 @@ public class ConnectionManagerTest {
                                         .build())
                         .setTlsMode(TlsMode.SecureTls)
                         .setReadFrom(ConnectionRequestOuterClass.ReadFrom.PreferReplica)
+                        .setInlineScalarResponses(true)
                         .setClusterModeEnabled(false)
                         .setAuthenticationInfo(
                                 AuthenticationInfo.newBuilder().setUsername(USERNAME).setPassword(PASSWORD).build())
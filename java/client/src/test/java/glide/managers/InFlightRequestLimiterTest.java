@@ -0,0 +1,243 @@
+/** Copyright Valkey GLIDE Project Contributors - SPDX Identifier: Apache-2.0 */
+package glide.managers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import glide.api.models.configuration.InFlightLimitConfiguration;
+import glide.api.models.configuration.InFlightLimitConfiguration.OverloadPolicy;
+import glide.api.models.exceptions.ClosingException;
+import glide.api.models.exceptions.ConfigurationError;
+import glide.api.models.exceptions.RequestException;
+import io.netty.util.concurrent.FastThreadLocalThread;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import response.ResponseOuterClass.Response;
+
+public class InFlightRequestLimiterTest {
+
+    @Test
+    public void fail_fast_rejects_requests_above_the_limit() {
+        var limiter = limiter(OverloadPolicy.FAIL_FAST, 0);
+        var first = new TestRequest(limiter);
+        var rejected = new TestRequest(limiter);
+
+        limiter.submit(first);
+        limiter.submit(rejected);
+
+        assertTrue(first.isSubmitted);
+        assertFalse(rejected.isSubmitted);
+        var exception = assertThrows(ExecutionException.class, rejected.future::get);
+        assertInstanceOf(RequestException.class, exception.getCause());
+        assertEquals(1, limiter.getInFlightCount());
+
+        first.future.complete(Response.getDefaultInstance());
+        assertEquals(0, limiter.getInFlightCount());
+    }
+
+    @Test
+    public void queue_submits_requests_once_permits_are_returned() {
+        var limiter = limiter(OverloadPolicy.QUEUE, 1);
+        var first = new TestRequest(limiter);
+        var queued = new TestRequest(limiter);
+        var rejected = new TestRequest(limiter);
+
+        limiter.submit(first);
+        limiter.submit(queued);
+        limiter.submit(rejected);
+
+        assertEquals(1, limiter.getInFlightCount());
+        assertEquals(1, limiter.getQueuedCount());
+        assertThrows(ExecutionException.class, rejected.future::get);
+        assertFalse(queued.isSubmitted);
+
+        first.future.complete(Response.getDefaultInstance());
+        assertTrue(queued.isSubmitted);
+        assertEquals(0, limiter.getQueuedCount());
+        assertEquals(1, limiter.getInFlightCount());
+
+        queued.future.complete(Response.getDefaultInstance());
+        assertEquals(0, limiter.getInFlightCount());
+    }
+
+    @Test
+    @SneakyThrows
+    public void block_waits_for_a_permit() {
+        var limiter = limiter(OverloadPolicy.BLOCK, 0);
+        var first = new TestRequest(limiter);
+        limiter.submit(first);
+
+        var second = new TestRequest(limiter);
+        var thread = new Thread(() -> limiter.submit(second));
+        thread.start();
+        thread.join(100);
+        assertTrue(thread.isAlive());
+
+        first.future.complete(Response.getDefaultInstance());
+        thread.join();
+        assertTrue(second.isSubmitted);
+        assertEquals(1, limiter.getInFlightCount());
+    }
+
+    @Test
+    public void block_rejects_requests_submitted_by_a_completion() {
+        var limiter = limiter(OverloadPolicy.BLOCK, 0);
+        limiter.submit(new TestRequest(limiter));
+
+        var rejected = new TestRequest(limiter);
+        boolean wasCompleting = InFlightRequestLimiter.enterCompletion();
+        try {
+            limiter.submit(rejected);
+        } finally {
+            InFlightRequestLimiter.exitCompletion(wasCompleting);
+        }
+
+        assertFalse(rejected.isSubmitted);
+        var exception = assertThrows(ExecutionException.class, rejected.future::get);
+        assertInstanceOf(RequestException.class, exception.getCause());
+    }
+
+    @Test
+    @SneakyThrows
+    public void block_rejects_requests_submitted_by_an_event_loop() {
+        var limiter = limiter(OverloadPolicy.BLOCK, 0);
+        limiter.submit(new TestRequest(limiter));
+
+        var rejected = new TestRequest(limiter);
+        var thread = new FastThreadLocalThread(() -> limiter.submit(rejected));
+        thread.start();
+        thread.join(10_000);
+
+        assertFalse(thread.isAlive());
+        assertFalse(rejected.isSubmitted);
+        var exception = assertThrows(ExecutionException.class, rejected.future::get);
+        assertInstanceOf(RequestException.class, exception.getCause());
+    }
+
+    @Test
+    public void rejects_invalid_configuration() {
+        assertThrows(
+                ConfigurationError.class,
+                () -> InFlightLimitConfiguration.builder().maxInFlightRequests(0).build());
+        assertThrows(
+                ConfigurationError.class,
+                () -> InFlightLimitConfiguration.builder().maxQueuedRequests(-1).build());
+    }
+
+    @Test
+    public void failed_queued_submission_fails_the_request() {
+        var limiter = limiter(OverloadPolicy.QUEUE, 1);
+        var first = new TestRequest(limiter);
+        var failing =
+                new TestRequest(limiter) {
+                    @Override
+                    public void submit() {
+                        // a request returns its permit even if its submission fails
+                        limiter.release();
+                        throw new IllegalStateException();
+                    }
+                };
+        limiter.submit(first);
+        limiter.submit(failing);
+
+        first.future.complete(Response.getDefaultInstance());
+
+        var exception = assertThrows(ExecutionException.class, failing.future::get);
+        assertInstanceOf(IllegalStateException.class, exception.getCause());
+        assertEquals(0, limiter.getInFlightCount());
+    }
+
+    @Test
+    public void queue_drains_requests_failing_at_once_without_recursion() {
+        var limiter =
+                new InFlightRequestLimiter(
+                        InFlightLimitConfiguration.builder()
+                                .maxInFlightRequests(1)
+                                .policy(OverloadPolicy.QUEUE)
+                                .maxQueuedRequests(100_000)
+                                .build());
+        var first = new TestRequest(limiter);
+        limiter.submit(first);
+        var queued = new ArrayList<TestRequest>();
+        for (int i = 0; i < 100_000; i++) {
+            // as submitted to a closed channel
+            var request = new TestRequest(limiter, new ClosingException("closed"));
+            queued.add(request);
+            limiter.submit(request);
+        }
+
+        first.future.complete(Response.getDefaultInstance());
+
+        for (var request : queued) {
+            assertTrue(request.future.isCompletedExceptionally());
+        }
+        assertEquals(0, limiter.getQueuedCount());
+        assertEquals(0, limiter.getInFlightCount());
+    }
+
+    @Test
+    public void close_fails_queued_requests() {
+        var limiter = limiter(OverloadPolicy.QUEUE, 10);
+        var queued = new TestRequest(limiter);
+        var queuedAfterClose = new TestRequest(limiter);
+        limiter.submit(new TestRequest(limiter));
+        limiter.submit(queued);
+
+        limiter.close();
+        limiter.submit(queuedAfterClose);
+
+        var exception = assertThrows(ExecutionException.class, queued.future::get);
+        assertInstanceOf(ClosingException.class, exception.getCause());
+        exception = assertThrows(ExecutionException.class, queuedAfterClose.future::get);
+        assertInstanceOf(ClosingException.class, exception.getCause());
+        assertFalse(queued.isSubmitted);
+        assertEquals(0, limiter.getQueuedCount());
+    }
+
+    private static InFlightRequestLimiter limiter(OverloadPolicy policy, int maxQueuedRequests) {
+        return new InFlightRequestLimiter(
+                InFlightLimitConfiguration.builder()
+                        .maxInFlightRequests(1)
+                        .policy(policy)
+                        .maxQueuedRequests(maxQueuedRequests)
+                        .build());
+    }
+
+    /** A request which returns its permit once its response promise completes. */
+    private static class TestRequest implements InFlightRequestLimiter.Request {
+        final CompletableFuture<Response> future = new CompletableFuture<>();
+        final InFlightRequestLimiter limiter;
+        final Throwable failure;
+        volatile boolean isSubmitted = false;
+
+        TestRequest(InFlightRequestLimiter limiter) {
+            this(limiter, null);
+        }
+
+        /** A request which fails right away once it's submitted. */
+        TestRequest(InFlightRequestLimiter limiter, Throwable failure) {
+            this.limiter = limiter;
+            this.failure = failure;
+        }
+
+        @Override
+        public void submit() {
+            isSubmitted = true;
+            future.whenComplete((response, exception) -> limiter.release());
+            if (failure != null) {
+                future.completeExceptionally(failure);
+            }
+        }
+
+        @Override
+        public void fail(Throwable exception) {
+            future.completeExceptionally(exception);
+        }
+    }
+}
@@ -0,0 +1,217 @@
+/** Copyright Valkey GLIDE Project Contributors - SPDX Identifier: Apache-2.0 */
+package glide.managers;
+
+import static glide.api.models.GlideString.gs;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import glide.api.models.configuration.NearCacheConfiguration;
+import glide.api.models.configuration.NearCacheConfiguration.TrackingMode;
+import glide.api.models.exceptions.ConfigurationError;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+public class NearCacheTest {
+
+    @Test
+    public void caches_values_once_tracking_is_enabled() {
+        var cache = new NearCache(NearCacheConfiguration.builder().build());
+        assertNull(cache.reserve(gs("key"), "GET"));
+
+        cache.start(() -> CompletableFuture.completedFuture("OK"));
+        var placeholder = cache.reserve(gs("key"), "GET");
+        assertSame(NearCache.MISS, cache.get(gs("key"), "GET"));
+
+        cache.complete(gs("key"), "GET", placeholder, "value");
+        assertEquals("value", cache.get(gs("key"), "GET"));
+        assertSame(NearCache.MISS, cache.get(gs("key"), "GET_BINARY"));
+
+        var nullPlaceholder = cache.reserve(gs("other"), "GET");
+        cache.complete(gs("other"), "GET", nullPlaceholder, null);
+        assertNull(cache.get(gs("other"), "GET"));
+    }
+
+    @Test
+    public void invalidation_during_read_discards_response() {
+        var cache = startedCache(NearCacheConfiguration.builder().build());
+        var placeholder = cache.reserve(gs("key"), "GET");
+
+        cache.invalidate(gs("key"));
+        cache.complete(gs("key"), "GET", placeholder, "stale");
+
+        assertSame(NearCache.MISS, cache.get(gs("key"), "GET"));
+        assertEquals(0, cache.getKeyCount());
+    }
+
+    @Test
+    public void concurrent_read_of_same_slot_is_not_cached_twice() {
+        var cache = startedCache(NearCacheConfiguration.builder().build());
+        var placeholder = cache.reserve(gs("key"), "GET");
+
+        assertNull(cache.reserve(gs("key"), "GET"));
+        assertNotNull(cache.reserve(gs("key"), "HGETALL"));
+
+        cache.cancel(gs("key"), "GET", placeholder);
+        assertNotNull(cache.reserve(gs("key"), "GET"));
+    }
+
+    @Test
+    public void disconnection_flushes_cache_and_enables_tracking_again() {
+        var sent = new AtomicInteger();
+        var cache = new NearCache(NearCacheConfiguration.builder().build());
+        cache.start(
+                () -> {
+                    sent.incrementAndGet();
+                    return CompletableFuture.completedFuture("OK");
+                });
+        var placeholder = cache.reserve(gs("key"), "GET");
+        cache.complete(gs("key"), "GET", placeholder, "value");
+
+        cache.onDisconnect();
+
+        assertEquals(2, sent.get());
+        assertSame(NearCache.MISS, cache.get(gs("key"), "GET"));
+        assertNotNull(cache.reserve(gs("key"), "GET"));
+    }
+
+    @Test
+    public void refresh_evicts_values_once_tracked_primaries_change() throws InterruptedException {
+        var primaries = new AtomicReference<Set<String>>(Set.of("node1:6379"));
+        var cache = new NearCache(NearCacheConfiguration.builder().trackingRefreshMillis(1).build());
+        cache.start(() -> CompletableFuture.completedFuture(primaries.get()));
+        var placeholder = cache.reserve(gs("key"), "GET");
+        cache.complete(gs("key"), "GET", placeholder, "value");
+
+        Thread.sleep(2);
+        assertNotNull(cache.reserve(gs("other"), "GET"));
+        assertEquals("value", cache.get(gs("key"), "GET"));
+
+        primaries.set(Set.of("node1:6379", "node2:6379"));
+        Thread.sleep(2);
+        assertNotNull(cache.reserve(gs("other"), "GET"));
+        assertSame(NearCache.MISS, cache.get(gs("key"), "GET"));
+        assertEquals(1, cache.getKeyCount());
+    }
+
+    @Test
+    public void failed_tracking_command_disables_caching() {
+        var cache = new NearCache(NearCacheConfiguration.builder().build());
+        cache.start(() -> CompletableFuture.failedFuture(new RuntimeException("no tracking")));
+
+        assertNull(cache.reserve(gs("key"), "GET"));
+        assertEquals(0, cache.getKeyCount());
+    }
+
+    @Test
+    public void bcast_mode_caches_only_keys_with_prefixes() {
+        var config =
+                NearCacheConfiguration.builder()
+                        .trackingMode(TrackingMode.BCAST)
+                        .prefix("user:")
+                        .prefix("config:")
+                        .build();
+        var cache = startedCache(config);
+
+        assertArrayEquals(
+                new String[] {
+                    "CLIENT", "TRACKING", "ON", "BCAST", "PREFIX", "user:", "PREFIX", "config:"
+                },
+                cache.getTrackingCommand());
+        assertNotNull(cache.reserve(gs("user:1"), "GET"));
+        assertNotNull(cache.reserve(gs("config:"), "GET"));
+        assertNull(cache.reserve(gs("session:1"), "GET"));
+        assertNull(cache.reserve(gs("user"), "GET"));
+    }
+
+    @Test
+    public void evicts_keys_above_limit() {
+        var cache = startedCache(NearCacheConfiguration.builder().maxKeys(2).build());
+        for (int i = 0; i < 5; i++) {
+            var key = gs("key" + i);
+            cache.complete(key, "GET", cache.reserve(key, "GET"), "value");
+        }
+
+        assertEquals(2, cache.getKeyCount());
+        assertEquals("value", cache.get(gs("key4"), "GET"));
+    }
+
+    @Test
+    public void evicts_oldest_keys_first() {
+        var cache = startedCache(NearCacheConfiguration.builder().maxKeys(3).build());
+        for (int i = 0; i < 3; i++) {
+            var key = gs("key" + i);
+            cache.complete(key, "GET", cache.reserve(key, "GET"), "value");
+        }
+        // a read of a cached key doesn't make it younger
+        cache.get(gs("key0"), "GET");
+        cache.invalidate(gs("key1"));
+
+        for (int i = 3; i < 5; i++) {
+            var key = gs("key" + i);
+            cache.complete(key, "GET", cache.reserve(key, "GET"), "value");
+        }
+
+        // key3 took the place of key1, key4 evicted key0
+        assertEquals(3, cache.getKeyCount());
+        assertSame(NearCache.MISS, cache.get(gs("key0"), "GET"));
+        assertEquals("value", cache.get(gs("key2"), "GET"));
+        assertEquals("value", cache.get(gs("key3"), "GET"));
+        assertEquals("value", cache.get(gs("key4"), "GET"));
+    }
+
+    @Test
+    public void keys_invalidated_in_bulk_do_not_hold_back_eviction() {
+        var cache = startedCache(NearCacheConfiguration.builder().maxKeys(2).build());
+        cache.complete(gs("first"), "GET", cache.reserve(gs("first"), "GET"), "value");
+        for (int i = 0; i < 1000; i++) {
+            var key = gs("key" + i);
+            cache.complete(key, "GET", cache.reserve(key, "GET"), "value");
+            cache.invalidate(key);
+        }
+        cache.complete(gs("second"), "GET", cache.reserve(gs("second"), "GET"), "value");
+        cache.complete(gs("third"), "GET", cache.reserve(gs("third"), "GET"), "value");
+
+        assertEquals(2, cache.getKeyCount());
+        assertSame(NearCache.MISS, cache.get(gs("first"), "GET"));
+        assertEquals("value", cache.get(gs("third"), "GET"));
+    }
+
+    @Test
+    public void rejects_invalid_configuration() {
+        assertThrows(
+                ConfigurationError.class, () -> NearCacheConfiguration.builder().maxKeys(0).build());
+        assertThrows(
+                ConfigurationError.class, () -> NearCacheConfiguration.builder().ttlMillis(-1).build());
+        assertThrows(
+                ConfigurationError.class,
+                () -> NearCacheConfiguration.builder().trackingRefreshMillis(-1).build());
+    }
+
+    @Test
+    public void expired_values_are_not_returned() {
+        var cache = startedCache(NearCacheConfiguration.builder().ttlMillis(1).build());
+        var placeholder = cache.reserve(gs("key"), "GET");
+        cache.complete(gs("key"), "GET", placeholder, "value");
+
+        long deadline = System.nanoTime() + 1_000_000_000L;
+        while (cache.get(gs("key"), "GET") != NearCache.MISS) {
+            assertTrue(System.nanoTime() < deadline);
+            Thread.onSpinWait();
+        }
+        assertNotNull(cache.reserve(gs("key"), "GET"));
+    }
+
+    private static NearCache startedCache(NearCacheConfiguration config) {
+        var cache = new NearCache(config);
+        cache.start(() -> CompletableFuture.completedFuture("OK"));
+        return cache;
+    }
+}
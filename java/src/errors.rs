@@ -3,13 +3,17 @@
  */
 use jni::{errors::Error as JNIError, JNIEnv};
 use log::error;
+use std::str::Utf8Error;
 use std::string::FromUtf8Error;
 
 pub enum FFIError {
     Jni(JNIError),
     Uds(String),
-    Utf8(FromUtf8Error),
+    Utf8(Utf8Error),
     Logger(String),
+    NativeTransport(String),
+    ValueView(String),
+    RequestArgs(String),
 }
 
 impl From<jni::errors::Error> for FFIError {
@@ -18,9 +22,15 @@ impl From<jni::errors::Error> for FFIError {
     }
 }
 
+impl From<Utf8Error> for FFIError {
+    fn from(value: Utf8Error) -> Self {
+        FFIError::Utf8(value)
+    }
+}
+
 impl From<FromUtf8Error> for FFIError {
     fn from(value: FromUtf8Error) -> Self {
-        FFIError::Utf8(value)
+        FFIError::Utf8(value.utf8_error())
     }
 }
 
@@ -31,6 +41,9 @@ impl std::fmt::Display for FFIError {
             FFIError::Uds(err) => write!(f, "{}", err),
             FFIError::Utf8(err) => write!(f, "{}", err),
             FFIError::Logger(err) => write!(f, "{}", err),
+            FFIError::NativeTransport(err) => write!(f, "{}", err),
+            FFIError::ValueView(err) => write!(f, "{}", err),
+            FFIError::RequestArgs(err) => write!(f, "{}", err),
         }
     }
 }
@@ -2,9 +2,10 @@
  * Copyright Valkey GLIDE Project Contributors - SPDX Identifier: Apache-2.0
  */
 use crate::errors::{handle_errors, handle_panics, throw_java_exception, ExceptionType, FFIError};
+use bytes::Bytes;
 use jni::{
-    objects::{JByteArray, JClass, JLongArray, JString},
-    sys::{jboolean, jdouble, jlong},
+    objects::{JByteArray, JClass, JLongArray, JObject, JObjectArray, JString},
+    sys::{jboolean, jdouble, jint, jlong, jsize},
     JNIEnv,
 };
 use redis::Value;
@@ -131,6 +132,132 @@ pub extern "system" fn Java_glide_ffi_FfiTest_createLeakedLongSet<'local>(
     Box::leak(Box::new(redis_value)) as *mut Value as jlong
 }
 
+/// Creates an array of bulk strings, `null` elements become nil values.
+#[no_mangle]
+pub extern "system" fn Java_glide_ffi_FfiTest_createLeakedBulkStringArray<'local>(
+    mut env: JNIEnv<'local>,
+    _class: JClass<'local>,
+    values: JObjectArray<'local>,
+) -> jlong {
+    let length = env.get_array_length(&values).unwrap();
+    let array = (0..length)
+        .map(|i| {
+            let element = env.get_object_array_element(&values, i).unwrap();
+            if element.is_null() {
+                return Value::Nil;
+            }
+            Value::BulkString(env.convert_byte_array(&JByteArray::from(element)).unwrap())
+        })
+        .collect();
+    Box::leak(Box::new(Value::Array(array))) as *mut Value as jlong
+}
+
+/// Creates a reply of `XREAD` shape: a map with a single stream, which holds the given number of
+/// entries, each with a single field.
+#[no_mangle]
+pub extern "system" fn Java_glide_ffi_FfiTest_createLeakedStreamRead<'local>(
+    env: JNIEnv<'local>,
+    _class: JClass<'local>,
+    stream: JByteArray<'local>,
+    entry_count: jint,
+) -> jlong {
+    let stream = env.convert_byte_array(&stream).unwrap();
+    let entries = (0..entry_count)
+        .map(|i| {
+            Value::Array(vec![
+                Value::BulkString(format!("{i}-0").into_bytes()),
+                Value::Array(vec![
+                    Value::BulkString(b"field".to_vec()),
+                    Value::BulkString(format!("value{i}").into_bytes()),
+                ]),
+            ])
+        })
+        .collect();
+    let redis_value = Value::Map(vec![(Value::BulkString(stream), Value::Array(entries))]);
+    Box::leak(Box::new(redis_value)) as *mut Value as jlong
+}
+
+#[no_mangle]
+pub extern "system" fn Java_glide_ffi_FfiTest_isSerializedToJava<'local>(
+    _env: JNIEnv<'local>,
+    _class: JClass<'local>,
+    pointer: jlong,
+) -> jboolean {
+    let value = unsafe { &*(pointer as *const Value) };
+    crate::is_serialized_to_java(value) as jboolean
+}
+
+/// Creates an array which holds a value of every type of the serialized form, large enough to be
+/// passed to Java in that form.
+#[no_mangle]
+pub extern "system" fn Java_glide_ffi_FfiTest_createLeakedMixedAggregate<'local>(
+    _env: JNIEnv<'local>,
+    _class: JClass<'local>,
+) -> jlong {
+    use redis::{PushKind, VerbatimFormat};
+    let strings = vec![
+        Value::BulkString("\u{3b1}\u{3b2}".as_bytes().to_vec()),
+        Value::Nil,
+        Value::SimpleString("simple".to_string()),
+    ];
+    let redis_value = Value::Array(vec![
+        Value::Nil,
+        Value::SimpleString("simple".to_string()),
+        Value::Okay,
+        Value::Int(-42),
+        Value::BulkString(b"bulk".to_vec()),
+        Value::BulkString("a".repeat(40).into_bytes()),
+        Value::Double(-1.5),
+        Value::Boolean(true),
+        Value::VerbatimString {
+            format: VerbatimFormat::Text,
+            text: "verbatim".to_string(),
+        },
+        Value::Array(strings.clone()),
+        Value::Array(vec![]),
+        Value::Map(vec![
+            (Value::BulkString(b"key".to_vec()), Value::Array(strings.clone())),
+            (Value::Int(1), Value::Double(f64::MAX)),
+        ]),
+        Value::Set(vec![Value::Int(1), Value::Int(2), Value::Int(3)]),
+        Value::Push {
+            kind: PushKind::Message,
+            data: strings,
+        },
+    ]);
+    Box::leak(Box::new(redis_value)) as *mut Value as jlong
+}
+
+/// Serializes a value in the form decoded by `SerializedValueDecoder`, without freeing it.
+/// Returns `null` if the value has no serialized form.
+#[no_mangle]
+pub extern "system" fn Java_glide_ffi_FfiTest_serializeValue<'local>(
+    env: JNIEnv<'local>,
+    _class: JClass<'local>,
+    pointer: jlong,
+) -> JByteArray<'local> {
+    let value = unsafe { &*(pointer as *const Value) };
+    let mut buffer = Vec::new();
+    if !crate::serialize_value(value, &mut buffer) {
+        return JByteArray::from(JObject::null());
+    }
+    env.byte_array_from_slice(&buffer).unwrap()
+}
+
+/// Converts a value element by element, as values below the serialization threshold are,
+/// without freeing it.
+#[no_mangle]
+pub extern "system" fn Java_glide_ffi_FfiTest_convertElementByElement<'local>(
+    mut env: JNIEnv<'local>,
+    _class: JClass<'local>,
+    pointer: jlong,
+    hint: jint,
+) -> JObject<'local> {
+    let value = unsafe { &*(pointer as *const Value) };
+    let result = crate::redis_value_to_java(&mut env, value, crate::ValueHint::new(hint));
+    handle_errors(&mut env, result).unwrap_or(JObject::null())
+}
+
 fn java_long_array_to_value<'local>(
     env: &mut JNIEnv<'local>,
     array: &JLongArray<'local>,
@@ -146,6 +273,24 @@ fn java_long_array_to_value<'local>(
         .collect::<Vec<Value>>()
 }
 
+#[no_mangle]
+pub extern "system" fn Java_glide_ffi_FfiTest_takeBytesVec<'local>(
+    mut env: JNIEnv<'local>,
+    _class: JClass<'local>,
+    pointer: jlong,
+) -> JObjectArray<'local> {
+    let bytes_vec = unsafe { Box::from_raw(pointer as *mut Vec<Bytes>) };
+    let array = env
+        .new_object_array(bytes_vec.len() as jsize, "[B", JObject::null())
+        .unwrap();
+    for (index, bytes) in bytes_vec.iter().enumerate() {
+        let element = env.byte_array_from_slice(bytes).unwrap();
+        env.set_object_array_element(&array, index as jsize, element)
+            .unwrap();
+    }
+    array
+}
+
 #[no_mangle]
 pub extern "system" fn Java_glide_ffi_FfiTest_handlePanics<'local>(
     _env: JNIEnv<'local>,
@@ -0,0 +1,415 @@
+/**
+ * Copyright Valkey GLIDE Project Contributors - SPDX Identifier: Apache-2.0
+ */
+//! Classes and method IDs used to build Java values, resolved once instead of by name on every
+//! conversion. The cache is filled in `JNI_OnLoad`, so classes are found by the class loader
+//! which loaded the library, or on first use if that failed.
+use jni::objects::{GlobalRef, JClass, JMethodID, JObject, JStaticMethodID, JValue};
+use jni::signature::{JavaType, Primitive, ReturnType, TypeSignature};
+use jni::sys::{jint, jvalue, JNI_ERR, JNI_VERSION_1_8};
+use jni::{JNIEnv, JavaVM};
+use log::error;
+use std::ffi::c_void;
+use std::sync::OnceLock;
+
+use crate::errors::FFIError;
+use crate::ValueHint;
+
+// Signatures of the cached methods. A call by a cached ID isn't checked by JNI, so its arguments
+// and return type are checked against the signature in debug builds, see `call_args`.
+const STRING_INIT_BYTES_CHARSET: &str = "([BLjava/nio/charset/Charset;)V";
+const GLIDE_STRING_OF: &str = "([B)Lglide/api/models/GlideString;";
+const LONG_VALUE_OF: &str = "(J)Ljava/lang/Long;";
+const DOUBLE_VALUE_OF: &str = "(D)Ljava/lang/Double;";
+const BOOLEAN_VALUE_OF: &str = "(Z)Ljava/lang/Boolean;";
+const INIT_WITH_CAPACITY: &str = "(I)V";
+const INIT: &str = "()V";
+const MAP_PUT: &str = "(Ljava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;";
+const SET_ADD: &str = "(Ljava/lang/Object;)Z";
+const SERIALIZED_VALUE_DECODER_DECODE: &str = "([BI)Ljava/lang/Object;";
+const RESPONSE_LISTENER_ON_RESPONSE: &str = "([B)V";
+
+pub(crate) struct JniCache {
+    object_class: GlobalRef,
+    string_class: GlobalRef,
+    string_init_bytes_charset: JMethodID,
+    latin1_charset: GlobalRef,
+    glide_string_class: GlobalRef,
+    glide_string_of: JStaticMethodID,
+    long_class: GlobalRef,
+    long_value_of: JStaticMethodID,
+    double_class: GlobalRef,
+    double_value_of: JStaticMethodID,
+    boolean_class: GlobalRef,
+    boolean_value_of: JStaticMethodID,
+    linked_hash_map_class: GlobalRef,
+    linked_hash_map_init: JMethodID,
+    hash_map_class: GlobalRef,
+    hash_map_init: JMethodID,
+    map_put: JMethodID,
+    hash_set_class: GlobalRef,
+    hash_set_init: JMethodID,
+    set_add: JMethodID,
+    serialized_value_decoder_class: GlobalRef,
+    serialized_value_decoder_decode: JStaticMethodID,
+    response_listener_class: GlobalRef,
+    response_listener_on_response: JMethodID,
+}
+
+static JNI_CACHE: OnceLock<JniCache> = OnceLock::new();
+
+impl JniCache {
+    fn new(env: &mut JNIEnv) -> Result<JniCache, FFIError> {
+        fn class(env: &mut JNIEnv, name: &str) -> Result<GlobalRef, FFIError> {
+            let class = env.find_class(name)?;
+            Ok(env.new_global_ref(class)?)
+        }
+
+        let object_class = class(env, "java/lang/Object")?;
+        let string_class = class(env, "java/lang/String")?;
+        let latin1_charset = env
+            .get_static_field(
+                "java/nio/charset/StandardCharsets",
+                "ISO_8859_1",
+                "Ljava/nio/charset/Charset;",
+            )?
+            .l()?;
+        let latin1_charset = env.new_global_ref(latin1_charset)?;
+        let glide_string_class = class(env, "glide/api/models/GlideString")?;
+        let long_class = class(env, "java/lang/Long")?;
+        let double_class = class(env, "java/lang/Double")?;
+        let boolean_class = class(env, "java/lang/Boolean")?;
+        let linked_hash_map_class = class(env, "java/util/LinkedHashMap")?;
+        let hash_map_class = class(env, "java/util/HashMap")?;
+        let hash_set_class = class(env, "java/util/HashSet")?;
+        let serialized_value_decoder_class =
+            class(env, "glide/ffi/resolvers/SerializedValueDecoder")?;
+        let response_listener_class =
+            class(env, "glide/ffi/resolvers/NativeTransportResolver$ResponseListener")?;
+
+        Ok(JniCache {
+            string_init_bytes_charset: env.get_method_id(
+                &string_class,
+                "<init>",
+                STRING_INIT_BYTES_CHARSET,
+            )?,
+            glide_string_of: env.get_static_method_id(&glide_string_class, "of", GLIDE_STRING_OF)?,
+            long_value_of: env.get_static_method_id(&long_class, "valueOf", LONG_VALUE_OF)?,
+            double_value_of: env.get_static_method_id(&double_class, "valueOf", DOUBLE_VALUE_OF)?,
+            boolean_value_of: env.get_static_method_id(
+                &boolean_class,
+                "valueOf",
+                BOOLEAN_VALUE_OF,
+            )?,
+            linked_hash_map_init: env.get_method_id(
+                &linked_hash_map_class,
+                "<init>",
+                INIT_WITH_CAPACITY,
+            )?,
+            hash_map_init: env.get_method_id(&hash_map_class, "<init>", INIT)?,
+            // `HashMap.put` is inherited by `LinkedHashMap`
+            map_put: env.get_method_id(&hash_map_class, "put", MAP_PUT)?,
+            hash_set_init: env.get_method_id(&hash_set_class, "<init>", INIT_WITH_CAPACITY)?,
+            set_add: env.get_method_id(&hash_set_class, "add", SET_ADD)?,
+            serialized_value_decoder_decode: env.get_static_method_id(
+                &serialized_value_decoder_class,
+                "decode",
+                SERIALIZED_VALUE_DECODER_DECODE,
+            )?,
+            response_listener_on_response: env.get_method_id(
+                &response_listener_class,
+                "onResponse",
+                RESPONSE_LISTENER_ON_RESPONSE,
+            )?,
+            object_class,
+            string_class,
+            latin1_charset,
+            glide_string_class,
+            long_class,
+            double_class,
+            boolean_class,
+            linked_hash_map_class,
+            hash_map_class,
+            hash_set_class,
+            serialized_value_decoder_class,
+            response_listener_class,
+        })
+    }
+
+    /// Get the cache, filling it if it isn't filled yet.
+    pub(crate) fn get(env: &mut JNIEnv) -> Result<&'static JniCache, FFIError> {
+        if let Some(cache) = JNI_CACHE.get() {
+            return Ok(cache);
+        }
+        let cache = JniCache::new(env)?;
+        // another thread may have filled the cache meanwhile, both are equivalent
+        Ok(JNI_CACHE.get_or_init(|| cache))
+    }
+
+    pub(crate) fn object_class(&self) -> &JClass<'static> {
+        self.object_class.as_obj().into()
+    }
+
+    pub(crate) fn string_class(&self) -> &JClass<'static> {
+        self.string_class.as_obj().into()
+    }
+
+    pub(crate) fn glide_string_class(&self) -> &JClass<'static> {
+        self.glide_string_class.as_obj().into()
+    }
+
+    /// Create a `String` from ASCII bytes. The bytes are decoded as Latin-1, which Java stores
+    /// as is in a compact string, instead of being converted to modified UTF-8 and back by
+    /// `NewStringUTF`.
+    pub(crate) fn new_ascii_string<'local>(
+        &self,
+        env: &mut JNIEnv<'local>,
+        ascii: &[u8],
+    ) -> Result<JObject<'local>, FFIError> {
+        let bytes = env.byte_array_from_slice(ascii)?;
+        let class: &JClass = self.string_class.as_obj().into();
+        let args = call_args(
+            STRING_INIT_BYTES_CHARSET,
+            VOID,
+            [
+                JValue::Object(&bytes),
+                JValue::Object(self.latin1_charset.as_obj()),
+            ],
+        );
+        // Safety: the constructor ID belongs to the class, and the arguments match the signature
+        let string = unsafe {
+            env.new_object_unchecked(class, self.string_init_bytes_charset, &args)
+        }?;
+        env.delete_local_ref(bytes)?;
+        Ok(string)
+    }
+
+    /// Wrap a `byte[]` into a `GlideString`, without copying it. `GlideString.of` shares the array,
+    /// so it must be a new array which nothing else references.
+    pub(crate) fn new_glide_string<'local>(
+        &self,
+        env: &mut JNIEnv<'local>,
+        bytes: &JObject,
+    ) -> Result<JObject<'local>, FFIError> {
+        let class: &JClass = self.glide_string_class.as_obj().into();
+        let args = call_args(GLIDE_STRING_OF, ReturnType::Object, [JValue::Object(bytes)]);
+        // Safety: the method ID belongs to the class, and the arguments match the signature
+        Ok(unsafe {
+            env.call_static_method_unchecked(class, self.glide_string_of, ReturnType::Object, &args)
+        }?
+        .l()?)
+    }
+
+    /// Box a `long`. `Long.valueOf` returns cached instances for small values.
+    pub(crate) fn new_long<'local>(
+        &self,
+        env: &mut JNIEnv<'local>,
+        value: i64,
+    ) -> Result<JObject<'local>, FFIError> {
+        let class: &JClass = self.long_class.as_obj().into();
+        let args = call_args(LONG_VALUE_OF, ReturnType::Object, [JValue::Long(value)]);
+        // Safety: the method ID belongs to the class, and the arguments match the signature
+        Ok(unsafe {
+            env.call_static_method_unchecked(class, self.long_value_of, ReturnType::Object, &args)
+        }?
+        .l()?)
+    }
+
+    pub(crate) fn new_double<'local>(
+        &self,
+        env: &mut JNIEnv<'local>,
+        value: f64,
+    ) -> Result<JObject<'local>, FFIError> {
+        let class: &JClass = self.double_class.as_obj().into();
+        let args = call_args(DOUBLE_VALUE_OF, ReturnType::Object, [JValue::Double(value)]);
+        // Safety: the method ID belongs to the class, and the arguments match the signature
+        Ok(unsafe {
+            env.call_static_method_unchecked(class, self.double_value_of, ReturnType::Object, &args)
+        }?
+        .l()?)
+    }
+
+    /// `Boolean.valueOf` returns one of the two shared instances.
+    pub(crate) fn new_boolean<'local>(
+        &self,
+        env: &mut JNIEnv<'local>,
+        value: bool,
+    ) -> Result<JObject<'local>, FFIError> {
+        let class: &JClass = self.boolean_class.as_obj().into();
+        let args = call_args(BOOLEAN_VALUE_OF, ReturnType::Object, [JValue::Bool(value.into())]);
+        // Safety: the method ID belongs to the class, and the arguments match the signature
+        Ok(unsafe {
+            env.call_static_method_unchecked(
+                class,
+                self.boolean_value_of,
+                ReturnType::Object,
+                &args,
+            )
+        }?
+        .l()?)
+    }
+
+    /// Create a `LinkedHashMap` sized for the given number of entries.
+    pub(crate) fn new_linked_hash_map<'local>(
+        &self,
+        env: &mut JNIEnv<'local>,
+        entries: usize,
+    ) -> Result<JObject<'local>, FFIError> {
+        let class: &JClass = self.linked_hash_map_class.as_obj().into();
+        let args = call_args(INIT_WITH_CAPACITY, VOID, [JValue::Int(hash_capacity(entries))]);
+        // Safety: the constructor ID belongs to the class, and the arguments match the signature
+        Ok(unsafe { env.new_object_unchecked(class, self.linked_hash_map_init, &args) }?)
+    }
+
+    pub(crate) fn new_hash_map<'local>(
+        &self,
+        env: &mut JNIEnv<'local>,
+    ) -> Result<JObject<'local>, FFIError> {
+        let class: &JClass = self.hash_map_class.as_obj().into();
+        let args = call_args(INIT, VOID, []);
+        // Safety: the constructor ID belongs to the class, and there are no arguments
+        Ok(unsafe { env.new_object_unchecked(class, self.hash_map_init, &args) }?)
+    }
+
+    /// Call `put` on a `HashMap` or a `LinkedHashMap`.
+    pub(crate) fn map_put(
+        &self,
+        env: &mut JNIEnv,
+        map: &JObject,
+        key: &JObject,
+        value: &JObject,
+    ) -> Result<(), FFIError> {
+        let args = call_args(
+            MAP_PUT,
+            ReturnType::Object,
+            [JValue::Object(key), JValue::Object(value)],
+        );
+        // Safety: the object is a `HashMap`, and the arguments match the signature
+        let previous =
+            unsafe { env.call_method_unchecked(map, self.map_put, ReturnType::Object, &args) }?
+        .l()?;
+        env.delete_local_ref(previous)?;
+        Ok(())
+    }
+
+    /// Create a `HashSet` sized for the given number of elements.
+    pub(crate) fn new_hash_set<'local>(
+        &self,
+        env: &mut JNIEnv<'local>,
+        elements: usize,
+    ) -> Result<JObject<'local>, FFIError> {
+        let class: &JClass = self.hash_set_class.as_obj().into();
+        let args = call_args(INIT_WITH_CAPACITY, VOID, [JValue::Int(hash_capacity(elements))]);
+        // Safety: the constructor ID belongs to the class, and the arguments match the signature
+        Ok(unsafe { env.new_object_unchecked(class, self.hash_set_init, &args) }?)
+    }
+
+    pub(crate) fn set_add(
+        &self,
+        env: &mut JNIEnv,
+        set: &JObject,
+        value: &JObject,
+    ) -> Result<(), FFIError> {
+        let args = call_args(SET_ADD, BOOLEAN, [JValue::Object(value)]);
+        // Safety: the object is a `HashSet`, and the arguments match the signature
+        unsafe { env.call_method_unchecked(set, self.set_add, BOOLEAN, &args) }?;
+        Ok(())
+    }
+
+    /// Call `SerializedValueDecoder.decode`.
+    pub(crate) fn decode_serialized_value<'local>(
+        &self,
+        env: &mut JNIEnv<'local>,
+        bytes: &JObject,
+        hint: ValueHint,
+    ) -> Result<JObject<'local>, FFIError> {
+        let class: &JClass = self.serialized_value_decoder_class.as_obj().into();
+        let args = call_args(
+            SERIALIZED_VALUE_DECODER_DECODE,
+            ReturnType::Object,
+            [JValue::Object(bytes), JValue::Int(hint.flags())],
+        );
+        // Safety: the method ID belongs to the class, and the arguments match the signature
+        Ok(unsafe {
+            env.call_static_method_unchecked(
+                class,
+                self.serialized_value_decoder_decode,
+                ReturnType::Object,
+                &args,
+            )
+        }?
+        .l()?)
+    }
+
+    /// Call `NativeTransportResolver.ResponseListener.onResponse`.
+    pub(crate) fn on_response(
+        &self,
+        env: &mut JNIEnv,
+        listener: &JObject,
+        response: &JObject,
+    ) -> Result<(), FFIError> {
+        let args = call_args(RESPONSE_LISTENER_ON_RESPONSE, VOID, [JValue::Object(response)]);
+        // Safety: the object implements `ResponseListener`, and the arguments match the signature
+        unsafe {
+            env.call_method_unchecked(listener, self.response_listener_on_response, VOID, &args)
+        }?;
+        Ok(())
+    }
+}
+
+const VOID: ReturnType = ReturnType::Primitive(Primitive::Void);
+const BOOLEAN: ReturnType = ReturnType::Primitive(Primitive::Boolean);
+
+/// Convert the arguments of a call by a cached method ID. JNI doesn't check such calls, and
+/// arguments or a return type which don't match the signature are undefined behaviour, so debug
+/// builds check them against the signature the ID was resolved with. Constructors return `VOID`.
+fn call_args<const N: usize>(
+    signature: &str,
+    ret: ReturnType,
+    args: [JValue; N],
+) -> [jvalue; N] {
+    #[cfg(debug_assertions)]
+    {
+        let parsed = TypeSignature::from_str(signature).expect("Invalid method signature");
+        assert_eq!(parsed.ret, ret, "Return type doesn't match {signature}");
+        assert_eq!(parsed.args.len(), N, "Argument count doesn't match {signature}");
+        for (expected, arg) in parsed.args.iter().zip(args.iter()) {
+            let matches = match (expected, arg) {
+                (JavaType::Object(_) | JavaType::Array(_), JValue::Object(_)) => true,
+                (JavaType::Primitive(Primitive::Boolean), JValue::Bool(_)) => true,
+                (JavaType::Primitive(Primitive::Int), JValue::Int(_)) => true,
+                (JavaType::Primitive(Primitive::Long), JValue::Long(_)) => true,
+                (JavaType::Primitive(Primitive::Double), JValue::Double(_)) => true,
+                _ => false,
+            };
+            assert!(matches, "Argument types don't match {signature}");
+        }
+    }
+    #[cfg(not(debug_assertions))]
+    let _ = (signature, ret);
+    args.map(|arg| arg.as_jni())
+}
+
+/// Initial capacity of a Java hash-based collection which holds the given number of elements
+/// without rehashing.
+fn hash_capacity(elements: usize) -> jint {
+    (elements as f64 / 0.75).ceil().min(jint::MAX as f64) as jint
+}
+
+/// Fills the cache when the library is loaded.
+#[no_mangle]
+pub extern "system" fn JNI_OnLoad(vm: JavaVM, _reserved: *mut c_void) -> jint {
+    let mut env = match vm.get_env() {
+        Ok(env) => env,
+        Err(err) => {
+            error!("Failed to get JNI environment on load: {}", err);
+            return JNI_ERR;
+        }
+    };
+    if let Err(err) = JniCache::get(&mut env) {
+        // not fatal, the cache is filled on first use
+        error!("Failed to initialize JNI cache: {}", err);
+        let _ = env.exception_clear();
+    }
+    JNI_VERSION_1_8
+}
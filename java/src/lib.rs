@@ -15,15 +15,25 @@ use glide_core::ZSET as TYPE_ZSET;
 
 use bytes::Bytes;
 use jni::errors::Error as JniError;
-use jni::objects::{JByteArray, JClass, JObject, JObjectArray, JString};
-use jni::sys::{jint, jlong, jsize};
+use jni::objects::{
+    JByteArray, JByteBuffer, JClass, JIntArray, JLongArray, JObject, JObjectArray, JString,
+};
+use jni::sys::{jboolean, jint, jlong, jsize};
 use jni::JNIEnv;
 use redis::Value;
+use std::mem::MaybeUninit;
+use std::ptr;
+use std::sync::atomic::{AtomicUsize, Ordering};
 use std::sync::mpsc;
 
 mod errors;
+mod jni_cache;
+mod native_transport;
+mod ring_transport;
+mod value_view;
 
 use errors::{handle_errors, handle_panics, FFIError};
+use jni_cache::JniCache;
 
 #[cfg(ffi_test)]
 mod ffi_test;
@@ -32,69 +42,128 @@ pub use ffi_test::*;
 
 struct Level(i32);
 
-// TODO: Consider caching method IDs here in a static variable (might need RwLock to mutate)
-fn redis_value_to_java<'local>(
+/// How values are exposed to Java, mirrors the hint flags of `GlideValueResolver`.
+#[derive(Clone, Copy)]
+pub(crate) struct ValueHint(jint);
+
+impl ValueHint {
+    /// Strings are exposed as `String`, otherwise as `byte[]`.
+    const ENCODING_UTF8: jint = 1;
+    /// Binary strings are exposed as `GlideString` instead of `byte[]`.
+    const GLIDE_STRINGS: jint = 2;
+    /// Arrays of strings are exposed as `String[]` or `GlideString[]` instead of `Object[]`.
+    const TYPED_ARRAYS: jint = 4;
+
+    pub(crate) fn new(flags: jint) -> ValueHint {
+        ValueHint(flags)
+    }
+
+    /// The hint of the original resolvers, which expose strings as `String` or `byte[]`.
+    pub(crate) fn encoding(encoding_utf8: bool) -> ValueHint {
+        ValueHint(if encoding_utf8 { Self::ENCODING_UTF8 } else { 0 })
+    }
+
+    pub(crate) fn flags(self) -> jint {
+        self.0
+    }
+
+    fn encoding_utf8(self) -> bool {
+        self.0 & Self::ENCODING_UTF8 != 0
+    }
+
+    fn glide_strings(self) -> bool {
+        !self.encoding_utf8() && self.0 & Self::GLIDE_STRINGS != 0
+    }
+
+    fn typed_arrays(self) -> bool {
+        self.0 & Self::TYPED_ARRAYS != 0
+    }
+}
+
+/// ASCII strings of at least this length are created by [`JniCache::new_ascii_string`], other
+/// strings by `NewStringUTF`. Set by `GlideValueResolver` from a system property, and disabled
+/// until then: the crossover of the two paths isn't known without measuring it on the machine.
+static ASCII_STRING_MIN_LENGTH: AtomicUsize = AtomicUsize::new(usize::MAX);
+
+/// Create a Java `String` from UTF-8 bytes.
+fn utf8_to_java_string<'local>(
+    env: &mut JNIEnv<'local>,
+    data: &[u8],
+) -> Result<JObject<'local>, FFIError> {
+    if data.len() >= ASCII_STRING_MIN_LENGTH.load(Ordering::Relaxed) && data.is_ascii() {
+        return JniCache::get(env)?.new_ascii_string(env, data);
+    }
+    Ok(JObject::from(env.new_string(std::str::from_utf8(data)?)?))
+}
+
+/// Convert the bytes of a string to a `String`, a `GlideString` or a `byte[]`.
+fn string_to_java<'local>(
+    env: &mut JNIEnv<'local>,
+    data: &[u8],
+    hint: ValueHint,
+) -> Result<JObject<'local>, FFIError> {
+    if hint.encoding_utf8() {
+        return utf8_to_java_string(env, data);
+    }
+    let bytes = env.byte_array_from_slice(data)?;
+    if !hint.glide_strings() {
+        return Ok(JObject::from(bytes));
+    }
+    let glide_string = JniCache::get(env)?.new_glide_string(env, &bytes)?;
+    env.delete_local_ref(bytes)?;
+    Ok(glide_string)
+}
+
+/// Whether a value is exposed as a string or `null`, so it fits a typed array.
+fn is_string_or_nil(value: &Value) -> bool {
+    matches!(
+        value,
+        Value::Nil
+            | Value::SimpleString(_)
+            | Value::BulkString(_)
+            | Value::VerbatimString { .. }
+    )
+}
+
+// Classes and methods are resolved once, see `jni_cache`. Values are borrowed, so a value which
+// remains in native memory, see `value_view`, is converted without cloning it.
+pub(crate) fn redis_value_to_java<'local>(
     env: &mut JNIEnv<'local>,
-    val: Value,
-    encoding_utf8: bool,
+    val: &Value,
+    hint: ValueHint,
 ) -> Result<JObject<'local>, FFIError> {
+    let cache = JniCache::get(env)?;
     match val {
         Value::Nil => Ok(JObject::null()),
-        Value::SimpleString(data) => {
-            if encoding_utf8 {
-                Ok(JObject::from(env.new_string(data)?))
-            } else {
-                Ok(JObject::from(env.byte_array_from_slice(data.as_bytes())?))
-            }
-        }
+        Value::SimpleString(data) => string_to_java(env, data.as_bytes(), hint),
         Value::Okay => Ok(JObject::from(env.new_string("OK")?)),
-        Value::Int(num) => Ok(env.new_object("java/lang/Long", "(J)V", &[num.into()])?),
-        Value::BulkString(data) => {
-            if encoding_utf8 {
-                let utf8_str = String::from_utf8(data)?;
-                Ok(JObject::from(env.new_string(utf8_str)?))
-            } else {
-                Ok(JObject::from(env.byte_array_from_slice(&data)?))
-            }
-        }
-        Value::Array(array) => array_to_java_array(env, array, encoding_utf8),
+        Value::Int(num) => cache.new_long(env, *num),
+        Value::BulkString(data) => string_to_java(env, data, hint),
+        Value::Array(array) => array_to_java_array(env, array, hint),
         Value::Map(map) => {
-            let linked_hash_map = env.new_object("java/util/LinkedHashMap", "()V", &[])?;
+            let linked_hash_map = cache.new_linked_hash_map(env, map.len())?;
 
             for (key, value) in map {
-                let java_key = redis_value_to_java(env, key, encoding_utf8)?;
-                let java_value = redis_value_to_java(env, value, encoding_utf8)?;
-                env.call_method(
-                    &linked_hash_map,
-                    "put",
-                    "(Ljava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;",
-                    &[(&java_key).into(), (&java_value).into()],
-                )?;
+                let java_key = redis_value_to_java(env, key, untyped(hint))?;
+                let java_value = redis_value_to_java(env, value, untyped(hint))?;
+                cache.map_put(env, &linked_hash_map, &java_key, &java_value)?;
+                env.delete_local_ref(java_key)?;
+                env.delete_local_ref(java_value)?;
             }
 
             Ok(linked_hash_map)
         }
-        Value::Double(float) => Ok(env.new_object("java/lang/Double", "(D)V", &[float.into()])?),
-        Value::Boolean(bool) => Ok(env.new_object("java/lang/Boolean", "(Z)V", &[bool.into()])?),
-        Value::VerbatimString { format: _, text } => {
-            if encoding_utf8 {
-                Ok(JObject::from(env.new_string(text)?))
-            } else {
-                Ok(JObject::from(env.byte_array_from_slice(text.as_bytes())?))
-            }
-        }
+        Value::Double(float) => cache.new_double(env, *float),
+        Value::Boolean(bool) => cache.new_boolean(env, *bool),
+        Value::VerbatimString { format: _, text } => string_to_java(env, text.as_bytes(), hint),
         Value::BigNumber(_num) => todo!(),
         Value::Set(array) => {
-            let set = env.new_object("java/util/HashSet", "()V", &[])?;
+            let set = cache.new_hash_set(env, array.len())?;
 
             for elem in array {
-                let java_value = redis_value_to_java(env, elem, encoding_utf8)?;
-                env.call_method(
-                    &set,
-                    "add",
-                    "(Ljava/lang/Object;)Z",
-                    &[(&java_value).into()],
-                )?;
+                let java_value = redis_value_to_java(env, elem, untyped(hint))?;
+                cache.set_add(env, &set, &java_value)?;
+                env.delete_local_ref(java_value)?;
             }
 
             Ok(set)
@@ -108,54 +177,201 @@ fn redis_value_to_java<'local>(
         //   - "values" which corresponds to the array of values received, stored as `Object[]`
         // Only string messages are supported now by Redis and `redis-rs`.
         Value::Push { kind, data } => {
-            let hash_map = env.new_object("java/util/HashMap", "()V", &[])?;
+            let hash_map = cache.new_hash_map(env)?;
 
             let kind_str = env.new_string("kind")?;
             let kind_value_str = env.new_string(format!("{kind:?}"))?;
-
-            let _ = env.call_method(
-                &hash_map,
-                "put",
-                "(Ljava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;",
-                &[(&kind_str).into(), (&kind_value_str).into()],
-            )?;
+            cache.map_put(env, &hash_map, &kind_str, &kind_value_str)?;
 
             let values_str = env.new_string("values")?;
-            let values = array_to_java_array(env, data, encoding_utf8)?;
-
-            let _ = env.call_method(
-                &hash_map,
-                "put",
-                "(Ljava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;",
-                &[(&values_str).into(), (&values).into()],
-            )?;
+            let values = array_to_java_array(env, data, untyped(hint))?;
+            cache.map_put(env, &hash_map, &values_str, &values)?;
 
             Ok(hash_map)
         }
     }
 }
 
+/// The same hint without [`ValueHint::TYPED_ARRAYS`].
+fn untyped(hint: ValueHint) -> ValueHint {
+    ValueHint(hint.0 & !ValueHint::TYPED_ARRAYS)
+}
+
 /// Convert an array of values into java array of corresponding values.
 ///
 /// Recursively calls to [`redis_value_to_java`] for every element.
 ///
-/// Returns an arbitrary java `Object[]`.
+/// Returns a `String[]` or a `GlideString[]` for arrays of strings if the hint asks for typed
+/// arrays, an arbitrary java `Object[]` otherwise. Only the array itself is typed: the hint
+/// describes the declared return type of a command, so nested arrays are always `Object[]`.
 fn array_to_java_array<'local>(
     env: &mut JNIEnv<'local>,
-    values: Vec<Value>,
-    encoding_utf8: bool,
+    values: &[Value],
+    hint: ValueHint,
 ) -> Result<JObject<'local>, FFIError> {
+    let cache = JniCache::get(env)?;
+    let typed = hint.typed_arrays()
+        && (hint.encoding_utf8() || hint.glide_strings())
+        && values.iter().all(is_string_or_nil);
+    let element_class = match typed {
+        true if hint.encoding_utf8() => cache.string_class(),
+        true => cache.glide_string_class(),
+        false => cache.object_class(),
+    };
     let items: JObjectArray =
-        env.new_object_array(values.len() as i32, "java/lang/Object", JObject::null())?;
+        env.new_object_array(values.len() as i32, element_class, JObject::null())?;
 
-    for (i, item) in values.into_iter().enumerate() {
-        let java_value = redis_value_to_java(env, item, encoding_utf8)?;
-        env.set_object_array_element(&items, i as i32, java_value)?;
+    for (i, item) in values.iter().enumerate() {
+        let java_value = redis_value_to_java(env, item, untyped(hint))?;
+        env.set_object_array_element(&items, i as i32, &java_value)?;
+        env.delete_local_ref(java_value)?;
     }
 
     Ok(items.into())
 }
 
+/// Aggregates with at least this number of elements, nested elements included, are passed to
+/// Java in the serialized form.
+const SERIALIZATION_THRESHOLD: usize = 16;
+
+// Tags of the serialized form, mirrored by `SerializedValueDecoder.java`.
+const TAG_NIL: u8 = 0;
+const TAG_SIMPLE_STRING: u8 = 1;
+const TAG_OKAY: u8 = 2;
+const TAG_INT: u8 = 3;
+const TAG_BULK_STRING: u8 = 4;
+const TAG_ARRAY: u8 = 5;
+const TAG_MAP: u8 = 6;
+const TAG_DOUBLE: u8 = 7;
+const TAG_BOOLEAN: u8 = 8;
+const TAG_VERBATIM_STRING: u8 = 9;
+const TAG_SET: u8 = 10;
+const TAG_PUSH: u8 = 11;
+const TAG_STRING_ARRAY: u8 = 12;
+
+/// Convert a value to a Java object. Large aggregates are serialized into a single byte array
+/// and decoded by `SerializedValueDecoder`, which costs one JNI upcall instead of a few per
+/// element. Other values are converted by [`redis_value_to_java`].
+pub(crate) fn value_to_java<'local>(
+    env: &mut JNIEnv<'local>,
+    val: &Value,
+    hint: ValueHint,
+) -> Result<JObject<'local>, FFIError> {
+    if !is_serialized_to_java(val) {
+        return redis_value_to_java(env, val, hint);
+    }
+    let mut buffer = Vec::with_capacity(SERIALIZATION_THRESHOLD * 16);
+    if !serialize_value(val, &mut buffer) {
+        // a value which isn't supported by the serialized form
+        return redis_value_to_java(env, val, hint);
+    }
+    let bytes = env.byte_array_from_slice(&buffer)?;
+    let value = JniCache::get(env)?.decode_serialized_value(env, &bytes, hint)?;
+    env.delete_local_ref(bytes)?;
+    Ok(value)
+}
+
+/// Check whether a value is large enough to be passed to Java in the serialized form. Nested
+/// elements are counted, so e.g. an `XREAD` reply (a map with a single stream holding many
+/// entries) is serialized, though it has a single entry at the top.
+pub(crate) fn is_serialized_to_java(val: &Value) -> bool {
+    count_elements(val, SERIALIZATION_THRESHOLD) >= SERIALIZATION_THRESHOLD
+}
+
+/// Count elements of a value and of its nested aggregates, keys and values of maps included.
+/// Counting stops once `limit` is reached, so large values aren't walked through.
+fn count_elements(val: &Value, limit: usize) -> usize {
+    if limit == 0 {
+        return 0;
+    }
+    let mut count = 0;
+    let mut visit = |item: &Value| {
+        // count < limit here, so the remaining limit doesn't underflow
+        count += 1 + count_elements(item, limit - count - 1);
+        count < limit
+    };
+    match val {
+        Value::Array(items) | Value::Set(items) | Value::Push { data: items, .. } => {
+            for item in items {
+                if !visit(item) {
+                    break;
+                }
+            }
+        }
+        Value::Map(entries) => {
+            for (key, value) in entries {
+                if !visit(key) || !visit(value) {
+                    break;
+                }
+            }
+        }
+        _ => {}
+    }
+    count
+}
+
+/// Serialize a value in the form decoded by `SerializedValueDecoder`: a tag byte followed by a
+/// payload. Strings are a big endian `u32` length and bytes, aggregates are a `u32` number of
+/// elements (of entries for maps) and the elements, numbers are big endian.
+///
+/// Returns `false` if the value contains a type which has no serialized form.
+pub(crate) fn serialize_value(val: &Value, buffer: &mut Vec<u8>) -> bool {
+    fn put_bytes(buffer: &mut Vec<u8>, tag: u8, bytes: &[u8]) {
+        buffer.push(tag);
+        buffer.extend_from_slice(&(bytes.len() as u32).to_be_bytes());
+        buffer.extend_from_slice(bytes);
+    }
+    fn put_items(buffer: &mut Vec<u8>, tag: u8, items: &[Value]) -> bool {
+        buffer.push(tag);
+        buffer.extend_from_slice(&(items.len() as u32).to_be_bytes());
+        items.iter().all(|item| serialize_value(item, buffer))
+    }
+
+    match val {
+        Value::Nil => buffer.push(TAG_NIL),
+        Value::SimpleString(data) => put_bytes(buffer, TAG_SIMPLE_STRING, data.as_bytes()),
+        Value::Okay => buffer.push(TAG_OKAY),
+        Value::Int(num) => {
+            buffer.push(TAG_INT);
+            buffer.extend_from_slice(&num.to_be_bytes());
+        }
+        Value::BulkString(data) => put_bytes(buffer, TAG_BULK_STRING, data),
+        // arrays of strings are tagged, so they can be decoded into typed arrays
+        Value::Array(items) if items.iter().all(is_string_or_nil) => {
+            return put_items(buffer, TAG_STRING_ARRAY, items)
+        }
+        Value::Array(items) => return put_items(buffer, TAG_ARRAY, items),
+        Value::Map(entries) => {
+            buffer.push(TAG_MAP);
+            buffer.extend_from_slice(&(entries.len() as u32).to_be_bytes());
+            return entries
+                .iter()
+                .all(|(key, value)| serialize_value(key, buffer) && serialize_value(value, buffer));
+        }
+        Value::Double(float) => {
+            buffer.push(TAG_DOUBLE);
+            buffer.extend_from_slice(&float.to_be_bytes());
+        }
+        Value::Boolean(bool) => {
+            buffer.push(TAG_BOOLEAN);
+            buffer.push(*bool as u8);
+        }
+        Value::VerbatimString { format: _, text } => {
+            put_bytes(buffer, TAG_VERBATIM_STRING, text.as_bytes())
+        }
+        Value::Set(items) => return put_items(buffer, TAG_SET, items),
+        Value::Push { kind, data } => {
+            buffer.push(TAG_PUSH);
+            let kind = format!("{kind:?}");
+            buffer.extend_from_slice(&(kind.len() as u32).to_be_bytes());
+            buffer.extend_from_slice(kind.as_bytes());
+            return put_items(buffer, TAG_ARRAY, data);
+        }
+        Value::BigNumber(_) | Value::Attribute { .. } => return false,
+    }
+    true
+}
+
 #[no_mangle]
 pub extern "system" fn Java_glide_ffi_resolvers_GlideValueResolver_valueFromPointer<'local>(
     mut env: JNIEnv<'local>,
@@ -169,7 +385,7 @@ pub extern "system" fn Java_glide_ffi_resolvers_GlideValueResolver_valueFromPoin
                 pointer: jlong,
             ) -> Result<JObject<'a>, FFIError> {
                 let value = unsafe { Box::from_raw(pointer as *mut Value) };
-                redis_value_to_java(env, *value, true)
+                value_to_java(env, &value, ValueHint::encoding(true))
             }
             let result = value_from_pointer(&mut env, pointer);
             handle_errors(&mut env, result)
@@ -194,7 +410,7 @@ pub extern "system" fn Java_glide_ffi_resolvers_GlideValueResolver_valueFromPoin
                 pointer: jlong,
             ) -> Result<JObject<'a>, FFIError> {
                 let value = unsafe { Box::from_raw(pointer as *mut Value) };
-                redis_value_to_java(env, *value, false)
+                value_to_java(env, &value, ValueHint::encoding(false))
             }
             let result = value_from_pointer_binary(&mut env, pointer);
             handle_errors(&mut env, result)
@@ -204,6 +420,91 @@ pub extern "system" fn Java_glide_ffi_resolvers_GlideValueResolver_valueFromPoin
     .unwrap_or(JObject::null())
 }
 
+/// Resolves a value into the shape described by a hint, see `GlideValueResolver`.
+///
+/// This function is meant to be invoked by Java using JNI.
+///
+/// * `env`     - The JNI environment.
+/// * `_class`  - The class object. Not used.
+/// * `pointer` - A pointer to a value received from Valkey.
+/// * `hint`    - Flags of `GlideValueResolver` which tell how values are exposed.
+#[no_mangle]
+pub extern "system" fn Java_glide_ffi_resolvers_GlideValueResolver_valueFromPointerWithHint<
+    'local,
+>(
+    mut env: JNIEnv<'local>,
+    _class: JClass<'local>,
+    pointer: jlong,
+    hint: jint,
+) -> JObject<'local> {
+    handle_panics(
+        move || {
+            fn value_from_pointer_with_hint<'a>(
+                env: &mut JNIEnv<'a>,
+                pointer: jlong,
+                hint: ValueHint,
+            ) -> Result<JObject<'a>, FFIError> {
+                let value = unsafe { Box::from_raw(pointer as *mut Value) };
+                value_to_java(env, &value, hint)
+            }
+            let result = value_from_pointer_with_hint(&mut env, pointer, ValueHint::new(hint));
+            handle_errors(&mut env, result)
+        },
+        "valueFromPointerWithHint",
+    )
+    .unwrap_or(JObject::null())
+}
+
+/// Resolves several values at once, saving a JNI call per value. All values are freed, even
+/// if resolving one of them fails.
+///
+/// This function is meant to be invoked by Java using JNI.
+///
+/// * `env`             - The JNI environment.
+/// * `_class`          - The class object. Not used.
+/// * `pointers`        - Pointers to values received from Valkey, as a `long[]`.
+/// * `hint`            - Flags of `GlideValueResolver` which tell how values are exposed.
+#[no_mangle]
+pub extern "system" fn Java_glide_ffi_resolvers_GlideValueResolver_valuesFromPointers<'local>(
+    mut env: JNIEnv<'local>,
+    _class: JClass<'local>,
+    pointers: JLongArray<'local>,
+    hint: jint,
+) -> JObjectArray<'local> {
+    handle_panics(
+        move || {
+            fn values_from_pointers<'a>(
+                env: &mut JNIEnv<'a>,
+                pointers: JLongArray<'a>,
+                hint: ValueHint,
+            ) -> Result<JObjectArray<'a>, FFIError> {
+                let length = env.get_array_length(&pointers)?;
+                let mut raw_pointers = vec![0; length as usize];
+                env.get_long_array_region(&pointers, 0, &mut raw_pointers)?;
+                // take ownership of all values first, so they are freed on an early return
+                let values: Vec<Box<Value>> = raw_pointers
+                    .into_iter()
+                    .map(|pointer| unsafe { Box::from_raw(pointer as *mut Value) })
+                    .collect();
+
+                let object_class = JniCache::get(env)?.object_class();
+                let items = env.new_object_array(length, object_class, JObject::null())?;
+                for (index, value) in values.iter().enumerate() {
+                    let java_value = value_to_java(env, value, hint)?;
+                    env.set_object_array_element(&items, index as jsize, &java_value)?;
+                    // the array may be large, don't let local references pile up
+                    env.delete_local_ref(java_value)?;
+                }
+                Ok(items)
+            }
+            let result = values_from_pointers(&mut env, pointers, ValueHint::new(hint));
+            handle_errors(&mut env, result)
+        },
+        "valuesFromPointers",
+    )
+    .unwrap_or(JObjectArray::from(JObject::null()))
+}
+
 /// Creates a leaked vector of byte arrays representing the args and returns a handle to it.
 ///
 /// This function is meant to be invoked by Java using JNI.
@@ -242,6 +543,183 @@ pub extern "system" fn Java_glide_ffi_resolvers_GlideValueResolver_createLeakedB
     .unwrap_or(0)
 }
 
+/// Frees a vector created by `createLeakedBytesVec`, which was not passed to glide-core. The
+/// pointer should not be used after this call.
+///
+/// This function is meant to be invoked by Java using JNI.
+///
+/// * `_env`    - The JNI environment. Not used.
+/// * `_class`  - The class object. Not used.
+/// * `pointer` - A pointer returned by `createLeakedBytesVec`.
+#[no_mangle]
+pub extern "system" fn Java_glide_ffi_resolvers_GlideValueResolver_releaseBytesVec<'local>(
+    _env: JNIEnv<'local>,
+    _class: JClass<'local>,
+    pointer: jlong,
+) {
+    handle_panics(
+        move || {
+            drop(unsafe { Box::from_raw(pointer as *mut Vec<Bytes>) });
+            Some(())
+        },
+        "releaseBytesVec",
+    )
+    .unwrap_or(())
+}
+
+/// Allocates native memory for request arguments of `capacity` bytes in total and exposes it as a
+/// direct `ByteBuffer`. Java writes the arguments into the buffer and passes it to
+/// `createBytesVecFromArena`, or to `releaseArgsArena` if the request is abandoned. The memory is
+/// left uninitialized, since Java overwrites all of it.
+///
+/// This function is meant to be invoked by Java using JNI.
+///
+/// * `env`      - The JNI environment.
+/// * `_class`   - The class object. Not used.
+/// * `capacity` - The total length in bytes of the arguments.
+#[no_mangle]
+pub extern "system" fn Java_glide_ffi_resolvers_GlideValueResolver_allocateArgsArena<'local>(
+    mut env: JNIEnv<'local>,
+    _class: JClass<'local>,
+    capacity: jint,
+) -> JObject<'local> {
+    handle_panics(
+        move || {
+            fn allocate_args_arena<'a>(
+                env: &mut JNIEnv<'a>,
+                capacity: jint,
+            ) -> Result<JObject<'a>, FFIError> {
+                let capacity = usize::try_from(capacity)
+                    .map_err(|_| FFIError::RequestArgs(format!("Invalid capacity {capacity}")))?;
+                let mut arena = Vec::<MaybeUninit<u8>>::with_capacity(capacity);
+                // Safety: `MaybeUninit` needs no initialization
+                unsafe { arena.set_len(capacity) };
+                let data = Box::into_raw(arena.into_boxed_slice()) as *mut u8;
+                match unsafe { env.new_direct_byte_buffer(data, capacity) } {
+                    Ok(buffer) => Ok(buffer.into()),
+                    Err(err) => {
+                        let arena = ptr::slice_from_raw_parts_mut(data, capacity);
+                        drop(unsafe { Box::from_raw(arena as *mut [MaybeUninit<u8>]) });
+                        Err(err.into())
+                    }
+                }
+            }
+            let result = allocate_args_arena(&mut env, capacity);
+            handle_errors(&mut env, result)
+        },
+        "allocateArgsArena",
+    )
+    .unwrap_or(JObject::null())
+}
+
+/// Takes back the memory of a buffer created by `allocateArgsArena`. The memory may not be
+/// initialized, unless Java filled the buffer.
+///
+/// # Safety
+///
+/// `arena` must be created by `allocateArgsArena` and not taken back before.
+unsafe fn take_args_arena(
+    env: &JNIEnv,
+    arena: &JByteBuffer,
+) -> Result<Box<[MaybeUninit<u8>]>, FFIError> {
+    let data = env.get_direct_buffer_address(arena)? as *mut MaybeUninit<u8>;
+    let capacity = env.get_direct_buffer_capacity(arena)?;
+    Ok(Box::from_raw(ptr::slice_from_raw_parts_mut(data, capacity)))
+}
+
+/// Splits a buffer created by `allocateArgsArena` into request arguments without copying them and
+/// returns a C-style pointer to a vector, like `createLeakedBytesVec` does. The arguments must
+/// fill the buffer. The buffer is taken over even if this call fails, so it should not be used
+/// afterwards.
+///
+/// This function is meant to be invoked by Java using JNI.
+///
+/// * `env`     - The JNI environment.
+/// * `_class`  - The class object. Not used.
+/// * `arena`   - A buffer returned by `allocateArgsArena`, filled with the arguments.
+/// * `lengths` - The lengths in bytes of the arguments in the buffer, in order.
+#[no_mangle]
+pub extern "system" fn Java_glide_ffi_resolvers_GlideValueResolver_createBytesVecFromArena<
+    'local,
+>(
+    mut env: JNIEnv<'local>,
+    _class: JClass<'local>,
+    arena: JByteBuffer<'local>,
+    lengths: JIntArray<'local>,
+) -> jlong {
+    handle_panics(
+        move || {
+            fn create_bytes_vec_from_arena<'a>(
+                env: &mut JNIEnv<'a>,
+                arena: JByteBuffer<'a>,
+                lengths: JIntArray<'a>,
+            ) -> Result<jlong, FFIError> {
+                // the arena is freed along with the arguments, or on an error below
+                let arena = unsafe { take_args_arena(env, &arena)? };
+                let mut arg_lengths = vec![0; env.get_array_length(&lengths)? as usize];
+                env.get_int_array_region(&lengths, 0, &mut arg_lengths)?;
+
+                let mut ranges = Vec::with_capacity(arg_lengths.len());
+                let mut offset = 0;
+                for length in arg_lengths {
+                    let end = usize::try_from(length)
+                        .ok()
+                        .and_then(|length| offset.checked_add(length))
+                        .filter(|end| *end <= arena.len())
+                        .ok_or_else(|| {
+                            FFIError::RequestArgs(format!(
+                                "Argument of length {length} at {offset} exceeds the arena of {}",
+                                arena.len()
+                            ))
+                        })?;
+                    ranges.push(offset..end);
+                    offset = end;
+                }
+                if offset != arena.len() {
+                    return Err(FFIError::RequestArgs(format!(
+                        "Arguments of {offset} bytes don't fill the arena of {}",
+                        arena.len()
+                    )));
+                }
+                // Safety: Java wrote the arguments, which fill the arena, so it's initialized
+                let arena =
+                    Bytes::from(unsafe { Box::from_raw(Box::into_raw(arena) as *mut [u8]) });
+                let bytes_vec: Vec<Bytes> =
+                    ranges.into_iter().map(|range| arena.slice(range)).collect();
+                Ok(Box::leak(Box::new(bytes_vec)) as *mut Vec<Bytes> as jlong)
+            }
+            let result = create_bytes_vec_from_arena(&mut env, arena, lengths);
+            handle_errors(&mut env, result)
+        },
+        "createBytesVecFromArena",
+    )
+    .unwrap_or(0)
+}
+
+/// Frees a buffer created by `allocateArgsArena`, which was not passed to
+/// `createBytesVecFromArena`. The buffer should not be used after this call.
+///
+/// This function is meant to be invoked by Java using JNI.
+///
+/// * `env`    - The JNI environment.
+/// * `_class` - The class object. Not used.
+/// * `arena`  - A buffer returned by `allocateArgsArena`.
+#[no_mangle]
+pub extern "system" fn Java_glide_ffi_resolvers_GlideValueResolver_releaseArgsArena<'local>(
+    mut env: JNIEnv<'local>,
+    _class: JClass<'local>,
+    arena: JByteBuffer<'local>,
+) {
+    handle_panics(
+        move || {
+            let result = unsafe { take_args_arena(&env, &arena) }.map(drop);
+            handle_errors(&mut env, result)
+        },
+        "releaseArgsArena",
+    )
+    .unwrap_or(())
+}
+
 /// Returns the maximum total length in bytes of request arguments.
 ///
 /// This function is meant to be invoked by Java using JNI. This is used to ensure
@@ -259,6 +737,27 @@ pub extern "system" fn Java_glide_ffi_resolvers_GlideValueResolver_getMaxRequest
     MAX_REQUEST_ARGS_LENGTH_IN_BYTES as jlong
 }
 
+/// Sets the length from which ASCII strings are created from bytes rather than by
+/// `NewStringUTF`, see `GlideValueResolver.ASCII_STRING_THRESHOLD_IN_BYTES`. A negative length
+/// disables the ASCII path.
+///
+/// This function is meant to be invoked by Java using JNI.
+///
+/// * `_env`      - The JNI environment. Not used.
+/// * `_class`    - The class object. Not used.
+/// * `threshold` - The minimal length of strings created from bytes.
+#[no_mangle]
+pub extern "system" fn Java_glide_ffi_resolvers_GlideValueResolver_setAsciiStringThreshold<
+    'local,
+>(
+    _env: JNIEnv<'local>,
+    _class: JClass<'local>,
+    threshold: jint,
+) {
+    let threshold = usize::try_from(threshold).unwrap_or(usize::MAX);
+    ASCII_STRING_MIN_LENGTH.store(threshold, Ordering::Relaxed);
+}
+
 #[no_mangle]
 pub extern "system" fn Java_glide_ffi_resolvers_SocketListenerResolver_startSocketListener<
     'local,
@@ -0,0 +1,292 @@
+/**
+ * Copyright Valkey GLIDE Project Contributors - SPDX Identifier: Apache-2.0
+ */
+//! In-process transport: requests are submitted to glide-core over JNI instead of the UDS, and
+//! responses are passed back to a Java listener from the threads of a dedicated runtime.
+//! Requests and responses use the same protobuf messages as the socket listener.
+use glide_core::client::Client;
+use glide_core::command_request::CommandRequest;
+use glide_core::connection_request::ConnectionRequest;
+use glide_core::process_request;
+use glide_core::response::{response, ConstantResponse, Response};
+
+use jni::objects::{GlobalRef, JByteArray, JClass, JObject};
+use jni::sys::jlong;
+use jni::{JNIEnv, JavaVM};
+use log::error;
+use protobuf::Message;
+use std::sync::{Arc, OnceLock, RwLock};
+use tokio::runtime::Handle;
+
+use crate::errors::{handle_errors, handle_panics, FFIError};
+use crate::jni_cache::JniCache;
+use crate::ring_transport::RingTransport;
+
+pub(crate) static JAVA_VM: OnceLock<JavaVM> = OnceLock::new();
+static RUNTIME: OnceLock<Handle> = OnceLock::new();
+
+/// A single threaded runtime, as used by the socket listener. Its tasks are first polled in the
+/// order they are spawned, so requests submitted by a Java thread reach the connection in order,
+/// which a multithreaded runtime doesn't guarantee.
+pub(crate) fn runtime() -> &'static Handle {
+    RUNTIME.get_or_init(|| {
+        let runtime = tokio::runtime::Builder::new_current_thread()
+            .enable_all()
+            .build()
+            .expect("Failed to create a runtime for the native transport");
+        let handle = runtime.handle().clone();
+        std::thread::Builder::new()
+            .name("glide-native-transport".to_string())
+            .spawn(move || runtime.block_on(std::future::pending::<()>()))
+            .expect("Failed to start the native transport thread");
+        handle
+    })
+}
+
+#[derive(Default)]
+pub(crate) struct NativeClientState {
+    /// `None` until the client is connected and after it is closed.
+    pub(crate) client: Option<Client>,
+    /// `None` after the client is closed.
+    pub(crate) listener: Option<GlobalRef>,
+    /// `ConnectionRequest.inline_scalar_responses` of the client.
+    pub(crate) inline_scalars: bool,
+}
+
+/// A client referenced by a Java handle. The handle stays valid until it is released by Java,
+/// even if the client is closed.
+pub(crate) struct NativeClient {
+    pub(crate) state: RwLock<NativeClientState>,
+    /// Shared memory rings, if the client uses them, see `ring_transport`. They aren't freed on
+    /// close, because Java may still access them until the handle is released.
+    pub(crate) ring: OnceLock<RingTransport>,
+}
+
+fn ok_response(callback_idx: u32) -> Response {
+    let mut response = Response::new();
+    response.callback_idx = callback_idx;
+    response.value = Some(response::Value::ConstantResponse(ConstantResponse::OK.into()));
+    response
+}
+
+pub(crate) fn closing_response(err_message: String, callback_idx: u32) -> Response {
+    let mut response = Response::new();
+    response.callback_idx = callback_idx;
+    response.value = Some(response::Value::ClosingError(err_message.into()));
+    response
+}
+
+/// Pass a serialized response to `ResponseListener.onResponse`, by the method ID cached in
+/// `JniCache`. The runtime thread is attached to the JVM once and stays attached, so local
+/// references are freed explicitly by a local frame.
+pub(crate) fn send_response(listener: &GlobalRef, response: Response) {
+    let Some(vm) = JAVA_VM.get() else {
+        error!("Native transport is used before a client is created");
+        return;
+    };
+    let bytes = match response.write_to_bytes() {
+        Ok(bytes) => bytes,
+        Err(err) => {
+            error!("Failed to encode a response: {}", err);
+            return;
+        }
+    };
+    let mut env = match vm.attach_current_thread_as_daemon() {
+        Ok(env) => env,
+        Err(err) => {
+            error!("Failed to pass a response to Java: {}", err);
+            return;
+        }
+    };
+    let result = env.with_local_frame(4, |env| -> Result<(), FFIError> {
+        let array = env.byte_array_from_slice(&bytes)?;
+        JniCache::get(env)?.on_response(env, listener.as_obj(), &array)
+    });
+    // Nothing catches an exception thrown by the listener on this thread
+    if env.exception_check().unwrap_or(false) {
+        let _ = env.exception_describe();
+        let _ = env.exception_clear();
+    }
+    if let Err(err) = result {
+        error!("Failed to pass a response to Java: {}", err);
+    }
+}
+
+/// Creates a client and returns a handle to it. The client is connected asynchronously, and
+/// the result is passed to the listener as a response with callback index 0.
+///
+/// This function is meant to be invoked by Java using JNI.
+///
+/// * `env`                 - The JNI environment.
+/// * `_class`              - The class object. Not used.
+/// * `connection_request`  - A serialized `ConnectionRequest`.
+/// * `listener`            - An instance of `NativeTransportResolver.ResponseListener`.
+#[no_mangle]
+pub extern "system" fn Java_glide_ffi_resolvers_NativeTransportResolver_createClient<'local>(
+    mut env: JNIEnv<'local>,
+    _class: JClass<'local>,
+    connection_request: JByteArray<'local>,
+    listener: JObject<'local>,
+) -> jlong {
+    handle_panics(
+        move || {
+            fn create_client<'a>(
+                env: &mut JNIEnv<'a>,
+                connection_request: JByteArray<'a>,
+                listener: JObject<'a>,
+            ) -> Result<jlong, FFIError> {
+                let bytes = env.convert_byte_array(connection_request)?;
+                let request = ConnectionRequest::parse_from_bytes(&bytes)
+                    .map_err(|err| FFIError::NativeTransport(err.to_string()))?;
+                if JAVA_VM.get().is_none() {
+                    let _ = JAVA_VM.set(env.get_java_vm()?);
+                }
+                // runtime threads can't find classes of the client, so the cache is filled here
+                JniCache::get(env)?;
+                let listener = env.new_global_ref(listener)?;
+                let native_client = Arc::new(NativeClient {
+                    state: RwLock::new(NativeClientState {
+                        client: None,
+                        listener: Some(listener.clone()),
+                        inline_scalars: request.inline_scalar_responses,
+                    }),
+                    ring: OnceLock::new(),
+                });
+                let handle = Arc::into_raw(native_client.clone()) as jlong;
+
+                runtime().spawn(async move {
+                    let response = match Client::new(request.into(), None).await {
+                        Ok(client) => {
+                            let mut state = native_client.state.write().unwrap();
+                            if state.listener.is_none() {
+                                // closed while connecting
+                                return;
+                            }
+                            state.client = Some(client);
+                            ok_response(0)
+                        }
+                        Err(err) => closing_response(err.to_string(), 0),
+                    };
+                    send_response(&listener, response);
+                });
+                Ok(handle)
+            }
+            let result = create_client(&mut env, connection_request, listener);
+            handle_errors(&mut env, result)
+        },
+        "createClient",
+    )
+    .unwrap_or(0)
+}
+
+/// Submits a request to a client. The response is passed to the client listener.
+///
+/// This function is meant to be invoked by Java using JNI.
+///
+/// * `env`             - The JNI environment.
+/// * `_class`          - The class object. Not used.
+/// * `handle`          - A client handle returned by `createClient`.
+/// * `command_request` - A serialized `CommandRequest`.
+#[no_mangle]
+pub extern "system" fn Java_glide_ffi_resolvers_NativeTransportResolver_submitRequest<'local>(
+    mut env: JNIEnv<'local>,
+    _class: JClass<'local>,
+    handle: jlong,
+    command_request: JByteArray<'local>,
+) {
+    handle_panics(
+        move || {
+            fn submit_request<'a>(
+                env: &mut JNIEnv<'a>,
+                handle: jlong,
+                command_request: JByteArray<'a>,
+            ) -> Result<(), FFIError> {
+                if handle == 0 {
+                    return Err(FFIError::NativeTransport("Client is not created".to_string()));
+                }
+                let bytes = env.convert_byte_array(command_request)?;
+                let request = CommandRequest::parse_from_bytes(&bytes)
+                    .map_err(|err| FFIError::NativeTransport(err.to_string()))?;
+                let native_client = unsafe { &*(handle as *const NativeClient) };
+                let (client, listener, inline_scalars) = {
+                    let state = native_client.state.read().unwrap();
+                    (
+                        state.client.clone(),
+                        state.listener.clone(),
+                        state.inline_scalars,
+                    )
+                };
+                let Some(listener) = listener else {
+                    return Err(FFIError::NativeTransport("Client is closed".to_string()));
+                };
+
+                runtime().spawn(async move {
+                    let response = match client {
+                        Some(client) => process_request(request, client, inline_scalars).await,
+                        None => closing_response(
+                            "Client is not connected".to_string(),
+                            request.callback_idx,
+                        ),
+                    };
+                    send_response(&listener, response);
+                });
+                Ok(())
+            }
+            let result = submit_request(&mut env, handle, command_request);
+            handle_errors(&mut env, result)
+        },
+        "submitRequest",
+    )
+    .unwrap_or(())
+}
+
+/// Closes a client. Requests in flight are completed, but their responses are still passed to
+/// the listener. The handle stays valid until it is released.
+///
+/// This function is meant to be invoked by Java using JNI.
+///
+/// * `_env`    - The JNI environment. Not used.
+/// * `_class`  - The class object. Not used.
+/// * `handle`  - A client handle returned by `createClient`.
+#[no_mangle]
+pub extern "system" fn Java_glide_ffi_resolvers_NativeTransportResolver_closeClient<'local>(
+    _env: JNIEnv<'local>,
+    _class: JClass<'local>,
+    handle: jlong,
+) {
+    handle_panics(
+        move || {
+            let native_client = unsafe { &*(handle as *const NativeClient) };
+            *native_client.state.write().unwrap() = NativeClientState::default();
+            if let Some(transport) = native_client.ring.get() {
+                transport.close();
+            }
+            Some(())
+        },
+        "closeClient",
+    )
+    .unwrap_or(())
+}
+
+/// Releases a client handle. The handle should not be used after this call.
+///
+/// This function is meant to be invoked by Java using JNI.
+///
+/// * `_env`    - The JNI environment. Not used.
+/// * `_class`  - The class object. Not used.
+/// * `handle`  - A client handle returned by `createClient`.
+#[no_mangle]
+pub extern "system" fn Java_glide_ffi_resolvers_NativeTransportResolver_releaseClient<'local>(
+    _env: JNIEnv<'local>,
+    _class: JClass<'local>,
+    handle: jlong,
+) {
+    handle_panics(
+        move || {
+            drop(unsafe { Arc::from_raw(handle as *const NativeClient) });
+            Some(())
+        },
+        "releaseClient",
+    )
+    .unwrap_or(())
+}
@@ -0,0 +1,514 @@
+/**
+ * Copyright Valkey GLIDE Project Contributors - SPDX Identifier: Apache-2.0
+ */
+//! Shared memory transport: an extension of the in-process transport, which passes requests and
+//! responses through a pair of rings instead of a JNI call per request and per response. The
+//! rings are allocated here and exposed to Java as direct buffers. Frames are protobuf messages.
+//!
+//! A ring consists of a header and a data area. The header has the consumer position (`head`),
+//! the reserved position (`tail`), a flag set by the consumer before it parks, and a flag set
+//! when the transport is closed. Every field has its own cache line. Positions grow
+//! monotonically and are wrapped by the data area capacity, which is a power of two.
+//!
+//! A frame starts at a position aligned to 8 bytes with a header word: the message length in the
+//! upper half and flags in the lower half. Any number of producers reserve frames by a CAS on
+//! `tail`, write their messages in place and publish them by writing the header last. Frames are
+//! read in order by a single consumer, which zeroes them before it releases their space, so a
+//! header is zero until its frame is published. Frames never wrap, the rest of the data area is
+//! skipped by a padding frame instead.
+//! The layout is mirrored by `SharedMemoryRing.java`.
+use glide_core::command_request::CommandRequest;
+use glide_core::process_request;
+use glide_core::response::{response, RequestError, RequestErrorType, Response};
+
+use jni::objects::{GlobalRef, JClass, JObject, JObjectArray};
+use jni::sys::{jint, jlong};
+use jni::JNIEnv;
+use log::error;
+use protobuf::Message;
+use std::alloc::{alloc_zeroed, dealloc, Layout};
+use std::sync::atomic::{AtomicU64, Ordering};
+use std::sync::{Arc, Mutex};
+use std::thread::Thread;
+use std::time::Duration;
+use tokio::sync::mpsc;
+
+use crate::errors::{handle_errors, handle_panics, FFIError};
+use crate::native_transport::{
+    closing_response, runtime, send_response, NativeClient, JAVA_VM,
+};
+
+const HEAD_OFFSET: usize = 0;
+const TAIL_OFFSET: usize = 64;
+const PARKED_OFFSET: usize = 128;
+const CLOSED_OFFSET: usize = 192;
+const DATA_OFFSET: usize = 256;
+
+/// Size of a frame header, frames are aligned to it.
+const FRAME_HEADER_SIZE: usize = 8;
+/// Header flag of a frame with a message.
+const MESSAGE: u64 = 1;
+/// Header flag of a frame which is skipped by the consumer.
+const PADDING: u64 = 2;
+
+/// Number of empty polls before a consumer parks.
+const SPIN_LIMIT: u32 = 1000;
+
+const PARK_TIMEOUT: Duration = Duration::from_millis(100);
+
+/// A ring in a memory region owned by this struct.
+pub(crate) struct Ring {
+    base: *mut u8,
+    capacity: usize,
+}
+
+// The ring is accessed by producers and a single consumer through atomic positions and headers.
+unsafe impl Send for Ring {}
+unsafe impl Sync for Ring {}
+
+impl Ring {
+    fn new(capacity: usize) -> Ring {
+        assert!(capacity.is_power_of_two());
+        let base = unsafe { alloc_zeroed(Self::layout(capacity)) };
+        assert!(!base.is_null(), "Failed to allocate a ring");
+        Ring { base, capacity }
+    }
+
+    fn layout(capacity: usize) -> Layout {
+        Layout::from_size_align(DATA_OFFSET + capacity, 64).unwrap()
+    }
+
+    fn len(&self) -> usize {
+        DATA_OFFSET + self.capacity
+    }
+
+    fn field(&self, offset: usize) -> &AtomicU64 {
+        unsafe { &*(self.base.add(offset) as *const AtomicU64) }
+    }
+
+    fn head(&self) -> &AtomicU64 {
+        self.field(HEAD_OFFSET)
+    }
+
+    fn tail(&self) -> &AtomicU64 {
+        self.field(TAIL_OFFSET)
+    }
+
+    fn parked(&self) -> &AtomicU64 {
+        self.field(PARKED_OFFSET)
+    }
+
+    fn closed(&self) -> &AtomicU64 {
+        self.field(CLOSED_OFFSET)
+    }
+
+    fn is_closed(&self) -> bool {
+        self.closed().load(Ordering::SeqCst) != 0
+    }
+
+    fn index(&self, position: u64) -> usize {
+        position as usize & (self.capacity - 1)
+    }
+
+    fn header(&self, position: u64) -> &AtomicU64 {
+        self.field(DATA_OFFSET + self.index(position))
+    }
+
+    /// The longest message which can be written. A frame and the padding before it take less
+    /// than twice the frame size, so a frame is limited to a half of the capacity.
+    fn max_message_length(&self) -> usize {
+        self.capacity / 2 - FRAME_HEADER_SIZE
+    }
+
+    /// Reserve a frame if there is enough space, preceded by a padding frame if it doesn't fit
+    /// before the end of the data area. Returns the position of the frame.
+    fn try_reserve(&self, frame_size: usize) -> Option<u64> {
+        loop {
+            let tail = self.tail().load(Ordering::Acquire);
+            let index = self.index(tail);
+            let padding = if self.capacity - index < frame_size {
+                self.capacity - index
+            } else {
+                0
+            };
+            let head = self.head().load(Ordering::Acquire);
+            if self.capacity - ((tail - head) as usize) < padding + frame_size {
+                return None;
+            }
+            let reserved = tail + (padding + frame_size) as u64;
+            if self
+                .tail()
+                .compare_exchange(tail, reserved, Ordering::AcqRel, Ordering::Relaxed)
+                .is_ok()
+            {
+                if padding > 0 {
+                    self.publish(tail, padding - FRAME_HEADER_SIZE, PADDING);
+                }
+                return Some(tail + padding as u64);
+            }
+        }
+    }
+
+    /// Publish a frame. Sequentially consistent, so the parked flag is read after the frame is
+    /// visible.
+    fn publish(&self, position: u64, length: usize, flag: u64) {
+        self.header(position)
+            .store(((length as u64) << 32) | flag, Ordering::SeqCst);
+    }
+
+    /// Append a message if there is enough space. Safe to be called by any number of producers.
+    fn try_write(&self, message: &[u8]) -> bool {
+        let Some(position) = self.try_reserve(frame_size(message.len())) else {
+            return false;
+        };
+        unsafe {
+            let frame = self.base.add(DATA_OFFSET + self.index(position));
+            std::ptr::copy_nonoverlapping(
+                message.as_ptr(),
+                frame.add(FRAME_HEADER_SIZE),
+                message.len(),
+            );
+        }
+        self.publish(position, message.len(), MESSAGE);
+        true
+    }
+
+    /// Read the next message into the buffer, skipping padding. Returns `false` if there are no
+    /// published frames to read. Used by the single consumer.
+    fn try_read(&self, message: &mut Vec<u8>) -> Result<bool, FFIError> {
+        loop {
+            let head = self.head().load(Ordering::Relaxed);
+            let header = self.header(head).load(Ordering::Acquire);
+            if header == 0 {
+                return Ok(false);
+            }
+            let length = (header >> 32) as usize;
+            let size = frame_size(length);
+            let index = self.index(head);
+            if size > self.capacity - index {
+                return Err(FFIError::NativeTransport(
+                    "Malformed frame in the ring".to_string(),
+                ));
+            }
+            let is_message = header & PADDING == 0;
+            unsafe {
+                let frame = self.base.add(DATA_OFFSET + index);
+                if is_message {
+                    message.clear();
+                    message.extend_from_slice(std::slice::from_raw_parts(
+                        frame.add(FRAME_HEADER_SIZE),
+                        length,
+                    ));
+                }
+                // the next producer which reserves this space relies on a zero header
+                std::ptr::write_bytes(
+                    frame.add(FRAME_HEADER_SIZE),
+                    0,
+                    size - FRAME_HEADER_SIZE,
+                );
+            }
+            self.header(head).store(0, Ordering::Relaxed);
+            self.head().store(head + size as u64, Ordering::Release);
+            if is_message {
+                return Ok(true);
+            }
+        }
+    }
+}
+
+fn frame_size(length: usize) -> usize {
+    (FRAME_HEADER_SIZE + length + FRAME_HEADER_SIZE - 1) & !(FRAME_HEADER_SIZE - 1)
+}
+
+impl Drop for Ring {
+    fn drop(&mut self) {
+        unsafe { dealloc(self.base, Self::layout(self.capacity)) };
+    }
+}
+
+/// Rings of a client and the threads serving them.
+pub(crate) struct RingTransport {
+    requests: Ring,
+    responses: Ring,
+    /// The thread which consumes requests, to be unparked by Java.
+    consumer: Mutex<Option<Thread>>,
+}
+
+impl RingTransport {
+    /// Mark both rings as closed and wake up the consumers.
+    pub(crate) fn close(&self) {
+        self.requests.closed().store(1, Ordering::SeqCst);
+        self.responses.closed().store(1, Ordering::SeqCst);
+        if let Some(thread) = self.consumer.lock().unwrap().as_ref() {
+            thread.unpark();
+        }
+    }
+}
+
+/// Read requests from the ring and submit them until the transport is closed.
+fn consume_requests(native_client: Arc<NativeClient>, sender: mpsc::UnboundedSender<Response>) {
+    let Some(transport) = native_client.ring.get() else {
+        return;
+    };
+    let ring = &transport.requests;
+    let mut idle_polls = 0;
+    let mut frame = Vec::new();
+    while !ring.is_closed() {
+        match ring.try_read(&mut frame) {
+            Ok(true) => {}
+            Ok(false) => {
+                if idle_polls < SPIN_LIMIT {
+                    idle_polls += 1;
+                    std::hint::spin_loop();
+                    continue;
+                }
+                // A producer publishes a header and then checks the flag, so either it sees the
+                // flag and unparks this thread, or the header is seen here. The timeout covers a
+                // wakeup which comes before the thread is registered as the consumer.
+                ring.parked().store(1, Ordering::SeqCst);
+                let head = ring.head().load(Ordering::Relaxed);
+                if ring.header(head).load(Ordering::SeqCst) == 0 && !ring.is_closed() {
+                    std::thread::park_timeout(PARK_TIMEOUT);
+                }
+                ring.parked().store(0, Ordering::SeqCst);
+                idle_polls = 0;
+                continue;
+            }
+            Err(err) => {
+                error!("Failed to read the request ring: {}", err);
+                transport.close();
+                return;
+            }
+        }
+        idle_polls = 0;
+
+        let (client, inline_scalars) = {
+            let state = native_client.state.read().unwrap();
+            (state.client.clone(), state.inline_scalars)
+        };
+        // submit all published requests with the same client state
+        loop {
+            let request = match CommandRequest::parse_from_bytes(&frame) {
+                Ok(request) => request,
+                Err(err) => {
+                    error!("Failed to decode a request: {}", err);
+                    transport.close();
+                    return;
+                }
+            };
+            let client = client.clone();
+            let sender = sender.clone();
+            runtime().spawn(async move {
+                let response = match client {
+                    Some(client) => process_request(request, client, inline_scalars).await,
+                    None => closing_response(
+                        "Client is not connected".to_string(),
+                        request.callback_idx,
+                    ),
+                };
+                let _ = sender.send(response);
+            });
+            match ring.try_read(&mut frame) {
+                Ok(true) => {}
+                Ok(false) => break,
+                Err(err) => {
+                    error!("Failed to read the request ring: {}", err);
+                    transport.close();
+                    return;
+                }
+            }
+        }
+    }
+}
+
+/// Write responses to the ring and wake up the Java consumer if it is parked. A response which
+/// doesn't fit the ring, e.g. with a large value, is passed to the client listener by a JNI call
+/// instead, so only the rings' capacity is bounded, not the size of a response.
+async fn produce_responses(
+    native_client: Arc<NativeClient>,
+    mut receiver: mpsc::UnboundedReceiver<Response>,
+    java_consumer: GlobalRef,
+) {
+    let Some(transport) = native_client.ring.get() else {
+        return;
+    };
+    let ring = &transport.responses;
+    while let Some(mut response) = receiver.recv().await {
+        loop {
+            match encode_response(&response) {
+                Some(frame) if frame.len() <= ring.max_message_length() => {
+                    while !ring.try_write(&frame) {
+                        if ring.is_closed() {
+                            return;
+                        }
+                        // wait for Java to consume responses
+                        tokio::time::sleep(Duration::from_micros(50)).await;
+                    }
+                }
+                Some(_) => {
+                    let listener = native_client.state.read().unwrap().listener.clone();
+                    if let Some(listener) = listener {
+                        send_response(&listener, response);
+                    }
+                }
+                None => {}
+            }
+            // write all ready responses before waking up the consumer
+            match receiver.try_recv() {
+                Ok(next) => response = next,
+                Err(_) => break,
+            }
+        }
+        if ring.parked().load(Ordering::SeqCst) != 0 {
+            unpark_java_thread(&java_consumer);
+        }
+    }
+}
+
+/// Encode a response message. A response which can't be encoded is replaced by an error addressed
+/// to the same request, so the request is still answered.
+fn encode_response(response: &Response) -> Option<Vec<u8>> {
+    let err = match response.write_to_bytes() {
+        Ok(frame) => return Some(frame),
+        Err(err) => err,
+    };
+    error!("Failed to encode a response: {}", err);
+    let mut error_response = Response::new();
+    error_response.callback_idx = response.callback_idx;
+    error_response.value = Some(response::Value::RequestError(RequestError {
+        type_: RequestErrorType::Unspecified.into(),
+        message: format!("Failed to encode a response: {}", err).into(),
+        ..Default::default()
+    }));
+    match error_response.write_to_bytes() {
+        Ok(frame) => Some(frame),
+        Err(err) => {
+            error!("Failed to encode an error response: {}", err);
+            None
+        }
+    }
+}
+
+fn unpark_java_thread(thread: &GlobalRef) {
+    let Some(vm) = JAVA_VM.get() else {
+        return;
+    };
+    let result = vm.attach_current_thread_as_daemon().and_then(|mut env| {
+        env.call_static_method(
+            "java/util/concurrent/locks/LockSupport",
+            "unpark",
+            "(Ljava/lang/Thread;)V",
+            &[thread.as_obj().into()],
+        )?;
+        Ok(())
+    });
+    if let Err(err) = result {
+        error!("Failed to unpark a Java thread: {}", err);
+    }
+}
+
+/// Starts the shared memory transport of a client and returns two direct buffers: the request
+/// ring and the response ring.
+///
+/// This function is meant to be invoked by Java using JNI.
+///
+/// * `env`             - The JNI environment.
+/// * `_class`          - The class object. Not used.
+/// * `handle`          - A client handle returned by `createClient`.
+/// * `capacity`        - Capacity of each ring in bytes, should be a power of two.
+/// * `java_consumer`   - The Java thread which consumes responses.
+#[no_mangle]
+pub extern "system" fn Java_glide_ffi_resolvers_NativeTransportResolver_startRingTransport<
+    'local,
+>(
+    mut env: JNIEnv<'local>,
+    _class: JClass<'local>,
+    handle: jlong,
+    capacity: jint,
+    java_consumer: JObject<'local>,
+) -> JObjectArray<'local> {
+    handle_panics(
+        move || {
+            fn start_ring_transport<'a>(
+                env: &mut JNIEnv<'a>,
+                handle: jlong,
+                capacity: jint,
+                java_consumer: JObject<'a>,
+            ) -> Result<JObjectArray<'a>, FFIError> {
+                if handle == 0 || capacity <= 0 || !(capacity as usize).is_power_of_two() {
+                    return Err(FFIError::NativeTransport(
+                        "Invalid ring transport parameters".to_string(),
+                    ));
+                }
+                let native_client = unsafe {
+                    let pointer = handle as *const NativeClient;
+                    Arc::increment_strong_count(pointer);
+                    Arc::from_raw(pointer)
+                };
+                let transport = RingTransport {
+                    requests: Ring::new(capacity as usize),
+                    responses: Ring::new(capacity as usize),
+                    consumer: Mutex::new(None),
+                };
+                if native_client.ring.set(transport).is_err() {
+                    return Err(FFIError::NativeTransport(
+                        "Ring transport is already started".to_string(),
+                    ));
+                }
+                let transport = native_client.ring.get().unwrap();
+
+                let buffers = env.new_object_array(2, "java/nio/ByteBuffer", JObject::null())?;
+                let rings = [&transport.requests, &transport.responses];
+                for (index, ring) in rings.iter().enumerate() {
+                    let buffer = unsafe { env.new_direct_byte_buffer(ring.base, ring.len())? };
+                    env.set_object_array_element(&buffers, index as i32, buffer)?;
+                }
+
+                let java_consumer = env.new_global_ref(java_consumer)?;
+                let (sender, receiver) = mpsc::unbounded_channel();
+                runtime().spawn(produce_responses(native_client.clone(), receiver, java_consumer));
+                let consumer = std::thread::Builder::new()
+                    .name("glide-ring-consumer".to_string())
+                    .spawn(move || consume_requests(native_client, sender))
+                    .map_err(|err| FFIError::NativeTransport(err.to_string()))?;
+                *transport.consumer.lock().unwrap() = Some(consumer.thread().clone());
+                Ok(buffers)
+            }
+            let result = start_ring_transport(&mut env, handle, capacity, java_consumer);
+            handle_errors(&mut env, result)
+        },
+        "startRingTransport",
+    )
+    .unwrap_or(JObjectArray::from(JObject::null()))
+}
+
+/// Wakes up the request consumer of a client. Java calls it after publishing a request if the
+/// consumer is parked.
+///
+/// This function is meant to be invoked by Java using JNI.
+///
+/// * `_env`    - The JNI environment. Not used.
+/// * `_class`  - The class object. Not used.
+/// * `handle`  - A client handle returned by `createClient`.
+#[no_mangle]
+pub extern "system" fn Java_glide_ffi_resolvers_NativeTransportResolver_wakeRingConsumer<
+    'local,
+>(
+    _env: JNIEnv<'local>,
+    _class: JClass<'local>,
+    handle: jlong,
+) {
+    handle_panics(
+        move || {
+            let native_client = unsafe { &*(handle as *const NativeClient) };
+            if let Some(transport) = native_client.ring.get() {
+                if let Some(thread) = transport.consumer.lock().unwrap().as_ref() {
+                    thread.unpark();
+                }
+            }
+            Some(())
+        },
+        "wakeRingConsumer",
+    )
+    .unwrap_or(())
+}
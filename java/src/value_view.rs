@@ -0,0 +1,324 @@
+/**
+ * Copyright Valkey GLIDE Project Contributors - SPDX Identifier: Apache-2.0
+ */
+//! Access to values received from Valkey without converting them as a whole. A value stays in
+//! native memory until Java releases it, and only the elements accessed are converted.
+use jni::objects::{JClass, JObject, JObjectArray};
+use jni::sys::{jboolean, jint, jlong, jsize, JNI_FALSE, JNI_TRUE};
+use jni::JNIEnv;
+use redis::Value;
+use std::borrow::Cow;
+
+use crate::errors::{handle_errors, handle_panics, FFIError};
+use crate::jni_cache::JniCache;
+use crate::{value_to_java, ValueHint};
+
+/// Borrow a value by a pointer, which remains owned by Java.
+///
+/// # Safety
+/// The pointer should be a value pointer from a response which isn't released yet.
+unsafe fn borrow_value<'a>(pointer: jlong) -> &'a Value {
+    &*(pointer as *const Value)
+}
+
+/// Number of elements (of entries for maps) of an aggregate value, or `None` for other values.
+fn aggregate_size(value: &Value) -> Option<usize> {
+    match value {
+        Value::Array(items) | Value::Set(items) | Value::Push { data: items, .. } => {
+            Some(items.len())
+        }
+        Value::Map(entries) => Some(entries.len()),
+        _ => None,
+    }
+}
+
+/// The bytes of a string-like map key. Integers are exposed by their decimal form.
+fn key_bytes(value: &Value) -> Option<Cow<'_, [u8]>> {
+    match value {
+        Value::Int(number) => Some(Cow::Owned(number.to_string().into_bytes())),
+        Value::BulkString(data) => Some(Cow::Borrowed(data.as_slice())),
+        Value::SimpleString(data) => Some(Cow::Borrowed(data.as_bytes())),
+        Value::VerbatimString { format: _, text } => Some(Cow::Borrowed(text.as_bytes())),
+        _ => None,
+    }
+}
+
+/// Returns whether a value is a map.
+///
+/// This function is meant to be invoked by Java using JNI.
+///
+/// * `_env`    - The JNI environment. Not used.
+/// * `_class`  - The class object. Not used.
+/// * `pointer` - A value pointer from a response.
+#[no_mangle]
+pub extern "system" fn Java_glide_ffi_resolvers_ValueViewResolver_isMap<'local>(
+    _env: JNIEnv<'local>,
+    _class: JClass<'local>,
+    pointer: jlong,
+) -> jboolean {
+    handle_panics(
+        move || {
+            let value = unsafe { borrow_value(pointer) };
+            Some(if matches!(value, Value::Map(_)) { JNI_TRUE } else { JNI_FALSE })
+        },
+        "isMap",
+    )
+    .unwrap_or(JNI_FALSE)
+}
+
+/// Returns the number of elements of an array, a set or a push, the number of entries of a map,
+/// or -1 for other values.
+///
+/// This function is meant to be invoked by Java using JNI.
+///
+/// * `_env`    - The JNI environment. Not used.
+/// * `_class`  - The class object. Not used.
+/// * `pointer` - A value pointer from a response.
+#[no_mangle]
+pub extern "system" fn Java_glide_ffi_resolvers_ValueViewResolver_size<'local>(
+    _env: JNIEnv<'local>,
+    _class: JClass<'local>,
+    pointer: jlong,
+) -> jint {
+    handle_panics(
+        move || {
+            let value = unsafe { borrow_value(pointer) };
+            Some(aggregate_size(value).map_or(-1, |size| size as jint))
+        },
+        "size",
+    )
+    .unwrap_or(-1)
+}
+
+/// Converts an element of an aggregate value. For maps, returns an `Object[]` of the key and
+/// the value of the entry.
+///
+/// This function is meant to be invoked by Java using JNI.
+///
+/// * `env`             - The JNI environment.
+/// * `_class`          - The class object. Not used.
+/// * `pointer`         - A value pointer from a response.
+/// * `index`           - An index of the element.
+/// * `encoding_utf8`   - Whether strings should be exposed as `String` or as `byte[]`.
+#[no_mangle]
+pub extern "system" fn Java_glide_ffi_resolvers_ValueViewResolver_elementAt<'local>(
+    mut env: JNIEnv<'local>,
+    _class: JClass<'local>,
+    pointer: jlong,
+    index: jint,
+    encoding_utf8: jboolean,
+) -> JObject<'local> {
+    handle_panics(
+        move || {
+            fn element_at<'a>(
+                env: &mut JNIEnv<'a>,
+                pointer: jlong,
+                index: jint,
+                hint: ValueHint,
+            ) -> Result<JObject<'a>, FFIError> {
+                let value = unsafe { borrow_value(pointer) };
+                let out_of_bounds =
+                    || FFIError::ValueView(format!("Index {index} is out of bounds"));
+                let index = usize::try_from(index).map_err(|_| out_of_bounds())?;
+                match value {
+                    Value::Array(items) | Value::Set(items) | Value::Push { data: items, .. } => {
+                        let item = items.get(index).ok_or_else(out_of_bounds)?;
+                        value_to_java(env, item, hint)
+                    }
+                    Value::Map(entries) => {
+                        let (key, value) = entries.get(index).ok_or_else(out_of_bounds)?;
+                        let object_class = JniCache::get(env)?.object_class();
+                        let entry = env.new_object_array(2, object_class, JObject::null())?;
+                        let java_key = value_to_java(env, key, hint)?;
+                        env.set_object_array_element(&entry, 0, java_key)?;
+                        let java_value = value_to_java(env, value, hint)?;
+                        env.set_object_array_element(&entry, 1, java_value)?;
+                        Ok(entry.into())
+                    }
+                    _ => Err(FFIError::ValueView("Value is not an aggregate".to_string())),
+                }
+            }
+            let hint = ValueHint::encoding(encoding_utf8 != JNI_FALSE);
+            let result = element_at(&mut env, pointer, index, hint);
+            handle_errors(&mut env, result)
+        },
+        "elementAt",
+    )
+    .unwrap_or(JObject::null())
+}
+
+/// Returns the keys of a map as a `byte[][]` in the order of the entries, so Java can index the
+/// entries once instead of searching the map on every access. Integer keys are exposed by their
+/// decimal form, keys which are neither strings nor integers as `null`.
+///
+/// This function is meant to be invoked by Java using JNI.
+///
+/// * `env`     - The JNI environment.
+/// * `_class`  - The class object. Not used.
+/// * `pointer` - A value pointer from a response.
+#[no_mangle]
+pub extern "system" fn Java_glide_ffi_resolvers_ValueViewResolver_mapKeys<'local>(
+    mut env: JNIEnv<'local>,
+    _class: JClass<'local>,
+    pointer: jlong,
+) -> JObjectArray<'local> {
+    handle_panics(
+        move || {
+            fn map_keys<'a>(
+                env: &mut JNIEnv<'a>,
+                pointer: jlong,
+            ) -> Result<JObjectArray<'a>, FFIError> {
+                let Value::Map(entries) = (unsafe { borrow_value(pointer) }) else {
+                    return Err(FFIError::ValueView("Value is not a map".to_string()));
+                };
+                let keys = env.new_object_array(entries.len() as jsize, "[B", JObject::null())?;
+                for (index, (key, _)) in entries.iter().enumerate() {
+                    if let Some(bytes) = key_bytes(key) {
+                        let java_key = env.byte_array_from_slice(&bytes)?;
+                        env.set_object_array_element(&keys, index as jsize, &java_key)?;
+                        env.delete_local_ref(java_key)?;
+                    }
+                }
+                Ok(keys)
+            }
+            let result = map_keys(&mut env, pointer);
+            handle_errors(&mut env, result)
+        },
+        "mapKeys",
+    )
+    .unwrap_or(JObjectArray::from(JObject::null()))
+}
+
+/// Converts the value of a map entry.
+///
+/// This function is meant to be invoked by Java using JNI.
+///
+/// * `env`             - The JNI environment.
+/// * `_class`          - The class object. Not used.
+/// * `pointer`         - A value pointer from a response.
+/// * `index`           - An index of the entry.
+/// * `encoding_utf8`   - Whether strings should be exposed as `String` or as `byte[]`.
+#[no_mangle]
+pub extern "system" fn Java_glide_ffi_resolvers_ValueViewResolver_valueAt<'local>(
+    mut env: JNIEnv<'local>,
+    _class: JClass<'local>,
+    pointer: jlong,
+    index: jint,
+    encoding_utf8: jboolean,
+) -> JObject<'local> {
+    handle_panics(
+        move || {
+            fn value_at<'a>(
+                env: &mut JNIEnv<'a>,
+                pointer: jlong,
+                index: jint,
+                hint: ValueHint,
+            ) -> Result<JObject<'a>, FFIError> {
+                let Value::Map(entries) = (unsafe { borrow_value(pointer) }) else {
+                    return Err(FFIError::ValueView("Value is not a map".to_string()));
+                };
+                let (_, value) = usize::try_from(index)
+                    .ok()
+                    .and_then(|index| entries.get(index))
+                    .ok_or_else(|| FFIError::ValueView(format!("Index {index} is out of bounds")))?;
+                value_to_java(env, value, hint)
+            }
+            let hint = ValueHint::encoding(encoding_utf8 != JNI_FALSE);
+            let result = value_at(&mut env, pointer, index, hint);
+            handle_errors(&mut env, result)
+        },
+        "valueAt",
+    )
+    .unwrap_or(JObject::null())
+}
+
+/// Converts a whole value, which remains in native memory.
+///
+/// This function is meant to be invoked by Java using JNI.
+///
+/// * `env`             - The JNI environment.
+/// * `_class`          - The class object. Not used.
+/// * `pointer`         - A value pointer from a response.
+/// * `encoding_utf8`   - Whether strings should be exposed as `String` or as `byte[]`.
+#[no_mangle]
+pub extern "system" fn Java_glide_ffi_resolvers_ValueViewResolver_toJava<'local>(
+    mut env: JNIEnv<'local>,
+    _class: JClass<'local>,
+    pointer: jlong,
+    encoding_utf8: jboolean,
+) -> JObject<'local> {
+    handle_panics(
+        move || {
+            let value = unsafe { borrow_value(pointer) };
+            let hint = ValueHint::encoding(encoding_utf8 != JNI_FALSE);
+            let result = value_to_java(&mut env, value, hint);
+            handle_errors(&mut env, result)
+        },
+        "toJava",
+    )
+    .unwrap_or(JObject::null())
+}
+
+/// Exposes the bytes of a string value as a direct `ByteBuffer`, without copying them. Returns
+/// `null` for nil values. The buffer points into the value, so it is valid until the value is
+/// released.
+///
+/// This function is meant to be invoked by Java using JNI.
+///
+/// * `env`     - The JNI environment.
+/// * `_class`  - The class object. Not used.
+/// * `pointer` - A value pointer from a response.
+#[no_mangle]
+pub extern "system" fn Java_glide_ffi_resolvers_ValueViewResolver_directBuffer<'local>(
+    mut env: JNIEnv<'local>,
+    _class: JClass<'local>,
+    pointer: jlong,
+) -> JObject<'local> {
+    handle_panics(
+        move || {
+            fn direct_buffer<'a>(
+                env: &mut JNIEnv<'a>,
+                pointer: jlong,
+            ) -> Result<JObject<'a>, FFIError> {
+                let bytes = match unsafe { borrow_value(pointer) } {
+                    Value::Nil => return Ok(JObject::null()),
+                    Value::BulkString(data) => data.as_slice(),
+                    Value::SimpleString(data) => data.as_bytes(),
+                    _ => return Err(FFIError::ValueView("Value is not a string".to_string())),
+                };
+                // Safety: the value is not modified nor moved until it's released, and Java
+                // exposes the buffer as read-only
+                let buffer =
+                    unsafe { env.new_direct_byte_buffer(bytes.as_ptr() as *mut u8, bytes.len()) }?;
+                Ok(buffer.into())
+            }
+            let result = direct_buffer(&mut env, pointer);
+            handle_errors(&mut env, result)
+        },
+        "directBuffer",
+    )
+    .unwrap_or(JObject::null())
+}
+
+/// Frees a value. The pointer should not be used after this call.
+///
+/// This function is meant to be invoked by Java using JNI.
+///
+/// * `_env`    - The JNI environment. Not used.
+/// * `_class`  - The class object. Not used.
+/// * `pointer` - A value pointer from a response.
+#[no_mangle]
+pub extern "system" fn Java_glide_ffi_resolvers_ValueViewResolver_release<'local>(
+    _env: JNIEnv<'local>,
+    _class: JClass<'local>,
+    pointer: jlong,
+) {
+    handle_panics(
+        move || {
+            drop(unsafe { Box::from_raw(pointer as *mut Value) });
+            Some(())
+        },
+        "release",
+    )
+    .unwrap_or(())
+}